@@ -0,0 +1,225 @@
+package com.smartdrive.kenya.ui.screens
+
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.SideEffect
+import androidx.compose.runtime.collectAsState
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.remember
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.platform.testTag
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.test.onNodeWithTag
+import androidx.compose.ui.test.performScrollToIndex
+import androidx.paging.PagingData
+import androidx.paging.compose.LazyPagingItems
+import androidx.paging.compose.collectAsLazyPagingItems
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.smartdrive.kenya.data.model.Rental
+import com.smartdrive.kenya.data.model.RentalLocation
+import com.smartdrive.kenya.data.model.RentalStatus
+import com.smartdrive.kenya.data.model.RentalSummary
+import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.toCard
+import com.smartdrive.kenya.ui.model.RentalCardUi
+import com.smartdrive.kenya.ui.model.VehicleCardUi
+import com.smartdrive.kenya.ui.model.toCardUi
+import com.smartdrive.kenya.ui.screens.austin.AustinBookingCard
+import com.smartdrive.kenya.ui.screens.austin.AustinBookingList
+import com.smartdrive.kenya.ui.screens.austin.AustinVehicleCard
+import com.smartdrive.kenya.ui.screens.austin.AustinVehicleList
+import com.smartdrive.kenya.ui.screens.rentals.RentalCard
+import com.smartdrive.kenya.ui.screens.rentals.RentalList
+import com.smartdrive.kenya.ui.screens.vehicles.VehicleList
+import com.smartdrive.kenya.ui.screens.vehicles.VehicleListItem
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.map
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Cards that stay on screen must not recompose when the list scrolls or is
+ * re-emitted with equal rows, as happens on every page load and cache write.
+ * Drives the lists the screens draw. Each card is wrapped in a slot that takes
+ * the same arguments as the card and counts its own compositions, so it runs
+ * exactly when the card would.
+ */
+@RunWith(AndroidJUnit4::class)
+class CardRecompositionTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    @Test
+    fun browseCardsSkipWhenUnchanged() = assertCardsSkip(
+        rows = ::vehicleCards,
+        id = { it.id },
+        changed = { it.copy(priceLabel = "KSh 1") }
+    ) { emissions, modifier, listState, onCompose ->
+        AustinVehicleList(
+            vehicles = emissions.asPagingItems(),
+            onNavigateToCarDetails = {},
+            modifier = modifier,
+            listState = listState
+        ) { vehicle, onClick ->
+            SideEffect { onCompose(vehicle.id) }
+            AustinVehicleCard(vehicle = vehicle, onClick = onClick)
+        }
+    }
+
+    @Test
+    fun vehicleListCardsSkipWhenUnchanged() = assertCardsSkip(
+        rows = ::vehicleCards,
+        id = { it.id },
+        changed = { it.copy(priceLabel = "KSh 1") }
+    ) { emissions, modifier, listState, onCompose ->
+        val emission by emissions.collectAsState()
+        VehicleList(vehicles = emission.rows, modifier = modifier, listState = listState) { vehicle, onBookClick ->
+            SideEffect { onCompose(vehicle.id) }
+            VehicleListItem(vehicle = vehicle, onBookClick = onBookClick)
+        }
+    }
+
+    @Test
+    fun bookingCardsSkipWhenUnchanged() = assertCardsSkip(
+        rows = ::rentalCards,
+        id = { it.id },
+        changed = { it.copy(status = RentalStatus.CANCELLED) }
+    ) { emissions, modifier, listState, onCompose ->
+        AustinBookingList(
+            rentals = emissions.asPagingItems(),
+            onCancelClick = {},
+            modifier = modifier,
+            listState = listState
+        ) { rental, onCancelClick ->
+            SideEffect { onCompose(rental.id) }
+            AustinBookingCard(rental = rental, onCancelClick = onCancelClick)
+        }
+    }
+
+    @Test
+    fun rentalHistoryCardsSkipWhenUnchanged() = assertCardsSkip(
+        rows = ::rentalCards,
+        id = { it.id },
+        changed = { it.copy(status = RentalStatus.CANCELLED) }
+    ) { emissions, modifier, listState, onCompose ->
+        RentalList(
+            rentals = emissions.asPagingItems(),
+            onRentalClick = {},
+            onCancelRental = {},
+            modifier = modifier,
+            listState = listState
+        ) { rental, onClick, onCancelRental ->
+            SideEffect { onCompose(rental.id) }
+            RentalCard(rental = rental, onClick = onClick, onCancelRental = onCancelRental)
+        }
+    }
+
+    /** One emission of the list; never equal to another, like a fresh page load. */
+    private class Emission<T>(val rows: List<T>)
+
+    private fun <T : Any> assertCardsSkip(
+        rows: () -> List<T>,
+        id: (T) -> String,
+        changed: (T) -> T,
+        list: @Composable (StateFlow<Emission<T>>, Modifier, LazyListState, onCompose: (String) -> Unit) -> Unit
+    ) {
+        val counts = HashMap<String, Int>()
+        val listState = LazyListState()
+        // rows() builds fresh instances, equal to the previous ones
+        val emissions = MutableStateFlow(Emission(rows()))
+
+        val onCompose: (String) -> Unit = { key -> counts[key] = (counts[key] ?: 0) + 1 }
+
+        composeRule.setContent {
+            list(emissions, Modifier.testTag(LIST_TAG), listState, onCompose)
+        }
+
+        fun visibleCounts() = composeRule.runOnIdle {
+            listState.layoutInfo.visibleItemsInfo.associate { it.key as String to (counts[it.key as String] ?: 0) }
+        }
+
+        composeRule.onNodeWithTag(LIST_TAG).performScrollToIndex(1)
+        val beforeScroll = visibleCounts()
+        composeRule.onNodeWithTag(LIST_TAG).performScrollToIndex(2)
+        val afterScroll = visibleCounts()
+        val stayed = beforeScroll.keys intersect afterScroll.keys
+        assertTrue(stayed.isNotEmpty())
+        stayed.forEach { key -> assertEquals("recomposed $key on scroll", beforeScroll[key], afterScroll[key]) }
+
+        composeRule.runOnIdle { emissions.value = Emission(rows()) }
+        assertEquals(afterScroll, visibleCounts())
+
+        // A row that did change still recomposes, so the counter is not vacuous
+        val target = afterScroll.keys.first()
+        composeRule.runOnIdle {
+            emissions.value = Emission(rows().map { row -> if (id(row) == target) changed(row) else row })
+        }
+        assertEquals(afterScroll + (target to afterScroll.getValue(target) + 1), visibleCounts())
+    }
+
+    /** A new PagingData per emission, as the Pager produces for each cache write. */
+    @Composable
+    private fun <T : Any> StateFlow<Emission<T>>.asPagingItems(): LazyPagingItems<T> =
+        remember(this) { map { PagingData.from(it.rows) } }.collectAsLazyPagingItems()
+
+    private fun vehicleCards(): List<VehicleCardUi> = List(40) { vehicle(it).toCard().toCardUi() }
+
+    private fun rentalCards(): List<RentalCardUi> = List(40) { rentalSummary(it).toCardUi() }
+
+    private fun vehicle(i: Int) = Vehicle(
+        id = "vehicle-$i",
+        make = "Toyota",
+        model = "Corolla",
+        year = 2020,
+        licensePlate = "KAA %03dA".format(i),
+        seatingCapacity = 5,
+        pricePerDay = 3_500.0 + i,
+        features = listOf("bluetooth", "gps"),
+        createdAt = CREATED_AT
+    )
+
+    private fun rentalSummary(i: Int): RentalSummary {
+        val location = RentalLocation(
+            id = "location",
+            name = "SmartDrive Nairobi",
+            address = "10 Kenyatta Avenue",
+            city = "Nairobi",
+            county = "Nairobi",
+            operatingHours = mapOf("mon_fri" to "08:00-18:00"),
+            createdAt = CREATED_AT
+        )
+        return RentalSummary(
+            rental = Rental(
+                id = "rental-$i",
+                customerId = "customer",
+                vehicleId = "vehicle-$i",
+                pickupLocationId = location.id,
+                returnLocationId = location.id,
+                pickupDate = "2025-03-01",
+                pickupTime = "09:00",
+                returnDate = "2025-03-04",
+                returnTime = "17:00",
+                dailyRate = 3_500.0,
+                totalDays = 3,
+                subtotal = 10_500.0,
+                depositAmount = 10_000.0,
+                totalAmount = 12_180.0 + i,
+                status = RentalStatus.CONFIRMED,
+                createdAt = CREATED_AT
+            ),
+            vehicle = vehicle(i),
+            pickupLocation = location,
+            returnLocation = location
+        )
+    }
+
+    private companion object {
+        const val LIST_TAG = "cards"
+        const val CREATED_AT = "2025-01-01T00:00:00+00:00"
+    }
+}
@@ -7,6 +7,10 @@ import androidx.activity.enableEdgeToEdge
 import androidx.compose.foundation.layout.fillMaxSize
 import androidx.compose.foundation.layout.padding
 import androidx.compose.material3.Scaffold
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.collectAsState
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.withFrameNanos
 import androidx.compose.ui.Modifier
 import androidx.hilt.navigation.compose.hiltViewModel
 import com.smartdrive.kenya.ui.navigation.SmartDriveNavigation
@@ -23,8 +27,9 @@ class MainActivity : ComponentActivity() {
         setContent {
             SmartDriveKenyaTheme {
                 val splashViewModel: SplashViewModel = hiltViewModel()
+                val startupState by splashViewModel.startupState.collectAsState()
                 
-                if (splashViewModel.isLoading.value) {
+                if (!startupState.sessionRestored) {
                     SplashScreen()
                 } else {
                     Scaffold(modifier = Modifier.fillMaxSize()) { innerPadding ->
@@ -32,6 +37,19 @@ class MainActivity : ComponentActivity() {
                             modifier = Modifier.padding(innerPadding)
                         )
                     }
+                    
+                    // Startup milestones are taken after the frame that shows them
+                    LaunchedEffect(Unit) {
+                        withFrameNanos { }
+                        splashViewModel.onInitialDisplay()
+                    }
+                    LaunchedEffect(startupState.fullyLoaded) {
+                        if (startupState.fullyLoaded) {
+                            withFrameNanos { }
+                            splashViewModel.onFullDisplay()
+                            reportFullyDrawn()
+                        }
+                    }
                 }
             }
         }
@@ -1,7 +1,29 @@
 package com.smartdrive.kenya
 
 import android.app.Application
+import coil.ImageLoader
+import coil.ImageLoaderFactory
+import com.smartdrive.kenya.startup.StartupOrchestrator
+import dagger.Lazy
 import dagger.hilt.android.HiltAndroidApp
+import javax.inject.Inject
 
 @HiltAndroidApp
-class SmartDriveApplication : Application()
\ No newline at end of file
+class SmartDriveApplication : Application(), ImageLoaderFactory {
+
+    @Inject
+    lateinit var startupOrchestrator: StartupOrchestrator
+
+    // Built when the first image loads, not during startup
+    @Inject
+    lateinit var imageLoader: Lazy<ImageLoader>
+
+    override fun onCreate() {
+        super.onCreate()
+        // Start restoring the session while the activity is still being created
+        startupOrchestrator.start()
+    }
+
+    /** Every AsyncImage and `context.imageLoader` use the one loader from NetworkModule. */
+    override fun newImageLoader(): ImageLoader = imageLoader.get()
+}
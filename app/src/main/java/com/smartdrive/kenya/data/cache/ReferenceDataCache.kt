@@ -0,0 +1,98 @@
+package com.smartdrive.kenya.data.cache
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.completeWith
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * In-memory cache for small, rarely changing reference tables such as rental
+ * locations and extras. Values live for [ttlMillis]; concurrent callers asking for
+ * the same key while it is loading share a single request. Failed loads are not cached.
+ */
+class ReferenceDataCache(
+    private val ttlMillis: Long = DEFAULT_TTL_MILLIS,
+    private val clock: () -> Long = { System.nanoTime() / 1_000_000 }
+) {
+
+    private class Entry(val value: Any?, val loadedAt: Long)
+
+    data class Stats(
+        val hits: Long,
+        val misses: Long,
+        val coalesced: Long
+    )
+
+    // Loads outlive the caller that started them, so a cancelled screen cannot fail the others
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val mutex = Mutex()
+    private val entries = HashMap<String, Entry>()
+    private val inFlight = HashMap<String, CompletableDeferred<Any?>>()
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val coalesced = AtomicLong()
+
+    @Suppress("UNCHECKED_CAST")
+    suspend fun <T> get(key: String, loader: suspend () -> T): T {
+        val pending: Deferred<Any?> = mutex.withLock {
+            val entry = entries[key]
+            if (entry != null && clock() - entry.loadedAt < ttlMillis) {
+                hits.incrementAndGet()
+                return entry.value as T
+            }
+
+            inFlight[key]?.let {
+                coalesced.incrementAndGet()
+                return@withLock it
+            }
+
+            misses.incrementAndGet()
+            CompletableDeferred<Any?>().also { load ->
+                inFlight[key] = load
+                scope.launch {
+                    val result = runCatching { loader() }
+                    mutex.withLock {
+                        // An invalidation while loading discards this result
+                        if (inFlight[key] === load) {
+                            inFlight.remove(key)
+                            result.onSuccess { entries[key] = Entry(it, clock()) }
+                        }
+                    }
+                    load.completeWith(result)
+                }
+            }
+        }
+        return pending.await() as T
+    }
+
+    suspend fun invalidate(key: String) {
+        mutex.withLock {
+            entries.remove(key)
+            inFlight.remove(key)
+        }
+    }
+
+    suspend fun invalidateAll() {
+        mutex.withLock {
+            entries.clear()
+            inFlight.clear()
+        }
+    }
+
+    fun stats(): Stats = Stats(
+        hits = hits.get(),
+        misses = misses.get(),
+        coalesced = coalesced.get()
+    )
+
+    companion object {
+        const val DEFAULT_TTL_MILLIS = 30 * 60 * 1000L
+    }
+}
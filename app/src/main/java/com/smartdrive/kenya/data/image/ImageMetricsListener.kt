@@ -0,0 +1,19 @@
+package com.smartdrive.kenya.data.image
+
+import coil.EventListener
+import coil.request.ErrorResult
+import coil.request.ImageRequest
+import coil.request.SuccessResult
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+
+/** Counts where each image came from, for the cache hit rate in [NetworkMetrics]. */
+class ImageMetricsListener(private val metrics: NetworkMetrics) : EventListener {
+
+    override fun onSuccess(request: ImageRequest, result: SuccessResult) {
+        metrics.recordImage(result.dataSource)
+    }
+
+    override fun onError(request: ImageRequest, result: ErrorResult) {
+        metrics.recordImage(null)
+    }
+}
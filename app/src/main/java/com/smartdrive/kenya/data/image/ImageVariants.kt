@@ -0,0 +1,67 @@
+package com.smartdrive.kenya.data.image
+
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrlOrNull
+
+/**
+ * Rewrites image URLs to ask the server for a variant about as wide as the view
+ * it lands in, instead of the full-size original.
+ *
+ * - Supabase storage: `/storage/v1/object/public/...` becomes the image
+ *   transformation endpoint `/storage/v1/render/image/public/...?width=`, when
+ *   [renderStorageImages][sized] is on. Transformations are a paid Supabase
+ *   feature, so this is off unless the project enables it.
+ * - Unsplash: the `w` and `q` parameters are replaced.
+ *
+ * Any other URL is left as is; Coil still decodes it down to the view size.
+ * Widths are rounded up to a few fixed steps so a grid tile, a list card and a
+ * prefetch of either map to the same URL and share one cache entry.
+ */
+object ImageVariants {
+
+    private val WIDTH_STEPS = intArrayOf(160, 320, 480, 720, 1080, 1440)
+    private const val QUALITY = 75
+
+    fun sized(url: String, widthPx: Int, renderStorageImages: Boolean = true): String {
+        val httpUrl = url.toHttpUrlOrNull() ?: return url
+        val width = stepFor(widthPx)
+        return when {
+            isPublicStorageObject(httpUrl) ->
+                if (renderStorageImages) supabaseVariant(httpUrl, width) else url
+            httpUrl.host == "images.unsplash.com" -> httpUrl.newBuilder()
+                .setQueryParameter("w", width.toString())
+                .setQueryParameter("q", QUALITY.toString())
+                .setQueryParameter("auto", "format")
+                .build()
+                .toString()
+            else -> url
+        }
+    }
+
+    /** The smallest step at least [widthPx] wide, or the largest step. */
+    fun stepFor(widthPx: Int): Int = WIDTH_STEPS.firstOrNull { it >= widthPx } ?: WIDTH_STEPS.last()
+
+    // ================== SUPABASE STORAGE ==================
+
+    fun isPublicStorageObject(url: String): Boolean =
+        url.toHttpUrlOrNull()?.let(::isPublicStorageObject) ?: false
+
+    private fun isPublicStorageObject(url: HttpUrl): Boolean {
+        val segments = url.pathSegments
+        return segments.size > 4 && segments[0] == "storage" && segments[1] == "v1" &&
+            segments[2] == "object" && segments[3] == "public"
+    }
+
+    private fun supabaseVariant(url: HttpUrl, width: Int): String {
+        val objectPath = url.pathSegments.drop(4)
+        return url.newBuilder()
+            .encodedPath("/")
+            .addPathSegments("storage/v1/render/image/public")
+            .apply { objectPath.forEach(::addPathSegment) }
+            .setQueryParameter("width", width.toString())
+            .setQueryParameter("quality", QUALITY.toString())
+            .setQueryParameter("resize", "contain")
+            .build()
+            .toString()
+    }
+}
@@ -0,0 +1,39 @@
+package com.smartdrive.kenya.data.image
+
+import coil.intercept.Interceptor
+import coil.network.HttpException
+import coil.request.ErrorResult
+import coil.request.ImageResult
+import coil.size.Dimension
+
+/**
+ * Swaps a remote image URL for the [ImageVariants] variant matching the width
+ * Coil resolved for the target view. Runs before the memory cache lookup, so
+ * the variant URL is also the cache key.
+ *
+ * A variant that fails to load falls back to the original URL.
+ */
+class SizedImageInterceptor(renderStorageImages: Boolean) : Interceptor {
+
+    // Cleared the first time the render endpoint answers with an HTTP error, e.g.
+    // when the project has no image transformations, so later loads go straight
+    // to the original. Network errors leave it on.
+    @Volatile
+    private var renderStorageImages = renderStorageImages
+
+    override suspend fun intercept(chain: Interceptor.Chain): ImageResult {
+        val request = chain.request
+        val url = request.data as? String ?: return chain.proceed(request)
+        val width = (chain.size.width as? Dimension.Pixels)?.px ?: return chain.proceed(request)
+
+        val sized = ImageVariants.sized(url, width, renderStorageImages)
+        if (sized == url) return chain.proceed(request)
+
+        val result = chain.proceed(request.newBuilder().data(sized).build())
+        if (result !is ErrorResult) return result
+        if (result.throwable is HttpException && ImageVariants.isPublicStorageObject(url)) {
+            renderStorageImages = false
+        }
+        return chain.proceed(request)
+    }
+}
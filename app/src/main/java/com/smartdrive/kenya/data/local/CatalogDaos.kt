@@ -0,0 +1,142 @@
+package com.smartdrive.kenya.data.local
+
+import androidx.paging.PagingSource
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Upsert
+import kotlinx.coroutines.flow.Flow
+
+@Dao
+interface VehicleDao {
+
+    /**
+     * Local mirror of the PostgREST catalog query. Empty list / null arguments
+     * disable the corresponding filter; ordering matches the server keyset.
+     */
+    @Query(
+        """
+        SELECT * FROM vehicles
+        WHERE (:status IS NULL OR status = :status)
+          AND (:idCount = 0 OR id IN (:ids))
+          AND (:fuelTypeCount = 0 OR fuel_type IN (:fuelTypes))
+          AND (:transmissionCount = 0 OR transmission IN (:transmissions))
+          AND (:minPrice IS NULL OR price_per_day >= :minPrice)
+          AND (:maxPrice IS NULL OR price_per_day <= :maxPrice)
+        ORDER BY created_at DESC, id DESC
+        """
+    )
+    fun pagingSource(
+        status: String?,
+        ids: List<String>,
+        idCount: Int,
+        fuelTypes: List<String>,
+        fuelTypeCount: Int,
+        transmissions: List<String>,
+        transmissionCount: Int,
+        minPrice: Double?,
+        maxPrice: Double?
+    ): PagingSource<Int, VehicleEntity>
+
+    @Query("SELECT * FROM vehicles WHERE status = :status ORDER BY created_at DESC, id DESC")
+    fun observeByStatus(status: String): Flow<List<VehicleEntity>>
+
+    @Query("SELECT * FROM vehicles WHERE id = :id")
+    fun observeById(id: String): Flow<VehicleEntity?>
+
+    @Query("SELECT * FROM vehicles WHERE id = :id")
+    suspend fun getById(id: String): VehicleEntity?
+
+    @Upsert
+    suspend fun upsertAll(vehicles: List<VehicleEntity>)
+
+    @Query("DELETE FROM vehicles WHERE id IN (:ids)")
+    suspend fun deleteByIds(ids: List<String>)
+
+    @Query("DELETE FROM vehicles WHERE status = :status")
+    suspend fun deleteByStatus(status: String)
+
+    /** Writes card columns only; detail columns of existing rows are kept. */
+    @Upsert(entity = VehicleEntity::class)
+    suspend fun upsertCards(cards: List<VehicleCardEntity>)
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    suspend fun stageSyncIds(ids: List<VehicleSyncIdEntity>)
+
+    @Query("DELETE FROM vehicle_sync_ids WHERE batch = :batch")
+    suspend fun clearSyncIds(batch: String)
+
+    @Query("DELETE FROM vehicles WHERE id NOT IN (SELECT id FROM vehicle_sync_ids WHERE batch = :batch)")
+    suspend fun deleteUnstaged(batch: String)
+
+    @Query(
+        """
+        DELETE FROM vehicles
+        WHERE status = :status AND id NOT IN (SELECT id FROM vehicle_sync_ids WHERE batch = :batch)
+        """
+    )
+    suspend fun deleteUnstagedByStatus(status: String, batch: String)
+
+    /** Deletes every vehicle not staged in [batch], then drops the batch. */
+    @Transaction
+    suspend fun pruneToStaged(batch: String) {
+        deleteUnstaged(batch)
+        clearSyncIds(batch)
+    }
+
+    @Transaction
+    suspend fun replaceCardsByStatus(status: String, cards: List<VehicleCardEntity>) {
+        val batch = "status:$status"
+        clearSyncIds(batch)
+        stageSyncIds(cards.map { VehicleSyncIdEntity(batch, it.id) })
+        deleteUnstagedByStatus(status, batch)
+        clearSyncIds(batch)
+        upsertCards(cards)
+    }
+}
+
+@Dao
+interface RentalLocationDao {
+
+    @Query("SELECT * FROM rental_locations ORDER BY name")
+    fun observeAll(): Flow<List<RentalLocationEntity>>
+
+    @Query("SELECT * FROM rental_locations ORDER BY name")
+    suspend fun getAll(): List<RentalLocationEntity>
+
+    @Upsert
+    suspend fun upsertAll(locations: List<RentalLocationEntity>)
+
+    @Query("DELETE FROM rental_locations")
+    suspend fun deleteAll()
+
+    @Transaction
+    suspend fun replaceAll(locations: List<RentalLocationEntity>) {
+        deleteAll()
+        upsertAll(locations)
+    }
+}
+
+@Dao
+interface RentalExtraDao {
+
+    @Query("SELECT * FROM rental_extras WHERE is_active = 1 ORDER BY category, name")
+    fun observeActive(): Flow<List<RentalExtraEntity>>
+
+    @Query("SELECT * FROM rental_extras WHERE is_active = 1 ORDER BY category, name")
+    suspend fun getActive(): List<RentalExtraEntity>
+
+    @Upsert
+    suspend fun upsertAll(extras: List<RentalExtraEntity>)
+
+    @Query("DELETE FROM rental_extras")
+    suspend fun deleteAll()
+
+    @Transaction
+    suspend fun replaceAll(extras: List<RentalExtraEntity>) {
+        deleteAll()
+        upsertAll(extras)
+    }
+}
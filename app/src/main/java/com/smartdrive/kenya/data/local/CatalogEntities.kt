@@ -0,0 +1,228 @@
+package com.smartdrive.kenya.data.local
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import com.smartdrive.kenya.data.model.BodyType
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.RentalExtra
+import com.smartdrive.kenya.data.model.RentalLocation
+import com.smartdrive.kenya.data.model.Transmission
+import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.VehicleCard
+import com.smartdrive.kenya.data.model.VehicleStatus
+
+/**
+ * Cached vehicle row. List syncs only write the [VehicleCardEntity] columns, so the
+ * remaining ones have defaults and [hasDetails] records whether a full row was stored.
+ */
+@Entity(
+    tableName = "vehicles",
+    indices = [Index(value = ["status", "created_at", "id"])]
+)
+data class VehicleEntity(
+    @PrimaryKey val id: String,
+    val make: String,
+    val model: String,
+    val year: Int,
+    @ColumnInfo(name = "license_plate") val licensePlate: String,
+    @ColumnInfo(defaultValue = "NULL") val color: String?,
+    @ColumnInfo(name = "fuel_type") val fuelType: String,
+    val transmission: String,
+    @ColumnInfo(name = "seating_capacity") val seatingCapacity: Int,
+    @ColumnInfo(name = "price_per_day") val pricePerDay: Double,
+    @ColumnInfo(name = "image_url") val imageUrl: String?,
+    val status: String,
+    @ColumnInfo(defaultValue = "[]") val features: List<String>,
+    @ColumnInfo(name = "body_type", defaultValue = "NULL") val bodyType: String?,
+    @ColumnInfo(name = "agent_id", defaultValue = "NULL") val agentId: String?,
+    @ColumnInfo(name = "created_at") val createdAt: String,
+    @ColumnInfo(name = "updated_at", defaultValue = "NULL") val updatedAt: String?,
+    @ColumnInfo(name = "has_details", defaultValue = "0") val hasDetails: Boolean
+)
+
+/** Partial row used to upsert [VehicleCard]s without touching detail columns. */
+data class VehicleCardEntity(
+    val id: String,
+    val make: String,
+    val model: String,
+    val year: Int,
+    @ColumnInfo(name = "license_plate") val licensePlate: String,
+    val color: String?,
+    @ColumnInfo(name = "fuel_type") val fuelType: String,
+    val transmission: String,
+    @ColumnInfo(name = "seating_capacity") val seatingCapacity: Int,
+    @ColumnInfo(name = "price_per_day") val pricePerDay: Double,
+    @ColumnInfo(name = "image_url") val imageUrl: String?,
+    val status: String,
+    val features: List<String>,
+    @ColumnInfo(name = "body_type") val bodyType: String?,
+    @ColumnInfo(name = "created_at") val createdAt: String
+)
+
+/**
+ * Ids seen by one snapshot write, grouped by [batch]. Rows the snapshot did not
+ * see are pruned with a subquery on this table, as binding every id of a large
+ * fleet would exceed SQLite's 999 bind variables on older devices.
+ */
+@Entity(tableName = "vehicle_sync_ids", primaryKeys = ["batch", "id"])
+data class VehicleSyncIdEntity(
+    val batch: String,
+    val id: String
+) {
+    companion object {
+        const val FLEET_SNAPSHOT = "fleet"
+    }
+}
+
+@Entity(tableName = "rental_locations")
+data class RentalLocationEntity(
+    @PrimaryKey val id: String,
+    val name: String,
+    val address: String,
+    val city: String,
+    val county: String,
+    val latitude: Double?,
+    val longitude: Double?,
+    val phone: String?,
+    val email: String?,
+    @ColumnInfo(name = "operating_hours") val operatingHours: Map<String, String>?,
+    @ColumnInfo(name = "is_active") val isActive: Boolean,
+    @ColumnInfo(name = "created_at") val createdAt: String
+)
+
+@Entity(tableName = "rental_extras")
+data class RentalExtraEntity(
+    @PrimaryKey val id: String,
+    val name: String,
+    val description: String?,
+    @ColumnInfo(name = "daily_rate") val dailyRate: Double,
+    val category: String,
+    @ColumnInfo(name = "is_active") val isActive: Boolean
+)
+
+fun Vehicle.toEntity() = VehicleEntity(
+    id = id,
+    make = make,
+    model = model,
+    year = year,
+    licensePlate = licensePlate,
+    color = color,
+    fuelType = fuelType.value,
+    transmission = transmission.value,
+    seatingCapacity = seatingCapacity,
+    pricePerDay = pricePerDay,
+    imageUrl = imageUrl,
+    status = status.value,
+    features = features,
+    bodyType = bodyType?.value,
+    agentId = agentId,
+    createdAt = createdAt,
+    updatedAt = updatedAt,
+    hasDetails = true
+)
+
+fun VehicleCard.toEntity() = VehicleCardEntity(
+    id = id,
+    make = make,
+    model = model,
+    year = year,
+    licensePlate = licensePlate,
+    color = color,
+    fuelType = fuelType.value,
+    transmission = transmission.value,
+    seatingCapacity = seatingCapacity,
+    pricePerDay = pricePerDay,
+    imageUrl = imageUrl,
+    status = status.value,
+    features = features,
+    bodyType = bodyType?.value,
+    createdAt = createdAt
+)
+
+fun VehicleEntity.toCard() = VehicleCard(
+    id = id,
+    make = make,
+    model = model,
+    year = year,
+    licensePlate = licensePlate,
+    color = color,
+    fuelType = FuelType.fromString(fuelType),
+    transmission = Transmission.fromString(transmission),
+    seatingCapacity = seatingCapacity,
+    pricePerDay = pricePerDay,
+    imageUrl = imageUrl,
+    status = VehicleStatus.fromString(status),
+    features = features,
+    bodyType = BodyType.fromString(bodyType),
+    createdAt = createdAt
+)
+
+fun VehicleEntity.toModel() = Vehicle(
+    id = id,
+    make = make,
+    model = model,
+    year = year,
+    licensePlate = licensePlate,
+    color = color,
+    fuelType = FuelType.fromString(fuelType),
+    transmission = Transmission.fromString(transmission),
+    seatingCapacity = seatingCapacity,
+    pricePerDay = pricePerDay,
+    imageUrl = imageUrl,
+    status = VehicleStatus.fromString(status),
+    features = features,
+    bodyType = BodyType.fromString(bodyType),
+    agentId = agentId,
+    createdAt = createdAt,
+    updatedAt = updatedAt
+)
+
+fun RentalLocation.toEntity() = RentalLocationEntity(
+    id = id,
+    name = name,
+    address = address,
+    city = city,
+    county = county,
+    latitude = latitude,
+    longitude = longitude,
+    phone = phone,
+    email = email,
+    operatingHours = operatingHours,
+    isActive = isActive,
+    createdAt = createdAt
+)
+
+fun RentalLocationEntity.toModel() = RentalLocation(
+    id = id,
+    name = name,
+    address = address,
+    city = city,
+    county = county,
+    latitude = latitude,
+    longitude = longitude,
+    phone = phone,
+    email = email,
+    operatingHours = operatingHours,
+    isActive = isActive,
+    createdAt = createdAt
+)
+
+fun RentalExtra.toEntity() = RentalExtraEntity(
+    id = id,
+    name = name,
+    description = description,
+    dailyRate = dailyRate,
+    category = category,
+    isActive = isActive
+)
+
+fun RentalExtraEntity.toModel() = RentalExtra(
+    id = id,
+    name = name,
+    description = description,
+    dailyRate = dailyRate,
+    category = category,
+    isActive = isActive
+)
@@ -0,0 +1,20 @@
+package com.smartdrive.kenya.data.local
+
+import androidx.room.TypeConverter
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+
+class Converters {
+
+    @TypeConverter
+    fun fromStringList(value: List<String>): String = Json.encodeToString(value)
+
+    @TypeConverter
+    fun toStringList(value: String): List<String> = Json.decodeFromString(value)
+
+    @TypeConverter
+    fun fromStringMap(value: Map<String, String>?): String? = value?.let { Json.encodeToString(it) }
+
+    @TypeConverter
+    fun toStringMap(value: String?): Map<String, String>? = value?.let { Json.decodeFromString(it) }
+}
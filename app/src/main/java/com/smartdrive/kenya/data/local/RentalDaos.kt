@@ -0,0 +1,74 @@
+package com.smartdrive.kenya.data.local
+
+import androidx.paging.PagingSource
+import androidx.room.Dao
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Upsert
+
+@Dao
+interface RentalSummaryDao {
+
+    /** Ordering matches the server keyset, so appended pages continue the list. */
+    @Query(
+        """
+        SELECT * FROM rental_summaries
+        WHERE customer_id = :customerId
+        ORDER BY created_at DESC, id DESC
+        """
+    )
+    fun pagingSource(customerId: String): PagingSource<Int, RentalSummaryEntity>
+
+    @Query(
+        """
+        SELECT * FROM rental_summaries
+        WHERE customer_id = :customerId
+        ORDER BY created_at DESC, id DESC
+        LIMIT 1
+        """
+    )
+    suspend fun getNewest(customerId: String): RentalSummaryEntity?
+
+    @Upsert
+    suspend fun upsertAll(rentals: List<RentalSummaryEntity>)
+
+    @Query("DELETE FROM rental_summaries WHERE customer_id = :customerId")
+    suspend fun deleteByCustomer(customerId: String)
+
+    @Query("DELETE FROM rental_summaries WHERE customer_id != :customerId")
+    suspend fun deleteOtherCustomers(customerId: String)
+
+    /** Deletes rows at or above the (createdAt, id) key that are not in [keepIds]. */
+    @Query(
+        """
+        DELETE FROM rental_summaries
+        WHERE customer_id = :customerId
+          AND (created_at > :createdAt OR (created_at = :createdAt AND id >= :id))
+          AND id NOT IN (:keepIds)
+        """
+    )
+    suspend fun deleteNewestExcept(customerId: String, createdAt: String, id: String, keepIds: List<String>)
+
+    /**
+     * Stores a freshly fetched first page. The cache must stay a gap-free prefix of
+     * the history for appends to continue from its last row, so older cached rows
+     * are kept only when the page reaches down to the previous newest row. A page
+     * shorter than [pageSize] is the whole history and replaces everything.
+     */
+    @Transaction
+    suspend fun replaceFirstPage(customerId: String, page: List<RentalSummaryEntity>, pageSize: Int) {
+        // A device is used by one account at a time; nothing of the previous one is kept
+        deleteOtherCustomers(customerId)
+
+        val oldestFetched = page.lastOrNull()
+        val newestCached = getNewest(customerId)
+        if (oldestFetched == null || page.size < pageSize ||
+            newestCached == null || newestCached.isOlderThan(oldestFetched)
+        ) {
+            deleteByCustomer(customerId)
+        } else {
+            deleteNewestExcept(customerId, oldestFetched.createdAt, oldestFetched.id, page.map { it.id })
+        }
+        upsertAll(page)
+    }
+}
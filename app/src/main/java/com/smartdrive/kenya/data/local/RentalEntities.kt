@@ -0,0 +1,26 @@
+package com.smartdrive.kenya.data.local
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * Cached row of a customer's rental history. The `rentals` row and its embedded
+ * relations are kept as returned by PostgREST in [payload]; only the columns the
+ * history is filtered and ordered by are stored separately.
+ */
+@Entity(
+    tableName = "rental_summaries",
+    indices = [Index(value = ["customer_id", "created_at", "id"])]
+)
+data class RentalSummaryEntity(
+    @PrimaryKey val id: String,
+    @ColumnInfo(name = "customer_id") val customerId: String,
+    @ColumnInfo(name = "created_at") val createdAt: String,
+    val payload: String
+) {
+    /** True if this row sorts after [other] in the (created_at DESC, id DESC) history order. */
+    fun isOlderThan(other: RentalSummaryEntity): Boolean =
+        createdAt < other.createdAt || (createdAt == other.createdAt && id < other.id)
+}
@@ -0,0 +1,33 @@
+package com.smartdrive.kenya.data.local
+
+import androidx.room.Database
+import androidx.room.RoomDatabase
+import androidx.room.TypeConverters
+
+/**
+ * On-device cache of Supabase reference and catalog data and the signed-in
+ * customer's rental history. Everything here can be
+ * re-downloaded, so schema changes use destructive migration.
+ */
+@Database(
+    entities = [
+        VehicleEntity::class,
+        VehicleSyncIdEntity::class,
+        RentalLocationEntity::class,
+        RentalExtraEntity::class,
+        RentalSummaryEntity::class
+    ],
+    version = 5,
+    exportSchema = false
+)
+@TypeConverters(Converters::class)
+abstract class SmartDriveDatabase : RoomDatabase() {
+    abstract fun vehicleDao(): VehicleDao
+    abstract fun rentalLocationDao(): RentalLocationDao
+    abstract fun rentalExtraDao(): RentalExtraDao
+    abstract fun rentalSummaryDao(): RentalSummaryDao
+
+    companion object {
+        const val NAME = "smartdrive_cache.db"
+    }
+}
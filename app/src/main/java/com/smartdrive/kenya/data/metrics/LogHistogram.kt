@@ -0,0 +1,79 @@
+package com.smartdrive.kenya.data.metrics
+
+/**
+ * Fixed-size histogram in the style of HdrHistogram: values are grouped into
+ * power-of-two ranges, each split into [SUB_BUCKETS] linear buckets, so every
+ * recorded value is kept to within ~3% no matter its magnitude. Memory is a
+ * single int array and recording never allocates.
+ *
+ * Values above [MAX_VALUE] are clamped. Not thread-safe; callers synchronize.
+ */
+class LogHistogram {
+
+    private val counts = IntArray(BUCKET_COUNT)
+
+    var count: Long = 0
+        private set
+    var min: Long = Long.MAX_VALUE
+        private set
+    var max: Long = 0
+        private set
+    private var sum: Long = 0
+
+    val mean: Double
+        get() = if (count == 0L) 0.0 else sum.toDouble() / count
+
+    fun record(value: Long) {
+        val clamped = value.coerceIn(0, MAX_VALUE)
+        counts[bucketOf(clamped)]++
+        count++
+        sum += clamped
+        if (clamped < min) min = clamped
+        if (clamped > max) max = clamped
+    }
+
+    /** Highest value equivalent to the one at [percentile] (0–100), or 0 when empty. */
+    fun valueAt(percentile: Double): Long {
+        if (count == 0L) return 0
+        val target = maxOf(1L, Math.ceil(percentile.coerceIn(0.0, 100.0) / 100.0 * count).toLong())
+        var seen = 0L
+        for (bucket in counts.indices) {
+            seen += counts[bucket]
+            if (seen >= target) return highestEquivalent(bucket).coerceIn(min, max)
+        }
+        return max
+    }
+
+    fun reset() {
+        counts.fill(0)
+        count = 0
+        sum = 0
+        min = Long.MAX_VALUE
+        max = 0
+    }
+
+    companion object {
+        private const val SUB_BUCKET_BITS = 5
+        const val SUB_BUCKETS = 1 shl SUB_BUCKET_BITS
+
+        /** Largest trackable value; an hour when recording microseconds. */
+        const val MAX_VALUE = (1L shl 32) - 1
+
+        private val BUCKET_COUNT = bucketOf(MAX_VALUE) + 1
+
+        // Values below 2 * SUB_BUCKETS map one to one; above that each power of two
+        // contributes SUB_BUCKETS buckets whose width doubles with the exponent.
+        private fun bucketOf(value: Long): Int {
+            if (value < 2 * SUB_BUCKETS) return value.toInt()
+            val shift = 63 - java.lang.Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS
+            return (shift + 1) * SUB_BUCKETS + ((value shr shift) - SUB_BUCKETS).toInt()
+        }
+
+        private fun highestEquivalent(bucket: Int): Long {
+            if (bucket < 2 * SUB_BUCKETS) return bucket.toLong()
+            val shift = bucket / SUB_BUCKETS - 1
+            val subBucket = (bucket % SUB_BUCKETS + SUB_BUCKETS).toLong()
+            return ((subBucket + 1) shl shift) - 1
+        }
+    }
+}
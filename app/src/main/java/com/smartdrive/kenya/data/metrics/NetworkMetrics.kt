@@ -0,0 +1,271 @@
+package com.smartdrive.kenya.data.metrics
+
+import android.content.Context
+import coil.ImageLoader
+import coil.decode.DataSource
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+import java.io.File
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+enum class RequestOutcome {
+    SUCCESS,
+    NOT_MODIFIED,
+    CLIENT_ERROR,
+    SERVER_ERROR,
+    NETWORK_ERROR;
+
+    companion object {
+        fun of(httpCode: Int): RequestOutcome = when (httpCode) {
+            304 -> NOT_MODIFIED
+            in 200..399 -> SUCCESS
+            in 400..499 -> CLIENT_ERROR
+            else -> SERVER_ERROR
+        }
+    }
+}
+
+@Serializable
+data class LatencySummary(
+    val count: Long,
+    val p50Ms: Double,
+    val p95Ms: Double,
+    val p99Ms: Double,
+    val maxMs: Double,
+    val meanMs: Double
+)
+
+@Serializable
+data class EndpointSnapshot(
+    val endpoint: String,
+    val requests: Long,
+    val outcomes: Map<String, Long>,
+    val roundTrip: LatencySummary,
+    val decode: LatencySummary,
+    val bytesTotal: Long,
+    val bytesP50: Long,
+    val bytesP95: Long,
+    val rowsTotal: Long,
+    val rowsMax: Long
+)
+
+@Serializable
+data class ImageCacheSnapshot(
+    val requests: Long = 0,
+    val memoryHits: Long = 0,
+    val diskHits: Long = 0,
+    val networkLoads: Long = 0,
+    val errors: Long = 0,
+    /** Share of successful loads served from the memory or disk cache. */
+    val hitRate: Double = 0.0,
+    /** Decoded bitmaps currently held by the memory cache. */
+    val bitmapBytes: Long = 0,
+    val bitmapMaxBytes: Long = 0,
+    val diskBytes: Long = 0,
+    val diskMaxBytes: Long = 0
+)
+
+@Serializable
+data class NetworkMetricsSnapshot(
+    val capturedAt: Long,
+    val sinceMillis: Long,
+    val endpoints: List<EndpointSnapshot>,
+    val images: ImageCacheSnapshot = ImageCacheSnapshot()
+)
+
+/**
+ * Per-endpoint latency metrics for Supabase calls. [NetworkMetricsInterceptor]
+ * records round trip, wire bytes and outcome for every PostgREST request, and
+ * the repositories record decode time and row count through the timed decode
+ * helpers. Endpoints are keyed by table name, or `rpc/<function>` for RPCs.
+ * Image loads are counted by where Coil served them from, next to the size of
+ * its memory and disk caches.
+ *
+ * A snapshot is written to `files/metrics/network_metrics.json` every
+ * [EXPORT_INTERVAL_MILLIS] while there is something new to write.
+ */
+@Singleton
+class NetworkMetrics(
+    // Resolved on export; the load test points it at its report directory
+    private val filesDir: () -> File
+) {
+
+    @Inject
+    constructor(@ApplicationContext context: Context) : this({ context.filesDir })
+
+    private class EndpointStats {
+        val roundTrip = LogHistogram()
+        val decode = LogHistogram()
+        val bytes = LogHistogram()
+        val outcomes = LongArray(RequestOutcome.values().size)
+        var bytesTotal = 0L
+        var rowsTotal = 0L
+        var rowsMax = 0L
+    }
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val lock = Any()
+    private val endpoints = HashMap<String, EndpointStats>()
+    private val imageSources = LongArray(DataSource.values().size)
+    private var imageErrors = 0L
+    @Volatile private var imageLoader: ImageLoader? = null
+    private var startedAt = System.currentTimeMillis()
+    private var dirty = false
+
+    private val json = Json { prettyPrint = true }
+
+    private val _snapshot = MutableStateFlow(NetworkMetricsSnapshot(startedAt, startedAt, emptyList()))
+    val snapshot: StateFlow<NetworkMetricsSnapshot> = _snapshot.asStateFlow()
+
+    init {
+        scope.launch {
+            while (isActive) {
+                delay(EXPORT_INTERVAL_MILLIS)
+                export()
+            }
+        }
+    }
+
+    // ================== RECORDING ==================
+
+    fun recordExchange(endpoint: String, roundTripNanos: Long, bytes: Long, outcome: RequestOutcome) {
+        synchronized(lock) {
+            val stats = endpoints.getOrPut(endpoint) { EndpointStats() }
+            stats.roundTrip.record(TimeUnit.NANOSECONDS.toMicros(roundTripNanos))
+            stats.outcomes[outcome.ordinal]++
+            if (bytes >= 0) {
+                stats.bytes.record(bytes)
+                stats.bytesTotal += bytes
+            }
+            dirty = true
+        }
+    }
+
+    fun recordDecode(endpoint: String, decodeNanos: Long, rows: Int) {
+        synchronized(lock) {
+            val stats = endpoints.getOrPut(endpoint) { EndpointStats() }
+            stats.decode.record(TimeUnit.NANOSECONDS.toMicros(decodeNanos))
+            stats.rowsTotal += rows
+            if (rows > stats.rowsMax) stats.rowsMax = rows.toLong()
+            dirty = true
+        }
+    }
+
+    /** Where a finished image load came from, or null when it failed. */
+    fun recordImage(source: DataSource?) {
+        synchronized(lock) {
+            if (source == null) imageErrors++ else imageSources[source.ordinal]++
+            dirty = true
+        }
+    }
+
+    /** The loader whose cache sizes go into the snapshot. */
+    fun attachImageLoader(loader: ImageLoader) {
+        imageLoader = loader
+    }
+
+    // ================== SNAPSHOTS ==================
+
+    /** Captures the current numbers into [snapshot], slowest p95 first. */
+    fun refreshSnapshot(): NetworkMetricsSnapshot {
+        val snapshot = synchronized(lock) {
+            NetworkMetricsSnapshot(
+                capturedAt = System.currentTimeMillis(),
+                sinceMillis = startedAt,
+                endpoints = endpoints.map { (name, stats) -> stats.toSnapshot(name) }
+                    .sortedByDescending { it.roundTrip.p95Ms },
+                images = imageSnapshot()
+            )
+        }
+        _snapshot.value = snapshot
+        return snapshot
+    }
+
+    fun reset() {
+        synchronized(lock) {
+            endpoints.clear()
+            imageSources.fill(0)
+            imageErrors = 0
+            startedAt = System.currentTimeMillis()
+            dirty = true
+        }
+        refreshSnapshot()
+    }
+
+    private fun export() {
+        val pending = synchronized(lock) { dirty.also { dirty = false } }
+        if (!pending) return
+
+        try {
+            val dir = File(filesDir(), EXPORT_DIR).apply { mkdirs() }
+            val tmp = File(dir, "$EXPORT_FILE.tmp")
+            tmp.writeText(json.encodeToString(refreshSnapshot()))
+            // Rename so a reader never sees a half-written file
+            tmp.renameTo(File(dir, EXPORT_FILE))
+        } catch (e: Exception) {
+            println("Network metrics export failed: ${e.message}")
+        }
+    }
+
+    private fun EndpointStats.toSnapshot(name: String) = EndpointSnapshot(
+        endpoint = name,
+        requests = outcomes.sum(),
+        outcomes = RequestOutcome.values()
+            .filter { outcomes[it.ordinal] > 0 }
+            .associate { it.name to outcomes[it.ordinal] },
+        roundTrip = roundTrip.summary(),
+        decode = decode.summary(),
+        bytesTotal = bytesTotal,
+        bytesP50 = bytes.valueAt(50.0),
+        bytesP95 = bytes.valueAt(95.0),
+        rowsTotal = rowsTotal,
+        rowsMax = rowsMax
+    )
+
+    private fun imageSnapshot(): ImageCacheSnapshot {
+        val memoryHits = imageSources[DataSource.MEMORY_CACHE.ordinal]
+        val diskHits = imageSources[DataSource.DISK.ordinal]
+        val successes = imageSources.sum()
+        val loader = imageLoader
+        return ImageCacheSnapshot(
+            requests = successes + imageErrors,
+            memoryHits = memoryHits,
+            diskHits = diskHits,
+            networkLoads = imageSources[DataSource.NETWORK.ordinal],
+            errors = imageErrors,
+            hitRate = if (successes == 0L) 0.0 else (memoryHits + diskHits).toDouble() / successes,
+            bitmapBytes = loader?.memoryCache?.size?.toLong() ?: 0,
+            bitmapMaxBytes = loader?.memoryCache?.maxSize?.toLong() ?: 0,
+            diskBytes = loader?.diskCache?.size ?: 0,
+            diskMaxBytes = loader?.diskCache?.maxSize ?: 0
+        )
+    }
+
+    private fun LogHistogram.summary() = LatencySummary(
+        count = count,
+        p50Ms = valueAt(50.0) / 1000.0,
+        p95Ms = valueAt(95.0) / 1000.0,
+        p99Ms = valueAt(99.0) / 1000.0,
+        maxMs = max / 1000.0,
+        meanMs = mean / 1000.0
+    )
+
+    companion object {
+        private const val EXPORT_DIR = "metrics"
+        private const val EXPORT_FILE = "network_metrics.json"
+        const val EXPORT_INTERVAL_MILLIS = 60_000L
+    }
+}
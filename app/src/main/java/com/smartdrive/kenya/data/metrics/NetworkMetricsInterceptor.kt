@@ -0,0 +1,94 @@
+package com.smartdrive.kenya.data.metrics
+
+import okhttp3.HttpUrl
+import okhttp3.Interceptor
+import okhttp3.MediaType
+import okhttp3.Response
+import okhttp3.ResponseBody
+import okio.Buffer
+import okio.BufferedSource
+import okio.ForwardingSource
+import okio.buffer
+import java.io.IOException
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Network interceptor timing every PostgREST exchange. The round trip runs from
+ * sending the request to receiving the response headers; the body is counted as
+ * it is read, so the bytes are the compressed ones that crossed the wire. The
+ * exchange is recorded once the body is exhausted or closed.
+ */
+class NetworkMetricsInterceptor(private val metrics: NetworkMetrics) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val endpoint = endpointOf(request.url) ?: return chain.proceed(request)
+
+        val start = System.nanoTime()
+        val response = try {
+            chain.proceed(request)
+        } catch (e: IOException) {
+            metrics.recordExchange(endpoint, System.nanoTime() - start, -1, RequestOutcome.NETWORK_ERROR)
+            throw e
+        }
+        val roundTrip = System.nanoTime() - start
+        val outcome = RequestOutcome.of(response.code)
+
+        val body = response.body
+            ?: return response.also { metrics.recordExchange(endpoint, roundTrip, 0, outcome) }
+
+        return response.newBuilder()
+            .body(CountingBody(body) { bytes -> metrics.recordExchange(endpoint, roundTrip, bytes, outcome) })
+            .build()
+    }
+
+    private class CountingBody(
+        private val delegate: ResponseBody,
+        private val onDone: (Long) -> Unit
+    ) : ResponseBody() {
+
+        private val done = AtomicBoolean(false)
+        private var bytesRead = 0L
+
+        private val source: BufferedSource by lazy {
+            object : ForwardingSource(delegate.source()) {
+                override fun read(sink: Buffer, byteCount: Long): Long {
+                    val read = super.read(sink, byteCount)
+                    if (read == -1L) finish() else bytesRead += read
+                    return read
+                }
+
+                override fun close() {
+                    finish()
+                    super.close()
+                }
+            }.buffer()
+        }
+
+        private fun finish() {
+            if (done.compareAndSet(false, true)) onDone(bytesRead)
+        }
+
+        override fun contentType(): MediaType? = delegate.contentType()
+
+        override fun contentLength(): Long = delegate.contentLength()
+
+        override fun source(): BufferedSource = source
+
+        override fun close() {
+            finish()
+            delegate.close()
+        }
+    }
+
+    companion object {
+        /** `vehicles` for `/rest/v1/vehicles`, `rpc/create_rental` for RPCs, null for non-PostgREST calls. */
+        fun endpointOf(url: HttpUrl): String? {
+            val segments = url.pathSegments
+            val rest = segments.indexOf("rest")
+            if (rest < 0 || segments.getOrNull(rest + 1) != "v1") return null
+            val name = segments.getOrNull(rest + 2)?.takeIf { it.isNotEmpty() } ?: return null
+            return if (name == "rpc") segments.getOrNull(rest + 3)?.let { "rpc/$it" } else name
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.smartdrive.kenya.data.metrics
+
+import io.github.jan.supabase.postgrest.result.PostgrestResult
+
+// Decode helpers that feed decode time and row count into [NetworkMetrics].
+// The endpoint must match the interceptor's key: the table name, or `rpc/<function>`.
+
+inline fun <T> NetworkMetrics.timeDecode(endpoint: String, rowsOf: (T) -> Int, decode: () -> T): T {
+    val start = System.nanoTime()
+    val value = decode()
+    recordDecode(endpoint, System.nanoTime() - start, rowsOf(value))
+    return value
+}
+
+inline fun <reified T : Any> PostgrestResult.decodeListTimed(metrics: NetworkMetrics, endpoint: String): List<T> =
+    metrics.timeDecode(endpoint, { it.size }) { decodeList<T>() }
+
+inline fun <reified T : Any> PostgrestResult.decodeSingleOrNullTimed(metrics: NetworkMetrics, endpoint: String): T? =
+    metrics.timeDecode(endpoint, { if (it == null) 0 else 1 }) { decodeSingleOrNull<T>() }
+
+inline fun <reified T : Any> PostgrestResult.decodeSingleTimed(metrics: NetworkMetrics, endpoint: String): T =
+    metrics.timeDecode(endpoint, { 1 }) { decodeSingle<T>() }
+
+inline fun <reified T : Any> PostgrestResult.decodeAsTimed(metrics: NetworkMetrics, endpoint: String): T =
+    metrics.timeDecode(endpoint, { 1 }) { decodeAs<T>() }
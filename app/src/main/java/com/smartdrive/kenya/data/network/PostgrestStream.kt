@@ -0,0 +1,181 @@
+package com.smartdrive.kenya.data.network
+
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import io.github.jan.supabase.auth.user.UserSession
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.datetime.Clock
+import kotlinx.serialization.DeserializationStrategy
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.DecodeSequenceMode
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeToSequence
+import kotlinx.serialization.serializer
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.coroutines.resumeWithException
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Streaming reads from PostgREST. The response array is decoded element by element
+ * straight off the socket and emitted in chunks, so the first rows can render while
+ * the rest are still downloading and memory is bounded by the chunk size.
+ *
+ * Filters are passed in PostgREST query syntax, e.g. `"customer_id" to "eq.$id"`
+ * or `"order" to "created_at.desc"`.
+ *
+ * Decode time is recorded per stream with the time spent in downstream collectors
+ * left out; since rows are decoded as they arrive it includes waiting on the socket.
+ *
+ * Cancelling the collector cancels the HTTP call, whether it is waiting for the
+ * response or blocked reading the body.
+ */
+@Singleton
+class PostgrestStream @Inject constructor(
+    private val supabaseClient: SupabaseClient,
+    private val httpClient: OkHttpClient,
+    private val networkMetrics: NetworkMetrics
+) {
+
+    private val refreshMutex = Mutex()
+
+    inline fun <reified T> select(
+        table: String,
+        columns: String,
+        params: List<Pair<String, String>> = emptyList(),
+        chunkSize: Int = DEFAULT_CHUNK_SIZE
+    ): Flow<List<T>> = select(serializer<T>(), table, columns, params, chunkSize)
+
+    @OptIn(ExperimentalSerializationApi::class)
+    fun <T> select(
+        deserializer: DeserializationStrategy<T>,
+        table: String,
+        columns: String,
+        params: List<Pair<String, String>> = emptyList(),
+        chunkSize: Int = DEFAULT_CHUNK_SIZE
+    ): Flow<List<T>> = flow {
+        val url = "${supabaseClient.supabaseUrl}/rest/v1/$table".toHttpUrl().newBuilder()
+            .addQueryParameter("select", columns)
+            .apply { params.forEach { (name, value) -> addQueryParameter(name, value) } }
+            .build()
+        val token = accessToken()
+        val request = Request.Builder()
+            .url(url)
+            .header("apikey", supabaseClient.supabaseKey)
+            .header("Authorization", "Bearer $token")
+            .header("Accept", "application/json")
+            .build()
+
+        httpClient.newCall(request).awaitUse { response ->
+            if (!response.isSuccessful) {
+                throw IOException("PostgREST error ${response.code}: ${response.body?.string()}")
+            }
+            val body = response.body ?: throw IOException("Empty PostgREST response")
+
+            var chunk = ArrayList<T>(chunkSize)
+            var rows = 0
+            var decodeNanos = 0L
+            var mark = System.nanoTime()
+            streamJson.decodeToSequence(body.byteStream(), deserializer, DecodeSequenceMode.ARRAY_WRAPPED)
+                .forEach { row ->
+                    chunk.add(row)
+                    rows++
+                    if (chunk.size == chunkSize) {
+                        decodeNanos += System.nanoTime() - mark
+                        emit(chunk)
+                        chunk = ArrayList(chunkSize)
+                        mark = System.nanoTime()
+                    }
+                }
+            decodeNanos += System.nanoTime() - mark
+            networkMetrics.recordDecode(table, decodeNanos, rows)
+            if (chunk.isNotEmpty()) emit(chunk)
+        }
+    }.flowOn(Dispatchers.IO)
+
+    /**
+     * The signed-in user's access token, or the anon key when signed out. Waits for
+     * Auth to load the stored session, and refreshes a token that has expired or is
+     * about to rather than sending it for a 401.
+     */
+    private suspend fun accessToken(): String {
+        val auth = supabaseClient.auth
+        auth.awaitInitialization()
+        if (!auth.currentSessionOrNull().isExpiring()) {
+            return auth.currentAccessTokenOrNull() ?: supabaseClient.supabaseKey
+        }
+        // One refresh for concurrent streams; the refresh token is single-use
+        refreshMutex.withLock {
+            if (auth.currentSessionOrNull().isExpiring()) auth.refreshCurrentSession()
+        }
+        return auth.currentAccessTokenOrNull() ?: supabaseClient.supabaseKey
+    }
+
+    private fun UserSession?.isExpiring(): Boolean =
+        this != null && expiresAt - Clock.System.now() < TOKEN_REFRESH_MARGIN
+
+    /**
+     * Runs [block] on the call's response and closes it. Cancelling the caller
+     * cancels the call, whether it is waiting for the response or blocked reading
+     * the body.
+     */
+    private suspend fun <R> Call.awaitUse(block: suspend (Response) -> R): R = coroutineScope {
+        // Body reads block on the socket; cancelling the call is what unblocks them
+        val canceller = launch {
+            try {
+                awaitCancellation()
+            } finally {
+                // Only when the caller was cancelled; a finished call is left alone
+                if (!this@coroutineScope.isActive) this@awaitUse.cancel()
+            }
+        }
+        try {
+            await().use { block(it) }
+        } catch (e: IOException) {
+            // The cancelled call fails the read; report the cancellation, not the socket
+            ensureActive()
+            throw e
+        } finally {
+            canceller.cancel()
+        }
+    }
+
+    /** Enqueues the call and suspends for its response; cancelling cancels the call. */
+    private suspend fun Call.await(): Response = suspendCancellableCoroutine { continuation ->
+        continuation.invokeOnCancellation { cancel() }
+        enqueue(object : Callback {
+            override fun onResponse(call: Call, response: Response) {
+                continuation.resume(response) { response.close() }
+            }
+
+            override fun onFailure(call: Call, e: IOException) {
+                continuation.resumeWithException(e)
+            }
+        })
+    }
+
+    companion object {
+        const val DEFAULT_CHUNK_SIZE = 25
+
+        private val TOKEN_REFRESH_MARGIN = 30.seconds
+
+        private val streamJson = Json { ignoreUnknownKeys = true }
+    }
+}
@@ -0,0 +1,55 @@
+package com.smartdrive.kenya.data.network
+
+import io.github.jan.supabase.realtime.realtime
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Reference count for the Realtime websocket. Code holding a channel calls
+ * [acquire] before subscribing and [release] once the channel is removed. The
+ * socket opens with the first subscription and closes [IDLE_TIMEOUT_MILLIS]
+ * after the last holder leaves, so quick screen switches reuse the connection
+ * and nothing stays connected in the background.
+ */
+@Singleton
+class RealtimeConnection @Inject constructor(
+    private val supabaseClient: SupabaseClient
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private var holders = 0
+    private var idleDisconnect: Job? = null
+
+    @Synchronized
+    fun acquire() {
+        holders++
+        idleDisconnect?.cancel()
+        idleDisconnect = null
+    }
+
+    @Synchronized
+    fun release() {
+        holders = (holders - 1).coerceAtLeast(0)
+        if (holders == 0) {
+            idleDisconnect = scope.launch {
+                delay(IDLE_TIMEOUT_MILLIS)
+                disconnectIfIdle()
+            }
+        }
+    }
+
+    @Synchronized
+    private fun disconnectIfIdle() {
+        if (holders == 0) supabaseClient.client.realtime.disconnect()
+    }
+
+    companion object {
+        const val IDLE_TIMEOUT_MILLIS = 30_000L
+    }
+}
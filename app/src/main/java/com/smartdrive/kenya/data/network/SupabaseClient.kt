@@ -5,31 +5,61 @@ import com.smartdrive.kenya.R
 import dagger.hilt.android.qualifiers.ApplicationContext
 import io.github.jan.supabase.SupabaseClient
 import io.github.jan.supabase.createSupabaseClient
+import io.github.jan.supabase.logging.LogLevel
 import io.github.jan.supabase.auth.Auth
+import io.github.jan.supabase.auth.AuthConfig
 import io.github.jan.supabase.auth.auth
 import io.github.jan.supabase.postgrest.Postgrest
 import io.github.jan.supabase.postgrest.postgrest
 import io.github.jan.supabase.realtime.Realtime
+import io.ktor.client.engine.okhttp.OkHttp
+import okhttp3.OkHttpClient
 import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
-class SupabaseClient @Inject constructor(
-    @ApplicationContext private val context: Context
+class SupabaseClient(
+    val supabaseUrl: String,
+    val supabaseKey: String,
+    private val okHttpClient: OkHttpClient,
+    // The load test runs on the JVM, where there is no logcat to write to
+    private val logLevel: LogLevel? = null,
+    // The load test keeps sessions in memory instead of the platform storage
+    private val configureAuth: AuthConfig.() -> Unit = {}
 ) {
-    
-    private val supabaseUrl = context.getString(R.string.supabase_url)
-    private val supabaseKey = context.getString(R.string.supabase_anon_key)
-    
-    val client: SupabaseClient = createSupabaseClient(
-        supabaseUrl = supabaseUrl,
-        supabaseKey = supabaseKey
-    ) {
-        install(Auth)
-        install(Postgrest)
-        install(Realtime)
+
+    @Inject
+    constructor(
+        @ApplicationContext context: Context,
+        okHttpClient: OkHttpClient
+    ) : this(
+        supabaseUrl = context.getString(R.string.supabase_url),
+        supabaseKey = context.getString(R.string.supabase_anon_key),
+        okHttpClient = okHttpClient
+    )
+
+    // Built on first use rather than when Hilt creates this singleton. The first
+    // caller is session restore at startup; Postgrest only holds configuration
+    // until a query runs, and Realtime opens no socket until a channel subscribes.
+    val client: SupabaseClient by lazy {
+        createSupabaseClient(
+            supabaseUrl = supabaseUrl,
+            supabaseKey = supabaseKey
+        ) {
+            logLevel?.let { defaultLogLevel = it }
+            // Share the app-wide OkHttp client (pool, HTTP/2, compression, disk cache)
+            httpEngine = OkHttp.create { preconfigured = okHttpClient }
+            install(Auth) {
+                configureAuth()
+            }
+            install(Postgrest)
+            install(Realtime) {
+                // RealtimeConnection closes the socket after an idle timeout instead
+                disconnectOnNoSubscriptions = false
+            }
+        }
     }
-    
+
     val auth: Auth get() = client.auth
     val postgrest: Postgrest get() = client.postgrest
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.smartdrive.kenya.data.paging
+
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.LoadType
+import androidx.paging.PagingState
+import androidx.paging.RemoteMediator
+import com.smartdrive.kenya.data.local.RentalSummaryEntity
+import com.smartdrive.kenya.data.model.RentalCursor
+import com.smartdrive.kenya.data.repository.RentalRepository
+
+/**
+ * Fills the Room rental history of one customer from the keyset-paged PostgREST
+ * API. The list is always paged out of Room, so a cached history renders at once
+ * while the initial refresh revalidates only its newest page. Older pages come
+ * from the network only when scrolling past the end of what is cached.
+ */
+@OptIn(ExperimentalPagingApi::class)
+class RentalRemoteMediator(
+    private val rentalRepository: RentalRepository,
+    private val userId: String
+) : RemoteMediator<Int, RentalSummaryEntity>() {
+
+    override suspend fun initialize(): InitializeAction = InitializeAction.LAUNCH_INITIAL_REFRESH
+
+    override suspend fun load(
+        loadType: LoadType,
+        state: PagingState<Int, RentalSummaryEntity>
+    ): MediatorResult {
+        val cursor = when (loadType) {
+            LoadType.REFRESH -> null
+            LoadType.PREPEND -> return MediatorResult.Success(endOfPaginationReached = true)
+            LoadType.APPEND -> state.lastItemOrNull()
+                ?.let { RentalCursor(createdAt = it.createdAt, id = it.id) }
+                ?: return MediatorResult.Success(endOfPaginationReached = true)
+        }
+
+        // getRentalPage writes the rows through to Room, which invalidates the paging source
+        return rentalRepository.getRentalPage(userId, cursor, state.config.pageSize).fold(
+            onSuccess = { page -> MediatorResult.Success(endOfPaginationReached = page.nextCursor == null) },
+            onFailure = { error -> MediatorResult.Error(error) }
+        )
+    }
+}
@@ -0,0 +1,54 @@
+package com.smartdrive.kenya.data.paging
+
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.LoadType
+import androidx.paging.PagingState
+import androidx.paging.RemoteMediator
+import com.smartdrive.kenya.data.local.VehicleEntity
+import com.smartdrive.kenya.data.model.VehicleCatalogQuery
+import com.smartdrive.kenya.data.model.VehicleCursor
+import com.smartdrive.kenya.data.repository.VehicleRepository
+
+/**
+ * Fills the Room catalog from the keyset-paged PostgREST API. The list itself is
+ * always paged out of Room, so cached vehicles render immediately at cold start
+ * while the initial refresh revalidates the first page in the background.
+ * Once the Realtime fleet sync is live, Room already holds the whole fleet and
+ * the mediator stops going to the network.
+ */
+@OptIn(ExperimentalPagingApi::class)
+class VehicleRemoteMediator(
+    private val vehicleRepository: VehicleRepository,
+    private val query: VehicleCatalogQuery
+) : RemoteMediator<Int, VehicleEntity>() {
+
+    override suspend fun initialize(): InitializeAction =
+        if (vehicleRepository.fleetSyncStatus.value.live) {
+            InitializeAction.SKIP_INITIAL_REFRESH
+        } else {
+            InitializeAction.LAUNCH_INITIAL_REFRESH
+        }
+
+    override suspend fun load(
+        loadType: LoadType,
+        state: PagingState<Int, VehicleEntity>
+    ): MediatorResult {
+        if (vehicleRepository.fleetSyncStatus.value.live) {
+            return MediatorResult.Success(endOfPaginationReached = true)
+        }
+
+        val cursor = when (loadType) {
+            LoadType.REFRESH -> null
+            LoadType.PREPEND -> return MediatorResult.Success(endOfPaginationReached = true)
+            LoadType.APPEND -> state.lastItemOrNull()
+                ?.let { VehicleCursor(createdAt = it.createdAt, id = it.id) }
+                ?: return MediatorResult.Success(endOfPaginationReached = true)
+        }
+
+        // getVehiclePage writes the rows through to Room, which invalidates the paging source
+        return vehicleRepository.getVehiclePage(query, cursor, state.config.pageSize).fold(
+            onSuccess = { page -> MediatorResult.Success(endOfPaginationReached = page.nextCursor == null) },
+            onFailure = { error -> MediatorResult.Error(error) }
+        )
+    }
+}
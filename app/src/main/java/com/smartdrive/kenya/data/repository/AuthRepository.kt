@@ -1,17 +1,24 @@
 package com.smartdrive.kenya.data.repository
 
+import android.util.Base64
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.metrics.decodeAsTimed
+import com.smartdrive.kenya.data.metrics.decodeSingleOrNullTimed
 import com.smartdrive.kenya.data.model.User
 import com.smartdrive.kenya.data.model.UserRole
 import com.smartdrive.kenya.data.model.Profile
 import com.smartdrive.kenya.data.network.SupabaseClient
 import com.smartdrive.kenya.utils.DatabaseHelper
-// import io.github.jan.supabase.auth.SessionStatus
 import io.github.jan.supabase.auth.providers.builtin.Email
 import io.github.jan.supabase.postgrest.from
 import io.github.jan.supabase.postgrest.query.Columns
-import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.flow
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonPrimitive
 import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.contentOrNull
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
 import kotlinx.serialization.json.put
 import javax.inject.Inject
 import javax.inject.Singleton
@@ -19,12 +26,10 @@ import javax.inject.Singleton
 @Singleton
 class AuthRepository @Inject constructor(
     private val supabaseClient: SupabaseClient,
-    private val databaseHelper: DatabaseHelper
+    private val databaseHelper: DatabaseHelper,
+    private val networkMetrics: NetworkMetrics
 ) {
     
-    fun getSessionStatus(): Flow<Boolean> = 
-        flow { emit(supabaseClient.auth.currentUserOrNull() != null) }
-    
     suspend fun signUp(email: String, password: String, fullName: String): Result<User> {
         return try {
             // Sign up with Supabase Auth
@@ -88,7 +93,7 @@ class AuthRepository @Inject constructor(
         }
     }
     
-    suspend fun getCurrentUser(): User? {
+    fun getCurrentUser(): User? {
         return supabaseClient.auth.currentUserOrNull()?.let { user ->
             User(
                 id = user.id,
@@ -100,12 +105,14 @@ class AuthRepository @Inject constructor(
     
     suspend fun getUserProfile(userId: String): Result<Profile> {
         return try {
-            val profiles = supabaseClient.postgrest
-                .from("profiles")
-                .select(columns = Columns.ALL)
-                .decodeList<Profile>()
-            
-            val profile = profiles.firstOrNull { it.id == userId }
+            // One row by primary key; RLS would also allow reading other profiles
+            val profile = supabaseClient.postgrest
+                .from(Profile.TABLE_NAME)
+                .select(columns = Columns.ALL) {
+                    filter { eq("id", userId) }
+                    limit(1)
+                }
+                .decodeSingleOrNullTimed<Profile>(networkMetrics, Profile.TABLE_NAME)
                 ?: throw Exception("Profile not found")
             
             Result.success(profile)
@@ -114,6 +121,38 @@ class AuthRepository @Inject constructor(
         }
     }
     
+    /**
+     * Role from the `user_role` claim the custom access token hook adds to the JWT.
+     * Read from the token in memory; null when the hook is not enabled.
+     */
+    fun getRoleClaim(): UserRole? {
+        val token = supabaseClient.auth.currentAccessTokenOrNull() ?: return null
+        return try {
+            val payload = token.split('.').getOrNull(1) ?: return null
+            val claims = String(Base64.decode(payload, Base64.URL_SAFE or Base64.NO_PADDING or Base64.NO_WRAP))
+            Json.parseToJsonElement(claims).jsonObject["user_role"]
+                ?.jsonPrimitive
+                ?.contentOrNull
+                ?.let(UserRole::fromString)
+        } catch (e: Exception) {
+            null
+        }
+    }
+    
+    /** Role of the signed-in user via the `get_user_role` RPC; one scalar, no profile rows. */
+    suspend fun getUserRole(): Result<UserRole> {
+        return try {
+            val role = supabaseClient.postgrest
+                .rpc(function = "get_user_role")
+                .decodeAsTimed<JsonElement>(networkMetrics, "rpc/get_user_role")
+            
+            // NULL when the profile row does not exist yet
+            Result.success((role as? JsonPrimitive)?.contentOrNull?.let(UserRole::fromString) ?: UserRole.CUSTOMER)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to resolve user role: ${e.message}"))
+        }
+    }
+    
     private suspend fun createProfile(userId: String, fullName: String, email: String) {
         try {
             supabaseClient.postgrest
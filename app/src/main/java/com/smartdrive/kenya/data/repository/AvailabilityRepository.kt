@@ -0,0 +1,185 @@
+package com.smartdrive.kenya.data.repository
+
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.metrics.decodeListTimed
+import com.smartdrive.kenya.data.model.AvailabilityCalendar
+import com.smartdrive.kenya.data.model.VehicleAvailabilityDay
+import com.smartdrive.kenya.data.network.RealtimeConnection
+import com.smartdrive.kenya.data.network.SupabaseClient
+import io.github.jan.supabase.postgrest.from
+import io.github.jan.supabase.postgrest.query.Columns
+import io.github.jan.supabase.postgrest.query.filter.FilterOperator
+import io.github.jan.supabase.realtime.PostgresAction
+import io.github.jan.supabase.realtime.RealtimeChannel
+import io.github.jan.supabase.realtime.channel
+import io.github.jan.supabase.realtime.decodeOldRecord
+import io.github.jan.supabase.realtime.decodeRecord
+import io.github.jan.supabase.realtime.postgresChangeFlow
+import io.github.jan.supabase.realtime.realtime
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeoutOrNull
+import java.time.LocalDate
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Per-vehicle availability calendars. Each calendar is loaded once from
+ * `vehicle_availability` (which mirrors active rentals as well as blackout days)
+ * and then kept current from Realtime changes, so date checks never hit the network.
+ */
+@Singleton
+class AvailabilityRepository @Inject constructor(
+    private val supabaseClient: SupabaseClient,
+    private val realtimeConnection: RealtimeConnection,
+    private val networkMetrics: NetworkMetrics
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    // The last calendar of every vehicle stays replayable after its screen closes
+    private val calendars = ConcurrentHashMap<String, Flow<AvailabilityCalendar>>()
+
+    fun observeCalendar(vehicleId: String): Flow<AvailabilityCalendar> =
+        calendars.getOrPut(vehicleId) {
+            liveCalendar(vehicleId).shareIn(
+                scope = scope,
+                started = SharingStarted.WhileSubscribed(STOP_TIMEOUT_MILLIS),
+                replay = 1
+            )
+        }
+
+    suspend fun getCalendar(vehicleId: String): Result<AvailabilityCalendar> {
+        return try {
+            val today = LocalDate.now()
+            val window = AvailabilityCalendar.empty(vehicleId, today)
+            val blockedDays = supabaseClient.postgrest
+                .from("vehicle_availability")
+                .select(columns = Columns.list("vehicle_id", "date", "is_available")) {
+                    filter {
+                        eq("vehicle_id", vehicleId)
+                        eq("is_available", false)
+                        gte("date", today.toString())
+                        lte("date", window.lastDay.toString())
+                    }
+                }
+                .decodeListTimed<VehicleAvailabilityDay>(networkMetrics, "vehicle_availability")
+
+            Result.success(
+                AvailabilityCalendar.of(vehicleId, blockedDays.map { LocalDate.parse(it.date) }, today)
+            )
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to load availability: ${e.message}"))
+        }
+    }
+
+    private fun liveCalendar(vehicleId: String): Flow<AvailabilityCalendar> = channelFlow {
+        val mutex = Mutex()
+        var calendar: AvailabilityCalendar? = null
+
+        suspend fun reload() {
+            getCalendar(vehicleId).onSuccess { fresh ->
+                mutex.withLock {
+                    calendar = fresh
+                    send(fresh)
+                }
+            }
+        }
+
+        val channel = supabaseClient.client.channel("vehicle_availability:$vehicleId")
+        val changes = channel.postgresChangeFlow<PostgresAction>(schema = "public") {
+            table = "vehicle_availability"
+            filter("vehicle_id", FilterOperator.EQ, vehicleId)
+        }
+
+        launch {
+            changes.collect { action ->
+                mutex.withLock {
+                    val current = calendar ?: return@withLock
+                    val updated = current.apply(action)
+                    if (updated !== current) {
+                        calendar = updated
+                        send(updated)
+                    }
+                }
+            }
+        }
+
+        // Every subscription loads the calendar, the first one included, so changes
+        // missed while disconnected are picked up without a second query on open
+        launch {
+            channel.status
+                .filter { it == RealtimeChannel.Status.SUBSCRIBED }
+                .collect { reload() }
+        }
+
+        // A slow Realtime join should not leave the screen without a calendar
+        launch {
+            withTimeoutOrNull(SUBSCRIBE_TIMEOUT_MILLIS) {
+                channel.status.first { it == RealtimeChannel.Status.SUBSCRIBED }
+            } ?: reload()
+        }
+
+        realtimeConnection.acquire()
+        try {
+            channel.subscribe()
+            awaitCancellation()
+        } finally {
+            // Removal is part of the flow's teardown: a restart for this vehicle waits
+            // for it, so the old channel's topic cannot take the new channel with it
+            withContext(NonCancellable) {
+                try {
+                    supabaseClient.client.realtime.removeChannel(channel)
+                } finally {
+                    realtimeConnection.release()
+                }
+            }
+        }
+    }
+
+    /**
+     * Realtime does not apply the `vehicle_id` filter to DELETE events, so every
+     * record is checked against this calendar's vehicle before it is applied.
+     * REPLICA IDENTITY FULL on the table makes the old record carry `vehicle_id`.
+     */
+    private fun AvailabilityCalendar.apply(action: PostgresAction): AvailabilityCalendar {
+        return when (action) {
+            is PostgresAction.Insert -> applyDay(action.decodeRecord())
+            is PostgresAction.Update -> {
+                val old = action.decodeOldRecord<VehicleAvailabilityDay>()
+                val cleared = if (old.vehicleId == vehicleId) unblock(LocalDate.parse(old.date)) else this
+                cleared.applyDay(action.decodeRecord())
+            }
+            is PostgresAction.Delete -> {
+                val old = action.decodeOldRecord<VehicleAvailabilityDay>()
+                if (old.vehicleId == vehicleId) unblock(LocalDate.parse(old.date)) else this
+            }
+            else -> this
+        }
+    }
+
+    private fun AvailabilityCalendar.applyDay(day: VehicleAvailabilityDay): AvailabilityCalendar {
+        if (day.vehicleId != vehicleId) return this
+        val date = LocalDate.parse(day.date)
+        return if (day.isAvailable) unblock(date) else block(date)
+    }
+
+    companion object {
+        private const val STOP_TIMEOUT_MILLIS = 5_000L
+        private const val SUBSCRIBE_TIMEOUT_MILLIS = 5_000L
+    }
+}
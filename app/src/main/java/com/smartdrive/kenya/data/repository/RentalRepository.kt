@@ -1,13 +1,34 @@
 package com.smartdrive.kenya.data.repository
 
+import androidx.paging.PagingSource
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.metrics.decodeAsTimed
+import com.smartdrive.kenya.data.metrics.decodeListTimed
+import com.smartdrive.kenya.data.metrics.decodeSingleOrNullTimed
+import com.smartdrive.kenya.data.metrics.decodeSingleTimed
+import com.smartdrive.kenya.data.cache.ReferenceDataCache
+import com.smartdrive.kenya.data.decode.RentalSummaryDecoder
+import com.smartdrive.kenya.data.local.RentalExtraDao
+import com.smartdrive.kenya.data.local.RentalLocationDao
+import com.smartdrive.kenya.data.local.RentalSummaryDao
+import com.smartdrive.kenya.data.local.RentalSummaryEntity
+import com.smartdrive.kenya.data.local.toEntity
+import com.smartdrive.kenya.data.local.toModel
 import com.smartdrive.kenya.data.model.*
 import com.smartdrive.kenya.data.network.SupabaseClient
+import com.smartdrive.kenya.data.store.EntityStore
+import io.github.jan.supabase.postgrest.RpcMethod
 import io.github.jan.supabase.postgrest.from
 import io.github.jan.supabase.postgrest.query.Columns
+import io.github.jan.supabase.postgrest.query.Order
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.addJsonObject
 import kotlinx.serialization.json.buildJsonObject
 import kotlinx.serialization.json.put
+import kotlinx.serialization.json.putJsonArray
 import java.time.LocalDate
 import java.time.format.DateTimeFormatter
 import javax.inject.Inject
@@ -15,17 +36,47 @@ import javax.inject.Singleton
 
 @Singleton
 class RentalRepository @Inject constructor(
-    private val supabaseClient: SupabaseClient
+    private val supabaseClient: SupabaseClient,
+    private val rentalLocationDao: RentalLocationDao,
+    private val rentalExtraDao: RentalExtraDao,
+    private val rentalSummaryDao: RentalSummaryDao,
+    private val referenceDataCache: ReferenceDataCache,
+    private val entityStore: EntityStore,
+    private val networkMetrics: NetworkMetrics
 ) {
     
+    // Embedded rows are swapped for the shared store instances, so a vehicle
+    // appearing in many summaries is held in memory once
+    private val summaryDecoder = RentalSummaryDecoder(
+        internVehicle = entityStore.vehicles::intern,
+        internLocation = entityStore.locations::intern
+    )
+    
     // ================== RENTAL LOCATIONS ==================
     
+    fun observeRentalLocations(): Flow<List<RentalLocation>> =
+        rentalLocationDao.observeAll().map { entities -> entityStore.locations.internAll(entities.map { it.toModel() }) }
+    
+    suspend fun getCachedRentalLocations(): List<RentalLocation> =
+        entityStore.locations.internAll(rentalLocationDao.getAll().map { it.toModel() })
+    
+    fun getRentalLocation(id: String): RentalLocation? = entityStore.locations[id]
+    
     suspend fun getRentalLocations(): Result<List<RentalLocation>> {
         return try {
-            val locations = supabaseClient.postgrest
-                .from("rental_locations")
-                .select(columns = Columns.ALL)
-                .decodeList<RentalLocation>()
+            val locations = referenceDataCache.get(CACHE_KEY_LOCATIONS) {
+                // GET so the HTTP cache can revalidate it with If-None-Match
+                supabaseClient.postgrest
+                    .rpc(function = "reference_rental_locations") {
+                        method = RpcMethod.GET
+                    }
+                    .decodeListTimed<RentalLocation>(networkMetrics, "rpc/reference_rental_locations")
+                    .let { fetched ->
+                        rentalLocationDao.replaceAll(fetched.map(RentalLocation::toEntity))
+                        entityStore.locations.replaceAll(fetched)
+                        fetched.map { entityStore.locations[it.id] ?: it }
+                    }
+            }
             Result.success(locations)
         } catch (e: Exception) {
             Result.failure(Exception("Failed to fetch rental locations: ${e.message}"))
@@ -34,19 +85,42 @@ class RentalRepository @Inject constructor(
     
     // ================== RENTAL EXTRAS ==================
     
+    fun observeRentalExtras(): Flow<List<RentalExtra>> =
+        rentalExtraDao.observeActive().map { entities -> entityStore.extras.internAll(entities.map { it.toModel() }) }
+    
+    suspend fun getCachedRentalExtras(): List<RentalExtra> =
+        entityStore.extras.internAll(rentalExtraDao.getActive().map { it.toModel() })
+    
+    fun getRentalExtra(id: String): RentalExtra? = entityStore.extras[id]
+    
     suspend fun getRentalExtras(): Result<List<RentalExtra>> {
         return try {
-            val extras = supabaseClient.postgrest
-                .from("rental_extras")
-                .select(columns = Columns.ALL)
-                .decodeList<RentalExtra>()
-                .filter { extra: RentalExtra -> extra.isActive }
+            val extras = referenceDataCache.get(CACHE_KEY_EXTRAS) {
+                val allExtras = supabaseClient.postgrest
+                    .rpc(function = "reference_rental_extras") {
+                        method = RpcMethod.GET
+                    }
+                    .decodeListTimed<RentalExtra>(networkMetrics, "rpc/reference_rental_extras")
+                rentalExtraDao.replaceAll(allExtras.map(RentalExtra::toEntity))
+                entityStore.extras.replaceAll(allExtras)
+                allExtras
+                    .filter { extra: RentalExtra -> extra.isActive }
+                    .map { entityStore.extras[it.id] ?: it }
+            }
             Result.success(extras)
         } catch (e: Exception) {
             Result.failure(Exception("Failed to fetch rental extras: ${e.message}"))
         }
     }
     
+    /** Drops cached locations and extras so the next read goes back to Supabase. */
+    suspend fun invalidateReferenceData() {
+        referenceDataCache.invalidate(CACHE_KEY_LOCATIONS)
+        referenceDataCache.invalidate(CACHE_KEY_EXTRAS)
+    }
+    
+    fun referenceDataStats(): ReferenceDataCache.Stats = referenceDataCache.stats()
+    
     // ================== VEHICLE AVAILABILITY ==================
     
     suspend fun checkVehicleAvailability(
@@ -55,234 +129,161 @@ class RentalRepository @Inject constructor(
         endDate: LocalDate
     ): Result<Boolean> {
         return try {
-            // Manual check for availability
-            val rentals = supabaseClient.postgrest
-                .from("rentals")
-                .select(columns = Columns.ALL)
-                .decodeList<Rental>()
-                .filter { rental: Rental ->
-                    rental.vehicleId == vehicleId &&
-                    rental.status !in listOf(RentalStatus.CANCELLED, RentalStatus.COMPLETED) &&
-                    datesOverlap(
-                        LocalDate.parse(rental.pickupDate),
-                        LocalDate.parse(rental.returnDate),
-                        startDate,
-                        endDate
-                    )
-                }
+            val isAvailable = supabaseClient.postgrest
+                .rpc(
+                    function = "is_vehicle_available",
+                    parameters = buildJsonObject {
+                        put("vehicle_uuid", vehicleId)
+                        put("start_date", startDate.toString())
+                        put("end_date", endDate.toString())
+                    }
+                )
+                .decodeAsTimed<Boolean>(networkMetrics, "rpc/is_vehicle_available")
             
-            Result.success(rentals.isEmpty())
+            Result.success(isAvailable)
         } catch (e: Exception) {
             Result.failure(Exception("Failed to check availability: ${e.message}"))
         }
     }
     
-    private fun datesOverlap(start1: LocalDate, end1: LocalDate, start2: LocalDate, end2: LocalDate): Boolean {
-        return start1 <= end2 && end1 >= start2
-    }
-    
     // ================== RENTAL CREATION ==================
     
-    suspend fun createRental(rentalRequest: RentalRequest): Result<Rental> {
+    /**
+     * Books a vehicle in one round trip. The `create_rental` RPC locks the vehicle,
+     * re-checks availability, prices the rental and inserts it together with its
+     * extras in a single transaction, then returns the persisted row. Check
+     * [CreatedRental.totalChanged] before confirming: the stored total wins.
+     */
+    suspend fun createRental(rentalRequest: RentalRequest): Result<CreatedRental> {
         return try {
-            val currentUser = supabaseClient.auth.currentUserOrNull()
+            supabaseClient.auth.currentUserOrNull()
                 ?: return Result.failure(Exception("User not authenticated"))
             
-            // First, check availability
-            val isAvailable = checkVehicleAvailability(
-                rentalRequest.vehicleId,
-                rentalRequest.pickupDate,
-                rentalRequest.returnDate
-            )
-            
-            if (!isAvailable.getOrDefault(false)) {
-                return Result.failure(Exception("Vehicle is not available for the selected dates"))
-            }
-            
-            // Calculate total days
-            val totalDays = calculateDaysBetween(rentalRequest.pickupDate, rentalRequest.returnDate)
-            
-            // Get vehicle details for pricing
-            val vehicle = supabaseClient.postgrest
-                .from("vehicles")
-                .select(columns = Columns.ALL)
-                .decodeList<Vehicle>()
-                .find { vehicle: Vehicle -> vehicle.id == rentalRequest.vehicleId }
-                ?: return Result.failure(Exception("Vehicle not found"))
-            
-            val dailyRate = vehicle.pricePerDay
-            val insuranceCost = calculateInsuranceCost(dailyRate, rentalRequest.insuranceType)
-            val extrasCost = rentalRequest.selectedExtras.sumOf { extra: RentalExtraSelection -> extra.totalCost }
-            val subtotal = (dailyRate + insuranceCost) * totalDays + extrasCost
-            val taxAmount = subtotal * 0.16 // 16% VAT
-            val totalAmount = subtotal + taxAmount
-            val depositAmount = totalAmount * 0.30 // 30% deposit
-            
-            // Create rental
-            supabaseClient.postgrest
-                .from("rentals")
-                .insert(buildJsonObject {
-                    put("customer_id", currentUser.id)
-                    put("vehicle_id", rentalRequest.vehicleId)
-                    put("pickup_location_id", rentalRequest.pickupLocationId)
-                    put("return_location_id", rentalRequest.returnLocationId)
-                    put("pickup_date", rentalRequest.pickupDate.toString())
-                    put("pickup_time", rentalRequest.pickupTime.toString())
-                    put("return_date", rentalRequest.returnDate.toString())
-                    put("return_time", rentalRequest.returnTime.toString())
-                    put("daily_rate", dailyRate)
-                    put("total_days", totalDays)
-                    put("subtotal", subtotal)
-                    put("insurance_cost", insuranceCost)
-                    put("tax_amount", taxAmount)
-                    put("deposit_amount", depositAmount)
-                    put("total_amount", totalAmount)
-                    put("status", RentalStatus.PENDING.value)
-                    put("insurance_type", rentalRequest.insuranceType.value)
-                    rentalRequest.specialRequests?.let { put("special_requests", it) }
-                })
-            
-            // For now, we'll create a mock rental response since we can't get the inserted rental back easily
-            val mockRental = Rental(
-                id = "temp_id_${System.currentTimeMillis()}",
-                customerId = currentUser.id,
-                vehicleId = rentalRequest.vehicleId,
-                pickupLocationId = rentalRequest.pickupLocationId,
-                returnLocationId = rentalRequest.returnLocationId,
-                pickupDate = rentalRequest.pickupDate.toString(),
-                pickupTime = rentalRequest.pickupTime.toString(),
-                returnDate = rentalRequest.returnDate.toString(),
-                returnTime = rentalRequest.returnTime.toString(),
-                dailyRate = dailyRate,
-                totalDays = totalDays,
-                subtotal = subtotal,
-                insuranceCost = insuranceCost,
-                taxAmount = taxAmount,
-                depositAmount = depositAmount,
-                totalAmount = totalAmount,
-                status = RentalStatus.PENDING,
-                insuranceType = rentalRequest.insuranceType,
-                specialRequests = rentalRequest.specialRequests,
-                createdAt = java.time.Instant.now().toString()
-            )
-            
-            // Add rental extras if any
-            if (rentalRequest.selectedExtras.isNotEmpty()) {
-                addRentalExtras(mockRental.id, rentalRequest.selectedExtras, totalDays)
-            }
+            val rental = supabaseClient.postgrest
+                .rpc(
+                    function = "create_rental",
+                    parameters = buildJsonObject {
+                        put("p_vehicle_id", rentalRequest.vehicleId)
+                        put("p_pickup_location_id", rentalRequest.pickupLocationId)
+                        put("p_return_location_id", rentalRequest.returnLocationId)
+                        put("p_pickup_date", rentalRequest.pickupDate.toString())
+                        put("p_pickup_time", rentalRequest.pickupTime.toString())
+                        put("p_return_date", rentalRequest.returnDate.toString())
+                        put("p_return_time", rentalRequest.returnTime.toString())
+                        put("p_insurance_type", rentalRequest.insuranceType.value)
+                        putJsonArray("p_extras") {
+                            rentalRequest.selectedExtras.forEach { extra: RentalExtraSelection ->
+                                addJsonObject {
+                                    put("rental_extra_id", extra.rentalExtraId)
+                                    put("quantity", extra.quantity)
+                                }
+                            }
+                        }
+                        put("p_special_requests", rentalRequest.specialRequests)
+                    }
+                )
+                .decodeAsTimed<Rental>(networkMetrics, "rpc/create_rental")
             
-            Result.success(mockRental)
+            Result.success(CreatedRental(rental, rentalRequest.quotedTotalCents))
         } catch (e: Exception) {
             Result.failure(Exception("Failed to create rental: ${e.message}"))
         }
     }
     
-    private fun calculateDaysBetween(startDate: LocalDate, endDate: LocalDate): Int {
-        return (endDate.toEpochDay() - startDate.toEpochDay()).toInt().let { 
-            if (it <= 0) 1 else it 
-        }
-    }
-    
-    private fun calculateInsuranceCost(dailyRate: Double, insuranceType: InsuranceType): Double {
-        return dailyRate * (insuranceType.coveragePercent / 100.0)
-    }
+    // ================== RENTAL MANAGEMENT ==================
     
-    private suspend fun addRentalExtras(
-        rentalId: String, 
-        extras: List<RentalExtraSelection>,
-        totalDays: Int
-    ) {
-        extras.forEach { extra: RentalExtraSelection ->
-            supabaseClient.postgrest
-                .from("rental_extra_selections")
-                .insert(buildJsonObject {
-                    put("rental_id", rentalId)
-                    put("rental_extra_id", extra.rentalExtraId)
-                    put("quantity", extra.quantity)
-                    put("daily_rate", extra.dailyRate)
-                    put("total_cost", extra.dailyRate * extra.quantity * totalDays)
-                })
+    suspend fun getUserRentals(userId: String): Result<List<RentalSummary>> {
+        return try {
+            // One round trip: the rental rows with their vehicle, locations, extras,
+            // payments and review embedded by PostgREST
+            val rentalSummaries = supabaseClient.postgrest
+                .from("rentals")
+                .select(columns = Columns.raw(RentalRelations.SELECT)) {
+                    filter { eq("customer_id", userId) }
+                    order("created_at", Order.DESCENDING)
+                }
+                .decodeListTimed<JsonObject>(networkMetrics, "rentals")
+                .map { row: JsonObject -> createRentalSummary(row) }
+            
+            Result.success(rentalSummaries)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to fetch user rentals: ${e.message}"))
         }
     }
     
-    // ================== RENTAL MANAGEMENT ==================
+    fun rentalHistoryPagingSource(userId: String): PagingSource<Int, RentalSummaryEntity> =
+        rentalSummaryDao.pagingSource(userId)
     
-    suspend fun getUserRentals(userId: String): Result<List<RentalSummary>> {
+    /** Decodes a cached history row; its embedded rows are interned like fresh ones. */
+    fun toRentalSummary(entity: RentalSummaryEntity): RentalSummary =
+        summaryDecoder.decode(entity.payload)
+    
+    /**
+     * One keyset page of the customer's rental history, newest first, written
+     * through to the local cache. Without a [cursor] the page is the head of the
+     * history and replaces the cached head, see [RentalSummaryDao.replaceFirstPage].
+     */
+    suspend fun getRentalPage(
+        userId: String,
+        cursor: RentalCursor? = null,
+        pageSize: Int = HISTORY_PAGE_SIZE
+    ): Result<RentalPage> {
         return try {
-            val rentals = supabaseClient.postgrest
+            val rows = supabaseClient.postgrest
                 .from("rentals")
-                .select(columns = Columns.ALL)
-                .decodeList<Rental>()
-                .filter { rental: Rental -> rental.customerId == userId }
-                .sortedByDescending { rental: Rental -> rental.createdAt }
+                .select(columns = Columns.raw(RentalRelations.SELECT)) {
+                    filter {
+                        eq("customer_id", userId)
+                        // (created_at, id) < (cursor.created_at, cursor.id)
+                        cursor?.let {
+                            or {
+                                lt("created_at", it.createdAt)
+                                and {
+                                    eq("created_at", it.createdAt)
+                                    lt("id", it.id)
+                                }
+                            }
+                        }
+                    }
+                    order("created_at", Order.DESCENDING)
+                    order("id", Order.DESCENDING)
+                    limit(pageSize.toLong())
+                }
+                .decodeListTimed<JsonObject>(networkMetrics, "rentals")
             
-            val rentalSummaries = rentals.map { rental: Rental ->
-                createRentalSummary(rental)
+            // Decoded before caching, so a row the app cannot read fails this load instead of the list
+            val rentals = rows.map { row: JsonObject -> createRentalSummary(row) }
+            val entities = rows.zip(rentals) { row, summary -> summary.toEntity(row) }
+            if (cursor == null) {
+                rentalSummaryDao.replaceFirstPage(userId, entities, pageSize)
+            } else {
+                rentalSummaryDao.upsertAll(entities)
             }
             
-            Result.success(rentalSummaries)
+            val nextCursor = rentals.lastOrNull()
+                ?.takeIf { rentals.size == pageSize }
+                ?.let { RentalCursor(createdAt = it.rental.createdAt, id = it.rental.id) }
+            
+            Result.success(RentalPage(rentals, nextCursor))
         } catch (e: Exception) {
             Result.failure(Exception("Failed to fetch user rentals: ${e.message}"))
         }
     }
     
-    private suspend fun createRentalSummary(rental: Rental): RentalSummary {
-        // Get vehicle details
-        val vehicle = supabaseClient.postgrest
-            .from("vehicles")
-            .select(columns = Columns.ALL)
-            .decodeList<Vehicle>()
-            .find { vehicle: Vehicle -> vehicle.id == rental.vehicleId }
-            ?: Vehicle(
-                id = "",
-                make = "Unknown",
-                model = "Vehicle",
-                year = 2020,
-                licensePlate = "",
-                color = null,
-                fuelType = FuelType.PETROL,
-                transmission = Transmission.MANUAL,
-                seatingCapacity = 4,
-                pricePerDay = 0.0,
-                imageUrl = null,
-                status = VehicleStatus.AVAILABLE,
-                features = emptyList(),
-                agentId = null,
-                createdAt = "",
-                updatedAt = null
-            )
-        
-        // Get locations
-        val locations = supabaseClient.postgrest
-            .from("rental_locations")
-            .select(columns = Columns.ALL)
-            .decodeList<RentalLocation>()
-        
-        val pickupLocation = locations.find { location: RentalLocation -> location.id == rental.pickupLocationId }
-            ?: RentalLocation("", "Unknown Location", "", "", "", null, null, null, null, null, true, "")
-        
-        val returnLocation = locations.find { location: RentalLocation -> location.id == rental.returnLocationId }
-            ?: pickupLocation
-        
-        return RentalSummary(
-            rental = rental,
-            vehicle = vehicle,
-            pickupLocation = pickupLocation,
-            returnLocation = returnLocation
-        )
-    }
+    private fun createRentalSummary(row: JsonObject): RentalSummary = summaryDecoder.decode(row)
     
     suspend fun getRentalById(rentalId: String): Result<RentalSummary> {
         return try {
-            val rental = supabaseClient.postgrest
+            val row = supabaseClient.postgrest
                 .from("rentals")
-                .select(columns = Columns.ALL)
-                .decodeList<Rental>()
-                .find { rental: Rental -> rental.id == rentalId }
+                .select(columns = Columns.raw(RentalRelations.SELECT)) {
+                    filter { eq("id", rentalId) }
+                    limit(1)
+                }
+                .decodeSingleOrNullTimed<JsonObject>(networkMetrics, "rentals")
                 ?: return Result.failure(Exception("Rental not found"))
             
-            val summary = createRentalSummary(rental)
-            Result.success(summary)
+            Result.success(createRentalSummary(row))
         } catch (e: Exception) {
             Result.failure(Exception("Failed to fetch rental: ${e.message}"))
         }
@@ -290,13 +291,21 @@ class RentalRepository @Inject constructor(
     
     suspend fun cancelRental(rentalId: String, reason: String): Result<Unit> {
         return try {
-            supabaseClient.postgrest
+            val row = supabaseClient.postgrest
                 .from("rentals")
                 .update(buildJsonObject {
                     put("status", RentalStatus.CANCELLED.value)
                     put("admin_notes", reason)
                     put("updated_at", java.time.Instant.now().toString())
-                })
+                }) {
+                    select(Columns.raw(RentalRelations.SELECT))
+                    filter { eq("id", rentalId) }
+                }
+                .decodeSingleOrNullTimed<JsonObject>(networkMetrics, "rentals")
+                ?: return Result.failure(Exception("Rental not found"))
+            
+            // Rewriting the cached row updates the history list in place
+            rentalSummaryDao.upsertAll(listOf(createRentalSummary(row).toEntity(row)))
             
             Result.success(Unit)
         } catch (e: Exception) {
@@ -304,6 +313,13 @@ class RentalRepository @Inject constructor(
         }
     }
     
+    private fun RentalSummary.toEntity(row: JsonObject) = RentalSummaryEntity(
+        id = rental.id,
+        customerId = rental.customerId,
+        createdAt = rental.createdAt,
+        payload = row.toString()
+    )
+    
     // ================== PAYMENT METHODS ==================
     
     suspend fun createPayment(
@@ -316,7 +332,7 @@ class RentalRepository @Inject constructor(
             val currentUser = supabaseClient.auth.currentUserOrNull()
                 ?: return Result.failure(Exception("User not authenticated"))
             
-            supabaseClient.postgrest
+            val payment = supabaseClient.postgrest
                 .from("payments")
                 .insert(buildJsonObject {
                     put("rental_id", rentalId)
@@ -327,20 +343,10 @@ class RentalRepository @Inject constructor(
                     phoneNumber?.let { put("mpesa_phone_number", it) }
                     put("currency", "KES")
                     put("description", "Car rental payment")
-                })
-            
-            val payment = Payment(
-                id = "temp_payment_${System.currentTimeMillis()}",
-                rentalId = rentalId,
-                customerId = currentUser.id,
-                amount = amount,
-                paymentMethod = paymentMethod,
-                status = PaymentStatus.PENDING,
-                mpesaPhoneNumber = phoneNumber,
-                currency = "KES",
-                description = "Car rental payment",
-                createdAt = java.time.Instant.now().toString()
-            )
+                }) {
+                    select()
+                }
+                .decodeSingleTimed<Payment>(networkMetrics, "payments")
             
             // Here you would integrate with actual payment providers
             // For now, we'll simulate payment processing
@@ -366,9 +372,13 @@ class RentalRepository @Inject constructor(
             // Get rental to verify vehicle ID
             val rental = supabaseClient.postgrest
                 .from("rentals")
-                .select(columns = Columns.ALL)
-                .decodeList<Rental>()
-                .find { rental: Rental -> rental.id == rentalId && rental.customerId == currentUser.id }
+                .select(columns = Columns.list("id", "vehicle_id", "status")) {
+                    filter {
+                        eq("id", rentalId)
+                        eq("customer_id", currentUser.id)
+                    }
+                }
+                .decodeSingleOrNullTimed<RentalReviewTarget>(networkMetrics, "rentals")
                 ?: return Result.failure(Exception("Rental not found or not authorized"))
             
             if (rental.status != RentalStatus.COMPLETED) {
@@ -404,4 +414,10 @@ class RentalRepository @Inject constructor(
             Result.failure(Exception("Failed to submit review: ${e.message}"))
         }
     }
-}
\ No newline at end of file
+    
+    companion object {
+        const val HISTORY_PAGE_SIZE = 20
+        private const val CACHE_KEY_LOCATIONS = "rental_locations"
+        private const val CACHE_KEY_EXTRAS = "rental_extras"
+    }
+}
@@ -1,59 +1,422 @@
 package com.smartdrive.kenya.data.repository
 
+import androidx.paging.PagingSource
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.metrics.decodeListTimed
+import com.smartdrive.kenya.data.metrics.decodeSingleOrNullTimed
+import com.smartdrive.kenya.data.local.VehicleDao
+import com.smartdrive.kenya.data.local.VehicleEntity
+import com.smartdrive.kenya.data.local.VehicleSyncIdEntity
+import com.smartdrive.kenya.data.local.toEntity
+import com.smartdrive.kenya.data.local.toCard
+import com.smartdrive.kenya.data.local.toModel
+import com.smartdrive.kenya.data.model.FacetResults
+import com.smartdrive.kenya.data.model.FacetValue
+import com.smartdrive.kenya.data.model.FleetSyncStatus
 import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.VehicleCard
+import com.smartdrive.kenya.data.model.VehicleCatalogQuery
+import com.smartdrive.kenya.data.model.VehicleCursor
+import com.smartdrive.kenya.data.model.VehiclePage
 import com.smartdrive.kenya.data.model.VehicleStatus
+import com.smartdrive.kenya.data.model.withCard
+import com.smartdrive.kenya.data.network.PostgrestStream
+import com.smartdrive.kenya.data.network.RealtimeConnection
 import com.smartdrive.kenya.data.network.SupabaseClient
+import com.smartdrive.kenya.data.search.VehicleFacetIndex
+import com.smartdrive.kenya.data.search.VehicleSearchIndex
+import com.smartdrive.kenya.data.store.EntityStore
 import io.github.jan.supabase.postgrest.from
 import io.github.jan.supabase.postgrest.query.Columns
+import io.github.jan.supabase.postgrest.query.Order
+import io.github.jan.supabase.postgrest.query.PostgrestRequestBuilder
+import io.github.jan.supabase.realtime.PostgresAction
+import io.github.jan.supabase.realtime.RealtimeChannel
+import io.github.jan.supabase.realtime.channel
+import io.github.jan.supabase.realtime.decodeRecord
+import io.github.jan.supabase.realtime.postgresChangeFlow
+import io.github.jan.supabase.realtime.realtime
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.merge
+import kotlinx.coroutines.flow.onStart
+import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.json.jsonPrimitive
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.put
+import java.time.LocalDate
 import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
 class VehicleRepository @Inject constructor(
-    private val supabaseClient: SupabaseClient
+    private val supabaseClient: SupabaseClient,
+    private val vehicleDao: VehicleDao,
+    private val entityStore: EntityStore,
+    private val postgrestStream: PostgrestStream,
+    private val realtimeConnection: RealtimeConnection,
+    private val networkMetrics: NetworkMetrics
 ) {
-    
-    suspend fun getAvailableVehicles(): Result<List<Vehicle>> {
+
+    // ================== LOCAL CACHE ==================
+    // Reads below come straight from Room; the network methods further down write
+    // through to it, so observers re-render as soon as a revalidation lands.
+
+    fun observeAvailableVehicles(): Flow<List<VehicleCard>> =
+        vehicleDao.observeByStatus(VehicleStatus.AVAILABLE.value)
+            .map { entities -> entities.map(VehicleEntity::toCard) }
+
+    fun observeVehicle(id: String): Flow<Vehicle?> =
+        entityStore.vehicles.observe(id).onStart {
+            if (entityStore.vehicles[id] == null) getCachedVehicle(id)
+        }
+
+    /** Rows only synced as cards are not returned; the details screen needs the full row. */
+    suspend fun getCachedVehicle(id: String): Vehicle? =
+        entityStore.vehicles[id]
+            ?: vehicleDao.getById(id)
+                ?.takeIf { it.hasDetails }
+                ?.let { entityStore.vehicles.intern(it.toModel()) }
+
+    /** Served from the cache while the fleet sync is live, otherwise fetched. */
+    suspend fun getVehicle(id: String): Result<Vehicle> {
+        if (_fleetSyncStatus.value.live) {
+            getCachedVehicle(id)?.let { return Result.success(it) }
+        }
+        return getVehicleById(id)
+    }
+
+    fun catalogPagingSource(query: VehicleCatalogQuery): PagingSource<Int, VehicleEntity> {
+        val fuelTypes = query.fuelTypes.map { it.value }
+        val transmissions = query.transmissions.map { it.value }
+        return vehicleDao.pagingSource(
+            status = query.status?.value,
+            ids = query.ids,
+            idCount = query.ids.size,
+            fuelTypes = fuelTypes,
+            fuelTypeCount = fuelTypes.size,
+            transmissions = transmissions,
+            transmissionCount = transmissions.size,
+            minPrice = query.minPricePerDay,
+            maxPrice = query.maxPricePerDay
+        )
+    }
+
+    // ================== REALTIME SYNC ==================
+    // While a screen collects [syncFleet] the fleet is kept current from Realtime
+    // change events, so navigating between those screens never refetches the
+    // catalog. The channel is dropped shortly after the last collector leaves.
+
+    private val syncScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val syncMutex = Mutex()
+    @Volatile private var channelSubscribed = false
+
+    private val _fleetSyncStatus = MutableStateFlow(FleetSyncStatus())
+    val fleetSyncStatus: StateFlow<FleetSyncStatus> = _fleetSyncStatus.asStateFlow()
+
+    private val fleetSync: Flow<Nothing> = flow<Nothing> { runFleetSync() }
+        .shareIn(syncScope, SharingStarted.WhileSubscribed(FLEET_SYNC_STOP_TIMEOUT_MILLIS))
+
+    /** Keeps the fleet synced for as long as it is collected, emitting the sync status. */
+    fun syncFleet(): Flow<FleetSyncStatus> = merge(fleetSync, fleetSyncStatus)
+
+    /** Forces a full resync, e.g. from a retry button. */
+    fun refreshFleet() {
+        syncScope.launch { resyncFleet() }
+    }
+
+    private suspend fun runFleetSync(): Nothing = coroutineScope {
+        val channel = supabaseClient.client.channel("vehicles")
+        val changes = channel.postgresChangeFlow<PostgresAction>(schema = "public") {
+            table = "vehicles"
+        }
+
+        launch {
+            changes.collect { action -> syncMutex.withLock { applyVehicleChange(action) } }
+        }
+
+        // The first subscription and every reconnect reload the full snapshot,
+        // which also catches changes made while the socket was down
+        launch {
+            channel.status.collect { status ->
+                channelSubscribed = status == RealtimeChannel.Status.SUBSCRIBED
+                if (channelSubscribed) {
+                    resyncFleet()
+                } else {
+                    _fleetSyncStatus.value = _fleetSyncStatus.value.copy(live = false)
+                }
+            }
+        }
+
+        // Until the first snapshot lands the catalog keeps paging from PostgREST
+        realtimeConnection.acquire()
+        try {
+            channel.subscribe()
+            awaitCancellation()
+        } finally {
+            withContext(NonCancellable) {
+                channelSubscribed = false
+                _fleetSyncStatus.value = _fleetSyncStatus.value.copy(live = false)
+                supabaseClient.client.realtime.removeChannel(channel)
+                realtimeConnection.release()
+            }
+        }
+    }
+
+    private suspend fun resyncFleet() {
+        _fleetSyncStatus.value = _fleetSyncStatus.value.copy(loading = true, error = null)
+        try {
+            syncMutex.withLock {
+                // Streamed in chunks so a large fleet never sits in memory as one list.
+                // The ids are staged in Room for the prune, never bound as one list
+                val batch = VehicleSyncIdEntity.FLEET_SNAPSHOT
+                val snapshotIds = HashSet<String>()
+                vehicleDao.clearSyncIds(batch)
+                postgrestStream.select<VehicleCard>(
+                    table = "vehicles",
+                    columns = VehicleCard.COLUMNS,
+                    params = listOf("order" to "created_at.desc,id.desc")
+                ).collect { cards ->
+                    saveCards(cards)
+                    vehicleDao.stageSyncIds(cards.map { VehicleSyncIdEntity(batch, it.id) })
+                    cards.mapTo(snapshotIds) { it.id }
+                }
+                vehicleDao.pruneToStaged(batch)
+                entityStore.vehicles.remove(entityStore.vehicles.entities.value.keys - snapshotIds)
+            }
+            // Without the channel the cache is only as fresh as this snapshot
+            _fleetSyncStatus.value = FleetSyncStatus(loading = false, live = channelSubscribed)
+        } catch (e: Exception) {
+            _fleetSyncStatus.value = _fleetSyncStatus.value.copy(
+                loading = false,
+                error = "Failed to sync vehicles: ${e.message}"
+            )
+        }
+    }
+
+    private suspend fun applyVehicleChange(action: PostgresAction) {
+        when (action) {
+            is PostgresAction.Insert -> saveVehicles(listOf(action.decodeRecord<Vehicle>()))
+            is PostgresAction.Update -> saveVehicles(listOf(action.decodeRecord<Vehicle>()))
+            is PostgresAction.Delete -> {
+                // Without REPLICA IDENTITY FULL the old record only carries the primary key
+                action.oldRecord["id"]?.jsonPrimitive?.content?.let { id ->
+                    vehicleDao.deleteByIds(listOf(id))
+                    entityStore.vehicles.remove(listOf(id))
+                }
+            }
+            else -> Unit
+        }
+    }
+
+    // ================== SEARCH & FACETS ==================
+    // Text search and chip filters run on device against indexes of the available
+    // vehicles in Room, which the fleet sync keeps complete. The indexes follow
+    // the cache while either is collected. The search index reindexes only the
+    // vehicles that changed; the facet bitsets are rebuilt, which is cheap.
+
+    private val searchIndex = VehicleSearchIndex()
+    private val facetIndex = VehicleFacetIndex()
+
+    private val indexedCatalog: Flow<Unit> = vehicleDao.observeByStatus(VehicleStatus.AVAILABLE.value)
+        .map { entities ->
+            searchIndex.update(entities)
+            facetIndex.rebuild(entities)
+        }
+        .flowOn(Dispatchers.Default)
+        .shareIn(syncScope, SharingStarted.WhileSubscribed(FLEET_SYNC_STOP_TIMEOUT_MILLIS), replay = 1)
+
+    /** Ranked matches for [query], re-run whenever the catalog changes. */
+    fun searchVehicles(query: String): Flow<List<VehicleCard>> =
+        indexedCatalog
+            .map { searchIndex.search(query).map(VehicleEntity::toCard) }
+            .flowOn(Dispatchers.Default)
+
+    /** Vehicles and chip counts for [selection], re-run whenever the catalog changes. */
+    fun facetVehicles(selection: Set<FacetValue>): Flow<FacetResults> =
+        indexedCatalog
+            .map { facetIndex.results(selection) }
+            .flowOn(Dispatchers.Default)
+
+    // ================== NETWORK ==================
+
+    suspend fun getAvailableVehicles(): Result<List<VehicleCard>> {
         return try {
-            val allVehicles = supabaseClient.postgrest
+            val cards = supabaseClient.postgrest
                 .from("vehicles")
-                .select(columns = Columns.ALL)
-                .decodeList<Vehicle>()
-            
-            val vehicles = allVehicles.filter { it.status == VehicleStatus.AVAILABLE }
-            
-            Result.success(vehicles)
+                .select(columns = Columns.raw(VehicleCard.COLUMNS)) {
+                    filter { eq("status", VehicleStatus.AVAILABLE.value) }
+                    orderByCatalogKey()
+                }
+                .decodeListTimed<VehicleCard>(networkMetrics, "vehicles")
+
+            vehicleDao.replaceCardsByStatus(VehicleStatus.AVAILABLE.value, cards.map { it.toEntity() })
+            refreshStoredVehicles(cards)
+            Result.success(cards)
         } catch (e: Exception) {
             Result.failure(e)
         }
     }
-    
+
     suspend fun getAllVehicles(): Result<List<Vehicle>> {
         return try {
             val vehicles = supabaseClient.postgrest
                 .from("vehicles")
-                .select(columns = Columns.ALL)
-                .decodeList<Vehicle>()
-            
+                .select(columns = Columns.raw(Vehicle.COLUMNS)) {
+                    orderByCatalogKey()
+                }
+                .decodeListTimed<Vehicle>(networkMetrics, "vehicles")
+
+            saveVehicles(vehicles)
             Result.success(vehicles)
         } catch (e: Exception) {
             Result.failure(e)
         }
     }
-    
+
     suspend fun getVehicleById(id: String): Result<Vehicle> {
         return try {
-            val vehicles = supabaseClient.postgrest
+            val vehicle = supabaseClient.postgrest
                 .from("vehicles")
-                .select(columns = Columns.ALL)
-                .decodeList<Vehicle>()
-            
-            val vehicle = vehicles.firstOrNull { it.id == id }
+                .select(columns = Columns.raw(Vehicle.COLUMNS)) {
+                    filter { eq("id", id) }
+                    limit(1)
+                }
+                .decodeSingleOrNullTimed<Vehicle>(networkMetrics, "vehicles")
                 ?: throw Exception("Vehicle not found")
-            
+
+            saveVehicles(listOf(vehicle))
             Result.success(vehicle)
         } catch (e: Exception) {
             Result.failure(e)
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Fetches one page of the catalog with all filters applied by PostgREST.
+     * Pass the [VehiclePage.nextCursor] of the previous page to continue; a null
+     * cursor in the result means the catalog is exhausted.
+     */
+    suspend fun getVehiclePage(
+        query: VehicleCatalogQuery,
+        cursor: VehicleCursor? = null,
+        pageSize: Int = DEFAULT_PAGE_SIZE
+    ): Result<VehiclePage> {
+        return try {
+            val cards = supabaseClient.postgrest
+                .from("vehicles")
+                .select(columns = Columns.raw(VehicleCard.COLUMNS)) {
+                    applyCatalogQuery(query, cursor)
+                    orderByCatalogKey()
+                    limit(pageSize.toLong())
+                }
+                .decodeListTimed<VehicleCard>(networkMetrics, "vehicles")
+            saveCards(cards)
+
+            val nextCursor = cards.lastOrNull()
+                ?.takeIf { cards.size == pageSize }
+                ?.let { VehicleCursor(createdAt = it.createdAt, id = it.id) }
+
+            Result.success(VehiclePage(cards, nextCursor))
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to fetch vehicles: ${e.message}"))
+        }
+    }
+
+    /**
+     * Searches the whole fleet for vehicles free between [startDate] and [endDate]
+     * in a single round trip. Overlap checks run in the `search_available_vehicles`
+     * RPC, which shares its rules with `is_vehicle_available`.
+     */
+    suspend fun searchAvailableVehicles(
+        startDate: LocalDate,
+        endDate: LocalDate,
+        locationId: String? = null
+    ): Result<List<VehicleCard>> {
+        return try {
+            val cards = supabaseClient.postgrest
+                .rpc(
+                    function = "search_available_vehicles",
+                    parameters = buildJsonObject {
+                        put("p_start_date", startDate.toString())
+                        put("p_end_date", endDate.toString())
+                        put("p_location_id", locationId)
+                    }
+                ) {
+                    select(Columns.raw(VehicleCard.COLUMNS))
+                }
+                .decodeListTimed<VehicleCard>(networkMetrics, "rpc/search_available_vehicles")
+
+            saveCards(cards)
+            Result.success(cards)
+        } catch (e: Exception) {
+            Result.failure(Exception("Failed to search vehicles: ${e.message}"))
+        }
+    }
+
+    private suspend fun saveVehicles(vehicles: List<Vehicle>) {
+        vehicleDao.upsertAll(vehicles.map { it.toEntity() })
+        entityStore.vehicles.putAll(vehicles)
+    }
+
+    private suspend fun saveCards(cards: List<VehicleCard>) {
+        vehicleDao.upsertCards(cards.map { it.toEntity() })
+        refreshStoredVehicles(cards)
+    }
+
+    // Full rows already in the store take the fresher card columns; others stay out
+    private fun refreshStoredVehicles(cards: List<VehicleCard>) {
+        entityStore.vehicles.putAll(cards.mapNotNull { card -> entityStore.vehicles[card.id]?.withCard(card) })
+    }
+
+    private fun PostgrestRequestBuilder.applyCatalogQuery(
+        query: VehicleCatalogQuery,
+        cursor: VehicleCursor?
+    ) {
+        filter {
+            query.status?.let { eq("status", it.value) }
+            if (query.ids.isNotEmpty()) isIn("id", query.ids)
+            if (query.fuelTypes.isNotEmpty()) isIn("fuel_type", query.fuelTypes.map { it.value })
+            if (query.transmissions.isNotEmpty()) isIn("transmission", query.transmissions.map { it.value })
+            query.minPricePerDay?.let { gte("price_per_day", it) }
+            query.maxPricePerDay?.let { lte("price_per_day", it) }
+
+            // (created_at, id) < (cursor.created_at, cursor.id)
+            cursor?.let {
+                or {
+                    lt("created_at", it.createdAt)
+                    and {
+                        eq("created_at", it.createdAt)
+                        lt("id", it.id)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun PostgrestRequestBuilder.orderByCatalogKey() {
+        order("created_at", Order.DESCENDING)
+        order("id", Order.DESCENDING)
+    }
+
+    companion object {
+        const val DEFAULT_PAGE_SIZE = 10
+        private const val FLEET_SYNC_STOP_TIMEOUT_MILLIS = 5_000L
+    }
+}
@@ -0,0 +1,157 @@
+package com.smartdrive.kenya.data.search
+
+import com.smartdrive.kenya.data.local.VehicleEntity
+import com.smartdrive.kenya.data.local.toCard
+import com.smartdrive.kenya.data.model.BodyType
+import com.smartdrive.kenya.data.model.FacetGroup
+import com.smartdrive.kenya.data.model.FacetResults
+import com.smartdrive.kenya.data.model.FacetValue
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.PriceBand
+import com.smartdrive.kenya.data.model.SeatsBand
+import com.smartdrive.kenya.data.model.Transmission
+import com.smartdrive.kenya.data.model.VehicleCard
+
+/**
+ * Facet filtering over the cached catalog with one bitset per facet value.
+ * Bit i of a value's bitset is set when the i-th vehicle (in catalog order)
+ * has that value.
+ *
+ * [rebuild] recomputes the bitsets, the cards and the feature order when the
+ * catalog changes. [results] then resolves a selection with word-wise OR inside
+ * a group and AND across groups, and counts every chip with a popcount, all in
+ * preallocated scratch arrays. Per selection only the returned [FacetResults],
+ * a copy of the counts and, when something is selected, the list of matching
+ * cards are allocated. Both methods are synchronized.
+ */
+class VehicleFacetIndex {
+
+    private var cards: List<VehicleCard> = emptyList()
+    private var words = 0
+    private var allVehicles = LongArray(0)
+
+    private var values: List<FacetValue> = emptyList()
+    private var valueIds: Map<FacetValue, Int> = emptyMap()
+    private var bitsets: Array<LongArray> = emptyArray()
+    private var features: List<FacetValue> = emptyList()
+
+    // Scratch space reused across selections
+    private val groupCount = FacetGroup.entries.size
+    private val groupSelected = BooleanArray(groupCount)
+    private var groupUnions = Array(groupCount) { LongArray(0) }
+    private var matches = LongArray(0)
+    private var others = LongArray(0)
+    private var counts = IntArray(0)
+
+    @Synchronized
+    fun rebuild(catalog: List<VehicleEntity>) {
+        cards = catalog.map(VehicleEntity::toCard)
+        words = (catalog.size + 63) / 64
+
+        val ids = LinkedHashMap<FacetValue, Int>()
+        val sets = ArrayList<LongArray>()
+        catalog.forEachIndexed { index, vehicle ->
+            for (value in facetValuesOf(vehicle)) {
+                val id = ids.getOrPut(value) {
+                    sets.add(LongArray(words))
+                    sets.size - 1
+                }
+                val bitset = sets[id]
+                bitset[index ushr 6] = bitset[index ushr 6] or (1L shl index)
+            }
+        }
+        // Grouped, so the counting pass sets up each group's mask once
+        val byGroup = ids.entries.sortedBy { it.key.group.ordinal }
+        values = byGroup.map { it.key }
+        valueIds = values.withIndex().associate { (id, value) -> value to id }
+        bitsets = byGroup.map { sets[it.value] }.toTypedArray()
+        // Ordered by catalog-wide frequency, so chips keep their place as the selection changes
+        features = values.indices
+            .filter { values[it].group == FacetGroup.FEATURE }
+            .sortedByDescending { id -> bitsets[id].sumOf { java.lang.Long.bitCount(it) } }
+            .map { values[it] }
+
+        allVehicles = LongArray(words) { -1L }
+        if (catalog.size % 64 != 0) allVehicles[words - 1] = (1L shl (catalog.size % 64)) - 1
+        if (matches.size < words) {
+            groupUnions = Array(groupCount) { LongArray(words) }
+            matches = LongArray(words)
+            others = LongArray(words)
+        }
+        counts = IntArray(values.size)
+    }
+
+    @Synchronized
+    fun results(selection: Set<FacetValue>): FacetResults {
+        applySelection(selection)
+
+        return FacetResults(
+            vehicles = if (selection.isEmpty()) null else matchingCards(),
+            valueIds = valueIds,
+            counts = counts.copyOf(),
+            features = features
+        )
+    }
+
+    /** Fills [matches] and [counts] for [selection] in the preallocated arrays. */
+    private fun applySelection(selection: Set<FacetValue>) {
+        groupSelected.fill(false)
+        for (union in groupUnions) union.fill(0L, 0, words)
+        for (value in selection) {
+            val group = value.group.ordinal
+            // A selected value no vehicle has still narrows its group to nothing
+            groupSelected[group] = true
+            val id = valueIds[value] ?: continue
+            val union = groupUnions[group]
+            val bitset = bitsets[id]
+            for (w in 0 until words) union[w] = union[w] or bitset[w]
+        }
+
+        allVehicles.copyInto(matches, endIndex = words)
+        for (group in 0 until groupCount) {
+            if (groupSelected[group]) andInto(matches, groupUnions[group])
+        }
+
+        // A chip's count ignores the selection of its own group, so chips in one group add up
+        var valueGroup = -1
+        for (id in values.indices) {
+            val group = values[id].group.ordinal
+            if (group != valueGroup) {
+                valueGroup = group
+                allVehicles.copyInto(others, endIndex = words)
+                for (other in 0 until groupCount) {
+                    if (other != group && groupSelected[other]) andInto(others, groupUnions[other])
+                }
+            }
+            val bitset = bitsets[id]
+            var count = 0
+            for (w in 0 until words) count += java.lang.Long.bitCount(others[w] and bitset[w])
+            counts[id] = count
+        }
+    }
+
+    private fun andInto(target: LongArray, mask: LongArray) {
+        for (w in 0 until words) target[w] = target[w] and mask[w]
+    }
+
+    private fun matchingCards(): List<VehicleCard> {
+        val matching = ArrayList<VehicleCard>()
+        for (w in 0 until words) {
+            var word = matches[w]
+            while (word != 0L) {
+                matching.add(cards[(w shl 6) + java.lang.Long.numberOfTrailingZeros(word)])
+                word = word and (word - 1)
+            }
+        }
+        return matching
+    }
+
+    private fun facetValuesOf(vehicle: VehicleEntity): List<FacetValue> = buildList {
+        add(FacetValue.fuelType(FuelType.fromString(vehicle.fuelType)))
+        add(FacetValue.transmission(Transmission.fromString(vehicle.transmission)))
+        add(FacetValue.seats(SeatsBand.of(vehicle.seatingCapacity)))
+        add(FacetValue.priceBand(PriceBand.of(vehicle.pricePerDay)))
+        BodyType.fromString(vehicle.bodyType)?.let { add(FacetValue.bodyType(it)) }
+        vehicle.features.distinct().forEach { add(FacetValue.feature(it)) }
+    }
+}
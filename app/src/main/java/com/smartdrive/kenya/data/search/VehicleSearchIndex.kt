@@ -0,0 +1,270 @@
+package com.smartdrive.kenya.data.search
+
+import com.smartdrive.kenya.data.local.VehicleEntity
+import java.util.TreeMap
+
+/**
+ * In-memory inverted index over the cached fleet for search-as-you-type.
+ *
+ * Make, model, year, colour, licence plate and features are split into
+ * lower-case terms. Each term maps to a posting list of (document, field)
+ * pairs, and the sorted term dictionary answers prefix lookups with a range
+ * scan. Every query term must match the vehicle exactly, as a prefix, or as a
+ * prefix within one typo (two for terms of [LONG_TERM_LENGTH] or more).
+ * Results are ranked by match quality weighted by the field that matched.
+ *
+ * [update] diffs the catalog against what is indexed and only reindexes
+ * vehicles whose searchable fields changed, so Realtime updates stay cheap.
+ * Both methods are synchronized; call them off the main thread.
+ */
+class VehicleSearchIndex {
+
+    private val docIds = HashMap<String, Int>()
+    private val docs = ArrayList<VehicleEntity?>()
+    private val docTerms = ArrayList<Set<String>?>()
+    private val freeDocIds = ArrayDeque<Int>()
+    private val postings = TreeMap<String, Postings>()
+
+    // Scratch space reused across queries
+    private var tokenScores = IntArray(0)
+    private var matchedTokens = IntArray(0)
+    private var totalScores = IntArray(0)
+    private var previousRow = IntArray(0)
+    private var currentRow = IntArray(0)
+
+    @Synchronized
+    fun update(vehicles: List<VehicleEntity>) {
+        val current = HashSet<String>(vehicles.size * 2)
+        for (vehicle in vehicles) {
+            current.add(vehicle.id)
+            val docId = docIds[vehicle.id]
+            when {
+                docId == null -> addDoc(vehicle)
+                docs[docId] == vehicle -> Unit
+                // Price or status changes do not touch the postings
+                sameSearchableFields(docs[docId]!!, vehicle) -> docs[docId] = vehicle
+                else -> {
+                    removeDoc(docId)
+                    addDoc(vehicle)
+                }
+            }
+        }
+        if (docIds.size > current.size) {
+            docIds.filterKeys { it !in current }.values.toList().forEach(::removeDoc)
+        }
+    }
+
+    /** Vehicles matching every term of [query], best first. A blank query matches nothing. */
+    @Synchronized
+    fun search(query: String, limit: Int = DEFAULT_LIMIT): List<VehicleEntity> {
+        val tokens = tokenize(query).distinct()
+        if (tokens.isEmpty()) return emptyList()
+        ensureScratchCapacity(docs.size)
+
+        var touched = IntArrayList()
+        tokens.forEachIndexed { tokenIndex, token ->
+            touched = IntArrayList()
+            forEachMatch(token) { matches, quality ->
+                matches.forEach { entry ->
+                    val docId = entry ushr FIELD_BITS
+                    // Only documents that matched every earlier term stay candidates
+                    if (matchedTokens[docId] == tokenIndex) {
+                        val score = quality * FIELD_WEIGHTS[entry and FIELD_MASK]
+                        if (tokenScores[docId] == 0) touched.add(docId)
+                        if (score > tokenScores[docId]) tokenScores[docId] = score
+                    }
+                }
+            }
+            touched.forEach { docId ->
+                matchedTokens[docId] = tokenIndex + 1
+                totalScores[docId] += tokenScores[docId]
+                tokenScores[docId] = 0
+            }
+        }
+
+        // The last term's matches are exactly the documents that matched all terms
+        val results = ArrayList<Int>(touched.size)
+        touched.forEach { results.add(it) }
+        val ranked = results
+            .sortedWith(
+                compareByDescending<Int> { totalScores[it] }
+                    .thenByDescending { docs[it]!!.createdAt }
+            )
+            .take(limit)
+            .map { docs[it]!! }
+
+        matchedTokens.fill(0, 0, docs.size)
+        totalScores.fill(0, 0, docs.size)
+        return ranked
+    }
+
+    private inline fun forEachMatch(token: String, onMatch: (matches: Postings, quality: Int) -> Unit) {
+        postings[token]?.let { onMatch(it, EXACT) }
+        for (matches in postings.subMap(token, false, token + Char.MAX_VALUE, false).values) {
+            onMatch(matches, PREFIX)
+        }
+
+        // Numbers (years, plate digits) are not typo-corrected: 2018 is not a near miss for 2019
+        if (token.length < MIN_FUZZY_LENGTH || token.all(Char::isDigit)) return
+        val maxEdits = if (token.length >= LONG_TERM_LENGTH) 2 else 1
+        // Typos in the first letter are rare, so only terms sharing it are considered
+        val first = token[0]
+        for ((term, matches) in postings.subMap(first.toString(), true, (first + 1).toString(), false)) {
+            if (term.startsWith(token)) continue
+            val edits = prefixEditDistance(token, term, maxEdits)
+            if (edits <= maxEdits) onMatch(matches, if (edits == 1) FUZZY_ONE else FUZZY_TWO)
+        }
+    }
+
+    /**
+     * Smallest Levenshtein distance between [query] and any prefix of [term], or
+     * `maxEdits + 1` once it is known to exceed [maxEdits].
+     */
+    private fun prefixEditDistance(query: String, term: String, maxEdits: Int): Int {
+        val columns = minOf(term.length, query.length + maxEdits)
+        if (previousRow.size < columns + 1) {
+            previousRow = IntArray(columns + 1)
+            currentRow = IntArray(columns + 1)
+        }
+        var previous = previousRow
+        var current = currentRow
+        for (j in 0..columns) previous[j] = j
+
+        for (i in 1..query.length) {
+            current[0] = i
+            var rowMin = i
+            for (j in 1..columns) {
+                val substitution = previous[j - 1] + if (query[i - 1] == term[j - 1]) 0 else 1
+                current[j] = minOf(substitution, previous[j] + 1, current[j - 1] + 1)
+                if (current[j] < rowMin) rowMin = current[j]
+            }
+            if (rowMin > maxEdits) return maxEdits + 1
+            val swap = previous
+            previous = current
+            current = swap
+        }
+
+        var best = previous[0]
+        for (j in 1..columns) if (previous[j] < best) best = previous[j]
+        return best
+    }
+
+    private fun addDoc(vehicle: VehicleEntity) {
+        val docId = freeDocIds.removeFirstOrNull() ?: docs.size.also {
+            docs.add(null)
+            docTerms.add(null)
+        }
+        docIds[vehicle.id] = docId
+        docs[docId] = vehicle
+
+        val terms = HashSet<String>()
+        fun index(text: String?, field: Int) {
+            for (term in tokenize(text ?: return)) {
+                postings.getOrPut(term) { Postings() }.add((docId shl FIELD_BITS) or field)
+                terms.add(term)
+            }
+        }
+        index(vehicle.make, FIELD_MAKE)
+        index(vehicle.model, FIELD_MODEL)
+        index(vehicle.year.toString(), FIELD_YEAR)
+        index(vehicle.licensePlate, FIELD_PLATE)
+        // "KCA 123A" is also found as "kca123a"
+        if (tokenize(vehicle.licensePlate).size > 1) {
+            index(vehicle.licensePlate.filter(Char::isLetterOrDigit), FIELD_PLATE)
+        }
+        index(vehicle.color, FIELD_COLOR)
+        vehicle.features.forEach { index(it, FIELD_FEATURE) }
+        docTerms[docId] = terms
+    }
+
+    private fun removeDoc(docId: Int) {
+        docTerms[docId]?.forEach { term ->
+            val list = postings[term] ?: return@forEach
+            list.removeDoc(docId)
+            if (list.isEmpty()) postings.remove(term)
+        }
+        docs[docId]?.let { docIds.remove(it.id) }
+        docs[docId] = null
+        docTerms[docId] = null
+        freeDocIds.addLast(docId)
+    }
+
+    private fun sameSearchableFields(a: VehicleEntity, b: VehicleEntity): Boolean =
+        a.make == b.make && a.model == b.model && a.year == b.year &&
+            a.licensePlate == b.licensePlate && a.color == b.color && a.features == b.features
+
+    private fun ensureScratchCapacity(docCount: Int) {
+        if (tokenScores.size < docCount) {
+            val capacity = maxOf(docCount, tokenScores.size * 2)
+            tokenScores = IntArray(capacity)
+            matchedTokens = IntArray(capacity)
+            totalScores = IntArray(capacity)
+        }
+    }
+
+    /** Posting list of `(docId shl FIELD_BITS) or field` entries, unsorted. */
+    private class Postings {
+        private var entries = IntArray(2)
+        private var count = 0
+
+        fun add(entry: Int) {
+            if (count == entries.size) entries = entries.copyOf(count * 2)
+            entries[count++] = entry
+        }
+
+        fun removeDoc(docId: Int) {
+            var i = 0
+            while (i < count) {
+                if (entries[i] ushr FIELD_BITS == docId) entries[i] = entries[--count] else i++
+            }
+        }
+
+        fun isEmpty() = count == 0
+
+        inline fun forEach(action: (Int) -> Unit) {
+            for (i in 0 until count) action(entries[i])
+        }
+    }
+
+    private class IntArrayList {
+        private var values = IntArray(16)
+        var size = 0
+            private set
+
+        fun add(value: Int) {
+            if (size == values.size) values = values.copyOf(size * 2)
+            values[size++] = value
+        }
+
+        inline fun forEach(action: (Int) -> Unit) {
+            for (i in 0 until size) action(values[i])
+        }
+    }
+
+    companion object {
+        const val DEFAULT_LIMIT = 100
+        private const val MIN_FUZZY_LENGTH = 3
+        private const val LONG_TERM_LENGTH = 8
+
+        // Match quality, multiplied by the field weight
+        private const val EXACT = 4
+        private const val PREFIX = 3
+        private const val FUZZY_ONE = 2
+        private const val FUZZY_TWO = 1
+
+        private const val FIELD_BITS = 3
+        private const val FIELD_MASK = (1 shl FIELD_BITS) - 1
+        private const val FIELD_MAKE = 0
+        private const val FIELD_MODEL = 1
+        private const val FIELD_YEAR = 2
+        private const val FIELD_PLATE = 3
+        private const val FIELD_COLOR = 4
+        private const val FIELD_FEATURE = 5
+        private val FIELD_WEIGHTS = intArrayOf(8, 8, 4, 6, 3, 2)
+
+        private val SEPARATORS = Regex("[^\\p{L}\\p{N}]+")
+
+        fun tokenize(text: String): List<String> =
+            text.lowercase().split(SEPARATORS).filter { it.isNotEmpty() }
+    }
+}
@@ -0,0 +1,148 @@
+package com.smartdrive.kenya.data.session
+
+import com.smartdrive.kenya.data.model.Permission
+import com.smartdrive.kenya.data.model.Profile
+import com.smartdrive.kenya.data.model.User
+import com.smartdrive.kenya.data.model.UserRole
+import com.smartdrive.kenya.data.network.SupabaseClient
+import com.smartdrive.kenya.data.repository.AuthRepository
+import com.smartdrive.kenya.data.repository.RentalRepository
+import io.github.jan.supabase.auth.status.SessionStatus
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import javax.inject.Inject
+import javax.inject.Singleton
+
+data class SessionState(
+    /** False until supabase-kt has restored (or failed to find) the stored session. */
+    val initialized: Boolean = false,
+    val user: User? = null,
+    /** From the access token claim, else one `get_user_role` call per sign-in. */
+    val role: UserRole? = null,
+    val profile: Profile? = null,
+    val profileLoading: Boolean = false,
+    val profileError: String? = null
+)
+
+/**
+ * The signed-in user and their profile, held once for the whole app. It follows
+ * the Supabase session status for the life of the process, so sign-in, sign-out
+ * and expiry from anywhere show up in [state]. The profile is fetched once per
+ * user by primary key; token refreshes do not refetch it. The role is kept with
+ * the session, so permission checks are in-memory lookups.
+ */
+@Singleton
+class UserSession @Inject constructor(
+    private val supabaseClient: SupabaseClient,
+    private val authRepository: AuthRepository,
+    private val rentalRepository: RentalRepository
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private var profileLoad: Job? = null
+
+    private val _state = MutableStateFlow(SessionState())
+    val state: StateFlow<SessionState> = _state.asStateFlow()
+
+    init {
+        scope.launch {
+            supabaseClient.auth.sessionStatus.collect { status ->
+                when (status) {
+                    is SessionStatus.Authenticated -> authRepository.getCurrentUser()?.let(::onSignedIn)
+                    is SessionStatus.NotAuthenticated -> onSignedOut()
+                    // Keep the last user; the session recovers once a refresh succeeds
+                    is SessionStatus.RefreshFailure -> _state.update { it.copy(initialized = true) }
+                    else -> Unit
+                }
+            }
+        }
+    }
+
+    suspend fun awaitInitialized(): SessionState = state.first { it.initialized }
+
+    fun hasPermission(permission: Permission): Boolean =
+        _state.value.role?.has(permission) == true
+
+    /** Waits for an in-flight profile load and returns the profile, if any. */
+    suspend fun awaitProfile(): Profile? = state.first { !it.profileLoading }.profile
+
+    /** Reloads the profile, e.g. right after sign-up created the row. */
+    fun refreshProfile() {
+        _state.value.user?.let { loadProfile(it.id) }
+    }
+
+    @Synchronized
+    private fun onSignedIn(user: User) {
+        val previous = _state.value
+        val claimedRole = authRepository.getRoleClaim()
+
+        if (previous.initialized && previous.user?.id == user.id) {
+            // A token refresh: keep what is loaded, but a new token may carry a new role
+            if (claimedRole != null && claimedRole != previous.role) {
+                _state.update { it.copy(role = claimedRole) }
+            }
+            if (previous.profile == null && profileLoad?.isActive != true) loadProfile(user.id)
+            return
+        }
+
+        // Published with profileLoading set, so awaitProfile cannot see the user without the load
+        _state.value = SessionState(initialized = true, user = user, role = claimedRole, profileLoading = true)
+        loadProfile(user.id)
+        if (claimedRole == null) loadRole(user.id)
+    }
+
+    private fun loadRole(userId: String) {
+        scope.launch {
+            authRepository.getUserRole().onSuccess { role ->
+                _state.update { if (it.user?.id == userId && it.role == null) it.copy(role = role) else it }
+            }
+        }
+    }
+
+    @Synchronized
+    private fun onSignedOut() {
+        profileLoad?.cancel()
+        profileLoad = null
+        val wasSignedIn = _state.value.user != null
+        _state.value = SessionState(initialized = true)
+        // Locations and extras are reloaded for the next user rather than carried over
+        if (wasSignedIn) scope.launch { rentalRepository.invalidateReferenceData() }
+    }
+
+    @Synchronized
+    private fun loadProfile(userId: String) {
+        profileLoad?.cancel()
+        _state.update { it.copy(profileLoading = true, profileError = null) }
+        profileLoad = scope.launch {
+            authRepository.getUserProfile(userId).fold(
+                onSuccess = { profile ->
+                    _state.update {
+                        if (it.user?.id == userId) {
+                            // The row carries the role too, in case the RPC has not answered
+                            it.copy(profile = profile, role = it.role ?: profile.role, profileLoading = false)
+                        } else {
+                            it
+                        }
+                    }
+                },
+                onFailure = { error ->
+                    _state.update {
+                        if (it.user?.id == userId) {
+                            it.copy(profileLoading = false, profileError = error.message)
+                        } else {
+                            it
+                        }
+                    }
+                }
+            )
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.smartdrive.kenya.data.store
+
+import com.smartdrive.kenya.data.model.RentalExtra
+import com.smartdrive.kenya.data.model.RentalLocation
+import com.smartdrive.kenya.data.model.Vehicle
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.update
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * One id-keyed table of the [EntityStore]. Writes keep the existing instance when an
+ * incoming row is equal to it, so every screen showing a row shares one object.
+ * Each call copies the table at most once, so write rows in batches where possible.
+ */
+class EntityTable<T : Any>(private val idOf: (T) -> String) {
+
+    private val _entities = MutableStateFlow<Map<String, T>>(emptyMap())
+    val entities: StateFlow<Map<String, T>> = _entities.asStateFlow()
+
+    operator fun get(id: String): T? = _entities.value[id]
+
+    fun observe(id: String): Flow<T?> = _entities.map { it[id] }.distinctUntilChanged()
+
+    /**
+     * Returns the stored instance with [entity]'s id, storing [entity] if there is
+     * none. A stored row is never replaced here: interned rows may come from stale
+     * sources such as the history cache, so fresher data goes through [putAll].
+     */
+    fun intern(entity: T): T {
+        val id = idOf(entity)
+        _entities.value[id]?.let { return it }
+        var result = entity
+        _entities.update { current ->
+            val existing = current[id]
+            if (existing != null) {
+                result = existing
+                current
+            } else {
+                result = entity
+                current + (id to entity)
+            }
+        }
+        return result
+    }
+
+    /** [intern] for a list of rows, with at most one copy of the table. */
+    fun internAll(entities: List<T>): List<T> {
+        if (entities.isEmpty()) return entities
+        var result = entities
+        _entities.update { current ->
+            val added = HashMap<String, T>()
+            result = entities.map { entity ->
+                val id = idOf(entity)
+                current[id] ?: added.getOrPut(id) { entity }
+            }
+            if (added.isEmpty()) current else current + added
+        }
+        return result
+    }
+
+    fun putAll(entities: Collection<T>) {
+        if (entities.isEmpty()) return
+        _entities.update { current ->
+            val changed = entities.filter { current[idOf(it)] != it }
+            if (changed.isEmpty()) current else current + changed.associateBy(idOf)
+        }
+    }
+
+    /** Replaces the table contents, reusing instances of rows that did not change. */
+    fun replaceAll(entities: Collection<T>) {
+        _entities.update { current ->
+            entities.associateBy(idOf).mapValues { (id, entity) ->
+                current[id]?.takeIf { it == entity } ?: entity
+            }
+        }
+    }
+
+    fun remove(ids: Collection<String>) {
+        if (ids.isEmpty()) return
+        _entities.update { it - ids.toSet() }
+    }
+}
+
+/**
+ * Normalized in-memory store of the entities shared by browse, details and booking.
+ * Repositories write every row they load or receive from Realtime here, and view
+ * models resolve rows by id instead of holding their own copies.
+ */
+@Singleton
+class EntityStore @Inject constructor() {
+    val vehicles = EntityTable<Vehicle> { it.id }
+    val locations = EntityTable<RentalLocation> { it.id }
+    val extras = EntityTable<RentalExtra> { it.id }
+}
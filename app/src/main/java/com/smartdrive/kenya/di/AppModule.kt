@@ -1,16 +1,29 @@
 package com.smartdrive.kenya.di
 
 import android.content.Context
+import androidx.room.Room
+import com.smartdrive.kenya.data.cache.ReferenceDataCache
+import com.smartdrive.kenya.data.local.RentalExtraDao
+import com.smartdrive.kenya.data.local.RentalLocationDao
+import com.smartdrive.kenya.data.local.RentalSummaryDao
+import com.smartdrive.kenya.data.local.SmartDriveDatabase
+import com.smartdrive.kenya.data.local.VehicleDao
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.network.PostgrestStream
+import com.smartdrive.kenya.data.network.RealtimeConnection
 import com.smartdrive.kenya.data.network.SupabaseClient
 import com.smartdrive.kenya.data.repository.AuthRepository
+import com.smartdrive.kenya.data.repository.AvailabilityRepository
 import com.smartdrive.kenya.data.repository.RentalRepository
 import com.smartdrive.kenya.data.repository.VehicleRepository
+import com.smartdrive.kenya.data.store.EntityStore
 import com.smartdrive.kenya.utils.DatabaseHelper
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import okhttp3.OkHttpClient
 import javax.inject.Singleton
 
 @Module
@@ -19,10 +32,49 @@ object AppModule {
     
     @Provides
     @Singleton
-    fun provideSupabaseClient(@ApplicationContext context: Context): SupabaseClient {
-        return SupabaseClient(context)
+    fun provideSupabaseClient(
+        @ApplicationContext context: Context,
+        okHttpClient: OkHttpClient
+    ): SupabaseClient {
+        return SupabaseClient(context, okHttpClient)
     }
     
+    @Provides
+    @Singleton
+    fun providePostgrestStream(
+        supabaseClient: SupabaseClient,
+        okHttpClient: OkHttpClient,
+        networkMetrics: NetworkMetrics
+    ): PostgrestStream {
+        return PostgrestStream(supabaseClient, okHttpClient, networkMetrics)
+    }
+    
+    @Provides
+    @Singleton
+    fun provideSmartDriveDatabase(@ApplicationContext context: Context): SmartDriveDatabase {
+        return Room.databaseBuilder(context, SmartDriveDatabase::class.java, SmartDriveDatabase.NAME)
+            .fallbackToDestructiveMigration()
+            .build()
+    }
+    
+    @Provides
+    @Singleton
+    fun provideReferenceDataCache(): ReferenceDataCache {
+        return ReferenceDataCache(ttlMillis = ReferenceDataCache.DEFAULT_TTL_MILLIS)
+    }
+    
+    @Provides
+    fun provideVehicleDao(database: SmartDriveDatabase): VehicleDao = database.vehicleDao()
+    
+    @Provides
+    fun provideRentalLocationDao(database: SmartDriveDatabase): RentalLocationDao = database.rentalLocationDao()
+    
+    @Provides
+    fun provideRentalExtraDao(database: SmartDriveDatabase): RentalExtraDao = database.rentalExtraDao()
+    
+    @Provides
+    fun provideRentalSummaryDao(database: SmartDriveDatabase): RentalSummaryDao = database.rentalSummaryDao()
+    
     @Provides
     @Singleton
     fun provideDatabaseHelper(supabaseClient: SupabaseClient): DatabaseHelper {
@@ -33,20 +85,61 @@ object AppModule {
     @Singleton
     fun provideAuthRepository(
         supabaseClient: SupabaseClient,
-        databaseHelper: DatabaseHelper
+        databaseHelper: DatabaseHelper,
+        networkMetrics: NetworkMetrics
     ): AuthRepository {
-        return AuthRepository(supabaseClient, databaseHelper)
+        return AuthRepository(supabaseClient, databaseHelper, networkMetrics)
     }
     
     @Provides
     @Singleton
-    fun provideVehicleRepository(supabaseClient: SupabaseClient): VehicleRepository {
-        return VehicleRepository(supabaseClient)
+    fun provideVehicleRepository(
+        supabaseClient: SupabaseClient,
+        vehicleDao: VehicleDao,
+        entityStore: EntityStore,
+        postgrestStream: PostgrestStream,
+        realtimeConnection: RealtimeConnection,
+        networkMetrics: NetworkMetrics
+    ): VehicleRepository {
+        return VehicleRepository(
+            supabaseClient,
+            vehicleDao,
+            entityStore,
+            postgrestStream,
+            realtimeConnection,
+            networkMetrics
+        )
     }
     
     @Provides
     @Singleton
-    fun provideRentalRepository(supabaseClient: SupabaseClient): RentalRepository {
-        return RentalRepository(supabaseClient)
+    fun provideRentalRepository(
+        supabaseClient: SupabaseClient,
+        rentalLocationDao: RentalLocationDao,
+        rentalExtraDao: RentalExtraDao,
+        rentalSummaryDao: RentalSummaryDao,
+        referenceDataCache: ReferenceDataCache,
+        entityStore: EntityStore,
+        networkMetrics: NetworkMetrics
+    ): RentalRepository {
+        return RentalRepository(
+            supabaseClient,
+            rentalLocationDao,
+            rentalExtraDao,
+            rentalSummaryDao,
+            referenceDataCache,
+            entityStore,
+            networkMetrics
+        )
+    }
+    
+    @Provides
+    @Singleton
+    fun provideAvailabilityRepository(
+        supabaseClient: SupabaseClient,
+        realtimeConnection: RealtimeConnection,
+        networkMetrics: NetworkMetrics
+    ): AvailabilityRepository {
+        return AvailabilityRepository(supabaseClient, realtimeConnection, networkMetrics)
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.smartdrive.kenya.di
+
+import android.content.Context
+import coil.ImageLoader
+import coil.disk.DiskCache
+import coil.memory.MemoryCache
+import com.smartdrive.kenya.R
+import com.smartdrive.kenya.data.image.ImageMetricsListener
+import com.smartdrive.kenya.data.image.SizedImageInterceptor
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.metrics.NetworkMetricsInterceptor
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import okhttp3.Cache
+import okhttp3.ConnectionPool
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.brotli.BrotliInterceptor
+import java.io.File
+import java.util.concurrent.TimeUnit
+import javax.inject.Singleton
+
+/**
+ * The one HTTP stack of the app. Postgrest, Auth and Realtime run on it through
+ * the Ktor OkHttp engine, and [com.smartdrive.kenya.data.network.PostgrestStream]
+ * uses it directly, so every Supabase call shares its connections and disk cache.
+ * Coil loads images over the same connections with its own caches.
+ */
+@Module
+@InstallIn(SingletonComponent::class)
+object NetworkModule {
+
+    private const val HTTP_CACHE_DIR = "http_cache"
+    private const val HTTP_CACHE_SIZE_BYTES = 20L * 1024 * 1024
+    private const val IMAGE_CACHE_DIR = "image_cache"
+    private const val IMAGE_CACHE_SIZE_BYTES = 100L * 1024 * 1024
+    private const val IMAGE_MEMORY_PERCENT = 0.20
+
+    @Provides
+    @Singleton
+    fun provideHttpCache(@ApplicationContext context: Context): Cache {
+        return Cache(File(context.cacheDir, HTTP_CACHE_DIR), HTTP_CACHE_SIZE_BYTES)
+    }
+
+    @Provides
+    @Singleton
+    fun provideOkHttpClient(cache: Cache, networkMetrics: NetworkMetrics): OkHttpClient {
+        return OkHttpClient.Builder()
+            // Keep idle sockets around between screens instead of re-handshaking TLS
+            .connectionPool(ConnectionPool(5, 5, TimeUnit.MINUTES))
+            .protocols(listOf(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            // OkHttp already negotiates gzip; this adds brotli and decodes it transparently
+            .addInterceptor(BrotliInterceptor)
+            // Responses carrying an ETag are revalidated with If-None-Match
+            .cache(cache)
+            // Sits below the cache and decompression, so it times real exchanges and wire bytes
+            .addNetworkInterceptor(NetworkMetricsInterceptor(networkMetrics))
+            .connectTimeout(15, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            // Keeps the Realtime websocket alive through NAT timeouts
+            .pingInterval(30, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(true)
+            .build()
+    }
+
+    @Provides
+    @Singleton
+    fun provideImageLoader(
+        @ApplicationContext context: Context,
+        okHttpClient: OkHttpClient,
+        networkMetrics: NetworkMetrics
+    ): ImageLoader {
+        return ImageLoader.Builder(context)
+            // Coil's disk cache keeps the images, so they stay out of the API's HTTP cache
+            .okHttpClient { okHttpClient.newBuilder().cache(null).build() }
+            .memoryCache {
+                MemoryCache.Builder(context)
+                    .maxSizePercent(IMAGE_MEMORY_PERCENT)
+                    .build()
+            }
+            .diskCache {
+                DiskCache.Builder()
+                    .directory(File(context.cacheDir, IMAGE_CACHE_DIR))
+                    .maxSizeBytes(IMAGE_CACHE_SIZE_BYTES)
+                    .build()
+            }
+            // Requests ask for view-sized variants, which never change once rendered
+            .components {
+                add(SizedImageInterceptor(context.resources.getBoolean(R.bool.supabase_image_transformations)))
+            }
+            .respectCacheHeaders(false)
+            // Vehicle photos have no alpha; half the memory per decoded pixel
+            .allowRgb565(true)
+            .eventListener(ImageMetricsListener(networkMetrics))
+            .crossfade(true)
+            .build()
+            .also(networkMetrics::attachImageLoader)
+    }
+}
@@ -0,0 +1,165 @@
+package com.smartdrive.kenya.startup
+
+import android.content.Context
+import android.os.Process
+import android.os.SystemClock
+import com.smartdrive.kenya.data.model.User
+import com.smartdrive.kenya.data.repository.RentalRepository
+import com.smartdrive.kenya.data.session.UserSession
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.decodeFromString
+import kotlinx.serialization.json.Json
+import java.io.File
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/** Milestones of one launch, in milliseconds since the process started. */
+@Serializable
+data class StartupTimings(
+    val launchedAt: Long,
+    val signedIn: Boolean,
+    val sessionRestoredMs: Long,
+    val profileLoadedMs: Long? = null,
+    val referenceDataLoadedMs: Long,
+    val timeToInitialDisplayMs: Long,
+    val timeToFullDisplayMs: Long
+)
+
+data class StartupState(
+    /** The splash can go: the session is known, which decides the first screen. */
+    val sessionRestored: Boolean = false,
+    /** Everything the first screens show (profile, reference data) has loaded or failed. */
+    val fullyLoaded: Boolean = false,
+    val timings: StartupTimings? = null
+)
+
+/**
+ * Runs the startup work in parallel while the splash is up: session restore,
+ * profile resolution for a signed-in user (both through [UserSession]), and the
+ * reference data warm-up.
+ * The splash is dismissed as soon as the session is restored; the rest keeps
+ * loading behind the first screen.
+ *
+ * Time to initial display and time to full display are reported by the UI
+ * through [markInitialDisplay] and [markFullDisplay]. The timings of the last
+ * [HISTORY_SIZE] launches are kept in `files/metrics/startup_metrics.json`.
+ */
+@Singleton
+class StartupOrchestrator @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val userSession: UserSession,
+    private val rentalRepository: RentalRepository
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val launchedAt = System.currentTimeMillis()
+    private val processStartUptime = Process.getStartUptimeMillis()
+
+    private val initialDisplay = CompletableDeferred<Long>()
+    private val fullDisplay = CompletableDeferred<Long>()
+    private var started = false
+
+    private val _state = MutableStateFlow(StartupState())
+    val state: StateFlow<StartupState> = _state.asStateFlow()
+
+    @Synchronized
+    fun start() {
+        if (started) return
+        started = true
+
+        scope.launch {
+            // Reference data does not depend on the session, so it starts right away
+            val referenceData = async {
+                listOf(
+                    async { rentalRepository.getRentalLocations() },
+                    async { rentalRepository.getRentalExtras() }
+                ).awaitAll()
+                elapsed()
+            }
+
+            val user = restoreSession()
+            val sessionRestoredMs = elapsed()
+            _state.update { it.copy(sessionRestored = true) }
+
+            // The session component starts the profile load as soon as it sees the user
+            val profileLoadedMs = user?.let { userSession.awaitProfile(); elapsed() }
+            val referenceDataLoadedMs = referenceData.await()
+            _state.update { it.copy(fullyLoaded = true) }
+
+            val timings = StartupTimings(
+                launchedAt = launchedAt,
+                signedIn = user != null,
+                sessionRestoredMs = sessionRestoredMs,
+                profileLoadedMs = profileLoadedMs,
+                referenceDataLoadedMs = referenceDataLoadedMs,
+                timeToInitialDisplayMs = initialDisplay.await(),
+                timeToFullDisplayMs = fullDisplay.await()
+            )
+            _state.update { it.copy(timings = timings) }
+            saveTimings(timings)
+        }
+    }
+
+    /** Called once the first screen after the splash has drawn a frame. */
+    fun markInitialDisplay() {
+        initialDisplay.complete(elapsed())
+    }
+
+    /** Called once that screen has drawn with its data loaded. */
+    fun markFullDisplay() {
+        fullDisplay.complete(elapsed())
+    }
+
+    fun loadHistory(): List<StartupTimings> =
+        try {
+            historyFile().takeIf { it.exists() }
+                ?.let { json.decodeFromString<List<StartupTimings>>(it.readText()) }
+                ?: emptyList()
+        } catch (e: Exception) {
+            emptyList()
+        }
+
+    private suspend fun restoreSession(): User? {
+        // The stored session is loaded asynchronously; reading the user earlier sees nobody
+        return withTimeoutOrNull(SESSION_RESTORE_TIMEOUT_MILLIS) {
+            userSession.awaitInitialized()
+        }?.user ?: userSession.state.value.user
+    }
+
+    private fun saveTimings(timings: StartupTimings) {
+        try {
+            val history = (loadHistory() + timings).takeLast(HISTORY_SIZE)
+            val file = historyFile().apply { parentFile?.mkdirs() }
+            file.writeText(json.encodeToString(history))
+        } catch (e: Exception) {
+            println("Startup metrics export failed: ${e.message}")
+        }
+    }
+
+    private fun historyFile() = File(File(context.filesDir, METRICS_DIR), HISTORY_FILE)
+
+    private fun elapsed(): Long = SystemClock.uptimeMillis() - processStartUptime
+
+    companion object {
+        private const val METRICS_DIR = "metrics"
+        private const val HISTORY_FILE = "startup_metrics.json"
+        const val HISTORY_SIZE = 20
+        private const val SESSION_RESTORE_TIMEOUT_MILLIS = 5_000L
+
+        private val json = Json { ignoreUnknownKeys = true }
+    }
+}
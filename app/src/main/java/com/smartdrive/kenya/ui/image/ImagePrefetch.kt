@@ -0,0 +1,71 @@
+package com.smartdrive.kenya.ui.image
+
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.runtime.snapshotFlow
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.unit.Dp
+import coil.imageLoader
+import coil.request.ImageRequest
+import coil.size.Scale
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlin.math.roundToInt
+
+/** Shown for vehicles without a photo of their own. */
+const val VEHICLE_PLACEHOLDER_IMAGE_URL = "https://images.unsplash.com/photo-1549399542-7e3f8b79c341?w=1200&q=80"
+
+private const val PREFETCH_AHEAD = 4
+
+/**
+ * Loads the images of the next [aheadCount] rows below the last visible one
+ * into the memory cache, at the size the row draws them, so cards scroll in
+ * with their photo ready. The rows' images span the list width minus
+ * [horizontalPadding] on each side, and are [imageHeight] tall or else
+ * [aspectRatio] wide per unit of height, cropped to fill.
+ *
+ * [imageUrlAt] gets indexes past the end of the list and returns null there;
+ * paged lists should peek so prefetching does not trigger page loads.
+ */
+@Composable
+fun PrefetchListImages(
+    listState: LazyListState,
+    horizontalPadding: Dp,
+    aspectRatio: Float = 16f / 10f,
+    imageHeight: Dp? = null,
+    aheadCount: Int = PREFETCH_AHEAD,
+    imageUrlAt: (index: Int) -> String?
+) {
+    val context = LocalContext.current
+    val density = LocalDensity.current
+    val currentImageUrlAt by rememberUpdatedState(imageUrlAt)
+
+    LaunchedEffect(listState, density) {
+        val requested = HashSet<String>()
+        snapshotFlow {
+            val layoutInfo = listState.layoutInfo
+            (layoutInfo.visibleItemsInfo.lastOrNull()?.index ?: -1) to layoutInfo.viewportSize.width
+        }
+            .distinctUntilChanged()
+            .collect { (lastVisible, viewportWidth) ->
+                if (lastVisible < 0 || viewportWidth == 0) return@collect
+                val width = viewportWidth - with(density) { (horizontalPadding * 2).roundToPx() }
+                val height = imageHeight?.let { with(density) { it.roundToPx() } } ?: (width / aspectRatio).roundToInt()
+                for (index in lastVisible + 1..lastVisible + aheadCount) {
+                    val url = currentImageUrlAt(index) ?: continue
+                    if (!requested.add(url)) continue
+                    context.imageLoader.enqueue(
+                        ImageRequest.Builder(context)
+                            .data(url)
+                            .size(width, height)
+                            // Matches ContentScale.Crop, so the cached bitmap satisfies the card's request
+                            .scale(Scale.FILL)
+                            .build()
+                    )
+                }
+            }
+    }
+}
@@ -0,0 +1,120 @@
+package com.smartdrive.kenya.ui.model
+
+import androidx.compose.runtime.Immutable
+import com.smartdrive.kenya.data.model.RentalStatus
+import com.smartdrive.kenya.data.model.RentalSummary
+import com.smartdrive.kenya.data.model.VehicleCard
+import com.smartdrive.kenya.data.model.VehicleStatus
+import com.smartdrive.kenya.data.pricing.toCents
+import java.time.LocalDate
+import java.time.format.DateTimeFormatter
+import java.time.format.DateTimeParseException
+import java.util.Locale
+import kotlin.math.abs
+
+// What the vehicle and booking lists draw, built by the ViewModels off the main
+// thread. Only strings, numbers and enums, so Compose can skip a card whose row
+// did not change; the cards do no formatting of their own.
+
+/** Content types for the list items, so Lazy lists reuse like for like. */
+const val VEHICLE_CARD_CONTENT_TYPE = "vehicle_card"
+const val RENTAL_CARD_CONTENT_TYPE = "rental_card"
+const val LOADING_CONTENT_TYPE = "loading"
+
+@Immutable
+data class VehicleCardUi(
+    val id: String,
+    /** "Toyota Corolla" */
+    val title: String,
+    /** "Toyota Corolla 2020" */
+    val titleWithYear: String,
+    val licensePlate: String,
+    val imageUrl: String?,
+    val seats: String,
+    /** "Petrol" */
+    val fuelLabel: String,
+    /** "Pet", for the compact spec row */
+    val fuelShort: String,
+    /** "Automatic" */
+    val transmissionLabel: String,
+    /** "Auto", for the compact spec row */
+    val transmissionShort: String,
+    val status: VehicleStatus,
+    val statusLabel: String,
+    /** "KSh 3,500" */
+    val priceLabel: String
+) {
+    val bookable: Boolean get() = status == VehicleStatus.AVAILABLE
+}
+
+@Immutable
+data class RentalCardUi(
+    val id: String,
+    /** "Toyota Corolla" */
+    val vehicleTitle: String,
+    /** "2020 • KAA 123A" */
+    val vehicleDetail: String,
+    val imageUrl: String?,
+    val status: RentalStatus,
+    /** "Jan 05, 2025" */
+    val pickupDate: String,
+    val returnDate: String,
+    val pickupLocation: String,
+    val returnLocation: String,
+    /** "KES 12,180" or "KES 12,180.50" */
+    val totalLabel: String
+) {
+    val cancellable: Boolean get() = status == RentalStatus.PENDING || status == RentalStatus.CONFIRMED
+}
+
+fun VehicleCard.toCardUi(): VehicleCardUi {
+    val fuel = fuelType.value.capitalized()
+    val gearbox = transmission.value.capitalized()
+    return VehicleCardUi(
+        id = id,
+        title = "$make $model",
+        titleWithYear = "$make $model $year",
+        licensePlate = licensePlate,
+        imageUrl = imageUrl,
+        seats = seatingCapacity.toString(),
+        fuelLabel = fuel,
+        fuelShort = fuel.take(3),
+        transmissionLabel = gearbox,
+        transmissionShort = gearbox.take(4),
+        status = status,
+        statusLabel = status.value.capitalized(),
+        priceLabel = "KSh ${formatAmount(pricePerDay)}"
+    )
+}
+
+fun RentalSummary.toCardUi() = RentalCardUi(
+    id = rental.id,
+    vehicleTitle = "${vehicle.make} ${vehicle.model}",
+    vehicleDetail = "${vehicle.year} • ${vehicle.licensePlate}",
+    imageUrl = vehicle.imageUrl,
+    status = rental.status,
+    pickupDate = formatDate(rental.pickupDate),
+    returnDate = formatDate(rental.returnDate),
+    pickupLocation = pickupLocation.name,
+    returnLocation = returnLocation.name,
+    totalLabel = "KES ${formatAmount(rental.totalAmount)}"
+)
+
+/** Whole shillings with grouping; cents only when there are some. */
+fun formatAmount(amount: Double): String {
+    val cents = amount.toCents()
+    val shillings = String.format(Locale.ROOT, "%,d", cents / 100)
+    val remainder = abs(cents % 100)
+    return if (remainder == 0L) shillings else String.format(Locale.ROOT, "%s.%02d", shillings, remainder)
+}
+
+private val DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy")
+
+private fun formatDate(date: String): String =
+    try {
+        LocalDate.parse(date).format(DATE_FORMATTER)
+    } catch (e: DateTimeParseException) {
+        date
+    }
+
+private fun String.capitalized() = replaceFirstChar { it.uppercase() }
@@ -1,12 +1,15 @@
 package com.smartdrive.kenya.ui.navigation
 
+import android.net.Uri
 import androidx.compose.foundation.layout.fillMaxSize
 import androidx.compose.runtime.*
 import androidx.compose.ui.Modifier
 import androidx.hilt.navigation.compose.hiltViewModel
 import androidx.navigation.NavHostController
+import androidx.navigation.NavType
 import androidx.navigation.compose.NavHost
 import androidx.navigation.compose.composable
+import androidx.navigation.navArgument
 import androidx.navigation.compose.rememberNavController
 import com.smartdrive.kenya.ui.screens.auth.AuthScreen
 import com.smartdrive.kenya.ui.screens.auth.AuthViewModel
@@ -18,6 +21,7 @@ import com.smartdrive.kenya.ui.screens.austin.AustinCarDetailsScreen
 import com.smartdrive.kenya.ui.screens.austin.AustinBookingsScreen
 import com.smartdrive.kenya.ui.screens.austin.AustinProfileScreen
 import com.smartdrive.kenya.ui.screens.austin.AustinBookingScreen
+import com.smartdrive.kenya.ui.screens.debug.NetworkMetricsScreen
 
 @Composable
 fun SmartDriveNavigation(
@@ -70,6 +74,13 @@ fun SmartDriveNavigation(
                 onNavigateToBrowseCars = {
                     navController.navigate("austin_browse")
                 },
+                onSearchCars = { location, pickupDate, returnDate ->
+                    navController.navigate(
+                        "austin_search?location=${Uri.encode(location)}" +
+                            "&pickupDate=${Uri.encode(pickupDate)}" +
+                            "&returnDate=${Uri.encode(returnDate)}"
+                    )
+                },
                 onNavigateToBookings = {
                     navController.navigate("austin_bookings")
                 },
@@ -101,6 +112,39 @@ fun SmartDriveNavigation(
             )
         }
         
+        // Availability search results from the home-screen form
+        composable(
+            route = "austin_search?location={location}&pickupDate={pickupDate}&returnDate={returnDate}",
+            arguments = listOf(
+                navArgument("location") { type = NavType.StringType; nullable = true },
+                navArgument("pickupDate") { type = NavType.StringType; nullable = true },
+                navArgument("returnDate") { type = NavType.StringType; nullable = true }
+            )
+        ) { backStackEntry ->
+            AustinBrowseCarsScreen(
+                onNavigateBack = {
+                    navController.popBackStack()
+                },
+                onNavigateToCarDetails = { vehicleId ->
+                    navController.navigate("austin_details/$vehicleId")
+                },
+                onNavigateToHome = {
+                    navController.navigate("austin_home") {
+                        popUpTo("austin_home") { inclusive = true }
+                    }
+                },
+                onNavigateToBookings = {
+                    navController.navigate("austin_bookings")
+                },
+                onNavigateToProfile = {
+                    navController.navigate("austin_profile")
+                },
+                searchLocation = backStackEntry.arguments?.getString("location"),
+                searchPickupDate = backStackEntry.arguments?.getString("pickupDate"),
+                searchReturnDate = backStackEntry.arguments?.getString("returnDate")
+            )
+        }
+        
         composable("austin_details/{vehicleId}") { backStackEntry ->
             val vehicleId = backStackEntry.arguments?.getString("vehicleId") ?: ""
             AustinCarDetailsScreen(
@@ -171,6 +215,9 @@ fun SmartDriveNavigation(
                 onNavigateToBookings = {
                     navController.navigate("austin_bookings")
                 },
+                onNavigateToNetworkMetrics = {
+                    navController.navigate("debug_metrics")
+                },
                 onSignOut = {
                     authViewModel.signOut()
                     navController.navigate("auth") {
@@ -180,6 +227,15 @@ fun SmartDriveNavigation(
             )
         }
         
+        // Debug: per-endpoint network metrics
+        composable("debug_metrics") {
+            NetworkMetricsScreen(
+                onNavigateBack = {
+                    navController.popBackStack()
+                }
+            )
+        }
+        
         // Austin booking form screen
         composable("austin_booking/{vehicleId}") { backStackEntry ->
             val vehicleId = backStackEntry.arguments?.getString("vehicleId") ?: ""
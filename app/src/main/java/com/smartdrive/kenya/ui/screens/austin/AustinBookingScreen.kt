@@ -19,7 +19,9 @@ import androidx.hilt.navigation.compose.hiltViewModel
 import coil.compose.AsyncImage
 import com.smartdrive.kenya.data.model.InsuranceType
 import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.ui.screens.booking.AvailabilityCalendarCard
 import com.smartdrive.kenya.ui.screens.booking.BookingViewModel
+import com.smartdrive.kenya.ui.screens.booking.PriceChangeDialog
 import java.time.LocalDate
 import java.time.LocalTime
 import java.time.format.DateTimeFormatter
@@ -149,6 +151,16 @@ fun AustinBookingScreen(
                         // Vehicle Summary Card
                         VehicleSummaryCard(vehicle = uiState.selectedVehicle!!)
 
+                        // Availability Calendar
+                        AvailabilityCalendarCard(
+                            calendar = uiState.availabilityCalendar,
+                            pickupDate = uiState.pickupDate,
+                            returnDate = uiState.returnDate,
+                            datesAvailable = uiState.datesAvailable,
+                            onDatesSelected = viewModel::updateDates,
+                            modifier = Modifier.padding(start = 16.dp, end = 16.dp, top = 16.dp)
+                        )
+
                         // Pickup Date & Time
                         Card(
                             modifier = Modifier
@@ -506,6 +518,14 @@ fun AustinBookingScreen(
             }
         }
     }
+
+    uiState.priceChange?.let { change ->
+        PriceChangeDialog(
+            change = change,
+            onKeepBooking = { viewModel.acceptPriceChange { onBookingSuccess() } },
+            onCancelBooking = viewModel::declinePriceChange
+        )
+    }
 }
 
 @Composable
@@ -2,7 +2,8 @@ package com.smartdrive.kenya.ui.screens.austin
 
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
-import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.*
@@ -16,9 +17,17 @@ import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.paging.LoadState
+import androidx.paging.compose.LazyPagingItems
+import androidx.paging.compose.collectAsLazyPagingItems
+import androidx.paging.compose.itemContentType
+import androidx.paging.compose.itemKey
 import coil.compose.AsyncImage
-import com.smartdrive.kenya.data.model.RentalSummary
 import com.smartdrive.kenya.data.model.RentalStatus
+import com.smartdrive.kenya.ui.image.PrefetchListImages
+import com.smartdrive.kenya.ui.model.LOADING_CONTENT_TYPE
+import com.smartdrive.kenya.ui.model.RENTAL_CARD_CONTENT_TYPE
+import com.smartdrive.kenya.ui.model.RentalCardUi
 import com.smartdrive.kenya.ui.screens.rentals.MyRentalsViewModel
 
 @OptIn(ExperimentalMaterial3Api::class)
@@ -31,13 +40,10 @@ fun AustinBookingsScreen(
     viewModel: MyRentalsViewModel = hiltViewModel()
 ) {
     val uiState by viewModel.uiState.collectAsState()
+    val rentals = viewModel.pagedRentals.collectAsLazyPagingItems()
     var showCancelDialog by remember { mutableStateOf(false) }
     var selectedRentalId by remember { mutableStateOf<String?>(null) }
 
-    LaunchedEffect(Unit) {
-        viewModel.loadUserRentals()
-    }
-
     Scaffold(
         topBar = {
             TopAppBar(
@@ -71,12 +77,12 @@ fun AustinBookingsScreen(
                 .padding(paddingValues)
         ) {
             when {
-                uiState.isLoading -> {
+                rentals.loadState.refresh is LoadState.Loading && rentals.itemCount == 0 -> {
                     CircularProgressIndicator(
                         modifier = Modifier.align(Alignment.Center)
                     )
                 }
-                uiState.error != null -> {
+                rentals.loadState.refresh is LoadState.Error && rentals.itemCount == 0 -> {
                     Column(
                         modifier = Modifier
                             .fillMaxSize()
@@ -92,35 +98,28 @@ fun AustinBookingsScreen(
                         )
                         Spacer(modifier = Modifier.height(16.dp))
                         Text(
-                            text = uiState.error ?: "An error occurred",
+                            text = (rentals.loadState.refresh as? LoadState.Error)?.error?.message
+                                ?: "An error occurred",
                             style = MaterialTheme.typography.bodyLarge,
                             color = MaterialTheme.colorScheme.error
                         )
                         Spacer(modifier = Modifier.height(16.dp))
-                        Button(onClick = { viewModel.loadUserRentals() }) {
+                        Button(onClick = { rentals.retry() }) {
                             Text("Retry")
                         }
                     }
                 }
-                uiState.rentals.isEmpty() -> {
+                rentals.itemCount == 0 -> {
                     EmptyBookingsState(onNavigateToBrowse = onNavigateToBrowse)
                 }
                 else -> {
-                    LazyColumn(
-                        modifier = Modifier.fillMaxSize(),
-                        contentPadding = PaddingValues(16.dp),
-                        verticalArrangement = Arrangement.spacedBy(12.dp)
-                    ) {
-                        items(uiState.rentals) { rental ->
-                            AustinBookingCard(
-                                rental = rental,
-                                onCancelClick = {
-                                    selectedRentalId = rental.rental.id
-                                    showCancelDialog = true
-                                }
-                            )
+                    AustinBookingList(
+                        rentals = rentals,
+                        onCancelClick = { rentalId ->
+                            selectedRentalId = rentalId
+                            showCancelDialog = true
                         }
-                    }
+                    )
                 }
             }
         }
@@ -152,6 +151,66 @@ fun AustinBookingsScreen(
             }
         )
     }
+
+    uiState.error?.let { error ->
+        AlertDialog(
+            onDismissRequest = { viewModel.clearError() },
+            title = { Text("Cancellation failed") },
+            text = { Text(error) },
+            confirmButton = {
+                TextButton(onClick = { viewModel.clearError() }) {
+                    Text("OK")
+                }
+            }
+        )
+    }
+}
+
+/**
+ * The signed-in customer's bookings, newest first. [card] draws one row with the
+ * cancel handler the list built for it.
+ */
+@Composable
+internal fun AustinBookingList(
+    rentals: LazyPagingItems<RentalCardUi>,
+    onCancelClick: (String) -> Unit,
+    modifier: Modifier = Modifier,
+    listState: LazyListState = rememberLazyListState(),
+    card: @Composable (rental: RentalCardUi, onCancelClick: () -> Unit) -> Unit = { rental, onCancel ->
+        AustinBookingCard(rental = rental, onCancelClick = onCancel)
+    }
+) {
+    PrefetchListImages(listState, horizontalPadding = 16.dp, imageHeight = 180.dp) { index ->
+        // peek, so prefetching does not pull in the next page
+        if (index < rentals.itemCount) rentals.peek(index)?.imageUrl else null
+    }
+    LazyColumn(
+        state = listState,
+        modifier = modifier.fillMaxSize(),
+        contentPadding = PaddingValues(16.dp),
+        verticalArrangement = Arrangement.spacedBy(12.dp)
+    ) {
+        items(
+            count = rentals.itemCount,
+            key = rentals.itemKey { it.id },
+            contentType = rentals.itemContentType { RENTAL_CARD_CONTENT_TYPE }
+        ) { index ->
+            rentals[index]?.let { rental ->
+                card(rental) { onCancelClick(rental.id) }
+            }
+        }
+
+        if (rentals.loadState.append is LoadState.Loading) {
+            item(contentType = LOADING_CONTENT_TYPE) {
+                Box(
+                    modifier = Modifier.fillMaxWidth(),
+                    contentAlignment = Alignment.Center
+                ) {
+                    CircularProgressIndicator()
+                }
+            }
+        }
+    }
 }
 
 @Composable
@@ -197,8 +256,8 @@ private fun EmptyBookingsState(onNavigateToBrowse: () -> Unit) {
 }
 
 @Composable
-private fun AustinBookingCard(
-    rental: RentalSummary,
+internal fun AustinBookingCard(
+    rental: RentalCardUi,
     onCancelClick: () -> Unit
 ) {
     Card(
@@ -208,10 +267,10 @@ private fun AustinBookingCard(
     ) {
         Column {
             // Vehicle Image
-            if (rental.vehicle.imageUrl != null) {
+            if (rental.imageUrl != null) {
                 AsyncImage(
-                    model = rental.vehicle.imageUrl,
-                    contentDescription = rental.vehicle.make,
+                    model = rental.imageUrl,
+                    contentDescription = rental.vehicleTitle,
                     modifier = Modifier
                         .fillMaxWidth()
                         .height(180.dp)
@@ -245,11 +304,11 @@ private fun AustinBookingCard(
                     verticalAlignment = Alignment.CenterVertically
                 ) {
                     Text(
-                        text = "${rental.vehicle.make} ${rental.vehicle.model}",
+                        text = rental.vehicleTitle,
                         style = MaterialTheme.typography.titleLarge,
                         fontWeight = FontWeight.Bold
                     )
-                    RentalStatusBadge(status = rental.rental.status)
+                    RentalStatusBadge(status = rental.status)
                 }
 
                 Spacer(modifier = Modifier.height(12.dp))
@@ -258,19 +317,19 @@ private fun AustinBookingCard(
                 BookingDetailRow(
                     icon = Icons.Default.CalendarMonth,
                     label = "Pickup",
-                    value = rental.rental.pickupDate
+                    value = rental.pickupDate
                 )
                 Spacer(modifier = Modifier.height(8.dp))
                 BookingDetailRow(
                     icon = Icons.Default.Event,
                     label = "Return",
-                    value = rental.rental.returnDate
+                    value = rental.returnDate
                 )
                 Spacer(modifier = Modifier.height(8.dp))
                 BookingDetailRow(
                     icon = Icons.Default.LocationOn,
                     label = "Location",
-                    value = rental.pickupLocation.name
+                    value = rental.pickupLocation
                 )
 
                 Spacer(modifier = Modifier.height(16.dp))
@@ -288,14 +347,14 @@ private fun AustinBookingCard(
                             color = MaterialTheme.colorScheme.onSurfaceVariant
                         )
                         Text(
-                            text = "KES ${String.format("%.2f", rental.rental.totalAmount)}",
+                            text = rental.totalLabel,
                             style = MaterialTheme.typography.titleLarge,
                             fontWeight = FontWeight.Bold,
                             color = MaterialTheme.colorScheme.primary
                         )
                     }
 
-                    if (rental.rental.status == RentalStatus.PENDING || rental.rental.status == RentalStatus.CONFIRMED) {
+                    if (rental.cancellable) {
                         OutlinedButton(
                             onClick = onCancelClick,
                             colors = ButtonDefaults.outlinedButtonColors(
@@ -3,7 +3,9 @@ package com.smartdrive.kenya.ui.screens.austin
 import androidx.compose.foundation.horizontalScroll
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
+import androidx.compose.foundation.lazy.LazyListState
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.foundation.rememberScrollState
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
@@ -13,13 +15,29 @@ import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.clip
+import androidx.compose.ui.graphics.vector.ImageVector
 import androidx.compose.ui.layout.ContentScale
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.paging.LoadState
+import androidx.paging.compose.LazyPagingItems
+import androidx.paging.compose.collectAsLazyPagingItems
+import androidx.paging.compose.itemContentType
+import androidx.paging.compose.itemKey
 import coil.compose.AsyncImage
-import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.BodyType
+import com.smartdrive.kenya.data.model.FacetValue
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.PriceBand
+import com.smartdrive.kenya.data.model.SeatsBand
+import com.smartdrive.kenya.data.model.Transmission
+import com.smartdrive.kenya.ui.image.PrefetchListImages
+import com.smartdrive.kenya.ui.image.VEHICLE_PLACEHOLDER_IMAGE_URL
+import com.smartdrive.kenya.ui.model.LOADING_CONTENT_TYPE
+import com.smartdrive.kenya.ui.model.VEHICLE_CARD_CONTENT_TYPE
+import com.smartdrive.kenya.ui.model.VehicleCardUi
 import com.smartdrive.kenya.ui.screens.vehicles.VehiclesViewModel
 
 @OptIn(ExperimentalMaterial3Api::class)
@@ -30,27 +48,33 @@ fun AustinBrowseCarsScreen(
     onNavigateToHome: () -> Unit,
     onNavigateToBookings: () -> Unit,
     onNavigateToProfile: () -> Unit,
+    searchLocation: String? = null,
+    searchPickupDate: String? = null,
+    searchReturnDate: String? = null,
     viewModel: VehiclesViewModel = hiltViewModel()
 ) {
+    val vehicles = viewModel.pagedVehicles.collectAsLazyPagingItems()
     val uiState by viewModel.uiState.collectAsState()
-    var selectedFilter by remember { mutableStateOf("all") }
-    var searchQuery by remember { mutableStateOf("") }
+    val searchQuery by viewModel.searchQuery.collectAsState()
+    val textSearchResults by viewModel.textSearchResults.collectAsState()
+    val searchResultCards by viewModel.searchResultCards.collectAsState()
+    val facetSelection by viewModel.facetSelection.collectAsState()
+    val facetResults by viewModel.facetResults.collectAsState()
 
-    LaunchedEffect(Unit) {
-        viewModel.loadVehicles()
+    @Composable
+    fun FacetChip(label: String, value: FacetValue, icon: ImageVector? = null) {
+        CategoryFilterChip(
+            label = "$label (${facetResults.countOf(value)})",
+            isSelected = value in facetSelection,
+            onClick = { viewModel.toggleFacet(value) },
+            icon = icon
+        )
     }
 
-    // Filter vehicles based on selected category
-    val filteredVehicles = remember(uiState.vehicles, selectedFilter) {
-        if (selectedFilter == "all") {
-            uiState.vehicles
-        } else {
-            // Filter by fuel type or transmission since we don't have vehicle type
-            when (selectedFilter) {
-                "electric" -> uiState.vehicles.filter { it.fuelType.value == "electric" }
-                "sedan", "suv", "luxury" -> uiState.vehicles
-                else -> uiState.vehicles
-            }
+    // Arriving from the home-screen search form: show only vehicles free for those dates
+    LaunchedEffect(searchLocation, searchPickupDate, searchReturnDate) {
+        if (searchPickupDate != null && searchReturnDate != null) {
+            viewModel.searchAvailability(searchLocation.orEmpty(), searchPickupDate, searchReturnDate)
         }
     }
 
@@ -88,7 +112,7 @@ fun AustinBrowseCarsScreen(
             // Search Bar
             OutlinedTextField(
                 value = searchQuery,
-                onValueChange = { searchQuery = it },
+                onValueChange = viewModel::updateSearchQuery,
                 modifier = Modifier
                     .fillMaxWidth()
                     .padding(16.dp),
@@ -96,11 +120,19 @@ fun AustinBrowseCarsScreen(
                 leadingIcon = {
                     Icon(Icons.Default.Search, contentDescription = null)
                 },
+                trailingIcon = {
+                    if (searchQuery.isNotEmpty()) {
+                        IconButton(onClick = { viewModel.updateSearchQuery("") }) {
+                            Icon(Icons.Default.Clear, contentDescription = "Clear search")
+                        }
+                    }
+                },
                 shape = RoundedCornerShape(12.dp),
                 singleLine = true
             )
 
             // Category Filter Chips
+            // Chips in one group widen the results (OR), chips across groups narrow them (AND)
             Row(
                 modifier = Modifier
                     .fillMaxWidth()
@@ -110,39 +142,87 @@ fun AustinBrowseCarsScreen(
             ) {
                 CategoryFilterChip(
                     label = "All Cars",
-                    isSelected = selectedFilter == "all",
-                    onClick = { selectedFilter = "all" },
+                    isSelected = facetSelection.isEmpty(),
+                    onClick = { viewModel.clearFacets() },
                     icon = Icons.Default.DirectionsCar
                 )
-                CategoryFilterChip(
+                FacetChip(
                     label = "Sedan",
-                    isSelected = selectedFilter == "sedan",
-                    onClick = { selectedFilter = "sedan" },
+                    value = FacetValue.bodyType(BodyType.SEDAN),
                     icon = Icons.Default.DirectionsCar
                 )
-                CategoryFilterChip(
+                FacetChip(
                     label = "SUV",
-                    isSelected = selectedFilter == "suv",
-                    onClick = { selectedFilter = "suv" },
+                    value = FacetValue.bodyType(BodyType.SUV),
                     icon = Icons.Default.DirectionsCar
                 )
-                CategoryFilterChip(
+                FacetChip(
                     label = "Luxury",
-                    isSelected = selectedFilter == "luxury",
-                    onClick = { selectedFilter = "luxury" },
+                    value = FacetValue.priceBand(PriceBand.LUXURY),
                     icon = Icons.Default.Star
                 )
-                CategoryFilterChip(
+                FacetChip(
                     label = "Electric",
-                    isSelected = selectedFilter == "electric",
-                    onClick = { selectedFilter = "electric" },
+                    value = FacetValue.fuelType(FuelType.ELECTRIC),
                     icon = Icons.Default.BatteryChargingFull
                 )
             }
 
+            Row(
+                modifier = Modifier
+                    .fillMaxWidth()
+                    .horizontalScroll(rememberScrollState())
+                    .padding(horizontal = 16.dp),
+                horizontalArrangement = Arrangement.spacedBy(8.dp)
+            ) {
+                FacetChip(label = "Automatic", value = FacetValue.transmission(Transmission.AUTOMATIC))
+                FacetChip(label = "Manual", value = FacetValue.transmission(Transmission.MANUAL))
+                FacetChip(label = "7+ seats", value = FacetValue.seats(SeatsBand.SEVEN_PLUS))
+                FacetChip(label = "Hybrid", value = FacetValue.fuelType(FuelType.HYBRID))
+                facetResults.features.take(MAX_FEATURE_CHIPS).forEach { feature ->
+                    FacetChip(label = feature.key, value = feature)
+                }
+            }
+
             // Vehicle List
+            val searchResults = searchResultCards
             when {
-                uiState.loading -> {
+                uiState.searching -> {
+                    Box(
+                        modifier = Modifier.fillMaxSize(),
+                        contentAlignment = Alignment.Center
+                    ) {
+                        CircularProgressIndicator()
+                    }
+                }
+
+                searchResults != null -> {
+                    SearchResultsList(
+                        vehicles = searchResults,
+                        emptyMessage = when {
+                            textSearchResults != null -> "No vehicles match your search"
+                            facetResults.vehicles != null -> "No vehicles match these filters"
+                            else -> "No vehicles available for those dates"
+                        },
+                        onNavigateToCarDetails = onNavigateToCarDetails
+                    )
+                }
+
+                uiState.error != null && searchPickupDate != null -> {
+                    Box(
+                        modifier = Modifier
+                            .fillMaxSize()
+                            .padding(16.dp),
+                        contentAlignment = Alignment.Center
+                    ) {
+                        Text(
+                            text = uiState.error ?: "Unknown error",
+                            color = MaterialTheme.colorScheme.error
+                        )
+                    }
+                }
+
+                vehicles.loadState.refresh is LoadState.Loading && vehicles.itemCount == 0 -> {
                     Box(
                         modifier = Modifier.fillMaxSize(),
                         contentAlignment = Alignment.Center
@@ -151,7 +231,7 @@ fun AustinBrowseCarsScreen(
                     }
                 }
 
-                uiState.error != null -> {
+                vehicles.loadState.refresh is LoadState.Error && vehicles.itemCount == 0 -> {
                     Box(
                         modifier = Modifier.fillMaxSize(),
                         contentAlignment = Alignment.Center
@@ -171,17 +251,18 @@ fun AustinBrowseCarsScreen(
                                 fontWeight = FontWeight.Medium
                             )
                             Text(
-                                text = uiState.error ?: "Unknown error",
+                                text = (vehicles.loadState.refresh as? LoadState.Error)?.error?.message
+                                    ?: "Unknown error",
                                 color = MaterialTheme.colorScheme.error
                             )
-                            Button(onClick = { viewModel.loadVehicles() }) {
+                            Button(onClick = { vehicles.retry() }) {
                                 Text("Retry")
                             }
                         }
                     }
                 }
 
-                filteredVehicles.isEmpty() -> {
+                vehicles.itemCount == 0 -> {
                     Box(
                         modifier = Modifier.fillMaxSize(),
                         contentAlignment = Alignment.Center
@@ -210,17 +291,99 @@ fun AustinBrowseCarsScreen(
                 }
 
                 else -> {
-                    LazyColumn(
-                        contentPadding = PaddingValues(16.dp),
-                        verticalArrangement = Arrangement.spacedBy(16.dp)
-                    ) {
-                        items(filteredVehicles) { vehicle ->
-                            AustinVehicleCard(
-                                vehicle = vehicle,
-                                onClick = { onNavigateToCarDetails(vehicle.id) }
-                            )
-                        }
-                    }
+                    AustinVehicleList(
+                        vehicles = vehicles,
+                        onNavigateToCarDetails = onNavigateToCarDetails
+                    )
+                }
+            }
+        }
+    }
+}
+
+@Composable
+private fun SearchResultsList(
+    vehicles: List<VehicleCardUi>,
+    emptyMessage: String,
+    onNavigateToCarDetails: (String) -> Unit
+) {
+    if (vehicles.isEmpty()) {
+        Box(
+            modifier = Modifier.fillMaxSize(),
+            contentAlignment = Alignment.Center
+        ) {
+            Text(
+                text = emptyMessage,
+                fontSize = 18.sp,
+                fontWeight = FontWeight.SemiBold
+            )
+        }
+        return
+    }
+
+    val listState = rememberLazyListState()
+    PrefetchListImages(listState, horizontalPadding = 16.dp) { index ->
+        vehicles.getOrNull(index)?.let { it.imageUrl ?: VEHICLE_PLACEHOLDER_IMAGE_URL }
+    }
+    LazyColumn(
+        state = listState,
+        contentPadding = PaddingValues(16.dp),
+        verticalArrangement = Arrangement.spacedBy(16.dp)
+    ) {
+        items(vehicles, key = { it.id }, contentType = { VEHICLE_CARD_CONTENT_TYPE }) { vehicle ->
+            AustinVehicleCard(
+                vehicle = vehicle,
+                onClick = { onNavigateToCarDetails(vehicle.id) }
+            )
+        }
+    }
+}
+
+/**
+ * The paged catalog, as drawn when no search or filter is active. [card] draws
+ * one row with the click handler the list built for it.
+ */
+@Composable
+internal fun AustinVehicleList(
+    vehicles: LazyPagingItems<VehicleCardUi>,
+    onNavigateToCarDetails: (String) -> Unit,
+    modifier: Modifier = Modifier,
+    listState: LazyListState = rememberLazyListState(),
+    card: @Composable (vehicle: VehicleCardUi, onClick: () -> Unit) -> Unit = { vehicle, onClick ->
+        AustinVehicleCard(vehicle = vehicle, onClick = onClick)
+    }
+) {
+    PrefetchListImages(listState, horizontalPadding = 16.dp) { index ->
+        // peek, so prefetching does not pull in the next page
+        if (index < vehicles.itemCount) {
+            vehicles.peek(index)?.let { it.imageUrl ?: VEHICLE_PLACEHOLDER_IMAGE_URL }
+        } else {
+            null
+        }
+    }
+    LazyColumn(
+        state = listState,
+        modifier = modifier,
+        contentPadding = PaddingValues(16.dp),
+        verticalArrangement = Arrangement.spacedBy(16.dp)
+    ) {
+        items(
+            count = vehicles.itemCount,
+            key = vehicles.itemKey { it.id },
+            contentType = vehicles.itemContentType { VEHICLE_CARD_CONTENT_TYPE }
+        ) { index ->
+            vehicles[index]?.let { vehicle ->
+                card(vehicle) { onNavigateToCarDetails(vehicle.id) }
+            }
+        }
+
+        if (vehicles.loadState.append is LoadState.Loading) {
+            item(contentType = LOADING_CONTENT_TYPE) {
+                Box(
+                    modifier = Modifier.fillMaxWidth(),
+                    contentAlignment = Alignment.Center
+                ) {
+                    CircularProgressIndicator()
                 }
             }
         }
@@ -232,26 +395,28 @@ private fun CategoryFilterChip(
     label: String,
     isSelected: Boolean,
     onClick: () -> Unit,
-    icon: androidx.compose.ui.graphics.vector.ImageVector
+    icon: ImageVector? = null
 ) {
     FilterChip(
         selected = isSelected,
         onClick = onClick,
         label = { Text(label) },
-        leadingIcon = {
-            Icon(
-                icon,
-                contentDescription = null,
-                modifier = Modifier.size(20.dp)
-            )
+        leadingIcon = icon?.let {
+            {
+                Icon(
+                    it,
+                    contentDescription = null,
+                    modifier = Modifier.size(20.dp)
+                )
+            }
         },
         shape = RoundedCornerShape(12.dp)
     )
 }
 
 @Composable
-private fun AustinVehicleCard(
-    vehicle: Vehicle,
+internal fun AustinVehicleCard(
+    vehicle: VehicleCardUi,
     onClick: () -> Unit
 ) {
     Card(
@@ -263,8 +428,8 @@ private fun AustinVehicleCard(
         Column {
             // Vehicle Image
             AsyncImage(
-                model = vehicle.imageUrl ?: "https://images.unsplash.com/photo-1549399542-7e3f8b79c341?w=800&q=80",
-                contentDescription = "${vehicle.make} ${vehicle.model}",
+                model = vehicle.imageUrl ?: VEHICLE_PLACEHOLDER_IMAGE_URL,
+                contentDescription = vehicle.title,
                 modifier = Modifier
                     .fillMaxWidth()
                     .aspectRatio(16f / 10f)
@@ -285,7 +450,7 @@ private fun AustinVehicleCard(
                 ) {
                     Column(modifier = Modifier.weight(1f)) {
                         Text(
-                            text = "${vehicle.make} ${vehicle.model} ${vehicle.year}",
+                            text = vehicle.titleWithYear,
                             fontSize = 18.sp,
                             fontWeight = FontWeight.Bold
                         )
@@ -297,7 +462,7 @@ private fun AustinVehicleCard(
                                 onClick = { },
                                 label = { 
                                     Text(
-                                        vehicle.fuelType.value.replaceFirstChar { it.uppercase() },
+                                        vehicle.fuelLabel,
                                         fontSize = 12.sp
                                     ) 
                                 },
@@ -333,15 +498,15 @@ private fun AustinVehicleCard(
                 ) {
                     SpecItem(
                         icon = Icons.Default.Person,
-                        text = "${vehicle.seatingCapacity}"
+                        text = vehicle.seats
                     )
                     SpecItem(
                         icon = Icons.Default.Settings,
-                        text = vehicle.transmission.value.take(4).replaceFirstChar { it.uppercase() }
+                        text = vehicle.transmissionShort
                     )
                     SpecItem(
                         icon = Icons.Default.LocalGasStation,
-                        text = vehicle.fuelType.value.take(3).replaceFirstChar { it.uppercase() }
+                        text = vehicle.fuelShort
                     )
                 }
 
@@ -364,7 +529,7 @@ private fun AustinVehicleCard(
                             horizontalArrangement = Arrangement.spacedBy(4.dp)
                         ) {
                             Text(
-                                text = "KSh ${vehicle.pricePerDay.toInt()}",
+                                text = vehicle.priceLabel,
                                 fontSize = 24.sp,
                                 fontWeight = FontWeight.Bold,
                                 color = MaterialTheme.colorScheme.primary
@@ -412,3 +577,5 @@ private fun SpecItem(
         )
     }
 }
+
+private const val MAX_FEATURE_CHIPS = 4
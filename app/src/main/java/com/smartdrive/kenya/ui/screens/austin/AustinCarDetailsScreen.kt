@@ -22,6 +22,7 @@ import androidx.compose.ui.unit.sp
 import androidx.hilt.navigation.compose.hiltViewModel
 import coil.compose.AsyncImage
 import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.ui.image.VEHICLE_PLACEHOLDER_IMAGE_URL
 import com.smartdrive.kenya.ui.screens.vehicles.VehiclesViewModel
 
 @OptIn(ExperimentalMaterial3Api::class, ExperimentalFoundationApi::class)
@@ -40,13 +41,14 @@ fun AustinCarDetailsScreen(
     var premiumInsurance by remember { mutableStateOf(false) }
     var isFavorite by remember { mutableStateOf(false) }
 
+    val selectedVehicle by viewModel.selectedVehicle.collectAsState()
+
     LaunchedEffect(vehicleId) {
-        viewModel.loadVehicles()
+        viewModel.loadVehicle(vehicleId)
     }
 
-    val vehicle = remember(uiState.vehicles, vehicleId) {
-        uiState.vehicles.find { it.id == vehicleId }
-    }
+    // Served from the on-device cache first, then refreshed by loadVehicle()
+    val vehicle = selectedVehicle?.takeIf { it.id == vehicleId }
 
     if (vehicle == null) {
         Box(
@@ -230,11 +232,8 @@ fun AustinCarDetailsScreen(
 @OptIn(ExperimentalFoundationApi::class)
 @Composable
 private fun ImageCarousel(vehicle: Vehicle) {
-    val images = listOf(
-        vehicle.imageUrl ?: "https://images.unsplash.com/photo-1549399542-7e3f8b79c341?w=1200&q=80",
-        vehicle.imageUrl ?: "https://images.unsplash.com/photo-1549399542-7e3f8b79c341?w=1200&q=80",
-        vehicle.imageUrl ?: "https://images.unsplash.com/photo-1549399542-7e3f8b79c341?w=1200&q=80"
-    )
+    // A vehicle has one photo for now; the pager is ready for more
+    val images = listOf(vehicle.imageUrl ?: VEHICLE_PLACEHOLDER_IMAGE_URL)
     val pagerState = rememberPagerState(pageCount = { images.size })
 
     Box(
@@ -255,22 +254,24 @@ private fun ImageCarousel(vehicle: Vehicle) {
         }
 
         // Page Indicator
-        Row(
-            modifier = Modifier
-                .align(Alignment.BottomCenter)
-                .padding(16.dp),
-            horizontalArrangement = Arrangement.spacedBy(8.dp)
-        ) {
-            repeat(images.size) { index ->
-                Surface(
-                    modifier = Modifier
-                        .size(if (pagerState.currentPage == index) 24.dp else 8.dp, 8.dp),
-                    shape = CircleShape,
-                    color = if (pagerState.currentPage == index)
-                        MaterialTheme.colorScheme.primary
-                    else
-                        MaterialTheme.colorScheme.onSurface.copy(alpha = 0.3f)
-                ) {}
+        if (images.size > 1) {
+            Row(
+                modifier = Modifier
+                    .align(Alignment.BottomCenter)
+                    .padding(16.dp),
+                horizontalArrangement = Arrangement.spacedBy(8.dp)
+            ) {
+                repeat(images.size) { index ->
+                    Surface(
+                        modifier = Modifier
+                            .size(if (pagerState.currentPage == index) 24.dp else 8.dp, 8.dp),
+                        shape = CircleShape,
+                        color = if (pagerState.currentPage == index)
+                            MaterialTheme.colorScheme.primary
+                        else
+                            MaterialTheme.colorScheme.onSurface.copy(alpha = 0.3f)
+                    ) {}
+                }
             }
         }
     }
@@ -24,6 +24,7 @@ import coil.compose.AsyncImage
 @Composable
 fun AustinHomeScreen(
     onNavigateToBrowseCars: () -> Unit,
+    onSearchCars: (location: String, pickupDate: String, returnDate: String) -> Unit,
     onNavigateToBookings: () -> Unit,
     onNavigateToProfile: () -> Unit
 ) {
@@ -144,7 +145,7 @@ fun AustinHomeScreen(
                             },
                             modifier = Modifier.weight(1f),
                             shape = RoundedCornerShape(12.dp),
-                            placeholder = { Text("Select date") }
+                            placeholder = { Text("YYYY-MM-DD") }
                         )
 
                         OutlinedTextField(
@@ -174,7 +175,7 @@ fun AustinHomeScreen(
                             },
                             modifier = Modifier.weight(1f),
                             shape = RoundedCornerShape(12.dp),
-                            placeholder = { Text("Select date") }
+                            placeholder = { Text("YYYY-MM-DD") }
                         )
 
                         OutlinedTextField(
@@ -192,7 +193,13 @@ fun AustinHomeScreen(
 
                     // Search Button
                     Button(
-                        onClick = onNavigateToBrowseCars,
+                        onClick = {
+                            if (pickupDate.isNotBlank() && returnDate.isNotBlank()) {
+                                onSearchCars(pickupLocation, pickupDate, returnDate)
+                            } else {
+                                onNavigateToBrowseCars()
+                            }
+                        },
                         modifier = Modifier
                             .fillMaxWidth()
                             .height(56.dp),
@@ -1,5 +1,6 @@
 package com.smartdrive.kenya.ui.screens.austin
 
+import android.content.pm.ApplicationInfo
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.rememberScrollState
 import androidx.compose.foundation.shape.CircleShape
@@ -12,6 +13,7 @@ import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.clip
+import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.layout.ContentScale
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
@@ -27,12 +29,18 @@ fun AustinProfileScreen(
     onNavigateToHome: () -> Unit,
     onNavigateToBrowse: () -> Unit,
     onNavigateToBookings: () -> Unit,
+    onNavigateToNetworkMetrics: () -> Unit,
     onSignOut: () -> Unit,
     viewModel: AuthViewModel = hiltViewModel()
 ) {
     val currentUser by viewModel.currentUser.collectAsState()
     val userProfile by viewModel.userProfile.collectAsState()
+    val role by viewModel.role.collectAsState()
     var showSignOutDialog by remember { mutableStateOf(false) }
+    val context = LocalContext.current
+    val isDebuggable = remember {
+        context.applicationInfo.flags and ApplicationInfo.FLAG_DEBUGGABLE != 0
+    }
 
     Scaffold(
         topBar = {
@@ -138,7 +146,7 @@ fun AustinProfileScreen(
                         color = MaterialTheme.colorScheme.primary.copy(alpha = 0.2f)
                     ) {
                         Text(
-                            text = userProfile?.role?.name?.replace('_', ' ') ?: "Customer",
+                            text = role?.name?.replace('_', ' ') ?: "Customer",
                             modifier = Modifier.padding(horizontal = 16.dp, vertical = 8.dp),
                             style = MaterialTheme.typography.labelLarge,
                             fontWeight = FontWeight.Bold,
@@ -221,6 +229,15 @@ fun AustinProfileScreen(
                         subtitle = "Read our terms and privacy policy",
                         onClick = { /* Navigate to terms */ }
                     )
+                    if (isDebuggable) {
+                        HorizontalDivider()
+                        ProfileMenuItem(
+                            icon = Icons.Default.Speed,
+                            title = "Network Metrics",
+                            subtitle = "Per-endpoint latency (debug builds)",
+                            onClick = onNavigateToNetworkMetrics
+                        )
+                    }
                 }
             }
 
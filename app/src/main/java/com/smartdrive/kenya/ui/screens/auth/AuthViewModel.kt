@@ -1,77 +1,56 @@
 package com.smartdrive.kenya.ui.screens.auth
 
-import androidx.compose.runtime.mutableStateOf
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.smartdrive.kenya.data.model.Profile
 import com.smartdrive.kenya.data.model.User
 import com.smartdrive.kenya.data.model.UserRole
 import com.smartdrive.kenya.data.repository.AuthRepository
+import com.smartdrive.kenya.data.session.UserSession
 import dagger.hilt.android.lifecycle.HiltViewModel
-// import io.github.jan.supabase.auth.SessionStatus
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
 import javax.inject.Inject
 
 @HiltViewModel
 class AuthViewModel @Inject constructor(
-    private val authRepository: AuthRepository
+    private val authRepository: AuthRepository,
+    private val userSession: UserSession
 ) : ViewModel() {
     
     private val _uiState = MutableStateFlow(AuthUiState())
     val uiState: StateFlow<AuthUiState> = _uiState.asStateFlow()
     
-    private val _currentUser = MutableStateFlow<User?>(null)
-    val currentUser: StateFlow<User?> = _currentUser.asStateFlow()
+    // Read from the shared session; creating this ViewModel does no I/O
+    val currentUser: StateFlow<User?> = userSession.state
+        .map { it.user }
+        .stateIn(viewModelScope, SharingStarted.Eagerly, userSession.state.value.user)
     
-    private val _userProfile = MutableStateFlow<Profile?>(null)
-    val userProfile: StateFlow<Profile?> = _userProfile.asStateFlow()
+    val userProfile: StateFlow<Profile?> = userSession.state
+        .map { it.profile }
+        .stateIn(viewModelScope, SharingStarted.Eagerly, userSession.state.value.profile)
+    
+    val role: StateFlow<UserRole?> = userSession.state
+        .map { it.role }
+        .stateIn(viewModelScope, SharingStarted.Eagerly, userSession.state.value.role)
     
     val userRole: UserRole?
-        get() = _userProfile.value?.role
+        get() = role.value
     
     init {
-        observeAuthState()
-        checkCurrentUser()
-    }
-    
-    private fun observeAuthState() {
-        viewModelScope.launch {
-            authRepository.getSessionStatus().collect { isAuthenticated ->
-                if (isAuthenticated) {
-                    val user = authRepository.getCurrentUser()
-                    _currentUser.value = user
-                    user?.let { loadUserProfile(it.id) }
-                } else {
-                    _currentUser.value = null
-                    _userProfile.value = null
-                }
-            }
-        }
-    }
-    
-    private fun checkCurrentUser() {
         viewModelScope.launch {
-            val user = authRepository.getCurrentUser()
-            _currentUser.value = user
-            user?.let { loadUserProfile(it.id) }
-        }
-    }
-    
-    private fun loadUserProfile(userId: String) {
-        viewModelScope.launch {
-            authRepository.getUserProfile(userId).fold(
-                onSuccess = { profile ->
-                    _userProfile.value = profile
-                },
-                onFailure = { error ->
-                    _uiState.value = _uiState.value.copy(
-                        error = error.message
-                    )
-                }
-            )
+            userSession.state
+                .map { it.profileError }
+                .distinctUntilChanged()
+                .filterNotNull()
+                .collect { error -> _uiState.value = _uiState.value.copy(error = error) }
         }
     }
     
@@ -82,8 +61,8 @@ class AuthViewModel @Inject constructor(
             _uiState.value = _uiState.value.copy(loading = true, error = null)
             
             authRepository.signIn(email, password).fold(
-                onSuccess = { user ->
-                    _currentUser.value = user
+                onSuccess = {
+                    // currentUser follows from the session status change
                     _uiState.value = _uiState.value.copy(loading = false)
                 },
                 onFailure = { error ->
@@ -103,8 +82,9 @@ class AuthViewModel @Inject constructor(
             _uiState.value = _uiState.value.copy(loading = true, error = null)
             
             authRepository.signUp(email, password, fullName).fold(
-                onSuccess = { user ->
-                    _currentUser.value = user
+                onSuccess = {
+                    // The session saw the user before the profile row existed
+                    userSession.refreshProfile()
                     _uiState.value = _uiState.value.copy(loading = false)
                 },
                 onFailure = { error ->
@@ -119,9 +99,8 @@ class AuthViewModel @Inject constructor(
     
     fun signOut() {
         viewModelScope.launch {
+            // The session clears the user and profile when it sees the sign-out
             authRepository.signOut()
-            _currentUser.value = null
-            _userProfile.value = null
         }
     }
     
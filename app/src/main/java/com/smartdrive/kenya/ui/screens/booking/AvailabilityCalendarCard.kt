@@ -0,0 +1,180 @@
+package com.smartdrive.kenya.ui.screens.booking
+
+import androidx.compose.foundation.background
+import androidx.compose.foundation.clickable
+import androidx.compose.foundation.layout.*
+import androidx.compose.foundation.shape.CircleShape
+import androidx.compose.foundation.shape.RoundedCornerShape
+import androidx.compose.material.icons.Icons
+import androidx.compose.material.icons.filled.ChevronLeft
+import androidx.compose.material.icons.filled.ChevronRight
+import androidx.compose.material3.*
+import androidx.compose.runtime.*
+import androidx.compose.ui.Alignment
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.draw.clip
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.text.style.TextAlign
+import androidx.compose.ui.text.style.TextDecoration
+import androidx.compose.ui.unit.dp
+import com.smartdrive.kenya.data.model.AvailabilityCalendar
+import java.time.LocalDate
+import java.time.YearMonth
+import java.time.format.DateTimeFormatter
+
+/**
+ * Month view of a vehicle's [AvailabilityCalendar]. Blocked days are struck through
+ * and cannot be picked; the first tap picks the pickup day, the second the return day.
+ */
+@Composable
+fun AvailabilityCalendarCard(
+    calendar: AvailabilityCalendar?,
+    pickupDate: LocalDate?,
+    returnDate: LocalDate?,
+    datesAvailable: Boolean,
+    onDatesSelected: (LocalDate, LocalDate) -> Unit,
+    modifier: Modifier = Modifier
+) {
+    val today = LocalDate.now()
+    var month by remember { mutableStateOf(YearMonth.from(pickupDate ?: today)) }
+    var pickingReturn by remember { mutableStateOf(false) }
+
+    Card(
+        modifier = modifier.fillMaxWidth(),
+        shape = RoundedCornerShape(16.dp)
+    ) {
+        Column(modifier = Modifier.padding(20.dp)) {
+            Row(
+                modifier = Modifier.fillMaxWidth(),
+                verticalAlignment = Alignment.CenterVertically
+            ) {
+                Text(
+                    text = "Availability",
+                    style = MaterialTheme.typography.titleMedium,
+                    fontWeight = FontWeight.Bold,
+                    modifier = Modifier.weight(1f)
+                )
+                IconButton(
+                    onClick = { month = month.minusMonths(1) },
+                    enabled = month.isAfter(YearMonth.from(today))
+                ) {
+                    Icon(Icons.Default.ChevronLeft, contentDescription = "Previous month")
+                }
+                Text(
+                    text = month.format(MONTH_FORMATTER),
+                    style = MaterialTheme.typography.bodyMedium,
+                    fontWeight = FontWeight.SemiBold
+                )
+                IconButton(
+                    onClick = { month = month.plusMonths(1) },
+                    enabled = calendar == null || month.isBefore(YearMonth.from(calendar.lastDay))
+                ) {
+                    Icon(Icons.Default.ChevronRight, contentDescription = "Next month")
+                }
+            }
+
+            Spacer(modifier = Modifier.height(8.dp))
+
+            Row(modifier = Modifier.fillMaxWidth()) {
+                WEEKDAY_LABELS.forEach { label ->
+                    Text(
+                        text = label,
+                        style = MaterialTheme.typography.labelSmall,
+                        color = MaterialTheme.colorScheme.onSurfaceVariant,
+                        textAlign = TextAlign.Center,
+                        modifier = Modifier.weight(1f)
+                    )
+                }
+            }
+
+            // Monday-first grid; leading blanks pad the first week
+            val leadingBlanks = month.atDay(1).dayOfWeek.value - 1
+            val cells = List(leadingBlanks) { null } + (1..month.lengthOfMonth()).map { month.atDay(it) }
+
+            cells.chunked(7).forEach { week ->
+                Row(modifier = Modifier.fillMaxWidth()) {
+                    week.forEach { date ->
+                        Box(
+                            modifier = Modifier
+                                .weight(1f)
+                                .aspectRatio(1f),
+                            contentAlignment = Alignment.Center
+                        ) {
+                            if (date != null) {
+                                val blocked = date.isBefore(today) || calendar?.isBlocked(date) == true
+                                CalendarDay(
+                                    date = date,
+                                    blocked = blocked,
+                                    selected = date == pickupDate || date == returnDate,
+                                    inRange = pickupDate != null && returnDate != null &&
+                                            date.isAfter(pickupDate) && date.isBefore(returnDate),
+                                    onClick = {
+                                        if (pickingReturn && pickupDate != null && date.isAfter(pickupDate)) {
+                                            onDatesSelected(pickupDate, date)
+                                            pickingReturn = false
+                                        } else {
+                                            onDatesSelected(date, date.plusDays(1))
+                                            pickingReturn = true
+                                        }
+                                    }
+                                )
+                            }
+                        }
+                    }
+                    repeat(7 - week.size) { Spacer(modifier = Modifier.weight(1f)) }
+                }
+            }
+
+            if (!datesAvailable) {
+                Spacer(modifier = Modifier.height(8.dp))
+                Text(
+                    text = "This vehicle is already booked for some of the selected dates",
+                    style = MaterialTheme.typography.bodySmall,
+                    color = MaterialTheme.colorScheme.error
+                )
+            }
+        }
+    }
+}
+
+@Composable
+private fun CalendarDay(
+    date: LocalDate,
+    blocked: Boolean,
+    selected: Boolean,
+    inRange: Boolean,
+    onClick: () -> Unit
+) {
+    val background = when {
+        selected -> MaterialTheme.colorScheme.primary
+        inRange -> MaterialTheme.colorScheme.primaryContainer
+        else -> Color.Transparent
+    }
+    val content = when {
+        selected -> MaterialTheme.colorScheme.onPrimary
+        blocked -> MaterialTheme.colorScheme.onSurface.copy(alpha = 0.38f)
+        inRange -> MaterialTheme.colorScheme.onPrimaryContainer
+        else -> MaterialTheme.colorScheme.onSurface
+    }
+
+    Box(
+        modifier = Modifier
+            .padding(2.dp)
+            .fillMaxSize()
+            .clip(CircleShape)
+            .background(background)
+            .clickable(enabled = !blocked, onClick = onClick),
+        contentAlignment = Alignment.Center
+    ) {
+        Text(
+            text = date.dayOfMonth.toString(),
+            style = MaterialTheme.typography.bodySmall,
+            color = content,
+            textDecoration = if (blocked) TextDecoration.LineThrough else null
+        )
+    }
+}
+
+private val MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy")
+private val WEEKDAY_LABELS = listOf("M", "T", "W", "T", "F", "S", "S")
@@ -86,6 +86,14 @@ fun BookingScreen(
             )
         }
     }
+    
+    uiState.priceChange?.let { change ->
+        PriceChangeDialog(
+            change = change,
+            onKeepBooking = { viewModel.acceptPriceChange(onBookingComplete) },
+            onCancelBooking = viewModel::declinePriceChange
+        )
+    }
 }
 
 @Composable
@@ -505,7 +513,7 @@ private fun InsuranceSelectionCard(
 @Composable
 private fun ExtrasSelectionCard(
     extras: List<RentalExtra>,
-    selectedExtras: Set<String>,
+    selectedExtras: Map<String, Int>,
     onExtraToggled: (RentalExtra, Boolean) -> Unit
 ) {
     Card(
@@ -528,7 +536,7 @@ private fun ExtrasSelectionCard(
                     modifier = Modifier.fillMaxWidth()
                 ) {
                     Checkbox(
-                        checked = selectedExtras.contains(extra.id),
+                        checked = selectedExtras.containsKey(extra.id),
                         onCheckedChange = { checked ->
                             onExtraToggled(extra, checked)
                         }
@@ -3,35 +3,58 @@ package com.smartdrive.kenya.ui.screens.booking
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import com.smartdrive.kenya.data.model.*
+import com.smartdrive.kenya.data.pricing.PriceQuote
+import com.smartdrive.kenya.data.pricing.PricingEngine
+import com.smartdrive.kenya.data.pricing.PricingRules
+import com.smartdrive.kenya.data.pricing.centsToAmount
+import com.smartdrive.kenya.data.pricing.toCents
+import com.smartdrive.kenya.data.repository.AvailabilityRepository
 import com.smartdrive.kenya.data.repository.RentalRepository
 import com.smartdrive.kenya.data.repository.VehicleRepository
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.launch
 import java.time.LocalDate
 import java.time.LocalTime
-import java.time.temporal.ChronoUnit
 import javax.inject.Inject
 
 @HiltViewModel
 class BookingViewModel @Inject constructor(
     private val rentalRepository: RentalRepository,
-    private val vehicleRepository: VehicleRepository
+    private val vehicleRepository: VehicleRepository,
+    private val availabilityRepository: AvailabilityRepository
 ) : ViewModel() {
     
     private val _uiState = MutableStateFlow(BookingUiState())
     val uiState: StateFlow<BookingUiState> = _uiState.asStateFlow()
     
+    private var calendarObserver: Job? = null
+    private val pricingEngine = PricingEngine()
+    
     fun loadBookingData(vehicleId: String) {
+        observeAvailability(vehicleId)
+        
         viewModelScope.launch {
             _uiState.value = _uiState.value.copy(isLoading = true, error = null)
             
             try {
-                // Load vehicle details
-                val vehicleResult = vehicleRepository.getVehicleById(vehicleId)
-                if (vehicleResult.isFailure) {
+                // Render from the on-device cache first so the form appears immediately
+                val cachedVehicle = vehicleRepository.getCachedVehicle(vehicleId)
+                if (cachedVehicle != null) {
+                    applyBookingData(
+                        vehicle = cachedVehicle,
+                        locations = rentalRepository.getCachedRentalLocations(),
+                        extras = rentalRepository.getCachedRentalExtras()
+                    )
+                }
+                
+                // Then revalidate; the vehicle comes from the live fleet cache when synced
+                val vehicleResult = vehicleRepository.getVehicle(vehicleId)
+                val vehicle = vehicleResult.getOrNull() ?: cachedVehicle
+                if (vehicle == null) {
                     _uiState.value = _uiState.value.copy(
                         isLoading = false,
                         error = "Failed to load vehicle details"
@@ -41,32 +64,13 @@ class BookingViewModel @Inject constructor(
                 
                 // Load rental locations
                 val locationsResult = rentalRepository.getRentalLocations()
-                val locations = locationsResult.getOrElse { emptyList() }
+                val locations = locationsResult.getOrElse { _uiState.value.locations }
                 
                 // Load rental extras
                 val extrasResult = rentalRepository.getRentalExtras()
-                val extras = extrasResult.getOrElse { emptyList() }
+                val extras = extrasResult.getOrElse { _uiState.value.availableExtras }
                 
-                val vehicle = vehicleResult.getOrNull()
-                val defaultPickupDate = LocalDate.now().plusDays(1)
-                val defaultReturnDate = defaultPickupDate.plusDays(1)
-                
-                _uiState.value = _uiState.value.copy(
-                    isLoading = false,
-                    selectedVehicle = vehicle,
-                    locations = locations,
-                    availableExtras = extras,
-                    pickupDate = defaultPickupDate,
-                    returnDate = defaultReturnDate,
-                    pickupTime = LocalTime.of(9, 0),
-                    returnTime = LocalTime.of(17, 0),
-                    pickupLocationId = locations.firstOrNull()?.id,
-                    returnLocationId = locations.firstOrNull()?.id,
-                    dailyRate = vehicle?.pricePerDay ?: 0.0
-                )
-                
-                // Calculate initial pricing
-                calculatePricing()
+                applyBookingData(vehicle, locations, extras)
                 
             } catch (e: Exception) {
                 _uiState.value = _uiState.value.copy(
@@ -77,6 +81,43 @@ class BookingViewModel @Inject constructor(
         }
     }
     
+    private fun applyBookingData(
+        vehicle: Vehicle,
+        locations: List<RentalLocation>,
+        extras: List<RentalExtra>
+    ) {
+        val state = _uiState.value
+        // Keep anything the user already picked while the refresh was in flight
+        val pickupDate = state.pickupDate ?: LocalDate.now().plusDays(1)
+        val returnDate = state.returnDate ?: pickupDate.plusDays(1)
+        
+        _uiState.value = state.copy(
+            isLoading = false,
+            selectedVehicle = vehicle,
+            locations = locations,
+            availableExtras = extras,
+            pickupDate = pickupDate,
+            returnDate = returnDate,
+            pickupTime = state.pickupTime ?: LocalTime.of(9, 0),
+            returnTime = state.returnTime ?: LocalTime.of(17, 0),
+            pickupLocationId = state.pickupLocationId ?: locations.firstOrNull()?.id,
+            returnLocationId = state.returnLocationId ?: locations.firstOrNull()?.id
+        )
+        
+        calculatePricing()
+    }
+    
+    private fun observeAvailability(vehicleId: String) {
+        calendarObserver?.cancel()
+        calendarObserver = viewModelScope.launch {
+            // Realtime keeps this calendar current, so date checks below stay local
+            availabilityRepository.observeCalendar(vehicleId).collect { calendar ->
+                _uiState.value = _uiState.value.copy(availabilityCalendar = calendar)
+                calculatePricing()
+            }
+        }
+    }
+    
     fun updateDates(pickupDate: LocalDate, returnDate: LocalDate) {
         _uiState.value = _uiState.value.copy(
             pickupDate = pickupDate,
@@ -105,13 +146,10 @@ class BookingViewModel @Inject constructor(
     }
     
     fun toggleExtra(extra: RentalExtra, isSelected: Boolean) {
-        val currentExtras = _uiState.value.selectedExtras.toMutableSet()
-        if (isSelected) {
-            currentExtras.add(extra.id)
-        } else {
-            currentExtras.remove(extra.id)
-        }
-        _uiState.value = _uiState.value.copy(selectedExtras = currentExtras)
+        val currentExtras = _uiState.value.selectedExtras
+        _uiState.value = _uiState.value.copy(
+            selectedExtras = if (isSelected) currentExtras + (extra.id to 1) else currentExtras - extra.id
+        )
         calculatePricing()
     }
     
@@ -128,58 +166,36 @@ class BookingViewModel @Inject constructor(
         
         if (returnDate.isBefore(pickupDate)) return
         
-        val totalDays = ChronoUnit.DAYS.between(pickupDate, returnDate).toInt().let { 
-            if (it == 0) 1 else it 
-        }
-        
-        val dailyRate = vehicle.pricePerDay
-        val insuranceCost = calculateInsuranceCost(dailyRate, state.insuranceType, totalDays)
-        val extrasCost = calculateExtrasCost(state.selectedExtras, state.availableExtras, totalDays)
+        pricingEngine.updateExtras(state.availableExtras)
+        val quote = pricingEngine.quote(
+            vehicleId = vehicle.id,
+            dailyRateCents = vehicle.pricePerDay.toCents(),
+            days = PricingRules.rentalDays(pickupDate, returnDate),
+            insuranceType = state.insuranceType,
+            extras = state.selectedExtras
+        )
         
-        val subtotal = (dailyRate * totalDays) + insuranceCost + extrasCost
-        val taxAmount = subtotal * 0.16 // 16% VAT
-        val totalAmount = subtotal + taxAmount
-        val depositAmount = totalAmount * 0.30 // 30% deposit
+        val datesAvailable = state.availabilityCalendar
+            ?.isRangeAvailable(pickupDate, returnDate)
+            ?: true
         
         _uiState.value = state.copy(
-            totalDays = totalDays,
-            dailyRate = dailyRate,
-            insuranceCost = insuranceCost,
-            extrasCost = extrasCost,
-            subtotal = subtotal,
-            taxAmount = taxAmount,
-            totalAmount = totalAmount,
-            depositAmount = depositAmount,
-            isValidForBooking = validateBookingData(state.copy(totalDays = totalDays))
+            quote = quote,
+            datesAvailable = datesAvailable,
+            isValidForBooking = validateBookingData(
+                state.copy(quote = quote, datesAvailable = datesAvailable)
+            )
         )
     }
     
-    private fun calculateInsuranceCost(
-        dailyRate: Double, 
-        insuranceType: InsuranceType, 
-        totalDays: Int
-    ): Double {
-        return dailyRate * (insuranceType.coveragePercent / 100.0) * totalDays
-    }
-    
-    private fun calculateExtrasCost(
-        selectedExtraIds: Set<String>,
-        availableExtras: List<RentalExtra>,
-        totalDays: Int
-    ): Double {
-        return selectedExtraIds.sumOf { extraId: String ->
-            val extra = availableExtras.find { extra: RentalExtra -> extra.id == extraId }
-            (extra?.dailyRate ?: 0.0) * totalDays
-        }
-    }
-    
     private fun validateBookingData(state: BookingUiState): Boolean {
         return state.selectedVehicle != null &&
                 state.pickupDate != null &&
                 state.returnDate != null &&
                 state.pickupLocationId != null &&
                 state.returnLocationId != null &&
-                state.totalDays > 0
+                state.totalDays > 0 &&
+                state.datesAvailable
     }
     
     fun createBooking(onSuccess: (String) -> Unit) {
@@ -191,16 +207,17 @@ class BookingViewModel @Inject constructor(
             
             try {
                 // Create rental extras selections
-                val extraSelections = state.selectedExtras.mapNotNull { extraId: String ->
+                val extraSelections = state.selectedExtras.mapNotNull { (extraId, quantity) ->
                     val extra = state.availableExtras.find { extra: RentalExtra -> extra.id == extraId }
                     extra?.let {
+                        // Only the id and quantity are sent; create_rental prices from the catalog
                         RentalExtraSelection(
                             id = "", // Will be generated
                             rentalId = "", // Will be set after rental creation
                             rentalExtraId = extra.id,
-                            quantity = 1,
+                            quantity = quantity,
                             dailyRate = extra.dailyRate,
-                            totalCost = extra.dailyRate * state.totalDays
+                            totalCost = (extra.dailyRate.toCents() * quantity * state.totalDays).centsToAmount()
                         )
                     }
                 }
@@ -215,14 +232,27 @@ class BookingViewModel @Inject constructor(
                     returnTime = state.returnTime ?: LocalTime.of(17, 0),
                     insuranceType = state.insuranceType,
                     selectedExtras = extraSelections,
-                    specialRequests = state.specialRequests.takeIf { it.isNotBlank() }
+                    specialRequests = state.specialRequests.takeIf { it.isNotBlank() },
+                    quotedTotalCents = state.quote.totalCents
                 )
                 
                 val result = rentalRepository.createRental(rentalRequest)
                 
                 if (result.isSuccess) {
-                    val rental = result.getOrNull()!!
-                    onSuccess(rental.id)
+                    val created = result.getOrNull()!!
+                    if (created.totalChanged) {
+                        // The stored total is what will be charged, so the customer confirms it first
+                        _uiState.value = state.copy(
+                            isCreatingBooking = false,
+                            priceChange = PriceChange(
+                                rentalId = created.rental.id,
+                                quotedTotalCents = created.quotedTotalCents!!,
+                                storedTotalCents = created.storedTotalCents
+                            )
+                        )
+                    } else {
+                        onSuccess(created.rental.id)
+                    }
                 } else {
                     _uiState.value = state.copy(
                         isCreatingBooking = false,
@@ -238,8 +268,44 @@ class BookingViewModel @Inject constructor(
             }
         }
     }
+    
+    /** Keeps a booking whose stored total differs from the quote. */
+    fun acceptPriceChange(onSuccess: (String) -> Unit) {
+        val change = _uiState.value.priceChange ?: return
+        _uiState.value = _uiState.value.copy(priceChange = null)
+        onSuccess(change.rentalId)
+    }
+    
+    /** Cancels a booking whose stored total the customer did not accept. */
+    fun declinePriceChange() {
+        val change = _uiState.value.priceChange ?: return
+        viewModelScope.launch {
+            _uiState.value = _uiState.value.copy(isCreatingBooking = true)
+            rentalRepository.cancelRental(change.rentalId, "Price changed before confirmation").fold(
+                onSuccess = {
+                    _uiState.value = _uiState.value.copy(isCreatingBooking = false, priceChange = null)
+                    // Reprice with the vehicle's current rate
+                    _uiState.value.selectedVehicle?.let { loadBookingData(it.id) }
+                },
+                onFailure = { error ->
+                    _uiState.value = _uiState.value.copy(
+                        isCreatingBooking = false,
+                        priceChange = null,
+                        error = error.message ?: "Failed to cancel booking"
+                    )
+                }
+            )
+        }
+    }
 }
 
+/** A booking `create_rental` priced differently from the quote the customer saw. */
+data class PriceChange(
+    val rentalId: String,
+    val quotedTotalCents: Long,
+    val storedTotalCents: Long
+)
+
 data class BookingUiState(
     val isLoading: Boolean = false,
     val isCreatingBooking: Boolean = false,
@@ -258,19 +324,29 @@ data class BookingUiState(
     val pickupLocationId: String? = null,
     val returnLocationId: String? = null,
     val insuranceType: InsuranceType = InsuranceType.BASIC,
-    val selectedExtras: Set<String> = emptySet(),
+    /** Extra id to quantity, as quoted and sent to create_rental; the screen offers one of each. */
+    val selectedExtras: Map<String, Int> = emptyMap(),
     val specialRequests: String = "",
     
-    // Pricing calculations
-    val totalDays: Int = 1,
-    val dailyRate: Double = 0.0,
-    val insuranceCost: Double = 0.0,
-    val extrasCost: Double = 0.0,
-    val subtotal: Double = 0.0,
-    val taxAmount: Double = 0.0,
-    val totalAmount: Double = 0.0,
-    val depositAmount: Double = 0.0,
+    // Availability
+    val availabilityCalendar: AvailabilityCalendar? = null,
+    val datesAvailable: Boolean = true,
+    
+    // Pricing, in cents; the Double views below are for display
+    val quote: PriceQuote = PriceQuote.EMPTY,
+    
+    /** Set when the created booking's total differs from [quote]; awaits the customer. */
+    val priceChange: PriceChange? = null,
     
     // Validation
     val isValidForBooking: Boolean = false
-)
\ No newline at end of file
+) {
+    val totalDays: Int get() = quote.totalDays
+    val dailyRate: Double get() = quote.dailyRateCents.centsToAmount()
+    val insuranceCost: Double get() = quote.insuranceCents.centsToAmount()
+    val extrasCost: Double get() = quote.extrasCents.centsToAmount()
+    val subtotal: Double get() = quote.subtotalCents.centsToAmount()
+    val taxAmount: Double get() = quote.taxCents.centsToAmount()
+    val totalAmount: Double get() = quote.totalCents.centsToAmount()
+    val depositAmount: Double get() = quote.depositCents.centsToAmount()
+}
@@ -0,0 +1,48 @@
+package com.smartdrive.kenya.ui.screens.booking
+
+import androidx.compose.material3.AlertDialog
+import androidx.compose.material3.Button
+import androidx.compose.material3.ButtonDefaults
+import androidx.compose.material3.MaterialTheme
+import androidx.compose.material3.Text
+import androidx.compose.material3.TextButton
+import androidx.compose.runtime.Composable
+import com.smartdrive.kenya.data.pricing.centsToAmount
+import com.smartdrive.kenya.ui.model.formatAmount
+
+/**
+ * Shown when `create_rental` stored a different total than the quote, e.g. the
+ * daily rate changed while the customer was booking. The booking stays pending
+ * until the customer keeps it or cancels it here.
+ */
+@Composable
+fun PriceChangeDialog(
+    change: PriceChange,
+    onKeepBooking: () -> Unit,
+    onCancelBooking: () -> Unit
+) {
+    AlertDialog(
+        onDismissRequest = {},
+        title = { Text("Price changed") },
+        text = {
+            Text(
+                "The total for this booking is now KES ${formatAmount(change.storedTotalCents.centsToAmount())} " +
+                    "instead of the KES ${formatAmount(change.quotedTotalCents.centsToAmount())} shown. " +
+                    "Keep the booking at the new price?"
+            )
+        },
+        confirmButton = {
+            Button(onClick = onKeepBooking) {
+                Text("Keep Booking")
+            }
+        },
+        dismissButton = {
+            TextButton(
+                onClick = onCancelBooking,
+                colors = ButtonDefaults.textButtonColors(contentColor = MaterialTheme.colorScheme.error)
+            ) {
+                Text("Cancel Booking")
+            }
+        }
+    )
+}
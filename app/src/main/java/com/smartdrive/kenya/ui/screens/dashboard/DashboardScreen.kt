@@ -24,7 +24,8 @@ fun DashboardScreen(
     authViewModel: AuthViewModel = hiltViewModel()
 ) {
     val userProfile by authViewModel.userProfile.collectAsState()
-    val userRole = userProfile?.role ?: UserRole.CUSTOMER
+    val role by authViewModel.role.collectAsState()
+    val userRole = role ?: UserRole.CUSTOMER
     
     Scaffold(
         topBar = {
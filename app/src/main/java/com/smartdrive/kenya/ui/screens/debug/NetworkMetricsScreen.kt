@@ -0,0 +1,242 @@
+package com.smartdrive.kenya.ui.screens.debug
+
+import androidx.compose.foundation.layout.*
+import androidx.compose.foundation.lazy.LazyColumn
+import androidx.compose.foundation.lazy.items
+import androidx.compose.material.icons.Icons
+import androidx.compose.material.icons.filled.ArrowBack
+import androidx.compose.material.icons.filled.Delete
+import androidx.compose.material3.*
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.collectAsState
+import androidx.compose.runtime.getValue
+import androidx.compose.ui.Alignment
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.text.font.FontFamily
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.unit.dp
+import androidx.hilt.navigation.compose.hiltViewModel
+import com.smartdrive.kenya.data.cache.ReferenceDataCache
+import com.smartdrive.kenya.data.metrics.EndpointSnapshot
+import com.smartdrive.kenya.data.metrics.ImageCacheSnapshot
+import com.smartdrive.kenya.data.metrics.LatencySummary
+import com.smartdrive.kenya.startup.StartupTimings
+
+@OptIn(ExperimentalMaterial3Api::class)
+@Composable
+fun NetworkMetricsScreen(
+    onNavigateBack: () -> Unit,
+    viewModel: NetworkMetricsViewModel = hiltViewModel()
+) {
+    val snapshot by viewModel.snapshot.collectAsState()
+    val startupHistory by viewModel.startupHistory.collectAsState()
+    val referenceData by viewModel.referenceData.collectAsState()
+
+    Scaffold(
+        topBar = {
+            TopAppBar(
+                title = { Text("Network Metrics") },
+                navigationIcon = {
+                    IconButton(onClick = onNavigateBack) {
+                        Icon(Icons.Default.ArrowBack, contentDescription = "Back")
+                    }
+                },
+                actions = {
+                    IconButton(onClick = { viewModel.reset() }) {
+                        Icon(Icons.Default.Delete, contentDescription = "Reset")
+                    }
+                }
+            )
+        }
+    ) { paddingValues ->
+        LazyColumn(
+            modifier = Modifier
+                .fillMaxSize()
+                .padding(paddingValues),
+            contentPadding = PaddingValues(16.dp),
+            verticalArrangement = Arrangement.spacedBy(12.dp)
+        ) {
+            if (startupHistory.isNotEmpty()) {
+                item(key = "startup") {
+                    StartupCard(startupHistory)
+                }
+            }
+            if (snapshot.images.requests > 0) {
+                item(key = "images") {
+                    ImageCacheCard(snapshot.images)
+                }
+            }
+            if (referenceData.hits + referenceData.misses + referenceData.coalesced > 0) {
+                item(key = "reference_data") {
+                    ReferenceDataCard(referenceData)
+                }
+            }
+            if (snapshot.endpoints.isEmpty()) {
+                item(key = "empty") {
+                    Box(
+                        modifier = Modifier
+                            .fillMaxWidth()
+                            .padding(32.dp),
+                        contentAlignment = Alignment.Center
+                    ) {
+                        Text(
+                            text = "No requests recorded yet",
+                            style = MaterialTheme.typography.bodyMedium
+                        )
+                    }
+                }
+            }
+            items(snapshot.endpoints, key = { it.endpoint }) { endpoint ->
+                EndpointCard(endpoint)
+            }
+        }
+    }
+}
+
+@Composable
+private fun StartupCard(history: List<StartupTimings>) {
+    Card(modifier = Modifier.fillMaxWidth()) {
+        Column(modifier = Modifier.padding(16.dp)) {
+            Text(
+                text = "Startup (latest first)",
+                style = MaterialTheme.typography.titleMedium,
+                fontWeight = FontWeight.Bold
+            )
+            Spacer(modifier = Modifier.height(8.dp))
+            history.forEach { launch ->
+                Text(
+                    text = "TTID ${launch.timeToInitialDisplayMs}ms  TTFD ${launch.timeToFullDisplayMs}ms  " +
+                        "session ${launch.sessionRestoredMs}ms" +
+                        if (launch.signedIn) "" else " (signed out)",
+                    style = MaterialTheme.typography.bodySmall,
+                    fontFamily = FontFamily.Monospace
+                )
+            }
+        }
+    }
+}
+
+@Composable
+private fun ImageCacheCard(images: ImageCacheSnapshot) {
+    Card(modifier = Modifier.fillMaxWidth()) {
+        Column(modifier = Modifier.padding(16.dp)) {
+            Text(
+                text = "Images",
+                style = MaterialTheme.typography.titleMedium,
+                fontWeight = FontWeight.Bold
+            )
+            Text(
+                text = "${images.requests} loads · hit rate ${String.format("%.0f%%", images.hitRate * 100)}",
+                style = MaterialTheme.typography.bodySmall,
+                color = MaterialTheme.colorScheme.onSurfaceVariant
+            )
+
+            Spacer(modifier = Modifier.height(8.dp))
+
+            Text(
+                text = "Memory ${images.memoryHits} · disk ${images.diskHits} · network ${images.networkLoads} · " +
+                    "errors ${images.errors}",
+                style = MaterialTheme.typography.bodySmall
+            )
+            Text(
+                text = "Bitmaps ${formatBytes(images.bitmapBytes)} of ${formatBytes(images.bitmapMaxBytes)} · " +
+                    "disk ${formatBytes(images.diskBytes)} of ${formatBytes(images.diskMaxBytes)}",
+                style = MaterialTheme.typography.bodySmall
+            )
+        }
+    }
+}
+
+@Composable
+private fun ReferenceDataCard(stats: ReferenceDataCache.Stats) {
+    val lookups = stats.hits + stats.misses + stats.coalesced
+    Card(modifier = Modifier.fillMaxWidth()) {
+        Column(modifier = Modifier.padding(16.dp)) {
+            Text(
+                text = "Locations & extras cache",
+                style = MaterialTheme.typography.titleMedium,
+                fontWeight = FontWeight.Bold
+            )
+            Text(
+                text = "$lookups lookups · hit rate ${String.format("%.0f%%", stats.hits * 100.0 / lookups)}",
+                style = MaterialTheme.typography.bodySmall,
+                color = MaterialTheme.colorScheme.onSurfaceVariant
+            )
+
+            Spacer(modifier = Modifier.height(8.dp))
+
+            Text(
+                text = "Hits ${stats.hits} · misses ${stats.misses} · joined in-flight ${stats.coalesced}",
+                style = MaterialTheme.typography.bodySmall
+            )
+        }
+    }
+}
+
+@Composable
+private fun EndpointCard(endpoint: EndpointSnapshot) {
+    Card(modifier = Modifier.fillMaxWidth()) {
+        Column(modifier = Modifier.padding(16.dp)) {
+            Text(
+                text = endpoint.endpoint,
+                style = MaterialTheme.typography.titleMedium,
+                fontWeight = FontWeight.Bold
+            )
+            Text(
+                text = "${endpoint.requests} requests · " +
+                    endpoint.outcomes.entries.joinToString { (outcome, count) -> "$outcome $count" },
+                style = MaterialTheme.typography.bodySmall,
+                color = MaterialTheme.colorScheme.onSurfaceVariant
+            )
+
+            Spacer(modifier = Modifier.height(8.dp))
+
+            LatencyRow("RTT", endpoint.roundTrip)
+            LatencyRow("Decode", endpoint.decode)
+
+            Spacer(modifier = Modifier.height(4.dp))
+
+            Text(
+                text = "Bytes p50 ${formatBytes(endpoint.bytesP50)} · p95 ${formatBytes(endpoint.bytesP95)} · " +
+                    "total ${formatBytes(endpoint.bytesTotal)}",
+                style = MaterialTheme.typography.bodySmall
+            )
+            Text(
+                text = "Rows ${endpoint.rowsTotal} total · max ${endpoint.rowsMax}",
+                style = MaterialTheme.typography.bodySmall
+            )
+        }
+    }
+}
+
+@Composable
+private fun LatencyRow(label: String, latency: LatencySummary) {
+    Row(
+        modifier = Modifier.fillMaxWidth(),
+        horizontalArrangement = Arrangement.SpaceBetween
+    ) {
+        Text(
+            text = label,
+            style = MaterialTheme.typography.bodyMedium,
+            fontWeight = FontWeight.Medium
+        )
+        Text(
+            text = if (latency.count == 0L) {
+                "—"
+            } else {
+                "p50 ${formatMs(latency.p50Ms)}  p95 ${formatMs(latency.p95Ms)}  p99 ${formatMs(latency.p99Ms)}"
+            },
+            style = MaterialTheme.typography.bodyMedium,
+            fontFamily = FontFamily.Monospace
+        )
+    }
+}
+
+private fun formatMs(ms: Double): String =
+    if (ms < 10) String.format("%.1fms", ms) else String.format("%.0fms", ms)
+
+private fun formatBytes(bytes: Long): String = when {
+    bytes < 1024 -> "${bytes}B"
+    bytes < 1024 * 1024 -> String.format("%.1fKB", bytes / 1024.0)
+    else -> String.format("%.1fMB", bytes / (1024.0 * 1024.0))
+}
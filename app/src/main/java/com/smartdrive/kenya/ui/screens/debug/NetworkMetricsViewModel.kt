@@ -0,0 +1,58 @@
+package com.smartdrive.kenya.ui.screens.debug
+
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.smartdrive.kenya.data.cache.ReferenceDataCache
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.metrics.NetworkMetricsSnapshot
+import com.smartdrive.kenya.data.repository.RentalRepository
+import com.smartdrive.kenya.startup.StartupOrchestrator
+import com.smartdrive.kenya.startup.StartupTimings
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import javax.inject.Inject
+
+@HiltViewModel
+class NetworkMetricsViewModel @Inject constructor(
+    private val networkMetrics: NetworkMetrics,
+    private val startupOrchestrator: StartupOrchestrator,
+    private val rentalRepository: RentalRepository
+) : ViewModel() {
+
+    val snapshot: StateFlow<NetworkMetricsSnapshot> = networkMetrics.snapshot
+
+    private val _startupHistory = MutableStateFlow<List<StartupTimings>>(emptyList())
+    val startupHistory: StateFlow<List<StartupTimings>> = _startupHistory.asStateFlow()
+
+    private val _referenceData = MutableStateFlow(rentalRepository.referenceDataStats())
+    val referenceData: StateFlow<ReferenceDataCache.Stats> = _referenceData.asStateFlow()
+
+    init {
+        viewModelScope.launch(Dispatchers.IO) {
+            _startupHistory.value = startupOrchestrator.loadHistory().reversed()
+        }
+        // The exporter only publishes once a minute; refresh faster while the screen is open.
+        // Off the main thread, as the first disk cache size read opens its journal
+        viewModelScope.launch(Dispatchers.IO) {
+            while (isActive) {
+                networkMetrics.refreshSnapshot()
+                _referenceData.value = rentalRepository.referenceDataStats()
+                delay(REFRESH_INTERVAL_MILLIS)
+            }
+        }
+    }
+
+    fun reset() {
+        viewModelScope.launch(Dispatchers.IO) { networkMetrics.reset() }
+    }
+
+    companion object {
+        private const val REFRESH_INTERVAL_MILLIS = 2_000L
+    }
+}
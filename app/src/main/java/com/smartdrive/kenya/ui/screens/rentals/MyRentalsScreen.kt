@@ -2,7 +2,8 @@ package com.smartdrive.kenya.ui.screens.rentals
 
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
-import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.*
 import androidx.compose.material3.*
@@ -12,9 +13,15 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
 import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.paging.LoadState
+import androidx.paging.compose.LazyPagingItems
+import androidx.paging.compose.collectAsLazyPagingItems
+import androidx.paging.compose.itemContentType
+import androidx.paging.compose.itemKey
 import com.smartdrive.kenya.data.model.*
-import java.time.LocalDate
-import java.time.format.DateTimeFormatter
+import com.smartdrive.kenya.ui.model.LOADING_CONTENT_TYPE
+import com.smartdrive.kenya.ui.model.RENTAL_CARD_CONTENT_TYPE
+import com.smartdrive.kenya.ui.model.RentalCardUi
 
 @Composable
 fun MyRentalsScreen(
@@ -22,10 +29,7 @@ fun MyRentalsScreen(
     viewModel: MyRentalsViewModel = hiltViewModel()
 ) {
     val uiState by viewModel.uiState.collectAsState()
-    
-    LaunchedEffect(Unit) {
-        viewModel.loadUserRentals()
-    }
+    val rentals = viewModel.pagedRentals.collectAsLazyPagingItems()
     
     Column(
         modifier = Modifier.fillMaxSize()
@@ -37,7 +41,7 @@ fun MyRentalsScreen(
         )
         
         when {
-            uiState.isLoading -> {
+            rentals.loadState.refresh is LoadState.Loading && rentals.itemCount == 0 -> {
                 Box(
                     modifier = Modifier.fillMaxSize(),
                     contentAlignment = Alignment.Center
@@ -46,7 +50,7 @@ fun MyRentalsScreen(
                 }
             }
             
-            uiState.error != null -> {
+            rentals.loadState.refresh is LoadState.Error && rentals.itemCount == 0 -> {
                 Column(
                     modifier = Modifier
                         .fillMaxSize()
@@ -66,17 +70,18 @@ fun MyRentalsScreen(
                         style = MaterialTheme.typography.headlineSmall
                     )
                     Text(
-                        text = uiState.error ?: "Unknown error",
+                        text = (rentals.loadState.refresh as? LoadState.Error)?.error?.message
+                            ?: "Unknown error",
                         style = MaterialTheme.typography.bodyMedium
                     )
                     Spacer(modifier = Modifier.height(16.dp))
-                    Button(onClick = { viewModel.loadUserRentals() }) {
+                    Button(onClick = { rentals.retry() }) {
                         Text("Retry")
                     }
                 }
             }
             
-            uiState.rentals.isEmpty() -> {
+            rentals.itemCount == 0 -> {
                 Column(
                     modifier = Modifier
                         .fillMaxSize()
@@ -104,18 +109,67 @@ fun MyRentalsScreen(
             }
             
             else -> {
-                LazyColumn(
-                    modifier = Modifier.fillMaxSize(),
-                    contentPadding = PaddingValues(16.dp),
-                    verticalArrangement = Arrangement.spacedBy(16.dp)
+                RentalList(
+                    rentals = rentals,
+                    onRentalClick = onRentalClick,
+                    onCancelRental = { rentalId -> viewModel.cancelRental(rentalId, "Cancelled by user") }
+                )
+            }
+        }
+    }
+    
+    uiState.error?.let { error ->
+        AlertDialog(
+            onDismissRequest = { viewModel.clearError() },
+            title = { Text("Cancellation failed") },
+            text = { Text(error) },
+            confirmButton = {
+                TextButton(onClick = { viewModel.clearError() }) {
+                    Text("OK")
+                }
+            }
+        )
+    }
+}
+
+/** [card] draws one row with the handlers the list built for it. */
+@Composable
+internal fun RentalList(
+    rentals: LazyPagingItems<RentalCardUi>,
+    onRentalClick: (String) -> Unit,
+    onCancelRental: (String) -> Unit,
+    modifier: Modifier = Modifier,
+    listState: LazyListState = rememberLazyListState(),
+    card: @Composable (rental: RentalCardUi, onClick: () -> Unit, onCancelRental: () -> Unit) -> Unit =
+        { rental, onClick, onCancel -> RentalCard(rental = rental, onClick = onClick, onCancelRental = onCancel) }
+) {
+    LazyColumn(
+        state = listState,
+        modifier = modifier.fillMaxSize(),
+        contentPadding = PaddingValues(16.dp),
+        verticalArrangement = Arrangement.spacedBy(16.dp)
+    ) {
+        items(
+            count = rentals.itemCount,
+            key = rentals.itemKey { it.id },
+            contentType = rentals.itemContentType { RENTAL_CARD_CONTENT_TYPE }
+        ) { index ->
+            rentals[index]?.let { rental ->
+                card(
+                    rental,
+                    { onRentalClick(rental.id) },
+                    { onCancelRental(rental.id) }
+                )
+            }
+        }
+        
+        if (rentals.loadState.append is LoadState.Loading) {
+            item(contentType = LOADING_CONTENT_TYPE) {
+                Box(
+                    modifier = Modifier.fillMaxWidth(),
+                    contentAlignment = Alignment.Center
                 ) {
-                    items(uiState.rentals) { rentalSummary ->
-                        RentalCard(
-                            rentalSummary = rentalSummary,
-                            onClick = { onRentalClick(rentalSummary.rental.id) },
-                            onCancelRental = { viewModel.cancelRental(rentalSummary.rental.id, "Cancelled by user") }
-                        )
-                    }
+                    CircularProgressIndicator()
                 }
             }
         }
@@ -123,14 +177,11 @@ fun MyRentalsScreen(
 }
 
 @Composable
-private fun RentalCard(
-    rentalSummary: RentalSummary,
+internal fun RentalCard(
+    rental: RentalCardUi,
     onClick: () -> Unit,
     onCancelRental: () -> Unit
 ) {
-    val rental = rentalSummary.rental
-    val vehicle = rentalSummary.vehicle
-    
     Card(
         modifier = Modifier
             .fillMaxWidth(),
@@ -146,7 +197,7 @@ private fun RentalCard(
                 modifier = Modifier.fillMaxWidth()
             ) {
                 Text(
-                    text = "${vehicle.make} ${vehicle.model}",
+                    text = rental.vehicleTitle,
                     style = MaterialTheme.typography.titleMedium,
                     fontWeight = FontWeight.Bold
                 )
@@ -168,7 +219,7 @@ private fun RentalCard(
                 )
                 Spacer(modifier = Modifier.width(8.dp))
                 Text(
-                    text = "${vehicle.year} • ${vehicle.licensePlate}",
+                    text = rental.vehicleDetail,
                     style = MaterialTheme.typography.bodyMedium,
                     color = MaterialTheme.colorScheme.onSurfaceVariant
                 )
@@ -187,12 +238,12 @@ private fun RentalCard(
                         color = MaterialTheme.colorScheme.onSurfaceVariant
                     )
                     Text(
-                        text = formatRentalDate(rental.pickupDate),
+                        text = rental.pickupDate,
                         style = MaterialTheme.typography.bodyMedium,
                         fontWeight = FontWeight.Medium
                     )
                     Text(
-                        text = rentalSummary.pickupLocation.name,
+                        text = rental.pickupLocation,
                         style = MaterialTheme.typography.bodySmall,
                         color = MaterialTheme.colorScheme.onSurfaceVariant
                     )
@@ -205,12 +256,12 @@ private fun RentalCard(
                         color = MaterialTheme.colorScheme.onSurfaceVariant
                     )
                     Text(
-                        text = formatRentalDate(rental.returnDate),
+                        text = rental.returnDate,
                         style = MaterialTheme.typography.bodyMedium,
                         fontWeight = FontWeight.Medium
                     )
                     Text(
-                        text = rentalSummary.returnLocation.name,
+                        text = rental.returnLocation,
                         style = MaterialTheme.typography.bodySmall,
                         color = MaterialTheme.colorScheme.onSurfaceVariant
                     )
@@ -226,7 +277,7 @@ private fun RentalCard(
                 modifier = Modifier.fillMaxWidth()
             ) {
                 Text(
-                    text = "KES ${String.format("%.0f", rental.totalAmount)}",
+                    text = rental.totalLabel,
                     style = MaterialTheme.typography.titleMedium,
                     fontWeight = FontWeight.Bold,
                     color = MaterialTheme.colorScheme.primary
@@ -333,12 +384,3 @@ private fun RentalStatusChip(status: RentalStatus) {
         )
     }
 }
-
-private fun formatRentalDate(dateString: String): String {
-    return try {
-        val date = LocalDate.parse(dateString)
-        date.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))
-    } catch (e: Exception) {
-        dateString
-    }
-}
\ No newline at end of file
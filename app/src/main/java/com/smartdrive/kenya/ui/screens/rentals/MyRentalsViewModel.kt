@@ -2,77 +2,78 @@ package com.smartdrive.kenya.ui.screens.rentals
 
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
-import com.smartdrive.kenya.data.model.RentalSummary
-import com.smartdrive.kenya.data.repository.AuthRepository
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.cachedIn
+import androidx.paging.map
+import com.smartdrive.kenya.data.paging.RentalRemoteMediator
 import com.smartdrive.kenya.data.repository.RentalRepository
+import com.smartdrive.kenya.data.session.UserSession
+import com.smartdrive.kenya.ui.model.RentalCardUi
+import com.smartdrive.kenya.ui.model.toCardUi
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.launch
 import javax.inject.Inject
 
 @HiltViewModel
 class MyRentalsViewModel @Inject constructor(
     private val rentalRepository: RentalRepository,
-    private val authRepository: AuthRepository
+    private val userSession: UserSession
 ) : ViewModel() {
     
     private val _uiState = MutableStateFlow(MyRentalsUiState())
     val uiState: StateFlow<MyRentalsUiState> = _uiState.asStateFlow()
+
+    // Cached rows are JSON. cachedIn collects each generation's pages in its scope,
+    // which is where they are decoded: keep that off the main thread, a page at a time
+    private val pagingScope = CoroutineScope(viewModelScope.coroutineContext + Dispatchers.Default)
     
-    fun loadUserRentals() {
-        viewModelScope.launch {
-            _uiState.value = _uiState.value.copy(isLoading = true, error = null)
-            
-            try {
-                val currentUser = authRepository.getCurrentUser()
-                if (currentUser == null) {
-                    _uiState.value = _uiState.value.copy(
-                        isLoading = false,
-                        error = "User not authenticated"
-                    )
-                    return@launch
+    /**
+     * The signed-in customer's history, paged out of the local cache. Opening the
+     * screen shows the cached rows right away and revalidates the newest page.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class, ExperimentalPagingApi::class)
+    val pagedRentals: Flow<PagingData<RentalCardUi>> = userSession.state
+        .map { it.user?.id }
+        .distinctUntilChanged()
+        .flatMapLatest { userId ->
+            if (userId == null) {
+                flowOf(PagingData.empty())
+            } else {
+                Pager(
+                    config = PagingConfig(
+                        pageSize = RentalRepository.HISTORY_PAGE_SIZE,
+                        initialLoadSize = RentalRepository.HISTORY_PAGE_SIZE,
+                        enablePlaceholders = false
+                    ),
+                    remoteMediator = RentalRemoteMediator(rentalRepository, userId),
+                    pagingSourceFactory = { rentalRepository.rentalHistoryPagingSource(userId) }
+                ).flow.map { pagingData ->
+                    pagingData.map { rentalRepository.toRentalSummary(it).toCardUi() }
                 }
-                
-                val result = rentalRepository.getUserRentals(currentUser.id)
-                
-                if (result.isSuccess) {
-                    _uiState.value = _uiState.value.copy(
-                        isLoading = false,
-                        rentals = result.getOrElse { emptyList() }
-                    )
-                } else {
-                    _uiState.value = _uiState.value.copy(
-                        isLoading = false,
-                        error = result.exceptionOrNull()?.message ?: "Failed to load rentals"
-                    )
-                }
-            } catch (e: Exception) {
-                _uiState.value = _uiState.value.copy(
-                    isLoading = false,
-                    error = e.message ?: "Unknown error occurred"
-                )
             }
         }
-    }
+        .cachedIn(pagingScope)
     
     fun cancelRental(rentalId: String, reason: String) {
         viewModelScope.launch {
-            try {
-                val result = rentalRepository.cancelRental(rentalId, reason)
-                
-                if (result.isSuccess) {
-                    // Refresh the rentals list
-                    loadUserRentals()
-                } else {
-                    _uiState.value = _uiState.value.copy(
-                        error = result.exceptionOrNull()?.message ?: "Failed to cancel rental"
-                    )
-                }
-            } catch (e: Exception) {
+            // The repository rewrites the cached row, so the list updates without a reload
+            rentalRepository.cancelRental(rentalId, reason).onFailure { error ->
                 _uiState.value = _uiState.value.copy(
-                    error = e.message ?: "Unknown error occurred"
+                    error = error.message ?: "Failed to cancel rental"
                 )
             }
         }
@@ -84,7 +85,5 @@ class MyRentalsViewModel @Inject constructor(
 }
 
 data class MyRentalsUiState(
-    val isLoading: Boolean = false,
-    val error: String? = null,
-    val rentals: List<RentalSummary> = emptyList()
-)
\ No newline at end of file
+    val error: String? = null
+)
@@ -1,24 +1,25 @@
 package com.smartdrive.kenya.ui.screens.splash
 
-import androidx.compose.runtime.mutableStateOf
 import androidx.lifecycle.ViewModel
-import androidx.lifecycle.viewModelScope
+import com.smartdrive.kenya.startup.StartupOrchestrator
+import com.smartdrive.kenya.startup.StartupState
 import dagger.hilt.android.lifecycle.HiltViewModel
-import kotlinx.coroutines.delay
-import kotlinx.coroutines.launch
+import kotlinx.coroutines.flow.StateFlow
 import javax.inject.Inject
 
 @HiltViewModel
-class SplashViewModel @Inject constructor() : ViewModel() {
+class SplashViewModel @Inject constructor(
+    private val startupOrchestrator: StartupOrchestrator
+) : ViewModel() {
     
-    private val _isLoading = mutableStateOf(true)
-    val isLoading = _isLoading
+    // Startup is kicked off in Application.onCreate; this only follows it
+    val startupState: StateFlow<StartupState> = startupOrchestrator.state
     
-    init {
-        viewModelScope.launch {
-            // Simulate app initialization
-            delay(2000) // 2 seconds splash
-            _isLoading.value = false
-        }
+    fun onInitialDisplay() {
+        startupOrchestrator.markInitialDisplay()
     }
-}
\ No newline at end of file
+    
+    fun onFullDisplay() {
+        startupOrchestrator.markFullDisplay()
+    }
+}
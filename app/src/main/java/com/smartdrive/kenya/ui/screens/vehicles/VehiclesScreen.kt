@@ -2,7 +2,9 @@ package com.smartdrive.kenya.ui.screens.vehicles
 
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
+import androidx.compose.foundation.lazy.LazyListState
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.*
 import androidx.compose.material3.*
@@ -15,7 +17,10 @@ import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import androidx.hilt.navigation.compose.hiltViewModel
 import coil.compose.AsyncImage
-import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.VehicleStatus
+import com.smartdrive.kenya.ui.image.PrefetchListImages
+import com.smartdrive.kenya.ui.model.VEHICLE_CARD_CONTENT_TYPE
+import com.smartdrive.kenya.ui.model.VehicleCardUi
 
 @OptIn(ExperimentalMaterial3Api::class)
 @Composable
@@ -42,7 +47,7 @@ fun VehiclesScreen(
         }
     ) { paddingValues ->
         when {
-            uiState.loading -> {
+            uiState.loading && uiState.vehicles.isEmpty() -> {
                 Box(
                     modifier = Modifier.fillMaxSize(),
                     contentAlignment = Alignment.Center
@@ -51,7 +56,7 @@ fun VehiclesScreen(
                 }
             }
             
-            uiState.error != null -> {
+            uiState.error != null && uiState.vehicles.isEmpty() -> {
                 Box(
                     modifier = Modifier.fillMaxSize(),
                     contentAlignment = Alignment.Center
@@ -70,7 +75,7 @@ fun VehiclesScreen(
                             )
                         }
                         Spacer(modifier = Modifier.height(16.dp))
-                        Button(onClick = { viewModel.loadVehicles() }) {
+                        Button(onClick = { viewModel.refreshVehicles() }) {
                             Text("Retry")
                         }
                     }
@@ -78,47 +83,69 @@ fun VehiclesScreen(
             }
             
             else -> {
-                LazyColumn(
+                VehicleList(
+                    vehicles = uiState.vehicles,
                     modifier = Modifier
                         .fillMaxSize()
-                        .padding(paddingValues),
-                    contentPadding = PaddingValues(16.dp),
-                    verticalArrangement = Arrangement.spacedBy(12.dp)
+                        .padding(paddingValues)
+                )
+            }
+        }
+    }
+}
+
+/** [card] draws one row with the book handler the list built for it. */
+@Composable
+internal fun VehicleList(
+    vehicles: List<VehicleCardUi>,
+    modifier: Modifier = Modifier,
+    listState: LazyListState = rememberLazyListState(),
+    card: @Composable (vehicle: VehicleCardUi, onBookClick: () -> Unit) -> Unit = { vehicle, onBookClick ->
+        VehicleListItem(vehicle = vehicle, onBookClick = onBookClick)
+    }
+) {
+    // List padding plus the card's own
+    PrefetchListImages(listState, horizontalPadding = 32.dp, imageHeight = 200.dp) { index ->
+        vehicles.getOrNull(index)?.imageUrl
+    }
+    LazyColumn(
+        state = listState,
+        modifier = modifier,
+        contentPadding = PaddingValues(16.dp),
+        verticalArrangement = Arrangement.spacedBy(12.dp)
+    ) {
+        items(
+            items = vehicles,
+            key = { it.id },
+            contentType = { VEHICLE_CARD_CONTENT_TYPE }
+        ) { vehicle ->
+            card(vehicle) { /* Navigate to booking */ }
+        }
+        
+        if (vehicles.isEmpty()) {
+            item {
+                Card(
+                    modifier = Modifier.fillMaxWidth()
                 ) {
-                    items(uiState.vehicles) { vehicle ->
-                        VehicleCard(
-                            vehicle = vehicle,
-                            onBookClick = { /* Navigate to booking */ }
+                    Column(
+                        modifier = Modifier.padding(24.dp),
+                        horizontalAlignment = Alignment.CenterHorizontally
+                    ) {
+                        Icon(
+                            Icons.Default.DirectionsCar,
+                            contentDescription = null,
+                            modifier = Modifier.size(48.dp),
+                            tint = MaterialTheme.colorScheme.onSurfaceVariant
+                        )
+                        Spacer(modifier = Modifier.height(16.dp))
+                        Text(
+                            text = "No vehicles available",
+                            fontWeight = FontWeight.Medium
+                        )
+                        Text(
+                            text = "Check back later for new additions",
+                            color = MaterialTheme.colorScheme.onSurfaceVariant
                         )
-                    }
-                    
-                    if (uiState.vehicles.isEmpty()) {
-                        item {
-                            Card(
-                                modifier = Modifier.fillMaxWidth()
-                            ) {
-                                Column(
-                                    modifier = Modifier.padding(24.dp),
-                                    horizontalAlignment = Alignment.CenterHorizontally
-                                ) {
-                                    Icon(
-                                        Icons.Default.DirectionsCar,
-                                        contentDescription = null,
-                                        modifier = Modifier.size(48.dp),
-                                        tint = MaterialTheme.colorScheme.onSurfaceVariant
-                                    )
-                                    Spacer(modifier = Modifier.height(16.dp))
-                                    Text(
-                                        text = "No vehicles available",
-                                        fontWeight = FontWeight.Medium
-                                    )
-                                    Text(
-                                        text = "Check back later for new additions",
-                                        color = MaterialTheme.colorScheme.onSurfaceVariant
-                                    )
-                                }
-                            }
-                        }
                     }
                 }
             }
@@ -127,8 +154,8 @@ fun VehiclesScreen(
 }
 
 @Composable
-fun VehicleCard(
-    vehicle: Vehicle,
+fun VehicleListItem(
+    vehicle: VehicleCardUi,
     onBookClick: () -> Unit
 ) {
     Card(
@@ -140,7 +167,7 @@ fun VehicleCard(
             // Vehicle Image
             AsyncImage(
                 model = vehicle.imageUrl ?: "",
-                contentDescription = "${vehicle.make} ${vehicle.model}",
+                contentDescription = vehicle.title,
                 modifier = Modifier
                     .fillMaxWidth()
                     .height(200.dp),
@@ -151,7 +178,7 @@ fun VehicleCard(
             
             // Vehicle Info
             Text(
-                text = "${vehicle.make} ${vehicle.model} (${vehicle.year})",
+                text = vehicle.titleWithYear,
                 fontSize = 18.sp,
                 fontWeight = FontWeight.Bold
             )
@@ -171,25 +198,25 @@ fun VehicleCard(
             ) {
                 Column {
                     Text(
-                        text = "Seats: ${vehicle.seatingCapacity}",
+                        text = "Seats: ${vehicle.seats}",
                         fontSize = 14.sp
                     )
                     Text(
-                        text = "Fuel: ${vehicle.fuelType.value.replaceFirstChar { it.uppercase() }}",
+                        text = "Fuel: ${vehicle.fuelLabel}",
                         fontSize = 14.sp
                     )
                 }
                 Column {
                     Text(
-                        text = "Transmission: ${vehicle.transmission.value.replaceFirstChar { it.uppercase() }}",
+                        text = "Transmission: ${vehicle.transmissionLabel}",
                         fontSize = 14.sp
                     )
                     Text(
-                        text = "Status: ${vehicle.status.value.replaceFirstChar { it.uppercase() }}",
+                        text = "Status: ${vehicle.statusLabel}",
                         fontSize = 14.sp,
-                        color = when (vehicle.status.value) {
-                            "available" -> MaterialTheme.colorScheme.primary
-                            "rented" -> MaterialTheme.colorScheme.error
+                        color = when (vehicle.status) {
+                            VehicleStatus.AVAILABLE -> MaterialTheme.colorScheme.primary
+                            VehicleStatus.RENTED -> MaterialTheme.colorScheme.error
                             else -> MaterialTheme.colorScheme.onSurfaceVariant
                         }
                     )
@@ -205,7 +232,7 @@ fun VehicleCard(
                 verticalAlignment = Alignment.CenterVertically
             ) {
                 Text(
-                    text = "KSh ${vehicle.pricePerDay.toInt()}/day",
+                    text = "${vehicle.priceLabel}/day",
                     fontSize = 20.sp,
                     fontWeight = FontWeight.Bold,
                     color = MaterialTheme.colorScheme.primary
@@ -213,7 +240,7 @@ fun VehicleCard(
                 
                 Button(
                     onClick = onBookClick,
-                    enabled = vehicle.status.value == "available"
+                    enabled = vehicle.bookable
                 ) {
                     Text("Book Now")
                 }
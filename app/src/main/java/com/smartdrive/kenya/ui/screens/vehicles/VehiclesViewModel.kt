@@ -2,47 +2,281 @@ package com.smartdrive.kenya.ui.screens.vehicles
 
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.cachedIn
+import androidx.paging.map
+import com.smartdrive.kenya.data.local.toCard
+import com.smartdrive.kenya.data.model.FacetResults
+import com.smartdrive.kenya.data.model.FacetValue
 import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.VehicleCard
+import com.smartdrive.kenya.data.model.VehicleCatalogQuery
+import com.smartdrive.kenya.data.paging.VehicleRemoteMediator
+import com.smartdrive.kenya.data.repository.RentalRepository
 import com.smartdrive.kenya.data.repository.VehicleRepository
+import com.smartdrive.kenya.ui.model.VehicleCardUi
+import com.smartdrive.kenya.ui.model.toCardUi
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.debounce
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.flatMapLatest
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
+import java.time.LocalDate
+import java.time.format.DateTimeParseException
 import javax.inject.Inject
 
 @HiltViewModel
 class VehiclesViewModel @Inject constructor(
-    private val vehicleRepository: VehicleRepository
+    private val vehicleRepository: VehicleRepository,
+    private val rentalRepository: RentalRepository
 ) : ViewModel() {
-    
+
     private val _uiState = MutableStateFlow(VehiclesUiState())
     val uiState: StateFlow<VehiclesUiState> = _uiState.asStateFlow()
-    
+
+    private val _catalogQuery = MutableStateFlow(VehicleCatalogQuery())
+    val catalogQuery: StateFlow<VehicleCatalogQuery> = _catalogQuery.asStateFlow()
+
+    private val _selectedVehicleId = MutableStateFlow<String?>(null)
+
+    private var cacheObserver: Job? = null
+
+    // cachedIn collects each generation's pages in its scope, which is where the row
+    // mapping runs: keep that off the main thread, a page at a time
+    private val pagingScope = CoroutineScope(viewModelScope.coroutineContext + Dispatchers.Default)
+
+    init {
+        // The sync is shared across screens and runs while any of their ViewModels collect it
+        viewModelScope.launch {
+            vehicleRepository.syncFleet().collect { status ->
+                _uiState.value = _uiState.value.copy(loading = status.loading, error = status.error)
+            }
+        }
+    }
+
+    @OptIn(ExperimentalCoroutinesApi::class, ExperimentalPagingApi::class)
+    val pagedVehicles: Flow<PagingData<VehicleCardUi>> = _catalogQuery
+        .flatMapLatest { query ->
+            Pager(
+                config = PagingConfig(
+                    pageSize = VehicleRepository.DEFAULT_PAGE_SIZE,
+                    initialLoadSize = VehicleRepository.DEFAULT_PAGE_SIZE,
+                    enablePlaceholders = false
+                ),
+                remoteMediator = VehicleRemoteMediator(vehicleRepository, query),
+                pagingSourceFactory = { vehicleRepository.catalogPagingSource(query) }
+            ).flow.map { pagingData -> pagingData.map { it.toCard().toCardUi() } }
+        }
+        .cachedIn(pagingScope)
+
+    private val _searchQuery = MutableStateFlow("")
+    val searchQuery: StateFlow<String> = _searchQuery.asStateFlow()
+
+    private val _facetSelection = MutableStateFlow<Set<FacetValue>>(emptySet())
+    val facetSelection: StateFlow<Set<FacetValue>> = _facetSelection.asStateFlow()
+
+    /** Chip counts, and the matching vehicles once a chip is selected. */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val facetResults: StateFlow<FacetResults> = _facetSelection
+        .flatMapLatest { selection -> vehicleRepository.facetVehicles(selection) }
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), FacetResults())
+
+    /**
+     * On-device text search over the catalog, or null while the search box is
+     * empty. Typing is debounced and the index is queried off the main thread.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class, FlowPreview::class)
+    val textSearchResults: StateFlow<List<VehicleCard>?> = _searchQuery
+        .debounce { if (it.isBlank()) 0L else SEARCH_DEBOUNCE_MILLIS }
+        .map { it.trim() }
+        .distinctUntilChanged()
+        .flatMapLatest { text ->
+            if (text.isEmpty()) flowOf(null) else vehicleRepository.searchVehicles(text)
+        }
+        .combine(facetResults.map { facets -> facets.vehicles?.mapTo(HashSet()) { it.id } }) { results, facetIds ->
+            // Selected chips narrow the text matches too
+            if (results == null || facetIds == null) results else results.filter { it.id in facetIds }
+        }
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), null)
+
+    /**
+     * What the browse list shows instead of the paged catalog, or null when no
+     * search or chip is active. Text and chip matches narrow the availability
+     * results when both are active.
+     */
+    val searchResultCards: StateFlow<List<VehicleCardUi>?> = combine(
+        textSearchResults,
+        facetResults.map { it.vehicles },
+        _uiState.map { it.searchResults }.distinctUntilChanged()
+    ) { textResults, facetVehicles, availabilityResults ->
+        // Text matches are already narrowed by the chips
+        val localResults = textResults ?: facetVehicles
+        val results = when {
+            localResults == null -> availabilityResults
+            availabilityResults == null -> localResults
+            else -> {
+                val availableIds = availabilityResults.mapTo(HashSet()) { it.id }
+                localResults.filter { it.id in availableIds }
+            }
+        }
+        results?.map(VehicleCard::toCardUi)
+    }
+        .flowOn(Dispatchers.Default)
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), null)
+
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val selectedVehicle: StateFlow<Vehicle?> = _selectedVehicleId
+        .filterNotNull()
+        .flatMapLatest { vehicleRepository.observeVehicle(it) }
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), null)
+
+    fun updateCatalogQuery(query: VehicleCatalogQuery) {
+        _catalogQuery.value = query
+    }
+
+    fun updateSearchQuery(query: String) {
+        _searchQuery.value = query
+    }
+
+    fun toggleFacet(value: FacetValue) {
+        val selection = _facetSelection.value
+        _facetSelection.value = if (value in selection) selection - value else selection + value
+    }
+
+    fun clearFacets() {
+        _facetSelection.value = emptySet()
+    }
+
     fun loadVehicles() {
+        // The fleet sync keeps the cache current, so this only has to observe it
+        if (cacheObserver == null) {
+            cacheObserver = viewModelScope.launch {
+                vehicleRepository.observeAvailableVehicles()
+                    .map { vehicles -> vehicles.map(VehicleCard::toCardUi) }
+                    .flowOn(Dispatchers.Default)
+                    .collect { vehicles ->
+                        _uiState.value = _uiState.value.copy(vehicles = vehicles)
+                    }
+            }
+        }
+    }
+
+    fun refreshVehicles() {
+        vehicleRepository.refreshFleet()
+    }
+
+    fun loadVehicle(vehicleId: String) {
+        _selectedVehicleId.value = vehicleId
+
         viewModelScope.launch {
             _uiState.value = _uiState.value.copy(loading = true, error = null)
-            
-            vehicleRepository.getAvailableVehicles().fold(
-                onSuccess = { vehicles ->
+
+            vehicleRepository.getVehicle(vehicleId).fold(
+                onSuccess = {
+                    _uiState.value = _uiState.value.copy(loading = false)
+                },
+                onFailure = { error ->
                     _uiState.value = _uiState.value.copy(
                         loading = false,
-                        vehicles = vehicles
+                        error = error.message ?: "Failed to load vehicle"
+                    )
+                }
+            )
+        }
+    }
+
+    /**
+     * Runs the home-screen availability search. [location] is matched against the
+     * cached rental locations by name or city; a location that matches none is reported
+     * as an error, listing the cities there are branches in.
+     */
+    fun searchAvailability(location: String, pickupDate: String, returnDate: String) {
+        viewModelScope.launch {
+            val startDate: LocalDate
+            val endDate: LocalDate
+            try {
+                startDate = LocalDate.parse(pickupDate.trim())
+                endDate = LocalDate.parse(returnDate.trim())
+            } catch (e: DateTimeParseException) {
+                _uiState.value = _uiState.value.copy(error = "Enter dates as YYYY-MM-DD")
+                return@launch
+            }
+            if (endDate.isBefore(startDate)) {
+                _uiState.value = _uiState.value.copy(error = "Return date must be after pickup date")
+                return@launch
+            }
+
+            _uiState.value = _uiState.value.copy(searching = true, error = null)
+
+            val query = location.trim()
+            val locationId = if (query.isEmpty()) null else {
+                val locations = rentalRepository.getCachedRentalLocations()
+                    .ifEmpty { rentalRepository.getRentalLocations().getOrElse { emptyList() } }
+                val match = locations.firstOrNull {
+                    it.name.contains(query, ignoreCase = true) || it.city.contains(query, ignoreCase = true)
+                }
+                if (match == null) {
+                    // Searching the whole fleet would show cars at other branches as matches
+                    val cities = locations.map { it.city }.distinct().sorted()
+                    _uiState.value = _uiState.value.copy(
+                        searching = false,
+                        searchResults = null,
+                        error = if (cities.isEmpty()) {
+                            "Could not load pickup locations"
+                        } else {
+                            "No pickup location matches \"$query\". Try ${cities.joinToString()}"
+                        }
+                    )
+                    return@launch
+                }
+                match.id
+            }
+
+            vehicleRepository.searchAvailableVehicles(startDate, endDate, locationId).fold(
+                onSuccess = { vehicles ->
+                    _uiState.value = _uiState.value.copy(
+                        searching = false,
+                        searchResults = vehicles
                     )
                 },
                 onFailure = { error ->
                     _uiState.value = _uiState.value.copy(
-                        loading = false,
-                        error = error.message ?: "Failed to load vehicles"
+                        searching = false,
+                        error = error.message ?: "Failed to search vehicles"
                     )
                 }
             )
         }
     }
+
+    companion object {
+        private const val SEARCH_DEBOUNCE_MILLIS = 150L
+    }
 }
 
 data class VehiclesUiState(
     val loading: Boolean = false,
-    val vehicles: List<Vehicle> = emptyList(),
+    val vehicles: List<VehicleCardUi> = emptyList(),
+    val searching: Boolean = false,
+    val searchResults: List<VehicleCard>? = null,
     val error: String? = null
-)
\ No newline at end of file
+)
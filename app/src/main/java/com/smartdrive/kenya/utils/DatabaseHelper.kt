@@ -1,8 +1,17 @@
 package com.smartdrive.kenya.utils
 
 import com.smartdrive.kenya.data.network.SupabaseClient
+import io.github.jan.supabase.postgrest.RpcMethod
+import io.github.jan.supabase.postgrest.from
+import io.github.jan.supabase.postgrest.query.Columns
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flow
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.contentOrNull
+import kotlinx.serialization.json.put
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -16,11 +25,13 @@ class DatabaseHelper @Inject constructor(
      */
     fun testConnection(): Flow<Boolean> = flow {
         try {
-            // Try to fetch settings (should be accessible without auth)
+            // Try to fetch settings (should be accessible without auth); an unchanged
+            // table is answered with a 304 and served from the HTTP cache
             supabaseClient.postgrest
-                .from("settings")
-                .select()
-                .decodeList<Map<String, Any>>()
+                .rpc(function = "reference_settings") {
+                    method = RpcMethod.GET
+                }
+                .decodeList<JsonObject>()
             emit(true)
         } catch (e: Exception) {
             emit(false)
@@ -32,31 +43,34 @@ class DatabaseHelper @Inject constructor(
      */
     suspend fun verifyUserProfile(userId: String): Result<Boolean> {
         return try {
+            // Only the key of the one row, never other users' profiles
             val profiles = supabaseClient.postgrest
                 .from("profiles")
-                .select()
-                .decodeList<Map<String, Any>>()
+                .select(columns = Columns.list("id")) {
+                    filter { eq("id", userId) }
+                    limit(1)
+                }
+                .decodeList<JsonObject>()
             
-            val userExists = profiles.any { it["id"] == userId }
-            Result.success(userExists)
+            Result.success(profiles.isNotEmpty())
         } catch (e: Exception) {
             Result.failure(e)
         }
     }
     
     /**
-     * Get user role from profile
+     * Get user role through the get_user_role RPC
      */
     suspend fun getUserRole(userId: String): Result<String> {
         return try {
-            val profiles = supabaseClient.postgrest
-                .from("profiles")
-                .select()
-                .decodeList<Map<String, Any>>()
+            val role = supabaseClient.postgrest
+                .rpc(
+                    function = "get_user_role",
+                    parameters = buildJsonObject { put("user_id", userId) }
+                )
+                .decodeAs<JsonElement>()
             
-            val userProfile = profiles.find { it["id"] == userId }
-            val role = userProfile?.get("role") as? String ?: "customer"
-            Result.success(role)
+            Result.success((role as? JsonPrimitive)?.contentOrNull ?: "customer")
         } catch (e: Exception) {
             Result.failure(e)
         }
@@ -0,0 +1,109 @@
+package com.smartdrive.kenya.data.cache
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.Assert.assertEquals
+import org.junit.Assert.fail
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+class ReferenceDataCacheTest {
+
+    private val now = AtomicLong(0)
+    private val cache = ReferenceDataCache(ttlMillis = TTL_MILLIS, clock = { now.get() })
+    private val loads = AtomicInteger()
+
+    @Test
+    fun concurrentGetsShareOneLoad() = runBlocking {
+        val gate = CompletableDeferred<Unit>()
+        val callers = List(CALLERS) {
+            async(Dispatchers.Default) {
+                cache.get(KEY) {
+                    loads.incrementAndGet()
+                    gate.await()
+                    "locations"
+                }
+            }
+        }
+        // Every caller has joined the pending load before it is let through
+        awaitStats { it.misses + it.coalesced == CALLERS.toLong() }
+        gate.complete(Unit)
+
+        assertEquals(List(CALLERS) { "locations" }, callers.awaitAll())
+        assertEquals(1, loads.get())
+        assertEquals(ReferenceDataCache.Stats(hits = 0, misses = 1, coalesced = CALLERS - 1L), cache.stats())
+
+        assertEquals("locations", cache.get(KEY) { fail("loaded a cached value"); "" })
+        assertEquals(1L, cache.stats().hits)
+    }
+
+    @Test
+    fun valuesExpireAfterTheTtl() = runBlocking {
+        val load: suspend () -> Int = { loads.incrementAndGet() }
+
+        assertEquals(1, cache.get(KEY, load))
+        now.set(TTL_MILLIS - 1)
+        assertEquals(1, cache.get(KEY, load))
+        now.set(TTL_MILLIS)
+        assertEquals(2, cache.get(KEY, load))
+
+        assertEquals(ReferenceDataCache.Stats(hits = 1, misses = 2, coalesced = 0), cache.stats())
+    }
+
+    @Test
+    fun aLoadInFlightDuringInvalidateIsDiscarded() = runBlocking {
+        val gate = CompletableDeferred<Unit>()
+        val stale = async(Dispatchers.Default) {
+            cache.get(KEY) {
+                gate.await()
+                "stale"
+            }
+        }
+        awaitStats { it.misses == 1L }
+
+        cache.invalidate(KEY)
+        // The next caller starts its own load instead of joining the discarded one
+        assertEquals("fresh", cache.get(KEY) { "fresh" })
+        gate.complete(Unit)
+
+        // The caller that started the old load still gets its result; the cache does not
+        assertEquals("stale", stale.await())
+        assertEquals("fresh", cache.get(KEY) { "reloaded" })
+        assertEquals(ReferenceDataCache.Stats(hits = 1, misses = 2, coalesced = 0), cache.stats())
+    }
+
+    @Test
+    fun failedLoadsAreNotCached() = runBlocking {
+        try {
+            cache.get<String>(KEY) {
+                loads.incrementAndGet()
+                throw IllegalStateException("offline")
+            }
+            fail("the failure was not rethrown")
+        } catch (e: IllegalStateException) {
+            assertEquals("offline", e.message)
+        }
+
+        assertEquals("extras", cache.get(KEY) { loads.incrementAndGet(); "extras" })
+        assertEquals(2, loads.get())
+        assertEquals(ReferenceDataCache.Stats(hits = 0, misses = 2, coalesced = 0), cache.stats())
+    }
+
+    private suspend fun awaitStats(condition: (ReferenceDataCache.Stats) -> Boolean) {
+        withTimeout(5_000) {
+            while (!condition(cache.stats())) delay(1)
+        }
+    }
+
+    private companion object {
+        const val KEY = "rental_locations"
+        const val TTL_MILLIS = 60_000L
+        const val CALLERS = 16
+    }
+}
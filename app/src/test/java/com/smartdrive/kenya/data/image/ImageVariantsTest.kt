@@ -0,0 +1,53 @@
+package com.smartdrive.kenya.data.image
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class ImageVariantsTest {
+
+    @Test
+    fun supabaseObjectsUseTheRenderEndpoint() {
+        assertEquals(
+            "https://abc.supabase.co/storage/v1/render/image/public/vehicle-images/fleet/corolla%201.jpg" +
+                "?width=720&quality=75&resize=contain",
+            ImageVariants.sized("https://abc.supabase.co/storage/v1/object/public/vehicle-images/fleet/corolla%201.jpg", 700)
+        )
+    }
+
+    @Test
+    fun supabaseObjectsStayAsIsWithoutTransformations() {
+        val url = "https://abc.supabase.co/storage/v1/object/public/vehicle-images/fleet/1.jpg"
+        assertEquals(url, ImageVariants.sized(url, 700, renderStorageImages = false))
+        // Other hosts are still sized
+        assertEquals(
+            "https://images.unsplash.com/photo-1549399542?w=480&q=75&auto=format",
+            ImageVariants.sized("https://images.unsplash.com/photo-1549399542", 400, renderStorageImages = false)
+        )
+    }
+
+    @Test
+    fun unsplashWidthAndQualityAreReplaced() {
+        assertEquals(
+            "https://images.unsplash.com/photo-1549399542?w=480&q=75&auto=format",
+            ImageVariants.sized("https://images.unsplash.com/photo-1549399542?w=1200&q=80", 400)
+        )
+    }
+
+    @Test
+    fun otherUrlsAreLeftAlone() {
+        val url = "https://cdn.example.com/cars/1.jpg?w=1200"
+        assertEquals(url, ImageVariants.sized(url, 300))
+        assertEquals("not a url", ImageVariants.sized("not a url", 300))
+        // Private objects need a signed URL, which the render endpoint would not accept as is
+        val private = "https://abc.supabase.co/storage/v1/object/sign/vehicle-images/1.jpg?token=t"
+        assertEquals(private, ImageVariants.sized(private, 300))
+    }
+
+    @Test
+    fun widthsRoundUpToSharedSteps() {
+        assertEquals(160, ImageVariants.stepFor(1))
+        assertEquals(320, ImageVariants.stepFor(161))
+        assertEquals(1080, ImageVariants.stepFor(1080))
+        assertEquals(1440, ImageVariants.stepFor(4000))
+    }
+}
@@ -0,0 +1,144 @@
+package com.smartdrive.kenya.data.search
+
+import com.smartdrive.kenya.data.local.VehicleEntity
+import com.smartdrive.kenya.data.model.FacetValue
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.PriceBand
+import com.smartdrive.kenya.data.model.SeatsBand
+import com.smartdrive.kenya.data.model.Transmission
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class VehicleFacetIndexTest {
+
+    private val index = VehicleFacetIndex()
+
+    private val automatic = FacetValue.transmission(Transmission.AUTOMATIC)
+    private val manual = FacetValue.transmission(Transmission.MANUAL)
+    private val petrol = FacetValue.fuelType(FuelType.PETROL)
+    private val hybrid = FacetValue.fuelType(FuelType.HYBRID)
+    private val sevenPlus = FacetValue.seats(SeatsBand.SEVEN_PLUS)
+    private val gps = FacetValue.feature("GPS")
+    private val bluetooth = FacetValue.feature("Bluetooth")
+
+    private val catalog = listOf(
+        vehicle("1", "automatic", "petrol", seats = 5, features = listOf("GPS", "Bluetooth")),
+        vehicle("2", "automatic", "hybrid", seats = 7, features = listOf("Bluetooth")),
+        vehicle("3", "manual", "petrol", seats = 5, features = listOf("Bluetooth")),
+        vehicle("4", "manual", "diesel", seats = 8),
+        vehicle("5", "automatic", "petrol", seats = 4, price = 9_000.0, features = listOf("GPS", "Bluetooth"))
+    )
+
+    @Test
+    fun noSelectionCountsTheWholeCatalog() {
+        index.rebuild(catalog)
+        val results = index.results(emptySet())
+
+        assertNull(results.vehicles)
+        assertEquals(3, results.countOf(automatic))
+        assertEquals(2, results.countOf(manual))
+        assertEquals(2, results.countOf(sevenPlus))
+        assertEquals(1, results.countOf(FacetValue.priceBand(PriceBand.LUXURY)))
+        assertEquals(0, results.countOf(FacetValue.fuelType(FuelType.ELECTRIC)))
+        // Most common first
+        assertEquals(listOf(bluetooth, gps), results.features)
+    }
+
+    @Test
+    fun valuesInOneGroupAreOred() {
+        index.rebuild(catalog)
+
+        assertEquals(listOf("1", "2", "3", "5"), ids(setOf(petrol, hybrid)))
+        assertEquals(listOf("1", "2", "3", "4", "5"), ids(setOf(automatic, manual)))
+    }
+
+    @Test
+    fun groupsAreAnded() {
+        index.rebuild(catalog)
+
+        assertEquals(listOf("1", "5"), ids(setOf(automatic, petrol)))
+        assertEquals(listOf("1", "2", "5"), ids(setOf(automatic, petrol, hybrid)))
+        assertEquals(listOf("1", "5"), ids(setOf(automatic, gps)))
+        assertEquals(emptyList<String>(), ids(setOf(manual, gps)))
+        // A value no vehicle has narrows its group to nothing
+        assertEquals(emptyList<String>(), ids(setOf(automatic, FacetValue.fuelType(FuelType.ELECTRIC))))
+    }
+
+    @Test
+    fun chipCountsIgnoreTheirOwnGroup() {
+        index.rebuild(catalog)
+        val results = index.results(setOf(automatic, petrol))
+
+        // Transmission chips count against the fuel selection only
+        assertEquals(2, results.countOf(automatic))
+        assertEquals(1, results.countOf(manual))
+        // Fuel chips count against the transmission selection only
+        assertEquals(2, results.countOf(petrol))
+        assertEquals(1, results.countOf(hybrid))
+        assertEquals(0, results.countOf(FacetValue.fuelType(FuelType.DIESEL)))
+        // Other groups count against both
+        assertEquals(2, results.countOf(gps))
+        assertEquals(2, results.countOf(bluetooth))
+        assertEquals(0, results.countOf(sevenPlus))
+    }
+
+    @Test
+    fun resultsOfOneSnapshotShareCardsAndFeatures() {
+        index.rebuild(catalog)
+        val first = index.results(setOf(gps))
+        val second = index.results(setOf(gps, automatic))
+
+        assertSame(first.features, second.features)
+        assertSame(first.vehicles!![0], second.vehicles!![0])
+        // Earlier results keep their counts after later selections
+        assertEquals(2, first.countOf(automatic))
+        assertEquals(3, index.results(emptySet()).countOf(automatic))
+        assertEquals(2, first.countOf(automatic))
+    }
+
+    @Test
+    fun rebuildFollowsTheCatalog() {
+        index.rebuild(catalog)
+        index.rebuild(catalog.filter { it.id != "2" } + vehicle("6", "manual", "hybrid", seats = 7))
+
+        assertEquals(listOf("6"), ids(setOf(hybrid)))
+        assertEquals(listOf("4", "6"), ids(setOf(sevenPlus)))
+        // Spans more than one bitset word
+        val large = List(130) { vehicle("v$it", if (it % 2 == 0) "automatic" else "manual", "petrol", seats = 5) }
+        index.rebuild(large)
+        assertEquals(65, index.results(setOf(automatic)).vehicles!!.size)
+        assertEquals("v129", ids(setOf(manual)).last())
+    }
+
+    private fun ids(selection: Set<FacetValue>) = index.results(selection).vehicles!!.map { it.id }
+
+    private fun vehicle(
+        id: String,
+        transmission: String,
+        fuelType: String,
+        seats: Int,
+        price: Double = 3_500.0,
+        features: List<String> = emptyList()
+    ) = VehicleEntity(
+        id = id,
+        make = "Toyota",
+        model = "Corolla",
+        year = 2020,
+        licensePlate = "KAA 00${id}A",
+        color = null,
+        fuelType = fuelType,
+        transmission = transmission,
+        seatingCapacity = seats,
+        pricePerDay = price,
+        imageUrl = null,
+        status = "available",
+        features = features,
+        bodyType = null,
+        agentId = null,
+        createdAt = "2025-01-01T00:00:00+00:00",
+        updatedAt = null,
+        hasDetails = true
+    )
+}
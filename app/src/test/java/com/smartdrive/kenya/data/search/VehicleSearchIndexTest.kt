@@ -0,0 +1,172 @@
+package com.smartdrive.kenya.data.search
+
+import com.smartdrive.kenya.data.local.VehicleEntity
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class VehicleSearchIndexTest {
+
+    private val index = VehicleSearchIndex()
+
+    private val corolla = vehicle("1", "Toyota", "Corolla", plate = "KCA 123A", color = "White")
+    private val prado = vehicle("2", "Toyota", "Land Cruiser Prado", plate = "KDB 456B", color = "Black")
+    private val demio = vehicle("3", "Mazda", "Demio", plate = "KBZ 789C", color = "Red", features = listOf("Toyota Radio"))
+
+    @Test
+    fun everyTermMustMatch() {
+        index.update(listOf(corolla, prado, demio))
+
+        // The Demio matches through its "Toyota Radio" feature
+        assertEquals(setOf("1", "2", "3"), ids("toyota"))
+        assertEquals(listOf("2"), ids("toyota black").toList())
+        assertTrue(ids("toyota blue").isEmpty())
+        assertTrue(ids("  ").isEmpty())
+    }
+
+    @Test
+    fun prefixesMatchAsYouType() {
+        index.update(listOf(corolla, prado, demio))
+
+        assertEquals(setOf("1"), ids("coro"))
+        assertEquals(setOf("2"), ids("land cru"))
+        // Plates are found with or without the space
+        assertEquals(setOf("1"), ids("kca 12"))
+        assertEquals(setOf("1"), ids("kca123"))
+    }
+
+    @Test
+    fun typosWithinTheEditBudgetStillMatch() {
+        index.update(listOf(corolla, prado, demio))
+
+        assertEquals(setOf("1"), ids("corola"))
+        assertEquals(setOf("1"), ids("carolla"))
+        // Two edits are only allowed for long terms
+        assertTrue(ids("carola").isEmpty())
+        assertEquals(setOf("2"), ids("cruisre"))
+        // Numbers are never corrected
+        assertTrue(ids("2019").isEmpty())
+    }
+
+    @Test
+    fun rankingPrefersExactMatchesAndStrongerFields() {
+        val mark = vehicle("4", "Toyota", "Mark X", plate = "KCC 100D", createdAt = "2025-01-01T00:00:00+00:00")
+        val markus = vehicle("5", "Toyota", "Markus", plate = "KCC 200D", createdAt = "2025-06-01T00:00:00+00:00")
+        index.update(listOf(corolla, prado, demio, mark, markus))
+
+        // Exact "mark" beats the prefix match on the newer "markus"
+        assertEquals(listOf("4", "5"), index.search("mark").map { it.id })
+        // A make match outranks the same word in a feature
+        assertEquals("3", index.search("toyota").last().id)
+        // Equal scores fall back to newest first; the one-typo "kca" comes last
+        assertEquals(listOf("5", "4", "1"), index.search("kcc").map { it.id })
+    }
+
+    @Test
+    fun updateAddsChangesAndRemovesVehicles() {
+        index.update(listOf(corolla, prado))
+        assertEquals(setOf("1"), ids("corolla"))
+
+        // A price change keeps the postings; a model change reindexes
+        index.update(listOf(corolla.copy(pricePerDay = 9_999.0), prado.copy(model = "Hilux")))
+        assertEquals(9_999.0, index.search("corolla").single().pricePerDay, 0.0)
+        assertTrue(ids("prado").isEmpty())
+        assertEquals(setOf("2"), ids("hilux"))
+
+        index.update(listOf(prado.copy(model = "Hilux"), demio))
+        assertTrue(ids("corolla").isEmpty())
+        assertEquals(setOf("3"), ids("demio"))
+    }
+
+    @Test
+    fun freedSlotsDoNotKeepTheRemovedVehicleTerms() {
+        index.update(listOf(corolla, prado))
+        index.update(listOf(prado))
+        // The new vehicle takes the slot the Corolla was in
+        val fielder = vehicle("6", "Toyota", "Fielder", plate = "KDD 321E", color = "Silver")
+        index.update(listOf(prado, fielder))
+
+        assertTrue(ids("corolla").isEmpty())
+        assertTrue(ids("white").isEmpty())
+        assertEquals(setOf("6"), ids("fielder silver"))
+        assertEquals(setOf("2", "6"), ids("toyota"))
+
+        index.update(listOf(prado, fielder, corolla))
+        assertEquals(setOf("1"), ids("corolla white"))
+        assertEquals(setOf("1", "2", "6"), ids("toyota"))
+    }
+
+    @Test
+    fun searchesATenThousandVehicleFleetWithinEightMillis() {
+        val fleet = List(10_000) { i ->
+            val (make, model) = MODELS[i % MODELS.size]
+            vehicle(
+                id = "v$i",
+                make = make,
+                model = model,
+                year = 2010 + i % 15,
+                plate = "K%s%s %03d%s".format(('A' + i % 26), ('A' + i / 26 % 26), i % 1000, ('A' + i / 676 % 26)),
+                color = COLORS[i % COLORS.size],
+                features = FEATURES.filterIndexed { f, _ -> (i shr f) and 1 == 1 }
+            )
+        }
+        index.update(fleet)
+
+        val queries = listOf("toy", "toyota corola", "prado white", "kca", "subaru forestr 2018", "bluetooth red", "m")
+        repeat(WARMUP_ROUNDS) { queries.forEach { index.search(it) } }
+        queries.forEach { query ->
+            val timings = LongArray(MEASURED_ROUNDS) {
+                val start = System.nanoTime()
+                index.search(query)
+                System.nanoTime() - start
+            }.sorted()
+            val medianMillis = timings[timings.size / 2] / 1_000_000.0
+            assertTrue("\"$query\" took ${medianMillis}ms", medianMillis < 8.0)
+        }
+    }
+
+    private fun ids(query: String) = index.search(query).mapTo(HashSet()) { it.id }
+
+    private fun vehicle(
+        id: String,
+        make: String,
+        model: String,
+        year: Int = 2020,
+        plate: String,
+        color: String? = null,
+        features: List<String> = emptyList(),
+        createdAt: String = "2025-01-01T00:00:00+00:00"
+    ) = VehicleEntity(
+        id = id,
+        make = make,
+        model = model,
+        year = year,
+        licensePlate = plate,
+        color = color,
+        fuelType = "petrol",
+        transmission = "automatic",
+        seatingCapacity = 5,
+        pricePerDay = 3_500.0,
+        imageUrl = null,
+        status = "available",
+        features = features,
+        bodyType = null,
+        agentId = null,
+        createdAt = createdAt,
+        updatedAt = null,
+        hasDetails = true
+    )
+
+    private companion object {
+        const val WARMUP_ROUNDS = 200
+        const val MEASURED_ROUNDS = 51
+
+        val MODELS = listOf(
+            "Toyota" to "Corolla", "Toyota" to "Land Cruiser Prado", "Toyota" to "Vitz", "Nissan" to "Note",
+            "Nissan" to "X-Trail", "Mazda" to "Demio", "Subaru" to "Forester", "Honda" to "Fit",
+            "Mitsubishi" to "Outlander", "Volkswagen" to "Polo", "Mercedes-Benz" to "C200", "Isuzu" to "D-Max"
+        )
+        val COLORS = listOf("White", "Silver", "Black", "Red", "Blue", "Grey")
+        val FEATURES = listOf("Bluetooth", "GPS", "Air Conditioning", "Reverse Camera", "Sunroof")
+    }
+}
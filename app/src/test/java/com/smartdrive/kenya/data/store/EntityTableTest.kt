@@ -0,0 +1,60 @@
+package com.smartdrive.kenya.data.store
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class EntityTableTest {
+
+    private data class Row(val id: String, val value: Int)
+
+    private val table = EntityTable<Row> { it.id }
+
+    @Test
+    fun internKeepsTheStoredInstance() {
+        val stored = Row("a", 1)
+        table.putAll(listOf(stored))
+
+        // An equal copy and a stale one both resolve to what is stored
+        assertSame(stored, table.intern(Row("a", 1)))
+        assertSame(stored, table.intern(Row("a", 0)))
+        assertSame(stored, table["a"])
+    }
+
+    @Test
+    fun internAllStoresOnlyUnknownRows() {
+        val stored = Row("a", 1)
+        table.putAll(listOf(stored))
+        val b = Row("b", 2)
+
+        val interned = table.internAll(listOf(Row("a", 0), b, Row("b", 3)))
+
+        assertSame(stored, interned[0])
+        assertSame(b, interned[1])
+        // A repeated id within the batch shares the first instance
+        assertSame(b, interned[2])
+        assertEquals(mapOf("a" to stored, "b" to b), table.entities.value)
+    }
+
+    @Test
+    fun putAllReplacesChangedRowsOnly() {
+        val a = Row("a", 1)
+        table.putAll(listOf(a, Row("b", 2)))
+
+        table.putAll(listOf(Row("a", 1), Row("b", 5)))
+
+        assertSame(a, table["a"])
+        assertEquals(Row("b", 5), table["b"])
+    }
+
+    @Test
+    fun replaceAllDropsMissingRowsAndReusesUnchangedOnes() {
+        val a = Row("a", 1)
+        table.putAll(listOf(a, Row("b", 2)))
+
+        table.replaceAll(listOf(Row("a", 1), Row("c", 3)))
+
+        assertSame(a, table["a"])
+        assertEquals(setOf("a", "c"), table.entities.value.keys)
+    }
+}
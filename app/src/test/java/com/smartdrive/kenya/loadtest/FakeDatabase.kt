@@ -0,0 +1,362 @@
+package com.smartdrive.kenya.loadtest
+
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.Rental
+import com.smartdrive.kenya.data.model.RentalExtraSelection
+import com.smartdrive.kenya.data.model.RentalStatus
+import com.smartdrive.kenya.data.pricing.PricingRules
+import com.smartdrive.kenya.data.pricing.centsToAmount
+import com.smartdrive.kenya.data.pricing.toCents
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.contentOrNull
+import kotlinx.serialization.json.encodeToJsonElement
+import kotlinx.serialization.json.intOrNull
+import kotlinx.serialization.json.jsonArray
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneOffset
+import java.time.format.DateTimeFormatter
+import java.util.UUID
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/** Rows are encoded with every column present, the way PostgREST returns them. */
+val RowJson = Json { encodeDefaults = true; explicitNulls = true }
+
+/** A parsed `GET /rest/v1/<table>` query string. */
+data class RestQuery(
+    val filter: Filter,
+    val order: List<OrderTerm>,
+    val limit: Int?,
+    val offset: Int,
+    val select: List<SelectItem>
+) {
+    companion object {
+        private val RESERVED = setOf("select", "order", "limit", "offset", "columns", "on_conflict")
+
+        fun parse(params: List<Pair<String, String>>): RestQuery {
+            val filters = params.filter { (name, _) -> name !in RESERVED }.map { (name, value) ->
+                when (name) {
+                    "or", "and" -> Filter.parseLogic(name, value)
+                    else -> Filter.parseCondition(name, value)
+                }
+            }
+            fun param(name: String) = params.lastOrNull { it.first == name }?.second
+            return RestQuery(
+                filter = Filter.All(filters),
+                order = param("order")?.let(::parseOrder) ?: emptyList(),
+                limit = param("limit")?.toInt(),
+                offset = param("offset")?.toInt() ?: 0,
+                select = parseSelect(param("select"))
+            )
+        }
+    }
+}
+
+/**
+ * The seeded tables behind [FakeSupabaseServer], with the PostgREST query
+ * semantics and the RPCs the repositories call. Reads share a read lock;
+ * writes and the booking RPC take the write lock, which stands in for the
+ * row locks and transaction of `create_rental`. There is no row level
+ * security: every authenticated caller sees every row.
+ */
+class FakeDatabase {
+
+    private val lock = ReentrantReadWriteLock()
+
+    val tables: Map<String, FakeTable> = listOf(
+        FakeTable("vehicles", setOf("status")),
+        FakeTable("rental_locations"),
+        FakeTable("rental_extras"),
+        FakeTable("profiles"),
+        FakeTable("rentals", setOf("customer_id", "vehicle_id")),
+        FakeTable("rental_extra_selections", setOf("rental_id")),
+        FakeTable("payments", setOf("rental_id")),
+        FakeTable("reviews", setOf("rental_id"))
+    ).associateBy { it.name }
+
+    // Foreign keys PostgREST would detect from the schema, seen from the embedding table
+    private val relations: Map<String, List<Relation>> = mapOf(
+        "rentals" to listOf(
+            Relation("vehicles", localColumn = "vehicle_id", foreignColumn = "id", many = false),
+            Relation("rental_locations", "pickup_location_id", "id", many = false, hint = "pickup_location_id"),
+            Relation("rental_locations", "return_location_id", "id", many = false, hint = "return_location_id"),
+            Relation("rental_extra_selections", "id", "rental_id", many = true),
+            Relation("payments", "id", "rental_id", many = true),
+            // rental_id is unique on reviews, so the review embeds as one object
+            Relation("reviews", "id", "rental_id", many = false)
+        )
+    )
+
+    private val functions: Map<String, RpcFunction> = listOf(
+        RpcFunction("create_rental", volatile = true, body = ::createRental),
+        RpcFunction("get_user_role") { uid, _ ->
+            uid?.let { table("profiles")[it]?.get("role") } ?: JsonNull
+        },
+        RpcFunction("is_vehicle_available") { _, args ->
+            JsonPrimitive(
+                isAvailable(
+                    args.string("vehicle_uuid"),
+                    LocalDate.parse(args.string("start_date")),
+                    LocalDate.parse(args.string("end_date"))
+                )
+            )
+        },
+        RpcFunction("search_available_vehicles", returnsTable = "vehicles") { _, args ->
+            val start = LocalDate.parse(args.string("p_start_date"))
+            val end = LocalDate.parse(args.string("p_end_date"))
+            val locationId = args["p_location_id"]?.jsonPrimitive?.contentOrNull
+            JsonArray(
+                table("vehicles").where("status", "available")
+                    .filter { locationId == null || it.text("location_id") == locationId }
+                    .filter { isAvailable(it.text("id")!!, start, end) }
+                    .sortedWith(comparatorOf(parseOrder("price_per_day,created_at.desc,id.desc")))
+            )
+        },
+        RpcFunction("reference_rental_locations", returnsTable = "rental_locations") { _, _ ->
+            JsonArray(table("rental_locations").all().sortedWith(comparatorOf(parseOrder("name"))))
+        },
+        RpcFunction("reference_rental_extras", returnsTable = "rental_extras") { _, _ ->
+            JsonArray(table("rental_extras").all().sortedWith(comparatorOf(parseOrder("category,name"))))
+        }
+    ).associateBy { it.name }
+
+    private class RpcFunction(
+        val name: String,
+        /** Set for set-returning functions, whose rows take `select`, filters and `order`. */
+        val returnsTable: String? = null,
+        val volatile: Boolean = false,
+        val body: (uid: String?, args: JsonObject) -> JsonElement
+    )
+
+    /** The profile role the access token hook would put in the `user_role` claim. */
+    fun roleOf(uid: String): String? = lock.read { table("profiles")[uid]?.text("role") }
+
+    fun table(name: String): FakeTable =
+        tables[name] ?: throw PostgrestError(404, "42P01", "relation \"public.$name\" does not exist")
+
+    // ================== TABLES ==================
+
+    /** Matching rows, projected, plus the match count before `limit` / `offset`. */
+    fun select(tableName: String, query: RestQuery): Pair<List<JsonObject>, Int> = lock.read {
+        applyQuery(tableName, table(tableName).candidates(query.filter), query)
+    }
+
+    fun insert(tableName: String, rows: List<JsonObject>, select: List<SelectItem>): List<JsonObject> = lock.write {
+        val table = table(tableName)
+        rows.map { row ->
+            val complete = JsonObject(
+                buildMap {
+                    put("id", JsonPrimitive(UUID.randomUUID().toString()))
+                    put("created_at", JsonPrimitive(Timestamps.now()))
+                    putAll(row)
+                }
+            )
+            if (table[complete.text("id")!!] != null) {
+                throw PostgrestError(409, "23505", "duplicate key value violates unique constraint \"${tableName}_pkey\"")
+            }
+            table.upsert(complete)
+            project(tableName, complete, select)
+        }
+    }
+
+    fun update(tableName: String, query: RestQuery, patch: JsonObject): List<JsonObject> = lock.write {
+        val table = table(tableName)
+        table.candidates(query.filter)
+            .filter(query.filter::matches)
+            .map { it.text("id")!! }
+            .mapNotNull { id -> table.update(id, patch) }
+            .map { project(tableName, it, query.select) }
+    }
+
+    // ================== RPC ==================
+
+    /** The function's result; rows of set-returning functions go through [query]. */
+    fun rpc(name: String, uid: String?, args: JsonObject, query: RestQuery): JsonElement {
+        val function = functions[name]
+            ?: throw PostgrestError(404, "PGRST202", "Could not find the function public.$name in the schema cache")
+        val call = {
+            val result = function.body(uid, args)
+            val tableName = function.returnsTable
+            if (tableName != null && result is JsonArray) {
+                JsonArray(applyQuery(tableName, result.map { it.jsonObject }, query).first)
+            } else {
+                result
+            }
+        }
+        return if (function.volatile) lock.write(call) else lock.read(call)
+    }
+
+    private fun applyQuery(tableName: String, candidates: Collection<JsonObject>, query: RestQuery): Pair<List<JsonObject>, Int> {
+        val matches = candidates.filter(query.filter::matches)
+        val sorted = if (query.order.isEmpty()) matches else matches.sortedWith(comparatorOf(query.order))
+        val page = sorted.asSequence()
+            .drop(query.offset)
+            .let { rows -> query.limit?.let(rows::take) ?: rows }
+            .map { project(tableName, it, query.select) }
+            .toList()
+        return page to matches.size
+    }
+
+    private fun project(tableName: String, row: JsonObject, items: List<SelectItem>): JsonObject {
+        val projected = LinkedHashMap<String, JsonElement>()
+        for (item in items) {
+            when (item) {
+                SelectItem.Star -> projected.putAll(row)
+                is SelectItem.Column -> projected[item.alias ?: item.name] = row[item.name]
+                    ?: throw PostgrestError(400, "42703", "column $tableName.${item.name} does not exist")
+                is SelectItem.Embed -> {
+                    val relation = relationFor(tableName, item)
+                    val key = row.text(relation.localColumn)
+                    val related = if (key == null) emptyList() else table(relation.table).where(relation.foreignColumn, key)
+                    projected[item.alias ?: item.table] = if (relation.many) {
+                        JsonArray(related.map { project(relation.table, it, item.items) })
+                    } else {
+                        related.firstOrNull()?.let { project(relation.table, it, item.items) } ?: JsonNull
+                    }
+                }
+            }
+        }
+        return JsonObject(projected)
+    }
+
+    private fun relationFor(tableName: String, embed: SelectItem.Embed): Relation {
+        val candidates = relations[tableName].orEmpty()
+            .filter { it.table == embed.table && (embed.hint == null || it.hint == embed.hint) }
+        return when (candidates.size) {
+            1 -> candidates.single()
+            0 -> throw PostgrestError(
+                400, "PGRST200", "Could not find a relationship between '$tableName' and '${embed.table}' in the schema cache"
+            )
+            else -> throw PostgrestError(
+                300, "PGRST201", "Could not embed because more than one relationship was found for '$tableName' and '${embed.table}'"
+            )
+        }
+    }
+
+    // ================== BOOKING ==================
+
+    private fun isAvailable(vehicleId: String, start: LocalDate, end: LocalDate): Boolean {
+        val vehicle = table("vehicles")[vehicleId] ?: return false
+        return vehicle.text("status") == "available" && table("rentals").where("vehicle_id", vehicleId).none { rental ->
+            rental.text("status") !in INACTIVE_STATUSES &&
+                rental.text("pickup_date")!! <= end.toString() &&
+                rental.text("return_date")!! >= start.toString()
+        }
+    }
+
+    /** Mirrors the `create_rental` function, pricing with the same [PricingRules]. */
+    private fun createRental(uid: String?, args: JsonObject): JsonElement {
+        uid ?: throw PostgrestError(403, "28000", "User not authenticated")
+        val vehicleId = args.string("p_vehicle_id")
+        val pickupDate = LocalDate.parse(args.string("p_pickup_date"))
+        val returnDate = LocalDate.parse(args.string("p_return_date"))
+        if (returnDate < pickupDate) {
+            throw PostgrestError(400, "22023", "Return date must be after pickup date")
+        }
+        val vehicle = table("vehicles")[vehicleId] ?: throw PostgrestError(400, "P0002", "Vehicle not found")
+        if (!isAvailable(vehicleId, pickupDate, returnDate)) {
+            throw PostgrestError(400, "P0001", "Vehicle is not available for the selected dates")
+        }
+
+        val selections = args["p_extras"]?.jsonArray.orEmpty().map { selection ->
+            val fields = selection.jsonObject
+            fields["rental_extra_id"]?.jsonPrimitive?.contentOrNull to fields["quantity"]?.jsonPrimitive?.intOrNull
+        }
+        val invalid = selections.any { (id, quantity) ->
+            id == null || quantity == null || quantity !in 1..PricingRules.MAX_EXTRA_QUANTITY
+        }
+        if (invalid || selections.map { it.first }.toSet().size != selections.size) {
+            throw PostgrestError(400, "22023", "Each extra must appear once with a quantity between 1 and 10")
+        }
+
+        val days = PricingRules.rentalDays(pickupDate, returnDate)
+        val extras = selections.mapNotNull { (id, quantity) ->
+            val extra = table("rental_extras")[id!!]
+                ?.takeIf { it.text("is_active") == "true" }
+                ?: return@mapNotNull null
+            extra to quantity!!
+        }
+        val dailyRate = vehicle.text("price_per_day")!!.toDouble()
+        val price = PricingRules.quote(
+            dailyRateCents = dailyRate.toCents(),
+            days = days,
+            insuranceType = InsuranceType.fromString(args.string("p_insurance_type")),
+            extrasDailyCents = extras.sumOf { (extra, quantity) -> extra.text("daily_rate")!!.toDouble().toCents() * quantity }
+        )
+
+        val rental = Rental(
+            id = UUID.randomUUID().toString(),
+            customerId = uid,
+            vehicleId = vehicleId,
+            pickupLocationId = args.string("p_pickup_location_id"),
+            returnLocationId = args.string("p_return_location_id"),
+            pickupDate = pickupDate.toString(),
+            pickupTime = args.string("p_pickup_time"),
+            returnDate = returnDate.toString(),
+            returnTime = args.string("p_return_time"),
+            dailyRate = dailyRate,
+            totalDays = days,
+            subtotal = price.subtotalCents.centsToAmount(),
+            insuranceCost = price.insuranceCents.centsToAmount(),
+            taxAmount = price.taxCents.centsToAmount(),
+            depositAmount = price.depositCents.centsToAmount(),
+            totalAmount = price.totalCents.centsToAmount(),
+            status = RentalStatus.PENDING,
+            insuranceType = InsuranceType.fromString(args.string("p_insurance_type")),
+            specialRequests = args["p_special_requests"]?.jsonPrimitive?.contentOrNull,
+            createdAt = Timestamps.now()
+        )
+        val row = RowJson.encodeToJsonElement(rental).jsonObject
+        table("rentals").upsert(row)
+        extras.forEach { (extra, quantity) ->
+            val extraRate = extra.text("daily_rate")!!.toDouble()
+            val selection = RentalExtraSelection(
+                id = UUID.randomUUID().toString(),
+                rentalId = rental.id,
+                rentalExtraId = extra.text("id")!!,
+                quantity = quantity,
+                dailyRate = extraRate,
+                totalCost = (extraRate.toCents() * quantity * days).centsToAmount()
+            )
+            table("rental_extra_selections").upsert(RowJson.encodeToJsonElement(selection).jsonObject)
+        }
+        return row
+    }
+
+    private fun JsonObject.string(key: String): String =
+        this[key]?.jsonPrimitive?.contentOrNull
+            ?: throw PostgrestError(400, "22004", "argument $key must not be null")
+
+    companion object {
+        private val INACTIVE_STATUSES = setOf(RentalStatus.CANCELLED.value, RentalStatus.COMPLETED.value)
+    }
+}
+
+/**
+ * `timestamptz` values as PostgREST renders them. The fixed width keeps text
+ * order equal to time order, which keyset filters on `created_at` rely on, and
+ * [now] never repeats a value, like a fast-moving `now()` would not either.
+ */
+object Timestamps {
+    private val format = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS'+00:00'").withZone(ZoneOffset.UTC)
+    private val lastMicros = AtomicLong()
+
+    fun of(instant: Instant): String = format.format(instant)
+
+    fun now(): String {
+        val wall = Instant.now().let { it.epochSecond * 1_000_000 + it.nano / 1_000 }
+        val micros = lastMicros.updateAndGet { previous -> maxOf(previous + 1, wall) }
+        return of(Instant.ofEpochSecond(micros / 1_000_000, (micros % 1_000_000) * 1_000))
+    }
+}
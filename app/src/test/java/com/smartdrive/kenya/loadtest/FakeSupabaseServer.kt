@@ -0,0 +1,317 @@
+package com.smartdrive.kenya.loadtest
+
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.add
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.contentOrNull
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
+import kotlinx.serialization.json.put
+import kotlinx.serialization.json.putJsonArray
+import kotlinx.serialization.json.putJsonObject
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import java.io.Closeable
+import java.net.URLDecoder
+import java.security.MessageDigest
+import java.time.Instant
+import java.util.Base64
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Local stand-in for the Supabase project: the GoTrue and PostgREST endpoints
+ * `SupabaseClient` talks to, served by [MockWebServer] from a [FakeDatabase].
+ *
+ * GoTrue signs up and signs in with email and password and issues unsigned
+ * JWTs carrying `sub`, `role` and the `user_role` claim. PostgREST answers
+ * table reads, inserts and updates with filters, `order`, `limit`, `offset`,
+ * column selection and embeds, plus the RPCs in [FakeDatabase]. Errors use the
+ * PostgREST and GoTrue JSON shapes, so the client raises its usual exceptions.
+ *
+ * Every response is held back by [latencyMillis] to stand in for the network
+ * and database time of the real project. Nothing leaves the loopback interface.
+ */
+class FakeSupabaseServer(
+    val database: FakeDatabase,
+    users: List<FakeUser>,
+    private val latencyMillis: Long = 0
+) : Closeable {
+
+    private val server = MockWebServer()
+    private val usersByEmail = ConcurrentHashMap<String, FakeUser>()
+    private val usersById = ConcurrentHashMap<String, FakeUser>()
+    private val refreshTokens = ConcurrentHashMap<String, String>()
+    private val requestCounts = ConcurrentHashMap<String, LongAdder>()
+
+    val url: String
+
+    init {
+        users.forEach(::addUser)
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse = handle(request)
+        }
+        server.start()
+        url = server.url("/").toString().removeSuffix("/")
+    }
+
+    /** Requests served per `METHOD /path` since the last [resetCounts]. */
+    fun requestCounts(): Map<String, Long> = requestCounts.mapValues { it.value.sum() }
+
+    fun resetCounts() {
+        requestCounts.clear()
+        // MockWebServer keeps every request for takeRequest(); drop them so memory stays flat
+        while (server.takeRequest(0, TimeUnit.MILLISECONDS) != null) Unit
+    }
+
+    override fun close() = server.shutdown()
+
+    private fun addUser(user: FakeUser) {
+        usersByEmail[user.email] = user
+        usersById[user.id] = user
+    }
+
+    private fun handle(request: RecordedRequest): MockResponse {
+        val path = request.requestUrl?.encodedPath ?: "/"
+        requestCounts.getOrPut("${request.method} $path") { LongAdder() }.increment()
+
+        val response = try {
+            if (request.getHeader("apikey") != ANON_KEY) {
+                throw PostgrestError(401, "PGRST301", "Invalid API key")
+            }
+            when {
+                path.startsWith(AUTH_PATH) -> auth(request, path.removePrefix(AUTH_PATH))
+                path.startsWith(RPC_PATH) -> rpc(request, path.removePrefix(RPC_PATH))
+                path.startsWith(REST_PATH) -> rest(request, path.removePrefix(REST_PATH))
+                else -> throw PostgrestError(404, "PGRST125", "Invalid path specified in request URL")
+            }
+        } catch (e: PostgrestError) {
+            json(e.status, buildJsonObject {
+                put("code", e.code)
+                put("message", e.message)
+                put("details", null as String?)
+                put("hint", null as String?)
+            })
+        } catch (e: AuthError) {
+            json(e.status, buildJsonObject {
+                put("code", e.status)
+                put("error_code", e.code)
+                put("msg", e.message)
+            })
+        } catch (e: SerializationException) {
+            json(400, buildJsonObject {
+                put("code", "PGRST102")
+                put("message", "Empty or invalid json: ${e.message}")
+            })
+        }
+
+        if (latencyMillis > 0) response.setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS)
+        return response
+    }
+
+    // ================== GOTRUE ==================
+
+    private class AuthError(val status: Int, val code: String, message: String) : Exception(message)
+
+    private fun auth(request: RecordedRequest, endpoint: String): MockResponse = when (endpoint) {
+        "token" -> when (request.requestUrl?.queryParameter("grant_type")) {
+            "password" -> {
+                val body = request.jsonBody()
+                val user = usersByEmail[body.string("email")]
+                    ?.takeIf { it.password == body.string("password") }
+                    ?: throw AuthError(400, "invalid_credentials", "Invalid login credentials")
+                json(200, session(user))
+            }
+            "refresh_token" -> {
+                val user = refreshTokens.remove(request.jsonBody().string("refresh_token"))?.let(usersById::get)
+                    ?: throw AuthError(400, "refresh_token_not_found", "Invalid Refresh Token: Refresh Token Not Found")
+                json(200, session(user))
+            }
+            else -> throw AuthError(400, "unsupported_grant_type", "Unsupported grant type")
+        }
+        "signup" -> {
+            val body = request.jsonBody()
+            val email = body.string("email") ?: throw AuthError(400, "validation_failed", "Email is required")
+            val user = FakeUser(
+                id = UUID.randomUUID().toString(),
+                email = email,
+                password = body.string("password") ?: throw AuthError(400, "validation_failed", "Password is required"),
+                createdAt = Instant.now().toString()
+            )
+            if (usersByEmail.putIfAbsent(email, user) != null) {
+                throw AuthError(422, "user_already_exists", "User already registered")
+            }
+            usersById[user.id] = user
+            // Email confirmation is off, so sign-up signs straight in
+            json(200, session(user))
+        }
+        "user" -> json(200, userJson(requireUser(request)))
+        "logout" -> {
+            requireUser(request)
+            MockResponse().setResponseCode(204)
+        }
+        else -> throw AuthError(404, "not_found", "Unknown endpoint /auth/v1/$endpoint")
+    }
+
+    private fun requireUser(request: RecordedRequest): FakeUser =
+        callerId(request)?.let(usersById::get) ?: throw AuthError(401, "bad_jwt", "invalid JWT")
+
+    private fun session(user: FakeUser): JsonObject {
+        val refreshToken = UUID.randomUUID().toString()
+        refreshTokens[refreshToken] = user.id
+        return buildJsonObject {
+            put("access_token", accessToken(user))
+            put("token_type", "bearer")
+            put("expires_in", TOKEN_LIFETIME_SECONDS)
+            put("refresh_token", refreshToken)
+            put("user", userJson(user))
+        }
+    }
+
+    private fun accessToken(user: FakeUser): String {
+        val now = Instant.now().epochSecond
+        val claims = buildJsonObject {
+            put("sub", user.id)
+            put("email", user.email)
+            put("aud", "authenticated")
+            put("role", "authenticated")
+            put("user_role", database.roleOf(user.id))
+            put("session_id", UUID.randomUUID().toString())
+            put("iat", now)
+            put("exp", now + TOKEN_LIFETIME_SECONDS)
+        }
+        return "$JWT_HEADER.${base64Url(claims.toString())}.unsigned"
+    }
+
+    private fun userJson(user: FakeUser) = buildJsonObject {
+        put("id", user.id)
+        put("aud", "authenticated")
+        put("role", "authenticated")
+        put("email", user.email)
+        put("phone", "")
+        put("email_confirmed_at", user.createdAt)
+        put("confirmed_at", user.createdAt)
+        put("last_sign_in_at", Instant.now().toString())
+        putJsonObject("app_metadata") {
+            put("provider", "email")
+            putJsonArray("providers") { add("email") }
+        }
+        putJsonObject("user_metadata") {}
+        putJsonArray("identities") {}
+        put("created_at", user.createdAt)
+        put("updated_at", user.createdAt)
+    }
+
+    /** `sub` of the bearer token, or null for the anon key and unknown tokens. */
+    private fun callerId(request: RecordedRequest): String? {
+        val token = request.getHeader("Authorization")?.removePrefix("Bearer ") ?: return null
+        return try {
+            val payload = String(Base64.getUrlDecoder().decode(token.split('.')[1]))
+            val claims = Json.parseToJsonElement(payload).jsonObject
+            claims.takeIf { it.string("role") == "authenticated" }?.string("sub")
+        } catch (e: Exception) {
+            null
+        }
+    }
+
+    // ================== POSTGREST ==================
+
+    private fun rest(request: RecordedRequest, table: String): MockResponse {
+        val query = RestQuery.parse(request.queryParams())
+        val prefer = request.getHeader("Prefer").orEmpty()
+        return when (request.method) {
+            "GET", "HEAD" -> {
+                val (rows, total) = database.select(table, query)
+                val range = if (rows.isEmpty()) "*" else "${query.offset}-${query.offset + rows.size - 1}"
+                rowsResponse(request, 200, rows)
+                    .setHeader("Content-Range", "$range/${if ("count=exact" in prefer) total else "*"}")
+            }
+            "POST" -> {
+                val body = Json.parseToJsonElement(request.body.readUtf8())
+                val rows = if (body is JsonArray) body.map { it.jsonObject } else listOf(body.jsonObject)
+                val inserted = database.insert(table, rows, query.select)
+                if ("return=representation" in prefer) rowsResponse(request, 201, inserted) else MockResponse().setResponseCode(201)
+            }
+            "PATCH" -> {
+                val updated = database.update(table, query, request.jsonBody())
+                if ("return=representation" in prefer) rowsResponse(request, 200, updated) else MockResponse().setResponseCode(204)
+            }
+            else -> throw PostgrestError(405, "PGRST117", "Unsupported HTTP method: ${request.method}")
+        }
+    }
+
+    /**
+     * POST passes the arguments as a JSON body. GET is only used for functions
+     * without arguments here, so its query string is read as filters and `select`.
+     */
+    private fun rpc(request: RecordedRequest, function: String): MockResponse {
+        val query = RestQuery.parse(request.queryParams())
+        val args = if (request.method == "POST") request.jsonBody() else JsonObject(emptyMap())
+        val result = database.rpc(function, callerId(request), args, query)
+        if (request.method != "GET") return json(200, result)
+
+        // Reference data answers If-None-Match like the etag_matches() functions do
+        val body = result.toString()
+        val etag = "\"" + MessageDigest.getInstance("MD5").digest(body.toByteArray())
+            .joinToString("") { "%02x".format(it) } + "\""
+        return if (request.getHeader("If-None-Match") == etag) {
+            MockResponse().setResponseCode(304).setHeader("ETag", etag)
+        } else {
+            json(200, result).setHeader("ETag", etag)
+        }
+    }
+
+    private fun rowsResponse(request: RecordedRequest, status: Int, rows: List<JsonObject>): MockResponse {
+        if (request.getHeader("Accept")?.contains(SINGLE_OBJECT) == true) {
+            if (rows.size != 1) {
+                throw PostgrestError(406, "PGRST116", "JSON object requested, multiple (or no) rows returned")
+            }
+            return json(status, rows.single())
+        }
+        return json(status, JsonArray(rows))
+    }
+
+    private fun json(status: Int, body: JsonElement): MockResponse = MockResponse()
+        .setResponseCode(status)
+        .setHeader("Content-Type", "application/json; charset=utf-8")
+        .setBody(body.toString())
+
+    private fun RecordedRequest.jsonBody(): JsonObject {
+        val text = body.readUtf8()
+        return if (text.isBlank()) JsonObject(emptyMap()) else Json.parseToJsonElement(text).jsonObject
+    }
+
+    // Decoded by hand: HttpUrl turns '+' into a space, which breaks timestamp offsets
+    private fun RecordedRequest.queryParams(): List<Pair<String, String>> =
+        requestUrl?.encodedQuery?.split('&').orEmpty().filter { it.isNotEmpty() }.map { pair ->
+            decode(pair.substringBefore('=')) to decode(pair.substringAfter('=', ""))
+        }
+
+    private fun decode(value: String): String = URLDecoder.decode(value.replace("+", "%2B"), Charsets.UTF_8.name())
+
+    private fun JsonObject.string(key: String): String? = this[key]?.jsonPrimitive?.contentOrNull
+
+    companion object {
+        /** The anon key every request must carry in its `apikey` header. */
+        const val ANON_KEY = "load-test-anon-key"
+
+        private const val AUTH_PATH = "/auth/v1/"
+        private const val RPC_PATH = "/rest/v1/rpc/"
+        private const val REST_PATH = "/rest/v1/"
+        private const val SINGLE_OBJECT = "application/vnd.pgrst.object+json"
+        private const val TOKEN_LIFETIME_SECONDS = 3600L
+
+        private val JWT_HEADER = base64Url("""{"alg":"HS256","typ":"JWT"}""")
+
+        private fun base64Url(text: String): String =
+            Base64.getUrlEncoder().withoutPadding().encodeToString(text.toByteArray())
+    }
+}
@@ -0,0 +1,263 @@
+package com.smartdrive.kenya.loadtest
+
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.contentOrNull
+import kotlinx.serialization.json.doubleOrNull
+import kotlinx.serialization.json.jsonPrimitive
+
+/** A PostgREST error response; [status] is the HTTP status, [code] the SQLSTATE or PGRST code. */
+class PostgrestError(val status: Int, val code: String, message: String) : Exception(message)
+
+/**
+ * One in-memory table keyed by `id`, with hash indexes on [indexedColumns] for
+ * `eq` filters and embeds. Callers hold the database lock.
+ */
+class FakeTable(val name: String, indexedColumns: Set<String> = emptySet()) {
+
+    private val rows = LinkedHashMap<String, JsonObject>()
+    private val indexes = indexedColumns.associateWith { HashMap<String, LinkedHashSet<String>>() }
+
+    val size: Int get() = rows.size
+
+    operator fun get(id: String): JsonObject? = rows[id]
+
+    fun all(): Collection<JsonObject> = rows.values
+
+    fun upsert(row: JsonObject) {
+        val id = row.text("id") ?: throw PostgrestError(400, "23502", "null value in column \"id\" of \"$name\"")
+        rows[id]?.let { unindex(id, it) }
+        rows[id] = row
+        indexes.forEach { (column, index) -> index.getOrPut(row.text(column).orEmpty()) { LinkedHashSet() }.add(id) }
+    }
+
+    fun update(id: String, patch: JsonObject): JsonObject? {
+        val current = rows[id] ?: return null
+        val updated = JsonObject(current + patch)
+        upsert(updated)
+        return updated
+    }
+
+    /** Rows whose [column] equals [value], through the index when there is one. */
+    fun where(column: String, value: String): List<JsonObject> {
+        if (column == "id") return listOfNotNull(rows[value])
+        val index = indexes[column] ?: return rows.values.filter { it.text(column) == value }
+        return index[value]?.mapNotNull { rows[it] } ?: emptyList()
+    }
+
+    /** Smallest candidate set for [filter]: an indexed `eq` when it has one, else every row. */
+    fun candidates(filter: Filter): Collection<JsonObject> {
+        val conditions = (filter as? Filter.All)?.filters ?: listOf(filter)
+        val indexed = conditions.firstOrNull {
+            it is Filter.Condition && it.op == "eq" && !it.negated && (it.column == "id" || it.column in indexes)
+        } as Filter.Condition?
+        return indexed?.let { where(it.column, it.value) } ?: rows.values
+    }
+
+    private fun unindex(id: String, row: JsonObject) {
+        indexes.forEach { (column, index) -> index[row.text(column).orEmpty()]?.remove(id) }
+    }
+}
+
+/** A foreign key PostgREST can embed through, from a parent table's point of view. */
+data class Relation(
+    val table: String,
+    val localColumn: String,
+    val foreignColumn: String,
+    val many: Boolean,
+    /** The `!hint` that selects this relation when a table is embedded more than once. */
+    val hint: String? = null
+)
+
+// ================== FILTERS ==================
+
+sealed interface Filter {
+    fun matches(row: JsonObject): Boolean
+
+    data class Condition(val column: String, val op: String, val value: String, val negated: Boolean) : Filter {
+        // Parsed once per request rather than once per row
+        private val list by lazy { parseList(value).toSet() }
+        private val pattern by lazy {
+            Regex(
+                value.split('*', '%').joinToString(".*") { Regex.escape(it) },
+                if (op == "ilike") setOf(RegexOption.IGNORE_CASE) else emptySet()
+            )
+        }
+
+        override fun matches(row: JsonObject): Boolean = test(row[column]) != negated
+
+        private fun test(element: JsonElement?): Boolean {
+            val primitive = (element as? JsonPrimitive)?.takeUnless { it is JsonNull }
+            val actual = primitive?.contentOrNull
+            return when (op) {
+                "eq" -> actual == value
+                "neq" -> actual != null && actual != value
+                "gt" -> primitive != null && compareValues(primitive, value) > 0
+                "gte" -> primitive != null && compareValues(primitive, value) >= 0
+                "lt" -> primitive != null && compareValues(primitive, value) < 0
+                "lte" -> primitive != null && compareValues(primitive, value) <= 0
+                "in" -> actual != null && actual in list
+                "is" -> when (value) {
+                    "null" -> actual == null
+                    "true" -> actual == "true"
+                    "false" -> actual == "false"
+                    else -> false
+                }
+                "like", "ilike" -> actual != null && pattern.matches(actual)
+                "cs" -> element is JsonArray && parseList(value.trim('{', '}')).all { wanted ->
+                    element.any { it.jsonPrimitive.contentOrNull == wanted }
+                }
+                else -> throw PostgrestError(400, "PGRST100", "unsupported operator \"$op\"")
+            }
+        }
+    }
+
+    data class All(val filters: List<Filter>) : Filter {
+        override fun matches(row: JsonObject) = filters.all { it.matches(row) }
+    }
+
+    data class AnyOf(val filters: List<Filter>) : Filter {
+        override fun matches(row: JsonObject) = filters.any { it.matches(row) }
+    }
+
+    companion object {
+        /** `op.value` or `not.op.value`, as found after `column=` in a query string. */
+        fun parseCondition(column: String, expression: String): Condition {
+            val negated = expression.startsWith("not.")
+            val rest = if (negated) expression.removePrefix("not.") else expression
+            val dot = rest.indexOf('.')
+            if (dot < 0) throw PostgrestError(400, "PGRST100", "failed to parse filter ($column=$expression)")
+            return Condition(column, rest.substring(0, dot), unquote(rest.substring(dot + 1)), negated)
+        }
+
+        /** The `(a.lt.1,and(b.eq.2,c.lt.3))` argument of an `or` / `and` parameter. */
+        fun parseLogic(operator: String, expression: String): Filter {
+            val body = expression.trim().removePrefix("(").removeSuffix(")")
+            val parts = splitTopLevel(body).map { part ->
+                when {
+                    part.startsWith("or(") -> parseLogic("or", part.removePrefix("or"))
+                    part.startsWith("and(") -> parseLogic("and", part.removePrefix("and"))
+                    else -> {
+                        val dot = part.indexOf('.')
+                        parseCondition(part.substring(0, dot), part.substring(dot + 1))
+                    }
+                }
+            }
+            return if (operator == "or") AnyOf(parts) else All(parts)
+        }
+
+        fun parseList(value: String): List<String> =
+            splitTopLevel(value.removePrefix("(").removeSuffix(")")).map(::unquote)
+
+        private fun unquote(value: String): String =
+            if (value.length >= 2 && value.startsWith('"') && value.endsWith('"')) {
+                value.substring(1, value.length - 1).replace("\\\"", "\"")
+            } else {
+                value
+            }
+    }
+}
+
+/**
+ * JSON numbers compare numerically, everything else (ISO dates and timestamps
+ * included) as text. Only the stored value's type is consulted, so string
+ * columns never pay for number parsing.
+ */
+fun compareValues(stored: JsonPrimitive, value: String): Int {
+    if (!stored.isString) {
+        val number = stored.doubleOrNull
+        val other = value.toDoubleOrNull()
+        if (number != null && other != null) return number.compareTo(other)
+    }
+    return stored.content.compareTo(value)
+}
+
+/** Splits on commas outside parentheses and double quotes. */
+fun splitTopLevel(text: String): List<String> {
+    val parts = mutableListOf<String>()
+    var depth = 0
+    var quoted = false
+    var start = 0
+    text.forEachIndexed { i, c ->
+        when {
+            c == '"' && (i == 0 || text[i - 1] != '\\') -> quoted = !quoted
+            quoted -> Unit
+            c == '(' -> depth++
+            c == ')' -> depth--
+            c == ',' && depth == 0 -> {
+                parts.add(text.substring(start, i).trim())
+                start = i + 1
+            }
+        }
+    }
+    if (start < text.length) parts.add(text.substring(start).trim())
+    return parts.filter { it.isNotEmpty() }
+}
+
+// ================== ORDERING ==================
+
+data class OrderTerm(val column: String, val descending: Boolean, val nullsFirst: Boolean)
+
+fun parseOrder(value: String): List<OrderTerm> = value.split(',').filter { it.isNotBlank() }.map { term ->
+    val parts = term.trim().split('.')
+    val descending = "desc" in parts
+    OrderTerm(
+        column = parts[0],
+        descending = descending,
+        // PostgreSQL puts nulls last ascending and first descending unless told otherwise
+        nullsFirst = if ("nullsfirst" in parts) true else if ("nullslast" in parts) false else descending
+    )
+}
+
+fun comparatorOf(terms: List<OrderTerm>): Comparator<JsonObject> = Comparator { a, b ->
+    for (term in terms) {
+        val x = (a[term.column] as? JsonPrimitive)?.takeUnless { it is JsonNull }
+        val y = (b[term.column] as? JsonPrimitive)?.takeUnless { it is JsonNull }
+        val result = when {
+            x == null && y == null -> 0
+            x == null -> if (term.nullsFirst) -1 else 1
+            y == null -> if (term.nullsFirst) 1 else -1
+            term.descending -> compareValues(y, x.content)
+            else -> compareValues(x, y.content)
+        }
+        if (result != 0) return@Comparator result
+    }
+    0
+}
+
+// ================== SELECT ==================
+
+/** One item of a `select` parameter: a column, `*`, or an embedded relation. */
+sealed interface SelectItem {
+    data object Star : SelectItem
+    data class Column(val name: String, val alias: String?) : SelectItem
+    data class Embed(val table: String, val alias: String?, val hint: String?, val items: List<SelectItem>) : SelectItem
+}
+
+fun parseSelect(select: String?): List<SelectItem> {
+    if (select.isNullOrBlank()) return listOf(SelectItem.Star)
+    return splitTopLevel(select).map { item ->
+        val alias = item.substringBefore('(').substringBefore(':', "").takeIf { ':' in item.substringBefore('(') }
+        val target = if (alias != null) item.substringAfter(':') else item
+        when {
+            target == "*" -> SelectItem.Star
+            '(' in target -> {
+                val head = target.substringBefore('(')
+                SelectItem.Embed(
+                    table = head.substringBefore('!'),
+                    alias = alias,
+                    hint = head.substringAfter('!', "").takeIf { it.isNotEmpty() },
+                    items = parseSelect(target.substringAfter('(').removeSuffix(")"))
+                )
+            }
+            // Casts such as `price::text` are ignored
+            else -> SelectItem.Column(target.substringBefore("::"), alias)
+        }
+    }
+}
+
+fun JsonObject.text(column: String): String? =
+    (this[column] as? JsonPrimitive)?.takeUnless { it is JsonNull }?.contentOrNull
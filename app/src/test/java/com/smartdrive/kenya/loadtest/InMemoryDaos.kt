@@ -0,0 +1,182 @@
+package com.smartdrive.kenya.loadtest
+
+import androidx.paging.PagingSource
+import com.smartdrive.kenya.data.local.RentalExtraDao
+import com.smartdrive.kenya.data.local.RentalExtraEntity
+import com.smartdrive.kenya.data.local.RentalLocationDao
+import com.smartdrive.kenya.data.local.RentalLocationEntity
+import com.smartdrive.kenya.data.local.RentalSummaryDao
+import com.smartdrive.kenya.data.local.RentalSummaryEntity
+import com.smartdrive.kenya.data.local.VehicleCardEntity
+import com.smartdrive.kenya.data.local.VehicleDao
+import com.smartdrive.kenya.data.local.VehicleEntity
+import com.smartdrive.kenya.data.local.VehicleSyncIdEntity
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.update
+
+// Map-backed DAOs so the repositories run on the JVM without Room. They keep
+// the write semantics the repositories rely on; paging sources are not needed
+// by the load test and throw.
+
+class InMemoryVehicleDao : VehicleDao {
+
+    private val rows = MutableStateFlow<Map<String, VehicleEntity>>(emptyMap())
+    private val staged = HashMap<String, MutableSet<String>>()
+
+    override fun pagingSource(
+        status: String?,
+        ids: List<String>,
+        idCount: Int,
+        fuelTypes: List<String>,
+        fuelTypeCount: Int,
+        transmissions: List<String>,
+        transmissionCount: Int,
+        minPrice: Double?,
+        maxPrice: Double?
+    ): PagingSource<Int, VehicleEntity> = throw UnsupportedOperationException("Paging is not load tested")
+
+    override fun observeByStatus(status: String): Flow<List<VehicleEntity>> =
+        rows.map { all -> all.values.filter { it.status == status }.sortedWith(NEWEST_FIRST) }
+
+    override fun observeById(id: String): Flow<VehicleEntity?> = rows.map { it[id] }
+
+    override suspend fun getById(id: String): VehicleEntity? = rows.value[id]
+
+    override suspend fun upsertAll(vehicles: List<VehicleEntity>) {
+        rows.update { all -> all + vehicles.associateBy { it.id } }
+    }
+
+    override suspend fun deleteByIds(ids: List<String>) {
+        rows.update { all -> all - ids.toSet() }
+    }
+
+    override suspend fun deleteByStatus(status: String) {
+        rows.update { all -> all.filterValues { it.status != status } }
+    }
+
+    override suspend fun upsertCards(cards: List<VehicleCardEntity>) {
+        rows.update { all ->
+            all + cards.associate { card ->
+                val existing = all[card.id]
+                card.id to VehicleEntity(
+                    id = card.id,
+                    make = card.make,
+                    model = card.model,
+                    year = card.year,
+                    licensePlate = card.licensePlate,
+                    color = card.color,
+                    fuelType = card.fuelType,
+                    transmission = card.transmission,
+                    seatingCapacity = card.seatingCapacity,
+                    pricePerDay = card.pricePerDay,
+                    imageUrl = card.imageUrl,
+                    status = card.status,
+                    features = card.features,
+                    bodyType = card.bodyType,
+                    agentId = existing?.agentId,
+                    createdAt = card.createdAt,
+                    updatedAt = existing?.updatedAt,
+                    hasDetails = existing?.hasDetails ?: false
+                )
+            }
+        }
+    }
+
+    override suspend fun stageSyncIds(ids: List<VehicleSyncIdEntity>) {
+        synchronized(staged) { ids.forEach { staged.getOrPut(it.batch, ::HashSet).add(it.id) } }
+    }
+
+    override suspend fun clearSyncIds(batch: String) {
+        synchronized(staged) { staged.remove(batch) }
+    }
+
+    override suspend fun deleteUnstaged(batch: String) {
+        val keep = synchronized(staged) { staged[batch].orEmpty().toSet() }
+        rows.update { all -> all.filterKeys { it in keep } }
+    }
+
+    override suspend fun deleteUnstagedByStatus(status: String, batch: String) {
+        val keep = synchronized(staged) { staged[batch].orEmpty().toSet() }
+        rows.update { all -> all.filterValues { it.status != status || it.id in keep } }
+    }
+
+    private companion object {
+        val NEWEST_FIRST = compareByDescending<VehicleEntity> { it.createdAt }.thenByDescending { it.id }
+    }
+}
+
+class InMemoryRentalLocationDao : RentalLocationDao {
+
+    private val rows = MutableStateFlow<Map<String, RentalLocationEntity>>(emptyMap())
+
+    override fun observeAll(): Flow<List<RentalLocationEntity>> = rows.map { all -> all.values.sortedBy { it.name } }
+
+    override suspend fun getAll(): List<RentalLocationEntity> = rows.value.values.sortedBy { it.name }
+
+    override suspend fun upsertAll(locations: List<RentalLocationEntity>) {
+        rows.update { all -> all + locations.associateBy { it.id } }
+    }
+
+    override suspend fun deleteAll() {
+        rows.value = emptyMap()
+    }
+}
+
+class InMemoryRentalExtraDao : RentalExtraDao {
+
+    private val rows = MutableStateFlow<Map<String, RentalExtraEntity>>(emptyMap())
+
+    override fun observeActive(): Flow<List<RentalExtraEntity>> = rows.map(::active)
+
+    override suspend fun getActive(): List<RentalExtraEntity> = active(rows.value)
+
+    override suspend fun upsertAll(extras: List<RentalExtraEntity>) {
+        rows.update { all -> all + extras.associateBy { it.id } }
+    }
+
+    override suspend fun deleteAll() {
+        rows.value = emptyMap()
+    }
+
+    private fun active(all: Map<String, RentalExtraEntity>) =
+        all.values.filter { it.isActive }.sortedWith(compareBy({ it.category }, { it.name }))
+}
+
+class InMemoryRentalSummaryDao : RentalSummaryDao {
+
+    private val rows = MutableStateFlow<Map<String, RentalSummaryEntity>>(emptyMap())
+
+    override fun pagingSource(customerId: String): PagingSource<Int, RentalSummaryEntity> =
+        throw UnsupportedOperationException("Paging is not load tested")
+
+    override suspend fun getNewest(customerId: String): RentalSummaryEntity? =
+        rows.value.values.filter { it.customerId == customerId }.minWithOrNull(NEWEST_FIRST)
+
+    override suspend fun upsertAll(rentals: List<RentalSummaryEntity>) {
+        rows.update { all -> all + rentals.associateBy { it.id } }
+    }
+
+    override suspend fun deleteByCustomer(customerId: String) {
+        rows.update { all -> all.filterValues { it.customerId != customerId } }
+    }
+
+    override suspend fun deleteOtherCustomers(customerId: String) {
+        rows.update { all -> all.filterValues { it.customerId == customerId } }
+    }
+
+    override suspend fun deleteNewestExcept(customerId: String, createdAt: String, id: String, keepIds: List<String>) {
+        val keep = keepIds.toSet()
+        rows.update { all ->
+            all.filterValues { row ->
+                row.customerId != customerId || row.id in keep ||
+                    row.createdAt < createdAt || (row.createdAt == createdAt && row.id < id)
+            }
+        }
+    }
+
+    private companion object {
+        val NEWEST_FIRST = compareByDescending<RentalSummaryEntity> { it.createdAt }.thenByDescending { it.id }
+    }
+}
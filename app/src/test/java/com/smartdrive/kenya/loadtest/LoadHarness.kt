@@ -0,0 +1,319 @@
+package com.smartdrive.kenya.loadtest
+
+import com.smartdrive.kenya.data.cache.ReferenceDataCache
+import com.smartdrive.kenya.data.metrics.LogHistogram
+import com.smartdrive.kenya.data.metrics.NetworkMetrics
+import com.smartdrive.kenya.data.metrics.NetworkMetricsInterceptor
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.RentalCursor
+import com.smartdrive.kenya.data.model.RentalExtraSelection
+import com.smartdrive.kenya.data.model.RentalRequest
+import com.smartdrive.kenya.data.model.VehicleCatalogQuery
+import com.smartdrive.kenya.data.model.VehicleCursor
+import com.smartdrive.kenya.data.network.PostgrestStream
+import com.smartdrive.kenya.data.network.RealtimeConnection
+import com.smartdrive.kenya.data.network.SupabaseClient
+import com.smartdrive.kenya.data.repository.AuthRepository
+import com.smartdrive.kenya.data.repository.RentalRepository
+import com.smartdrive.kenya.data.repository.VehicleRepository
+import com.smartdrive.kenya.data.store.EntityStore
+import com.smartdrive.kenya.utils.DatabaseHelper
+import io.github.jan.supabase.auth.MemoryCodeVerifierCache
+import io.github.jan.supabase.auth.MemorySessionManager
+import io.github.jan.supabase.logging.LogLevel
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.serialization.Serializable
+import okhttp3.ConnectionPool
+import okhttp3.OkHttpClient
+import java.io.File
+import java.time.LocalTime
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/** Load shape, read from `loadTest.*` system properties, see the README. */
+data class LoadTestConfig(
+    val users: Int = 100,
+    val concurrency: Int = 2_000,
+    val iterations: Int = 3,
+    val vehicles: Int = 500,
+    val rentalsPerUser: Int = 45,
+    val serverLatencyMillis: Long = 5,
+    val maxConnections: Int = 64
+) {
+    companion object {
+        fun fromSystemProperties(): LoadTestConfig {
+            val defaults = LoadTestConfig()
+            fun int(name: String, default: Int) = System.getProperty("loadTest.$name")?.toIntOrNull() ?: default
+            return LoadTestConfig(
+                users = int("users", defaults.users),
+                concurrency = int("concurrency", defaults.concurrency),
+                iterations = int("iterations", defaults.iterations),
+                vehicles = int("vehicles", defaults.vehicles),
+                rentalsPerUser = int("rentalsPerUser", defaults.rentalsPerUser),
+                serverLatencyMillis = int("latencyMillis", defaults.serverLatencyMillis.toInt()).toLong(),
+                maxConnections = int("maxConnections", defaults.maxConnections)
+            )
+        }
+    }
+}
+
+@Serializable
+data class OperationReport(
+    val operation: String,
+    val operations: Long,
+    val errors: Long,
+    val throughputPerSecond: Double,
+    val p50Ms: Double,
+    val p95Ms: Double,
+    val p99Ms: Double,
+    val maxMs: Double,
+    /** Requests the server saw during the phase, per `METHOD /path`. */
+    val requests: Map<String, Long>,
+    val requestsPerOperation: Double,
+    val firstError: String? = null
+)
+
+@Serializable
+data class LoadReport(
+    val users: Int,
+    val concurrency: Int,
+    val iterations: Int,
+    val serverLatencyMillis: Long,
+    val operations: List<OperationReport>
+) {
+    fun format(): String = buildString {
+        appendLine(
+            "Repository load test: $users users, $concurrency coroutines x $iterations iterations, " +
+                "${serverLatencyMillis}ms server latency"
+        )
+        appendLine(
+            "%-34s %8s %6s %9s %8s %8s %8s %8s %8s".format(
+                "operation", "ops", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "req/op"
+            )
+        )
+        operations.forEach {
+            appendLine(
+                "%-34s %8d %6d %9.0f %8.1f %8.1f %8.1f %8.1f %8.2f".format(
+                    it.operation, it.operations, it.errors, it.throughputPerSecond,
+                    it.p50Ms, it.p95Ms, it.p99Ms, it.maxMs, it.requestsPerOperation
+                )
+            )
+        }
+        operations.filter { it.firstError != null }.forEach { appendLine("${it.operation}: ${it.firstError}") }
+    }
+}
+
+/**
+ * One signed-in customer: its own Supabase session and repositories over
+ * in-memory DAOs, as on a device. Many coroutines share a virtual user, so the
+ * repositories also see concurrent calls on one instance.
+ */
+class VirtualUser(
+    val account: FakeUser,
+    serverUrl: String,
+    httpClient: OkHttpClient,
+    networkMetrics: NetworkMetrics
+) {
+    val supabase = SupabaseClient(serverUrl, FakeSupabaseServer.ANON_KEY, httpClient, logLevel = LogLevel.NONE) {
+        sessionManager = MemorySessionManager()
+        codeVerifierCache = MemoryCodeVerifierCache()
+        autoLoadFromStorage = false
+        alwaysAutoRefresh = false
+        enableLifecycleCallbacks = false
+    }
+    private val entityStore = EntityStore()
+
+    val auth = AuthRepository(supabase, DatabaseHelper(supabase), networkMetrics)
+    val vehicles = VehicleRepository(
+        supabase,
+        InMemoryVehicleDao(),
+        entityStore,
+        PostgrestStream(supabase, httpClient, networkMetrics),
+        RealtimeConnection(supabase),
+        networkMetrics
+    )
+    val rentals = RentalRepository(
+        supabase,
+        InMemoryRentalLocationDao(),
+        InMemoryRentalExtraDao(),
+        InMemoryRentalSummaryDao(),
+        ReferenceDataCache(),
+        entityStore,
+        networkMetrics
+    )
+
+    @Volatile var secondVehiclePage: VehicleCursor? = null
+    @Volatile var secondRentalPage: RentalCursor? = null
+    val bookedRentals = ConcurrentLinkedQueue<String>()
+}
+
+/**
+ * Drives the repositories against a [FakeSupabaseServer] one operation at a
+ * time: each phase launches [LoadTestConfig.concurrency] coroutines that run the
+ * operation [LoadTestConfig.iterations] times each, spread over the virtual
+ * users, and records per-call latency and the requests the server saw.
+ */
+class LoadHarness(
+    private val server: FakeSupabaseServer,
+    private val seed: SeededData,
+    private val config: LoadTestConfig,
+    metricsDir: File
+) {
+
+    private class Operation(val name: String, val run: suspend (user: VirtualUser, n: Int) -> Result<*>)
+
+    // Exported to metricsDir like on a device, so the app's own numbers can be compared
+    private val networkMetrics = NetworkMetrics { metricsDir }
+
+    // Loopback is HTTP/1.1, so the dispatcher limits are the connection count
+    private val httpClient = OkHttpClient.Builder()
+        .dispatcher(okhttp3.Dispatcher().apply {
+            maxRequests = config.maxConnections
+            maxRequestsPerHost = config.maxConnections
+        })
+        .connectionPool(ConnectionPool(config.maxConnections, 5, TimeUnit.MINUTES))
+        .addNetworkInterceptor(NetworkMetricsInterceptor(networkMetrics))
+        .readTimeout(60, TimeUnit.SECONDS)
+        .build()
+    private val users = seed.users.take(config.users).map { account ->
+        VirtualUser(account, server.url, httpClient, networkMetrics)
+    }
+    private val bookings = AtomicInteger()
+
+    suspend fun run(): LoadReport {
+        // Unmeasured: every virtual user starts signed in
+        val signIn = Operation("setup.signIn") { user, _ -> user.auth.signIn(user.account.email, user.account.password) }
+        val setup = phase(signIn, concurrency = users.size, iterations = 1)
+        check(setup.errors == 0L) { "Sign-in failed: ${setup.firstError}" }
+
+        val reports = operations().map { phase(it, config.concurrency, config.iterations) }
+        httpClient.dispatcher.executorService.shutdown()
+        return LoadReport(config.users, config.concurrency, config.iterations, config.serverLatencyMillis, reports)
+    }
+
+    private fun operations(): List<Operation> = listOf(
+        // ================== AUTH ==================
+        Operation("auth.signIn") { user, _ -> user.auth.signIn(user.account.email, user.account.password) },
+        Operation("auth.getUserProfile") { user, _ -> user.auth.getUserProfile(user.account.id) },
+        Operation("auth.getUserRole") { user, _ -> user.auth.getUserRole() },
+
+        // ================== VEHICLES ==================
+        Operation("vehicles.getVehiclePage") { user, _ ->
+            user.vehicles.getVehiclePage(VehicleCatalogQuery()).onSuccess { user.secondVehiclePage = it.nextCursor }
+        },
+        Operation("vehicles.getVehiclePage(next)") { user, _ ->
+            user.vehicles.getVehiclePage(VehicleCatalogQuery(), user.secondVehiclePage)
+        },
+        Operation("vehicles.getVehicleById") { user, n -> user.vehicles.getVehicleById(seed.vehicleIds.pick(n)) },
+        Operation("vehicles.searchAvailableVehicles") { user, n ->
+            val start = SeedData.BOOKABLE_FROM.plusDays((n % 180).toLong())
+            user.vehicles.searchAvailableVehicles(start, start.plusDays(3), seed.locationIds.pick(n).takeIf { n % 2 == 0 })
+        },
+
+        // ================== RENTALS ==================
+        Operation("rentals.getRentalLocations") { user, _ -> user.rentals.getRentalLocations() },
+        Operation("rentals.getRentalExtras") { user, _ -> user.rentals.getRentalExtras() },
+        Operation("rentals.getRentalPage") { user, _ ->
+            user.rentals.getRentalPage(user.account.id).onSuccess { user.secondRentalPage = it.nextCursor }
+        },
+        Operation("rentals.getRentalPage(next)") { user, _ ->
+            user.rentals.getRentalPage(user.account.id, user.secondRentalPage)
+        },
+        Operation("rentals.checkVehicleAvailability") { user, n ->
+            val start = SeedData.BOOKABLE_FROM.plusDays((n % 365).toLong())
+            user.rentals.checkVehicleAvailability(seed.availableVehicleIds.pick(n), start, start.plusDays(2))
+        },
+        Operation("rentals.createRental") { user, _ ->
+            user.rentals.createRental(bookingRequest(bookings.getAndIncrement()))
+                .onSuccess { user.bookedRentals.add(it.rental.id) }
+        },
+        Operation("rentals.getRentalById") { user, _ ->
+            val rentalId = user.bookedRentals.peek() ?: return@Operation Result.failure<Unit>(IllegalStateException("Nothing booked"))
+            user.rentals.getRentalById(rentalId)
+        },
+        Operation("rentals.cancelRental") { user, _ ->
+            val rentalId = user.bookedRentals.poll() ?: return@Operation Result.success(Unit)
+            user.rentals.cancelRental(rentalId, "Load test")
+        },
+
+        Operation("auth.signOut") { user, _ -> user.auth.signOut() }
+    )
+
+    /**
+     * A booking no other one overlaps: the n-th goes to the n-th available
+     * vehicle, moving three days further out each time the fleet is used up.
+     */
+    private fun bookingRequest(n: Int): RentalRequest {
+        val fleet = seed.availableVehicleIds
+        val pickup = SeedData.BOOKABLE_FROM.plusDays(3L * (n / fleet.size))
+        return RentalRequest(
+            vehicleId = fleet[n % fleet.size],
+            pickupLocationId = seed.locationIds.pick(n),
+            returnLocationId = seed.locationIds.pick(n + 1),
+            pickupDate = pickup,
+            pickupTime = LocalTime.of(9, 0),
+            returnDate = pickup.plusDays(2),
+            returnTime = LocalTime.of(17, 0),
+            insuranceType = InsuranceType.entries[n % InsuranceType.entries.size],
+            selectedExtras = seed.extraIds.take(n % 3).map { extraId ->
+                // Only the extra and quantity are sent; the server prices them
+                RentalExtraSelection(id = "", rentalId = "", rentalExtraId = extraId, dailyRate = 0.0, totalCost = 0.0)
+            }
+        )
+    }
+
+    private suspend fun phase(operation: Operation, concurrency: Int, iterations: Int): OperationReport {
+        server.resetCounts()
+        val latencies = LogHistogram()
+        val errors = AtomicLong()
+        var firstError: String? = null
+        val calls = AtomicInteger()
+
+        val start = System.nanoTime()
+        coroutineScope {
+            repeat(concurrency) { worker ->
+                launch(Dispatchers.IO) {
+                    val user = users[worker % users.size]
+                    repeat(iterations) {
+                        val n = calls.getAndIncrement()
+                        val callStart = System.nanoTime()
+                        val result = try {
+                            operation.run(user, n)
+                        } catch (e: Exception) {
+                            Result.failure<Unit>(e)
+                        }
+                        val micros = (System.nanoTime() - callStart) / 1_000
+                        synchronized(latencies) {
+                            latencies.record(micros)
+                            if (result.isFailure && firstError == null) firstError = result.exceptionOrNull()?.message
+                        }
+                        if (result.isFailure) errors.incrementAndGet()
+                    }
+                }
+            }
+        }
+        val seconds = (System.nanoTime() - start) / 1e9
+
+        val requests = server.requestCounts().toSortedMap()
+        val operations = latencies.count
+        return OperationReport(
+            operation = operation.name,
+            operations = operations,
+            errors = errors.get(),
+            throughputPerSecond = operations / seconds,
+            p50Ms = latencies.valueAt(50.0) / 1000.0,
+            p95Ms = latencies.valueAt(95.0) / 1000.0,
+            p99Ms = latencies.valueAt(99.0) / 1000.0,
+            maxMs = latencies.max / 1000.0,
+            requests = requests,
+            requestsPerOperation = requests.values.sum().toDouble() / operations.coerceAtLeast(1),
+            firstError = firstError
+        )
+    }
+
+    private fun <T> List<T>.pick(n: Int): T = this[Math.floorMod(n, size)]
+}
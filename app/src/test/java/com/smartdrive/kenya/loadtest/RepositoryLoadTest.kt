@@ -0,0 +1,41 @@
+package com.smartdrive.kenya.loadtest
+
+import kotlinx.coroutines.runBlocking
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+import org.junit.Assert.assertEquals
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import java.io.File
+
+/**
+ * Load test of the data layer against [FakeSupabaseServer]; fully offline.
+ * Skipped unless run with `-PloadTest`, see the README for the knobs. The
+ * report is printed and written to `build/reports/loadtest/`.
+ */
+class RepositoryLoadTest {
+
+    @Test
+    fun repositoriesUnderConcurrentLoad() {
+        assumeTrue("Load test runs with -PloadTest", System.getProperty("loadTest") != null)
+        val config = LoadTestConfig.fromSystemProperties()
+        val reportDir = File("build/reports/loadtest").apply { mkdirs() }
+
+        val database = FakeDatabase()
+        val seed = SeedData(
+            vehicles = config.vehicles,
+            users = config.users,
+            rentalsPerUser = config.rentalsPerUser
+        ).into(database)
+
+        val report = FakeSupabaseServer(database, seed.users, config.serverLatencyMillis).use { server ->
+            runBlocking { LoadHarness(server, seed, config, reportDir).run() }
+        }
+
+        println(report.format())
+        File(reportDir, "repository-load.json").writeText(Json { prettyPrint = true }.encodeToString(report))
+
+        // Every operation is valid against the seed, so any error is a regression
+        assertEquals(report.format(), 0L, report.operations.sumOf { it.errors })
+    }
+}
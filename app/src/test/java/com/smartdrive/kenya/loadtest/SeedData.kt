@@ -0,0 +1,269 @@
+package com.smartdrive.kenya.loadtest
+
+import com.smartdrive.kenya.data.model.BodyType
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.Payment
+import com.smartdrive.kenya.data.model.PaymentMethod
+import com.smartdrive.kenya.data.model.PaymentStatus
+import com.smartdrive.kenya.data.model.Profile
+import com.smartdrive.kenya.data.model.Rental
+import com.smartdrive.kenya.data.model.RentalExtra
+import com.smartdrive.kenya.data.model.RentalExtraSelection
+import com.smartdrive.kenya.data.model.RentalLocation
+import com.smartdrive.kenya.data.model.RentalStatus
+import com.smartdrive.kenya.data.model.Review
+import com.smartdrive.kenya.data.model.Transmission
+import com.smartdrive.kenya.data.model.UserRole
+import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.VehicleStatus
+import com.smartdrive.kenya.data.pricing.PricingRules
+import com.smartdrive.kenya.data.pricing.centsToAmount
+import com.smartdrive.kenya.data.pricing.toCents
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.encodeToJsonElement
+import kotlinx.serialization.json.jsonObject
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalTime
+import java.time.ZoneOffset
+import java.util.UUID
+import kotlin.random.Random
+
+/** A GoTrue account of the stand-in server. */
+data class FakeUser(
+    val id: String,
+    val email: String,
+    val password: String,
+    val createdAt: String
+)
+
+/** What was seeded, for the harness to pick ids and accounts from. */
+data class SeededData(
+    val users: List<FakeUser>,
+    val vehicleIds: List<String>,
+    val availableVehicleIds: List<String>,
+    val locationIds: List<String>,
+    val extraIds: List<String>
+)
+
+/**
+ * Deterministic fleet, reference data, customers and rental history. Rows are
+ * built from the app's models, so they carry exactly the columns the app
+ * decodes; vehicles additionally get the `location_id` the search RPC filters on.
+ * Seeded rentals all end before [BOOKABLE_FROM], leaving later dates free.
+ */
+class SeedData(
+    private val vehicles: Int = 500,
+    private val users: Int = 100,
+    private val rentalsPerUser: Int = 45,
+    private val randomSeed: Int = 42
+) {
+
+    fun into(database: FakeDatabase): SeededData {
+        val random = Random(randomSeed)
+        val epoch = Instant.parse("2025-01-01T00:00:00Z")
+
+        val locations = CITIES.mapIndexed { i, city ->
+            RentalLocation(
+                id = uuid("location-$i"),
+                name = "SmartDrive $city",
+                address = "${10 + i} Kenyatta Avenue",
+                city = city,
+                county = city,
+                latitude = -1.28 + i * 0.1,
+                longitude = 36.82 + i * 0.1,
+                phone = "+2547000000${10 + i}",
+                email = "${city.lowercase()}@smartdrive.co.ke",
+                operatingHours = mapOf("mon_fri" to "08:00-18:00", "sat" to "09:00-14:00"),
+                createdAt = Timestamps.of(epoch)
+            )
+        }
+        locations.forEach { database.table("rental_locations").upsert(row(it)) }
+
+        val extras = EXTRAS.mapIndexed { i, (name, category, rate) ->
+            RentalExtra(
+                id = uuid("extra-$i"),
+                name = name,
+                description = "$name for the whole rental",
+                dailyRate = rate,
+                category = category,
+                // One retired extra, which the app filters out
+                isActive = i != EXTRAS.lastIndex
+            )
+        }
+        extras.forEach { database.table("rental_extras").upsert(row(it)) }
+
+        val fleet = List(vehicles) { i ->
+            val (make, model) = MODELS[i % MODELS.size]
+            Vehicle(
+                id = uuid("vehicle-$i"),
+                make = make,
+                model = model,
+                year = 2015 + i % 10,
+                licensePlate = "K%s%s %03d%s".format('A' + i % 26, 'A' + (i / 26) % 26, i % 1000, 'A' + (i / 7) % 26),
+                color = COLORS[i % COLORS.size],
+                fuelType = FuelType.entries[i % FuelType.entries.size],
+                transmission = Transmission.entries[(i / 3) % Transmission.entries.size],
+                seatingCapacity = listOf(4, 5, 5, 7, 8)[i % 5],
+                pricePerDay = 2_500.0 + (i * 37 % 50) * 250,
+                imageUrl = "https://images.example.com/vehicles/$i.jpg",
+                // Roughly one in ten is off the road
+                status = if (i % 10 == 9) VehicleStatus.MAINTENANCE else VehicleStatus.AVAILABLE,
+                features = FEATURES.filterIndexed { f, _ -> (i shr f) and 1 == 1 },
+                bodyType = BodyType.entries[i % BodyType.entries.size],
+                createdAt = Timestamps.of(epoch.plusSeconds(i * 600L)),
+                updatedAt = Timestamps.of(epoch.plusSeconds(i * 600L))
+            )
+        }
+        fleet.forEachIndexed { i, vehicle ->
+            database.table("vehicles").upsert(
+                JsonObject(row(vehicle) + ("location_id" to JsonPrimitive(locations[i % locations.size].id)))
+            )
+        }
+
+        val accounts = List(users) { i ->
+            FakeUser(
+                id = uuid("user-$i"),
+                email = "driver$i@loadtest.smartdrive.co.ke",
+                password = PASSWORD,
+                createdAt = epoch.toString()
+            )
+        }
+        accounts.forEachIndexed { i, user ->
+            val profile = Profile(
+                id = user.id,
+                fullName = "Load Test Driver $i",
+                role = UserRole.CUSTOMER,
+                phone = "+2547%08d".format(i),
+                signupSource = "mobile_app",
+                createdAt = user.createdAt
+            )
+            database.table("profiles").upsert(row(profile))
+        }
+
+        // History: finished or cancelled rentals spread over 2025, newest last
+        accounts.forEachIndexed { u, user ->
+            repeat(rentalsPerUser) { r ->
+                val vehicle = fleet[random.nextInt(fleet.size)]
+                val pickup = LocalDate.of(2025, 1, 1).plusDays(random.nextLong(300))
+                val days = 1 + random.nextInt(10)
+                val insurance = InsuranceType.entries[random.nextInt(InsuranceType.entries.size)]
+                val chosen = extras.filter { it.isActive }.shuffled(random).take(random.nextInt(3))
+                val price = PricingRules.quote(
+                    dailyRateCents = vehicle.pricePerDay.toCents(),
+                    days = days,
+                    insuranceType = insurance,
+                    extrasDailyCents = chosen.sumOf { it.dailyRate.toCents() }
+                )
+                val status = if (r % 6 == 5) RentalStatus.CANCELLED else RentalStatus.COMPLETED
+                val rentalId = uuid("rental-$u-$r")
+                val createdAt = Timestamps.of(
+                    pickup.minusDays(7).atStartOfDay(ZoneOffset.UTC).toInstant().plusSeconds(u * 60L + r)
+                )
+                val rental = Rental(
+                    id = rentalId,
+                    customerId = user.id,
+                    vehicleId = vehicle.id,
+                    pickupLocationId = locations[random.nextInt(locations.size)].id,
+                    returnLocationId = locations[random.nextInt(locations.size)].id,
+                    pickupDate = pickup.toString(),
+                    pickupTime = LocalTime.of(9, 0).toString(),
+                    returnDate = pickup.plusDays(days.toLong()).toString(),
+                    returnTime = LocalTime.of(17, 0).toString(),
+                    dailyRate = vehicle.pricePerDay,
+                    totalDays = days,
+                    subtotal = price.subtotalCents.centsToAmount(),
+                    insuranceCost = price.insuranceCents.centsToAmount(),
+                    taxAmount = price.taxCents.centsToAmount(),
+                    depositAmount = price.depositCents.centsToAmount(),
+                    totalAmount = price.totalCents.centsToAmount(),
+                    status = status,
+                    insuranceType = insurance,
+                    createdAt = createdAt,
+                    updatedAt = createdAt
+                )
+                database.table("rentals").upsert(row(rental))
+
+                chosen.forEachIndexed { e, extra ->
+                    val selection = RentalExtraSelection(
+                        id = uuid("selection-$u-$r-$e"),
+                        rentalId = rentalId,
+                        rentalExtraId = extra.id,
+                        dailyRate = extra.dailyRate,
+                        totalCost = (extra.dailyRate.toCents() * days).centsToAmount()
+                    )
+                    database.table("rental_extra_selections").upsert(row(selection))
+                }
+                if (status == RentalStatus.COMPLETED) {
+                    val payment = Payment(
+                        id = uuid("payment-$u-$r"),
+                        rentalId = rentalId,
+                        customerId = user.id,
+                        amount = rental.totalAmount,
+                        paymentMethod = PaymentMethod.MPESA,
+                        status = PaymentStatus.COMPLETED,
+                        mpesaReceiptNumber = "LT${u}R$r",
+                        paymentDate = createdAt,
+                        createdAt = createdAt
+                    )
+                    database.table("payments").upsert(row(payment))
+                    if (r % 3 == 0) {
+                        val review = Review(
+                            id = uuid("review-$u-$r"),
+                            rentalId = rentalId,
+                            customerId = user.id,
+                            vehicleId = vehicle.id,
+                            overallRating = 1 + random.nextInt(5),
+                            title = "Trip $r",
+                            isApproved = true,
+                            createdAt = createdAt
+                        )
+                        database.table("reviews").upsert(row(review))
+                    }
+                }
+            }
+        }
+
+        return SeededData(
+            users = accounts,
+            vehicleIds = fleet.map { it.id },
+            availableVehicleIds = fleet.filter { it.status == VehicleStatus.AVAILABLE }.map { it.id },
+            locationIds = locations.map { it.id },
+            extraIds = extras.filter { it.isActive }.map { it.id }
+        )
+    }
+
+    private inline fun <reified T> row(value: T): JsonObject = RowJson.encodeToJsonElement(value).jsonObject
+
+    companion object {
+        const val PASSWORD = "load-test-password"
+
+        /** First pickup date the harness may book; seeded history ends well before. */
+        val BOOKABLE_FROM: LocalDate = LocalDate.of(2027, 1, 1)
+
+        private fun uuid(name: String): String = UUID.nameUUIDFromBytes(name.toByteArray()).toString()
+
+        private val CITIES = listOf(
+            "Nairobi", "Mombasa", "Kisumu", "Nakuru", "Eldoret", "Thika",
+            "Malindi", "Nyeri", "Naivasha", "Nanyuki", "Machakos", "Kericho"
+        )
+        private val MODELS = listOf(
+            "Toyota" to "Corolla", "Toyota" to "Prado", "Toyota" to "Hiace", "Nissan" to "X-Trail",
+            "Nissan" to "Note", "Mazda" to "Demio", "Subaru" to "Forester", "Honda" to "Fit",
+            "Mitsubishi" to "Outlander", "Volkswagen" to "Polo", "Isuzu" to "D-Max", "Land Rover" to "Defender"
+        )
+        private val COLORS = listOf("White", "Silver", "Black", "Blue", "Red", "Grey")
+        private val FEATURES = listOf("air_conditioning", "bluetooth", "gps", "reverse_camera", "4x4", "usb")
+        private val EXTRAS = listOf(
+            Triple("GPS Navigation", "navigation", 500.0),
+            Triple("Child Seat", "safety", 350.0),
+            Triple("Roof Rack", "convenience", 400.0),
+            Triple("Extra Driver", "convenience", 750.0),
+            Triple("Wi-Fi Hotspot", "comfort", 600.0),
+            Triple("Cooler Box", "comfort", 250.0),
+            Triple("Snow Chains", "safety", 300.0)
+        )
+    }
+}
@@ -0,0 +1,144 @@
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import org.jetbrains.kotlin.gradle.dsl.JvmTarget
+
+// Plain JVM module: models, pricing and decoding, benchmarked with JMH off-device
+plugins {
+    alias(libs.plugins.kotlin.jvm)
+    alias(libs.plugins.kotlin.serialization)
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+kotlin {
+    compilerOptions {
+        jvmTarget.set(JvmTarget.JVM_11)
+    }
+}
+
+dependencies {
+    api(libs.kotlinx.serialization.json)
+
+    testImplementation(libs.junit)
+}
+
+// The golden pricing cases live in the migration that checks the SQL side
+val pricingMigration = rootProject.file("supabase/migrations/20251126090000-unified-pricing.sql")
+
+tasks.test {
+    inputs.file(pricingMigration)
+    systemProperty("pricingMigration", pricingMigration.path)
+}
+
+val benchmarkResults = layout.buildDirectory.file("results/jmh/results.json")
+val benchmarkBaseline = layout.projectDirectory.file("benchmarks/baseline.json")
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    fork.set(2)
+    resultFormat.set("JSON")
+    resultsFile.set(benchmarkResults)
+}
+
+// The machine a baseline was recorded on. Scores only compare on the same one,
+// so the baseline stores this instead of JMH's per-run paths and JVM arguments.
+fun benchmarkMachine(): Map<String, Any> {
+    val cpu = File("/proc/cpuinfo").takeIf { it.canRead() }?.useLines { lines ->
+        lines.firstOrNull { it.startsWith("model name") }?.substringAfter(":")?.trim()
+    }
+    return mapOf(
+        "os" to "${System.getProperty("os.name")} ${System.getProperty("os.arch")}",
+        "cpu" to (cpu ?: "unknown"),
+        "cpus" to Runtime.getRuntime().availableProcessors(),
+        "jdk" to "${System.getProperty("java.vm.vendor")} ${System.getProperty("java.runtime.version")}"
+    )
+}
+
+// ./gradlew :core:jmh :core:updateBenchmarkBaseline on the reference machine, then commit the file
+tasks.register("updateBenchmarkBaseline") {
+    group = "benchmark"
+    description = "Stores the last JMH results as the regression baseline."
+    val resultsFile = benchmarkResults.get().asFile
+    val baselineFile = benchmarkBaseline.asFile
+
+    doLast {
+        @Suppress("UNCHECKED_CAST")
+        val runs = JsonSlurper().parse(resultsFile) as List<Map<String, Any?>>
+        val results = runs.map { run ->
+            val metric = run["primaryMetric"] as Map<*, *>
+            mapOf(
+                "benchmark" to run["benchmark"],
+                "mode" to run["mode"],
+                "params" to (run["params"] ?: emptyMap<String, String>()),
+                "score" to metric["score"],
+                "scoreError" to metric["scoreError"],
+                "unit" to metric["scoreUnit"]
+            )
+        }
+        val baseline = mapOf("machine" to benchmarkMachine(), "results" to results)
+        baselineFile.writeText(JsonOutput.prettyPrint(JsonOutput.toJson(baseline)) + "\n")
+        logger.lifecycle("Baseline of ${results.size} benchmarks written to $baselineFile")
+    }
+}
+
+tasks.register("checkBenchmarkBaseline") {
+    group = "verification"
+    description = "Runs JMH and fails when a benchmark is slower than the baseline beyond the tolerance."
+    dependsOn("jmh")
+    // -PbenchmarkTolerance=0.10 tightens it; the default absorbs run-to-run noise
+    val tolerance = (findProperty("benchmarkTolerance") as String?)?.toDouble() ?: 0.15
+    // -PbenchmarkAnyMachine compares anyway, e.g. to eyeball a change locally
+    val anyMachine = hasProperty("benchmarkAnyMachine")
+    val resultsFile = benchmarkResults.get().asFile
+    val baselineFile = benchmarkBaseline.asFile
+
+    doLast {
+        if (!baselineFile.exists()) {
+            logger.warn("No benchmark baseline at $baselineFile; run updateBenchmarkBaseline first")
+            return@doLast
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        val baselineJson = JsonSlurper().parse(baselineFile) as Map<String, Any?>
+        val recordedOn = baselineJson["machine"] as Map<*, *>
+        val machine = benchmarkMachine()
+        if (recordedOn != machine) {
+            val message = "The baseline was recorded on $recordedOn, this is $machine"
+            if (!anyMachine) throw GradleException("$message; pass -PbenchmarkAnyMachine to compare anyway")
+            logger.warn(message)
+        }
+
+        // Baseline scores keyed by benchmark and parameters
+        fun key(benchmark: Any?, params: Any?): String =
+            "$benchmark(${(params as Map<*, *>?)?.entries?.joinToString { "${it.key}=${it.value}" }.orEmpty()})"
+
+        @Suppress("UNCHECKED_CAST")
+        val baseline = (baselineJson["results"] as List<Map<String, Any?>>).associate { result ->
+            key(result["benchmark"], result["params"]) to (result["score"] as Number).toDouble()
+        }
+        @Suppress("UNCHECKED_CAST")
+        val runs = JsonSlurper().parse(resultsFile) as List<Map<String, Any?>>
+        val regressions = runs.mapNotNull { run ->
+            val name = key(run["benchmark"], run["params"])
+            val mode = run["mode"] as String
+            val score = ((run["primaryMetric"] as Map<*, *>)["score"] as Number).toDouble()
+            val reference = baseline[name] ?: return@mapNotNull null
+            // Throughput regresses downwards, time per operation upwards
+            val change = if (mode == "thrpt") (reference - score) / reference else (score - reference) / reference
+            if (change > tolerance) "$name: $reference -> $score ($mode, ${"%.1f".format(change * 100)}% worse)" else null
+        }
+
+        if (regressions.isNotEmpty()) {
+            throw GradleException("Benchmarks regressed beyond ${tolerance * 100}%:\n" + regressions.joinToString("\n"))
+        }
+        logger.lifecycle("All benchmarks within ${tolerance * 100}% of the baseline")
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartdrive.kenya.benchmark
+
+import com.smartdrive.kenya.data.model.AvailabilityCalendar
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.time.LocalDate
+import java.util.concurrent.TimeUnit
+
+/** Date-overlap filtering against a vehicle's calendar, and building one from its blocked days. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class AvailabilityBenchmark {
+
+    @Param("10000")
+    var ranges: Int = 0
+
+    private val today: LocalDate = LocalDate.of(2025, 6, 1)
+    private lateinit var dateRanges: List<Pair<LocalDate, LocalDate>>
+    private lateinit var blockedDays: List<String>
+    private lateinit var calendar: AvailabilityCalendar
+
+    @Setup
+    fun setUp() {
+        dateRanges = Fixtures.dateRanges(ranges, today)
+        // Roughly a third of the year booked, in stretches like real rentals
+        blockedDays = (0 until AvailabilityCalendar.WINDOW_DAYS)
+            .filter { (it / 4) % 3 == 0 }
+            .map { today.plusDays(it.toLong()).toString() }
+        calendar = AvailabilityCalendar.of("vehicle-0", blockedDays.map(LocalDate::parse), today)
+    }
+
+    @Benchmark
+    fun filterAvailableRanges(): Int = dateRanges.count { (start, end) -> calendar.isRangeAvailable(start, end) }
+
+    /** What a calendar (re)load does with the `vehicle_availability` rows. */
+    @Benchmark
+    fun buildCalendar(): AvailabilityCalendar =
+        AvailabilityCalendar.of("vehicle-0", blockedDays.map(LocalDate::parse), today)
+}
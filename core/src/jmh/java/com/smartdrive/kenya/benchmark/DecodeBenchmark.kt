@@ -0,0 +1,64 @@
+package com.smartdrive.kenya.benchmark
+
+import com.smartdrive.kenya.data.decode.ModelJson
+import com.smartdrive.kenya.data.decode.RentalSummaryDecoder
+import com.smartdrive.kenya.data.model.Rental
+import com.smartdrive.kenya.data.model.RentalLocation
+import com.smartdrive.kenya.data.model.RentalSummary
+import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.VehicleCard
+import kotlinx.serialization.decodeFromString
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.jsonObject
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/** Decoding of list responses and rental history assembly, per whole response. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class DecodeBenchmark {
+
+    @Param("10000")
+    var rows: Int = 0
+
+    private lateinit var vehiclesBody: String
+    private lateinit var rentalsBody: String
+    private lateinit var rentalRows: List<JsonObject>
+
+    @Setup
+    fun setUp() {
+        vehiclesBody = Fixtures.vehicleRows(rows).toString()
+        val rentals = Fixtures.rentalRows(rows)
+        rentalsBody = rentals.toString()
+        rentalRows = rentals.map { it.jsonObject }
+    }
+
+    @Benchmark
+    fun decodeVehicles(): List<Vehicle> = ModelJson.decodeFromString(vehiclesBody)
+
+    @Benchmark
+    fun decodeVehicleCards(): List<VehicleCard> = ModelJson.decodeFromString(vehiclesBody)
+
+    @Benchmark
+    fun decodeRentals(): List<Rental> = ModelJson.decodeFromString(rentalsBody)
+
+    /** The history path: every row decoded twice (rental and embeds) and interned. */
+    @Benchmark
+    fun assembleSummaries(): List<RentalSummary> {
+        val vehicles = HashMap<String, Vehicle>()
+        val locations = HashMap<String, RentalLocation>()
+        val decoder = RentalSummaryDecoder(
+            internVehicle = { vehicles.getOrPut(it.id) { it } },
+            internLocation = { locations.getOrPut(it.id) { it } }
+        )
+        return rentalRows.map(decoder::decode)
+    }
+}
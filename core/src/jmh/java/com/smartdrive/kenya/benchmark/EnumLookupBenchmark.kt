@@ -0,0 +1,73 @@
+package com.smartdrive.kenya.benchmark
+
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.RentalStatus
+import com.smartdrive.kenya.data.model.VehicleStatus
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * `fromString` lookups as done when mapping cached rows, per lookup. The
+ * `linear` variant is the former `entries.find` scan, kept as a reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(EnumLookupBenchmark.LOOKUPS)
+open class EnumLookupBenchmark {
+
+    private lateinit var rentalStatuses: Array<String>
+    private lateinit var vehicleStatuses: Array<String>
+    private lateinit var fuelTypes: Array<String>
+    private lateinit var insuranceTypes: Array<String>
+
+    @Setup
+    fun setUp() {
+        // Mostly known values plus the odd unknown one, which falls back to the default
+        fun values(known: List<String>) = Array(LOOKUPS) { i -> if (i % 17 == 0) "unknown" else known[i % known.size] }
+        rentalStatuses = values(RentalStatus.entries.map { it.value })
+        vehicleStatuses = values(VehicleStatus.entries.map { it.value })
+        fuelTypes = values(FuelType.entries.map { it.value })
+        insuranceTypes = values(InsuranceType.entries.map { it.value })
+    }
+
+    @Benchmark
+    fun rentalStatus(blackhole: Blackhole) {
+        for (value in rentalStatuses) blackhole.consume(RentalStatus.fromString(value))
+    }
+
+    @Benchmark
+    fun rentalStatusLinear(blackhole: Blackhole) {
+        for (value in rentalStatuses) {
+            blackhole.consume(RentalStatus.entries.find { it.value == value } ?: RentalStatus.PENDING)
+        }
+    }
+
+    @Benchmark
+    fun vehicleStatus(blackhole: Blackhole) {
+        for (value in vehicleStatuses) blackhole.consume(VehicleStatus.fromString(value))
+    }
+
+    @Benchmark
+    fun fuelType(blackhole: Blackhole) {
+        for (value in fuelTypes) blackhole.consume(FuelType.fromString(value))
+    }
+
+    @Benchmark
+    fun insuranceType(blackhole: Blackhole) {
+        for (value in insuranceTypes) blackhole.consume(InsuranceType.fromString(value))
+    }
+
+    companion object {
+        const val LOOKUPS = 1024
+    }
+}
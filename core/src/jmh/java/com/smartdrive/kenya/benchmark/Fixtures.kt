@@ -0,0 +1,131 @@
+package com.smartdrive.kenya.benchmark
+
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.RentalStatus
+import com.smartdrive.kenya.data.model.Transmission
+import com.smartdrive.kenya.data.model.VehicleStatus
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.add
+import kotlinx.serialization.json.addJsonObject
+import kotlinx.serialization.json.buildJsonArray
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.put
+import kotlinx.serialization.json.putJsonArray
+import kotlinx.serialization.json.putJsonObject
+import java.time.LocalDate
+import kotlin.random.Random
+
+/**
+ * Deterministic rows shaped like the PostgREST responses the app decodes, so
+ * runs on different machines measure the same input.
+ */
+object Fixtures {
+
+    private const val SEED = 20251127
+    private val makes = listOf("Toyota", "Nissan", "Mazda", "Subaru", "Mercedes-Benz", "Volkswagen", "Honda")
+    private val models = listOf("Corolla", "X-Trail", "CX-5", "Forester", "C-Class", "Tiguan", "Fit", "Prado")
+    private val features = listOf("GPS", "Bluetooth", "Air Conditioning", "Backup Camera", "Sunroof", "4WD")
+    private val origin: LocalDate = LocalDate.of(2025, 1, 1)
+
+    fun vehicleRows(count: Int): JsonArray {
+        val random = Random(SEED)
+        return buildJsonArray {
+            repeat(count) { index -> add(vehicle(index, random)) }
+        }
+    }
+
+    /** Rental rows with the embeds of `RentalRelations.SELECT`. */
+    fun rentalRows(count: Int, vehicles: Int = 200, locations: Int = 12): JsonArray {
+        val random = Random(SEED)
+        val vehicleRows = List(vehicles) { vehicle(it, random) }
+        val locationRows = List(locations) { location(it) }
+        return buildJsonArray {
+            repeat(count) { index ->
+                val pickup = origin.plusDays(random.nextLong(0, 300))
+                val days = random.nextInt(1, 15)
+                val vehicle = vehicleRows[random.nextInt(vehicles)]
+                val location = locationRows[random.nextInt(locations)]
+                addJsonObject {
+                    put("id", "rental-$index")
+                    put("customer_id", "customer-${index % 50}")
+                    put("vehicle_id", vehicle["id"]!!)
+                    put("pickup_location_id", location["id"]!!)
+                    put("return_location_id", location["id"]!!)
+                    put("pickup_date", pickup.toString())
+                    put("pickup_time", "09:00:00")
+                    put("return_date", pickup.plusDays(days.toLong()).toString())
+                    put("return_time", "17:00:00")
+                    put("daily_rate", 4500.0)
+                    put("total_days", days)
+                    put("subtotal", 4725.0 * days)
+                    put("insurance_cost", 225.0 * days)
+                    put("tax_amount", 756.0 * days)
+                    put("deposit_amount", 1644.3 * days)
+                    put("total_amount", 5481.0 * days)
+                    put("status", RentalStatus.entries[index % RentalStatus.entries.size].value)
+                    put("insurance_type", InsuranceType.entries[index % InsuranceType.entries.size].value)
+                    put("created_at", "${pickup.minusDays(3)}T10:15:30.000000+00:00")
+                    put("vehicle", vehicle)
+                    put("pickup_location", location)
+                    put("return_location", location)
+                    putJsonArray("rental_extra_selections") {
+                        if (index % 3 == 0) {
+                            addJsonObject {
+                                put("id", "selection-$index")
+                                put("rental_id", "rental-$index")
+                                put("rental_extra_id", "extra-1")
+                                put("quantity", 1)
+                                put("daily_rate", 500.0)
+                                put("total_cost", 500.0 * days)
+                            }
+                        }
+                    }
+                    putJsonArray("payments") {}
+                }
+            }
+        }
+    }
+
+    /** Pickup and return dates, up to two weeks long, spread over a year from today. */
+    fun dateRanges(count: Int, today: LocalDate): List<Pair<LocalDate, LocalDate>> {
+        val random = Random(SEED)
+        return List(count) {
+            val start = today.plusDays(random.nextLong(0, 350))
+            start to start.plusDays(random.nextLong(0, 14))
+        }
+    }
+
+    private fun vehicle(index: Int, random: Random): JsonObject = buildJsonObject {
+        put("id", "vehicle-$index")
+        put("make", makes[index % makes.size])
+        put("model", models[random.nextInt(models.size)])
+        put("year", 2015 + random.nextInt(10))
+        put("license_plate", "KC${('A' + index % 26)} ${100 + index % 900}${('A' + random.nextInt(26))}")
+        put("color", if (index % 4 == 0) null else "White")
+        put("fuel_type", FuelType.entries[index % FuelType.entries.size].value)
+        put("transmission", Transmission.entries[index % Transmission.entries.size].value)
+        put("seating_capacity", 4 + random.nextInt(4))
+        put("price_per_day", 2500.0 + random.nextInt(80) * 100)
+        put("image_url", "https://images.example.com/vehicles/$index.jpg")
+        put("status", VehicleStatus.entries[index % VehicleStatus.entries.size].value)
+        putJsonArray("features") {
+            features.shuffled(random).take(random.nextInt(1, 4)).forEach { add(it) }
+        }
+        put("created_at", "2025-01-01T00:00:00.000000+00:00")
+    }
+
+    private fun location(index: Int): JsonObject = buildJsonObject {
+        put("id", "location-$index")
+        put("name", "Branch $index")
+        put("address", "$index Kenyatta Avenue")
+        put("city", "Nairobi")
+        put("county", "Nairobi")
+        putJsonObject("operating_hours") {
+            put("mon-fri", "08:00-18:00")
+            put("sat", "09:00-14:00")
+        }
+        put("created_at", "2025-01-01T00:00:00.000000+00:00")
+    }
+}
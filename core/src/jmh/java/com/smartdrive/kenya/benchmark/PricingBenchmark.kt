@@ -0,0 +1,61 @@
+package com.smartdrive.kenya.benchmark
+
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.RentalExtra
+import com.smartdrive.kenya.data.pricing.PriceQuote
+import com.smartdrive.kenya.data.pricing.PricingEngine
+import com.smartdrive.kenya.data.pricing.PricingRules
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+/** Re-quoting as the booking form does on every date, insurance or extra change. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class PricingBenchmark {
+
+    private val engine = PricingEngine()
+    private val insuranceTypes = InsuranceType.entries.toTypedArray()
+    private lateinit var selections: Array<Map<String, Int>>
+    private var step = 0
+
+    @Setup
+    fun setUp() {
+        val extras = List(6) { RentalExtra("extra-$it", "Extra $it", null, 250.0 + it * 150, "convenience") }
+        engine.updateExtras(extras)
+        // Every subset of the first four extras, like a user toggling them
+        selections = Array(16) { mask -> extras.take(4).filterIndexed { i, _ -> mask and (1 shl i) != 0 }.associate { it.id to 1 } }
+    }
+
+    /** Cycles through more combinations than the memo holds, so most calls are misses. */
+    @Benchmark
+    fun requote(): PriceQuote {
+        val i = step++
+        return engine.quote(
+            vehicleId = "vehicle-0",
+            dailyRateCents = 450_000,
+            days = 1 + i % 14,
+            insuranceType = insuranceTypes[(i / 14) % insuranceTypes.size],
+            extras = selections[(i / 56) % selections.size]
+        )
+    }
+
+    /** Toggling one extra back and forth: every call after the first two is a memo hit. */
+    @Benchmark
+    fun requoteToggle(): PriceQuote = engine.quote(
+        vehicleId = "vehicle-0",
+        dailyRateCents = 450_000,
+        days = 3,
+        insuranceType = InsuranceType.BASIC,
+        extras = selections[step++ and 1]
+    )
+
+    @Benchmark
+    fun quoteUncached(): PriceQuote = PricingRules.quote(450_000, 7, InsuranceType.COMPREHENSIVE, 135_050)
+}
@@ -0,0 +1,73 @@
+package com.smartdrive.kenya.data.decode
+
+import com.smartdrive.kenya.data.model.FuelType
+import com.smartdrive.kenya.data.model.Rental
+import com.smartdrive.kenya.data.model.RentalLocation
+import com.smartdrive.kenya.data.model.RentalRelations
+import com.smartdrive.kenya.data.model.RentalSummary
+import com.smartdrive.kenya.data.model.Transmission
+import com.smartdrive.kenya.data.model.Vehicle
+import com.smartdrive.kenya.data.model.VehicleStatus
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.decodeFromJsonElement
+import kotlinx.serialization.json.jsonObject
+
+/** The JSON configuration model rows are decoded with outside supabase-kt. */
+val ModelJson = Json { ignoreUnknownKeys = true }
+
+/**
+ * Assembles a [RentalSummary] from one `rentals` row selected with
+ * [RentalRelations.SELECT]. Embedded vehicles and locations go through
+ * [internVehicle] and [internLocation], so the app can swap them for its shared
+ * instances; a missing embed becomes a placeholder instead of failing the row.
+ */
+class RentalSummaryDecoder(
+    private val internVehicle: (Vehicle) -> Vehicle = { it },
+    private val internLocation: (RentalLocation) -> RentalLocation = { it }
+) {
+
+    fun decode(row: JsonObject): RentalSummary {
+        val rental = ModelJson.decodeFromJsonElement<Rental>(row)
+        val relations = ModelJson.decodeFromJsonElement<RentalRelations>(row)
+        val pickupLocation = relations.pickupLocation?.let(internLocation) ?: UNKNOWN_LOCATION
+
+        return RentalSummary(
+            rental = rental,
+            vehicle = relations.vehicle?.let(internVehicle) ?: UNKNOWN_VEHICLE,
+            pickupLocation = pickupLocation,
+            returnLocation = relations.returnLocation?.let(internLocation) ?: pickupLocation,
+            selectedExtras = relations.selectedExtras,
+            payments = relations.payments,
+            review = relations.review
+        )
+    }
+
+    /** Decodes a row stored as its JSON text, e.g. in the history cache. */
+    fun decode(payload: String): RentalSummary =
+        decode(ModelJson.parseToJsonElement(payload).jsonObject)
+
+    companion object {
+        val UNKNOWN_VEHICLE = Vehicle(
+            id = "",
+            make = "Unknown",
+            model = "Vehicle",
+            year = 2020,
+            licensePlate = "",
+            color = null,
+            fuelType = FuelType.PETROL,
+            transmission = Transmission.MANUAL,
+            seatingCapacity = 4,
+            pricePerDay = 0.0,
+            imageUrl = null,
+            status = VehicleStatus.AVAILABLE,
+            features = emptyList(),
+            agentId = null,
+            createdAt = "",
+            updatedAt = null
+        )
+
+        val UNKNOWN_LOCATION =
+            RentalLocation("", "Unknown Location", "", "", "", null, null, null, null, null, true, "")
+    }
+}
@@ -0,0 +1,90 @@
+package com.smartdrive.kenya.data.model
+
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+import java.time.LocalDate
+import java.time.temporal.ChronoUnit
+import java.util.BitSet
+
+/** One row of `vehicle_availability`; booked rental days are mirrored here server-side. */
+@Serializable
+data class VehicleAvailabilityDay(
+    @SerialName("vehicle_id") val vehicleId: String,
+    val date: String,
+    @SerialName("is_available") val isAvailable: Boolean = true
+)
+
+/**
+ * Blocked days of one vehicle over a rolling window starting at [origin]. Bit `n`
+ * is set when `origin + n days` cannot be booked, so single-day and range checks
+ * are answered locally without a round trip. Instances are immutable; [block] and
+ * [unblock] return a copy so the calendar can be published through a StateFlow.
+ */
+class AvailabilityCalendar private constructor(
+    val vehicleId: String,
+    val origin: LocalDate,
+    private val blocked: BitSet
+) {
+
+    val lastDay: LocalDate get() = origin.plusDays((WINDOW_DAYS - 1).toLong())
+
+    fun contains(date: LocalDate): Boolean = indexOf(date) != null
+
+    /** Days outside the window are treated as bookable; the server still has the final word. */
+    fun isBlocked(date: LocalDate): Boolean = indexOf(date)?.let { blocked[it] } ?: false
+
+    /** True when no day in `[start, end]` is blocked. Dates before today never are. */
+    fun isRangeAvailable(start: LocalDate, end: LocalDate): Boolean {
+        if (end.isBefore(start)) return false
+        if (start.isBefore(origin)) return false
+        val from = indexOf(start) ?: return true
+        val to = indexOf(end) ?: (WINDOW_DAYS - 1)
+        val next = blocked.nextSetBit(from)
+        return next == -1 || next > to
+    }
+
+    fun blockedDates(): List<LocalDate> {
+        val dates = mutableListOf<LocalDate>()
+        var index = blocked.nextSetBit(0)
+        while (index >= 0) {
+            dates.add(origin.plusDays(index.toLong()))
+            index = blocked.nextSetBit(index + 1)
+        }
+        return dates
+    }
+
+    fun block(date: LocalDate): AvailabilityCalendar = withBit(date, true)
+
+    fun unblock(date: LocalDate): AvailabilityCalendar = withBit(date, false)
+
+    private fun withBit(date: LocalDate, value: Boolean): AvailabilityCalendar {
+        val index = indexOf(date) ?: return this
+        if (blocked[index] == value) return this
+        val copy = blocked.clone() as BitSet
+        copy[index] = value
+        return AvailabilityCalendar(vehicleId, origin, copy)
+    }
+
+    private fun indexOf(date: LocalDate): Int? {
+        val offset = ChronoUnit.DAYS.between(origin, date)
+        return if (offset in 0 until WINDOW_DAYS) offset.toInt() else null
+    }
+
+    companion object {
+        /** A rolling twelve months, leap day included. */
+        const val WINDOW_DAYS = 366
+
+        fun empty(vehicleId: String, origin: LocalDate = LocalDate.now()): AvailabilityCalendar =
+            AvailabilityCalendar(vehicleId, origin, BitSet(WINDOW_DAYS))
+
+        fun of(
+            vehicleId: String,
+            blockedDates: Iterable<LocalDate>,
+            origin: LocalDate = LocalDate.now()
+        ): AvailabilityCalendar {
+            val calendar = empty(vehicleId, origin)
+            blockedDates.forEach { date -> calendar.indexOf(date)?.let { calendar.blocked.set(it) } }
+            return calendar
+        }
+    }
+}
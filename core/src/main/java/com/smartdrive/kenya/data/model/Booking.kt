@@ -31,8 +31,10 @@ enum class BookingStatus(val value: String) {
     CANCELLED("cancelled");
 
     companion object {
+        private val byValue = entries.associateBy { it.value }
+
         fun fromString(value: String): BookingStatus {
-            return entries.find { it.value == value } ?: PENDING
+            return byValue[value] ?: PENDING
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.smartdrive.kenya.data.model
+
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+
+@Serializable
+data class Profile(
+    val id: String,
+    @SerialName("full_name") val fullName: String? = null,
+    @SerialName("avatar_url") val avatarUrl: String? = null,
+    val role: UserRole = UserRole.CUSTOMER,
+    val phone: String? = null,
+    @SerialName("signup_source") val signupSource: String? = null,
+    @SerialName("created_at") val createdAt: String? = null,
+    @SerialName("updated_at") val updatedAt: String? = null
+) {
+    companion object {
+        const val TABLE_NAME = "profiles"
+    }
+}
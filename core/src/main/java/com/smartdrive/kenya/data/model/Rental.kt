@@ -0,0 +1,268 @@
+package com.smartdrive.kenya.data.model
+
+import com.smartdrive.kenya.data.pricing.toCents
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+import java.math.BigDecimal
+import java.time.LocalDate
+import java.time.LocalTime
+
+@Serializable
+data class Rental(
+    val id: String,
+    @SerialName("customer_id") val customerId: String,
+    @SerialName("vehicle_id") val vehicleId: String,
+    @SerialName("pickup_location_id") val pickupLocationId: String,
+    @SerialName("return_location_id") val returnLocationId: String,
+    
+    // Rental dates and times
+    @SerialName("pickup_date") val pickupDate: String, // LocalDate as string
+    @SerialName("pickup_time") val pickupTime: String, // LocalTime as string
+    @SerialName("return_date") val returnDate: String,
+    @SerialName("return_time") val returnTime: String,
+    @SerialName("actual_pickup_datetime") val actualPickupDatetime: String? = null,
+    @SerialName("actual_return_datetime") val actualReturnDatetime: String? = null,
+    
+    // Pricing
+    @SerialName("daily_rate") val dailyRate: Double,
+    @SerialName("total_days") val totalDays: Int,
+    val subtotal: Double,
+    @SerialName("insurance_cost") val insuranceCost: Double = 0.0,
+    @SerialName("tax_amount") val taxAmount: Double = 0.0,
+    @SerialName("deposit_amount") val depositAmount: Double,
+    @SerialName("total_amount") val totalAmount: Double,
+    
+    // Status and details
+    val status: RentalStatus = RentalStatus.PENDING,
+    @SerialName("insurance_type") val insuranceType: InsuranceType = InsuranceType.BASIC,
+    @SerialName("special_requests") val specialRequests: String? = null,
+    
+    // Vehicle condition tracking
+    @SerialName("pickup_mileage") val pickupMileage: Int? = null,
+    @SerialName("return_mileage") val returnMileage: Int? = null,
+    @SerialName("pickup_fuel_level") val pickupFuelLevel: Int? = null,
+    @SerialName("return_fuel_level") val returnFuelLevel: Int? = null,
+    
+    @SerialName("admin_notes") val adminNotes: String? = null,
+    @SerialName("created_at") val createdAt: String,
+    @SerialName("updated_at") val updatedAt: String? = null
+)
+
+@Serializable
+enum class RentalStatus(val value: String) {
+    @SerialName("pending") PENDING("pending"),
+    @SerialName("confirmed") CONFIRMED("confirmed"),
+    @SerialName("active") ACTIVE("active"),
+    @SerialName("completed") COMPLETED("completed"),
+    @SerialName("cancelled") CANCELLED("cancelled"),
+    @SerialName("overdue") OVERDUE("overdue");
+
+    companion object {
+        private val byValue = entries.associateBy { it.value }
+
+        fun fromString(value: String): RentalStatus {
+            return byValue[value] ?: PENDING
+        }
+    }
+}
+
+@Serializable
+enum class InsuranceType(val value: String, val displayName: String, val coveragePercent: Int) {
+    @SerialName("none") NONE("none", "No Insurance", 0),
+    @SerialName("basic") BASIC("basic", "Basic Coverage", 5),
+    @SerialName("comprehensive") COMPREHENSIVE("comprehensive", "Comprehensive", 15),
+    @SerialName("premium") PREMIUM("premium", "Premium Coverage", 25);
+
+    companion object {
+        private val byValue = entries.associateBy { it.value }
+
+        fun fromString(value: String): InsuranceType {
+            return byValue[value] ?: BASIC
+        }
+    }
+}
+
+@Serializable
+data class RentalLocation(
+    val id: String,
+    val name: String,
+    val address: String,
+    val city: String,
+    val county: String,
+    val latitude: Double? = null,
+    val longitude: Double? = null,
+    val phone: String? = null,
+    val email: String? = null,
+    @SerialName("operating_hours") val operatingHours: Map<String, String>? = null,
+    @SerialName("is_active") val isActive: Boolean = true,
+    @SerialName("created_at") val createdAt: String
+)
+
+@Serializable
+data class RentalExtra(
+    val id: String,
+    val name: String,
+    val description: String? = null,
+    @SerialName("daily_rate") val dailyRate: Double,
+    val category: String, // navigation, safety, comfort, convenience
+    @SerialName("is_active") val isActive: Boolean = true
+)
+
+@Serializable
+data class RentalExtraSelection(
+    val id: String,
+    @SerialName("rental_id") val rentalId: String,
+    @SerialName("rental_extra_id") val rentalExtraId: String,
+    val quantity: Int = 1,
+    @SerialName("daily_rate") val dailyRate: Double,
+    @SerialName("total_cost") val totalCost: Double
+)
+
+@Serializable
+data class Payment(
+    val id: String,
+    @SerialName("rental_id") val rentalId: String,
+    @SerialName("customer_id") val customerId: String,
+    val amount: Double,
+    @SerialName("payment_method") val paymentMethod: PaymentMethod,
+    val status: PaymentStatus = PaymentStatus.PENDING,
+    @SerialName("transaction_id") val transactionId: String? = null,
+    @SerialName("mpesa_receipt_number") val mpesaReceiptNumber: String? = null,
+    @SerialName("mpesa_phone_number") val mpesaPhoneNumber: String? = null,
+    val currency: String = "KES",
+    @SerialName("payment_date") val paymentDate: String? = null,
+    val description: String? = null,
+    @SerialName("created_at") val createdAt: String
+)
+
+@Serializable
+enum class PaymentMethod(val value: String, val displayName: String) {
+    @SerialName("mpesa") MPESA("mpesa", "M-Pesa"),
+    @SerialName("card") CARD("card", "Credit/Debit Card"),
+    @SerialName("bank_transfer") BANK_TRANSFER("bank_transfer", "Bank Transfer"),
+    @SerialName("cash") CASH("cash", "Cash"),
+    @SerialName("wallet") WALLET("wallet", "Digital Wallet");
+
+    companion object {
+        private val byValue = entries.associateBy { it.value }
+
+        fun fromString(value: String): PaymentMethod {
+            return byValue[value] ?: MPESA
+        }
+    }
+}
+
+@Serializable
+enum class PaymentStatus(val value: String) {
+    @SerialName("pending") PENDING("pending"),
+    @SerialName("processing") PROCESSING("processing"),
+    @SerialName("completed") COMPLETED("completed"),
+    @SerialName("failed") FAILED("failed"),
+    @SerialName("refunded") REFUNDED("refunded"),
+    @SerialName("cancelled") CANCELLED("cancelled");
+
+    companion object {
+        private val byValue = entries.associateBy { it.value }
+
+        fun fromString(value: String): PaymentStatus {
+            return byValue[value] ?: PENDING
+        }
+    }
+}
+
+@Serializable
+data class Review(
+    val id: String,
+    @SerialName("rental_id") val rentalId: String,
+    @SerialName("customer_id") val customerId: String,
+    @SerialName("vehicle_id") val vehicleId: String,
+    @SerialName("overall_rating") val overallRating: Int, // 1-5
+    @SerialName("vehicle_condition_rating") val vehicleConditionRating: Int? = null,
+    @SerialName("service_rating") val serviceRating: Int? = null,
+    @SerialName("value_for_money_rating") val valueForMoneyRating: Int? = null,
+    val title: String? = null,
+    val comment: String? = null,
+    @SerialName("is_approved") val isApproved: Boolean = false,
+    @SerialName("is_featured") val isFeatured: Boolean = false,
+    @SerialName("created_at") val createdAt: String
+)
+
+/** The few `rentals` columns needed to authorise a review. */
+@Serializable
+data class RentalReviewTarget(
+    val id: String,
+    @SerialName("vehicle_id") val vehicleId: String,
+    val status: RentalStatus
+)
+
+// Data classes for UI state
+data class RentalRequest(
+    val vehicleId: String,
+    val pickupLocationId: String,
+    val returnLocationId: String,
+    val pickupDate: LocalDate,
+    val pickupTime: LocalTime,
+    val returnDate: LocalDate,
+    val returnTime: LocalTime,
+    val insuranceType: InsuranceType = InsuranceType.BASIC,
+    val selectedExtras: List<RentalExtraSelection> = emptyList(),
+    val specialRequests: String? = null,
+    /** The total the booking screen showed; the server prices the rental itself. */
+    val quotedTotalCents: Long? = null
+)
+
+/** A rental as `create_rental` stored it, with the total the customer was quoted. */
+data class CreatedRental(
+    val rental: Rental,
+    val quotedTotalCents: Long? = null
+) {
+    val storedTotalCents: Long get() = rental.totalAmount.toCents()
+
+    /** Both sides apply PricingRules, so a difference means a rate changed mid-booking. */
+    val totalChanged: Boolean get() = quotedTotalCents != null && quotedTotalCents != storedTotalCents
+}
+
+data class RentalSummary(
+    val rental: Rental,
+    val vehicle: Vehicle,
+    val pickupLocation: RentalLocation,
+    val returnLocation: RentalLocation,
+    val selectedExtras: List<RentalExtraSelection> = emptyList(),
+    val payments: List<Payment> = emptyList(),
+    val review: Review? = null
+)
+
+/** Keyset position in a customer's rental history, ordered by (created_at DESC, id DESC). */
+data class RentalCursor(
+    val createdAt: String,
+    val id: String
+)
+
+data class RentalPage(
+    val rentals: List<RentalSummary>,
+    val nextCursor: RentalCursor?
+)
+
+/**
+ * Resources embedded next to a `rentals` row by [RentalRelations.SELECT].
+ * `reviews.rental_id` is unique, so PostgREST embeds the review as a single object.
+ */
+@Serializable
+data class RentalRelations(
+    val vehicle: Vehicle? = null,
+    @SerialName("pickup_location") val pickupLocation: RentalLocation? = null,
+    @SerialName("return_location") val returnLocation: RentalLocation? = null,
+    @SerialName("rental_extra_selections") val selectedExtras: List<RentalExtraSelection> = emptyList(),
+    val payments: List<Payment> = emptyList(),
+    val review: Review? = null
+) {
+    companion object {
+        const val SELECT = "*," +
+            "vehicle:vehicles(${Vehicle.COLUMNS})," +
+            "pickup_location:rental_locations!pickup_location_id(*)," +
+            "return_location:rental_locations!return_location_id(*)," +
+            "rental_extra_selections(*)," +
+            "payments(*)," +
+            "review:reviews(*)"
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.smartdrive.kenya.data.model
+
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+
+@Serializable
+data class User(
+    val id: String,
+    val email: String,
+    val createdAt: String,
+    val updatedAt: String? = null
+)
+
+
+@Serializable
+enum class UserRole(val value: String) {
+    @SerialName("admin") ADMIN("admin"),
+    @SerialName("agent") AGENT("agent"),
+    @SerialName("customer") CUSTOMER("customer");
+
+    fun has(permission: Permission): Boolean = permission in PERMISSIONS.getValue(this)
+
+    companion object {
+        private val byValue = entries.associateBy { it.value }
+
+        fun fromString(value: String): UserRole {
+            return byValue[value] ?: CUSTOMER
+        }
+
+        // Mirrors the RLS policies, which remain the actual enforcement
+        private val PERMISSIONS = mapOf(
+            ADMIN to Permission.entries.toSet(),
+            AGENT to setOf(
+                Permission.BOOK_VEHICLES,
+                Permission.VIEW_ALL_VEHICLES,
+                Permission.UPDATE_VEHICLE_STATUS,
+                Permission.VIEW_ALL_RENTALS
+            ),
+            CUSTOMER to setOf(Permission.BOOK_VEHICLES)
+        )
+    }
+}
+
+enum class Permission {
+    BOOK_VEHICLES,
+    VIEW_ALL_VEHICLES,
+    UPDATE_VEHICLE_STATUS,
+    MANAGE_VEHICLES,
+    VIEW_ALL_RENTALS,
+    MANAGE_RENTALS
+}
\ No newline at end of file
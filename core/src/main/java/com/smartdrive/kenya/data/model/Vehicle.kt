@@ -18,10 +18,34 @@ data class Vehicle(
     @SerialName("image_url") val imageUrl: String? = null,
     val status: VehicleStatus = VehicleStatus.AVAILABLE,
     val features: List<String> = emptyList(),
+    @SerialName("body_type") val bodyType: BodyType? = null,
     @SerialName("agent_id") val agentId: String? = null,
     @SerialName("created_at") val createdAt: String,
     @SerialName("updated_at") val updatedAt: String? = null
-)
+) {
+    companion object {
+        /** The columns this model decodes; the table has many more the app never reads. */
+        const val COLUMNS = "id,make,model,year,license_plate,color,fuel_type,transmission," +
+            "seating_capacity,price_per_day,image_url,status,features,body_type,agent_id,created_at,updated_at"
+    }
+}
+
+@Serializable
+enum class BodyType(val value: String) {
+    @SerialName("sedan") SEDAN("sedan"),
+    @SerialName("hatchback") HATCHBACK("hatchback"),
+    @SerialName("suv") SUV("suv"),
+    @SerialName("van") VAN("van"),
+    @SerialName("pickup") PICKUP("pickup");
+
+    companion object {
+        private val byValue = entries.associateBy { it.value }
+
+        fun fromString(value: String?): BodyType? {
+            return value?.let(byValue::get)
+        }
+    }
+}
 
 @Serializable
 enum class FuelType(val value: String) {
@@ -31,8 +55,10 @@ enum class FuelType(val value: String) {
     @SerialName("hybrid") HYBRID("hybrid");
 
     companion object {
+        private val byValue = entries.associateBy { it.value }
+
         fun fromString(value: String): FuelType {
-            return entries.find { it.value == value } ?: PETROL
+            return byValue[value] ?: PETROL
         }
     }
 }
@@ -43,8 +69,10 @@ enum class Transmission(val value: String) {
     @SerialName("automatic") AUTOMATIC("automatic");
 
     companion object {
+        private val byValue = entries.associateBy { it.value }
+
         fun fromString(value: String): Transmission {
-            return entries.find { it.value == value } ?: MANUAL
+            return byValue[value] ?: MANUAL
         }
     }
 }
@@ -57,8 +85,10 @@ enum class VehicleStatus(val value: String) {
     @SerialName("unavailable") UNAVAILABLE("unavailable");
 
     companion object {
+        private val byValue = entries.associateBy { it.value }
+
         fun fromString(value: String): VehicleStatus {
-            return entries.find { it.value == value } ?: AVAILABLE
+            return byValue[value] ?: AVAILABLE
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.smartdrive.kenya.data.model
+
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+
+/**
+ * Lightweight projection of a `vehicles` row with just what list cards render
+ * and on-device search indexes.
+ * List queries select [COLUMNS] instead of every column; the full [Vehicle] is
+ * only fetched for the details screen.
+ */
+@Serializable
+data class VehicleCard(
+    val id: String,
+    val make: String,
+    val model: String,
+    val year: Int,
+    @SerialName("license_plate") val licensePlate: String,
+    val color: String? = null,
+    @SerialName("fuel_type") val fuelType: FuelType = FuelType.PETROL,
+    val transmission: Transmission = Transmission.MANUAL,
+    @SerialName("seating_capacity") val seatingCapacity: Int,
+    @SerialName("price_per_day") val pricePerDay: Double,
+    @SerialName("image_url") val imageUrl: String? = null,
+    val status: VehicleStatus = VehicleStatus.AVAILABLE,
+    val features: List<String> = emptyList(),
+    @SerialName("body_type") val bodyType: BodyType? = null,
+    @SerialName("created_at") val createdAt: String
+) {
+    companion object {
+        const val COLUMNS =
+            "id,make,model,year,license_plate,color,fuel_type,transmission,seating_capacity,price_per_day," +
+                "image_url,status,features,body_type,created_at"
+    }
+}
+
+fun Vehicle.toCard() = VehicleCard(
+    id = id,
+    make = make,
+    model = model,
+    year = year,
+    licensePlate = licensePlate,
+    color = color,
+    fuelType = fuelType,
+    transmission = transmission,
+    seatingCapacity = seatingCapacity,
+    pricePerDay = pricePerDay,
+    imageUrl = imageUrl,
+    status = status,
+    features = features,
+    bodyType = bodyType,
+    createdAt = createdAt
+)
+
+/** Applies the card columns of a fresher [card] to a previously loaded full row. */
+fun Vehicle.withCard(card: VehicleCard) = copy(
+    make = card.make,
+    model = card.model,
+    year = card.year,
+    licensePlate = card.licensePlate,
+    color = card.color,
+    fuelType = card.fuelType,
+    transmission = card.transmission,
+    seatingCapacity = card.seatingCapacity,
+    pricePerDay = card.pricePerDay,
+    imageUrl = card.imageUrl,
+    status = card.status,
+    features = card.features,
+    bodyType = card.bodyType,
+    createdAt = card.createdAt
+)
@@ -0,0 +1,38 @@
+package com.smartdrive.kenya.data.model
+
+/**
+ * Server-side filters for the vehicle catalog. Every non-null / non-empty field
+ * is translated into a PostgREST filter so only matching rows leave the database.
+ */
+data class VehicleCatalogQuery(
+    val status: VehicleStatus? = VehicleStatus.AVAILABLE,
+    val ids: List<String> = emptyList(),
+    val fuelTypes: Set<FuelType> = emptySet(),
+    val transmissions: Set<Transmission> = emptySet(),
+    val minPricePerDay: Double? = null,
+    val maxPricePerDay: Double? = null
+)
+
+/**
+ * Keyset cursor for the catalog. Rows are ordered by `(created_at desc, id desc)`,
+ * so the cursor is the sort key of the last row of the previous page.
+ */
+data class VehicleCursor(
+    val createdAt: String,
+    val id: String
+)
+
+data class VehiclePage(
+    val vehicles: List<VehicleCard>,
+    val nextCursor: VehicleCursor?
+)
+
+/**
+ * State of the shared, Realtime-synced copy of the fleet. [live] is true once a
+ * full snapshot is in the local cache; change events keep it current from then on.
+ */
+data class FleetSyncStatus(
+    val loading: Boolean = false,
+    val live: Boolean = false,
+    val error: String? = null
+)
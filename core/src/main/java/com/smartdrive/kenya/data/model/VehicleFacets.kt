@@ -0,0 +1,69 @@
+package com.smartdrive.kenya.data.model
+
+enum class FacetGroup {
+    FUEL_TYPE,
+    TRANSMISSION,
+    SEATS,
+    PRICE_BAND,
+    BODY_TYPE,
+    FEATURE
+}
+
+/**
+ * One selectable value of a facet, e.g. fuel type `electric`. Selected values
+ * of the same group are OR-ed together and the groups are AND-ed.
+ */
+data class FacetValue(
+    val group: FacetGroup,
+    val key: String
+) {
+    companion object {
+        fun fuelType(fuelType: FuelType) = FacetValue(FacetGroup.FUEL_TYPE, fuelType.value)
+        fun transmission(transmission: Transmission) = FacetValue(FacetGroup.TRANSMISSION, transmission.value)
+        fun seats(band: SeatsBand) = FacetValue(FacetGroup.SEATS, band.key)
+        fun priceBand(band: PriceBand) = FacetValue(FacetGroup.PRICE_BAND, band.key)
+        fun bodyType(bodyType: BodyType) = FacetValue(FacetGroup.BODY_TYPE, bodyType.value)
+        fun feature(feature: String) = FacetValue(FacetGroup.FEATURE, feature)
+    }
+}
+
+enum class SeatsBand(val key: String, val minSeats: Int) {
+    UP_TO_FOUR("1-4", 1),
+    FIVE_TO_SIX("5-6", 5),
+    SEVEN_PLUS("7+", 7);
+
+    companion object {
+        fun of(seats: Int): SeatsBand = entries.lastOrNull { seats >= it.minSeats } ?: UP_TO_FOUR
+    }
+}
+
+/** Daily price bands in KES. [LUXURY] backs the browse screen's Luxury chip. */
+enum class PriceBand(val key: String, val minPricePerDay: Double) {
+    ECONOMY("economy", 0.0),
+    STANDARD("standard", 4_000.0),
+    LUXURY("luxury", 8_000.0);
+
+    companion object {
+        fun of(pricePerDay: Double): PriceBand = entries.lastOrNull { pricePerDay >= it.minPricePerDay } ?: ECONOMY
+    }
+}
+
+/**
+ * Outcome of a facet selection over the cached catalog. [countOf] gives, for
+ * every facet value, how many vehicles have that value and match the selection
+ * in all other groups, which is what a chip adds when tapped. [vehicles] is
+ * null when nothing is selected.
+ *
+ * The value ids and [features] are shared by every result of one catalog
+ * snapshot; only the counts and the matching vehicles are built per selection.
+ */
+class FacetResults(
+    val vehicles: List<VehicleCard>? = null,
+    private val valueIds: Map<FacetValue, Int> = emptyMap(),
+    /** Chip counts indexed by the ids in [valueIds]. */
+    private val counts: IntArray = IntArray(0),
+    /** Feature values, most common across the catalog first. */
+    val features: List<FacetValue> = emptyList()
+) {
+    fun countOf(value: FacetValue): Int = valueIds[value]?.let { counts[it] } ?: 0
+}
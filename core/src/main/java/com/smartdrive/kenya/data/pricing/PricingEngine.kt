@@ -0,0 +1,186 @@
+package com.smartdrive.kenya.data.pricing
+
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.RentalExtra
+import java.time.LocalDate
+import java.time.temporal.ChronoUnit
+
+/** A priced booking, every amount in cents (KES minor units). */
+data class PriceQuote(
+    val totalDays: Int,
+    val dailyRateCents: Long,
+    val baseCents: Long,
+    val insuranceCents: Long,
+    val extrasCents: Long,
+    val subtotalCents: Long,
+    val taxCents: Long,
+    val totalCents: Long,
+    val depositCents: Long
+) {
+    companion object {
+        val EMPTY = PriceQuote(1, 0, 0, 0, 0, 0, 0, 0, 0)
+    }
+}
+
+fun Double.toCents(): Long = Math.round(this * 100)
+
+fun Long.centsToAmount(): Double = this / 100.0
+
+/**
+ * The booking price rules. `rental_price_cents` in
+ * `supabase/migrations/20251126090000-unified-pricing.sql` is the same
+ * arithmetic, and that migration checks it against golden cases produced by
+ * these functions; `PricingGoldenTest` runs these functions over the same rows,
+ * so what the booking screen shows is what `create_rental` stores.
+ *
+ * Everything is integer cents. Percentages round half up once per component,
+ * matching `ROUND(numeric, 2)` for the non-negative amounts involved.
+ */
+object PricingRules {
+    const val TAX_PERCENT = 16
+    const val DEPOSIT_PERCENT = 30
+
+    /** Most of one extra a booking can take; `create_rental` rejects a quantity outside 1 to this. */
+    const val MAX_EXTRA_QUANTITY = 10
+
+    /** Whole days between the dates; a same-day rental is charged as one day. */
+    fun rentalDays(pickupDate: LocalDate, returnDate: LocalDate): Int =
+        ChronoUnit.DAYS.between(pickupDate, returnDate).toInt().coerceAtLeast(1)
+
+    fun baseCents(dailyRateCents: Long, days: Int): Long = dailyRateCents * days
+
+    fun insuranceCents(dailyRateCents: Long, insuranceType: InsuranceType, days: Int): Long =
+        percentOf(dailyRateCents * days, insuranceType.coveragePercent)
+
+    /**
+     * Daily rate times quantity, summed over [quantities] (extra id to quantity).
+     * Extras without a rate in [rateCents] are not charged, as `create_rental`
+     * skips ids that are not in the active catalog.
+     */
+    fun extrasDailyCents(rateCents: Map<String, Long>, quantities: Map<String, Int>): Long {
+        var sum = 0L
+        for ((id, quantity) in quantities) sum += (rateCents[id] ?: 0L) * quantity
+        return sum
+    }
+
+    /** [extrasDailyCents] is the sum of daily rate times quantity over the selected extras. */
+    fun extrasCents(extrasDailyCents: Long, days: Int): Long = extrasDailyCents * days
+
+    fun quote(
+        dailyRateCents: Long,
+        days: Int,
+        insuranceType: InsuranceType,
+        extrasDailyCents: Long
+    ): PriceQuote = assemble(
+        dailyRateCents = dailyRateCents,
+        days = days,
+        baseCents = baseCents(dailyRateCents, days),
+        insuranceCents = insuranceCents(dailyRateCents, insuranceType, days),
+        extrasCents = extrasCents(extrasDailyCents, days)
+    )
+
+    internal fun assemble(
+        dailyRateCents: Long,
+        days: Int,
+        baseCents: Long,
+        insuranceCents: Long,
+        extrasCents: Long
+    ): PriceQuote {
+        val subtotal = baseCents + insuranceCents + extrasCents
+        val tax = percentOf(subtotal, TAX_PERCENT)
+        val total = subtotal + tax
+        return PriceQuote(
+            totalDays = days,
+            dailyRateCents = dailyRateCents,
+            baseCents = baseCents,
+            insuranceCents = insuranceCents,
+            extrasCents = extrasCents,
+            subtotalCents = subtotal,
+            taxCents = tax,
+            totalCents = total,
+            depositCents = percentOf(total, DEPOSIT_PERCENT)
+        )
+    }
+
+    private fun percentOf(cents: Long, percent: Int): Long = (cents * percent + 50) / 100
+}
+
+/**
+ * Quotes for one booking flow. Quotes are memoized per (vehicle, rate, days,
+ * insurance, extra quantities), so toggling back to an earlier choice is a map hit.
+ * On a miss only the components whose inputs changed since the previous quote
+ * are recomputed: changing insurance keeps the base and extras, toggling an
+ * extra keeps the base and insurance.
+ *
+ * Extra rates come from [updateExtras]; selections map extra ids to quantities.
+ * Not thread-safe; the booking ViewModel calls it from the main thread.
+ */
+class PricingEngine(private val maxQuotes: Int = DEFAULT_MAX_QUOTES) {
+
+    private var extraRates: Map<String, Long> = emptyMap()
+
+    private val quotes = object : LinkedHashMap<QuoteKey, PriceQuote>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<QuoteKey, PriceQuote>?) =
+            size > maxQuotes
+    }
+
+    // Inputs of the previous miss, to reuse the components they still determine
+    private var lastKey: QuoteKey? = null
+    private var lastQuote: PriceQuote? = null
+
+    fun updateExtras(extras: List<RentalExtra>) {
+        val rates = extras.associate { it.id to it.dailyRate.toCents() }
+        if (rates == extraRates) return
+        extraRates = rates
+        quotes.clear()
+        lastKey = null
+        lastQuote = null
+    }
+
+    fun quote(
+        vehicleId: String,
+        dailyRateCents: Long,
+        days: Int,
+        insuranceType: InsuranceType,
+        extras: Map<String, Int>
+    ): PriceQuote {
+        val key = QuoteKey(vehicleId, dailyRateCents, days, insuranceType, extras)
+        quotes[key]?.let { return it }
+
+        val last = lastKey
+        val previous = lastQuote
+        val sameRateAndDays = last != null && previous != null &&
+            last.vehicleId == vehicleId && last.dailyRateCents == dailyRateCents && last.days == days
+
+        val baseCents = if (sameRateAndDays) previous!!.baseCents else PricingRules.baseCents(dailyRateCents, days)
+        val insuranceCents = if (sameRateAndDays && last!!.insuranceType == insuranceType) {
+            previous!!.insuranceCents
+        } else {
+            PricingRules.insuranceCents(dailyRateCents, insuranceType, days)
+        }
+        val extrasCents = if (last != null && previous != null && last.days == days && last.extras == extras) {
+            previous.extrasCents
+        } else {
+            PricingRules.extrasCents(PricingRules.extrasDailyCents(extraRates, extras), days)
+        }
+
+        val quote = PricingRules.assemble(dailyRateCents, days, baseCents, insuranceCents, extrasCents)
+        quotes[key] = quote
+        lastKey = key
+        lastQuote = quote
+        return quote
+    }
+
+    private data class QuoteKey(
+        val vehicleId: String,
+        val dailyRateCents: Long,
+        val days: Int,
+        val insuranceType: InsuranceType,
+        // Extra id to quantity; the selection is replaced, never mutated, on each toggle
+        val extras: Map<String, Int>
+    )
+
+    companion object {
+        const val DEFAULT_MAX_QUOTES = 64
+    }
+}
@@ -0,0 +1,87 @@
+package com.smartdrive.kenya.data.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.time.LocalDate
+
+/**
+ * Range checks at the edges of the window and of the blocked days, and the
+ * copy-on-write contract the Realtime updates rely on.
+ */
+class AvailabilityCalendarTest {
+
+    private val origin = LocalDate.of(2025, 3, 1)
+    private val lastDay = origin.plusDays((AvailabilityCalendar.WINDOW_DAYS - 1).toLong())
+
+    @Test
+    fun rangesStartingBeforeTheOriginOrEndingBeforeTheStartAreRejected() {
+        val calendar = AvailabilityCalendar.empty("vehicle", origin)
+
+        assertFalse(calendar.isRangeAvailable(origin.minusDays(1), origin.plusDays(2)))
+        assertFalse(calendar.isRangeAvailable(origin.plusDays(3), origin.plusDays(2)))
+        assertTrue(calendar.isRangeAvailable(origin, origin))
+    }
+
+    @Test
+    fun blockedDaysAtTheEdgesOfTheRangeCount() {
+        val start = origin.plusDays(10)
+        val end = origin.plusDays(14)
+
+        // First and last day of the range
+        assertFalse(AvailabilityCalendar.of("vehicle", listOf(start), origin).isRangeAvailable(start, end))
+        assertFalse(AvailabilityCalendar.of("vehicle", listOf(end), origin).isRangeAvailable(start, end))
+
+        // The days just outside it do not
+        val around = AvailabilityCalendar.of("vehicle", listOf(start.minusDays(1), end.plusDays(1)), origin)
+        assertTrue(around.isRangeAvailable(start, end))
+    }
+
+    @Test
+    fun rangesPastTheWindowAreCheckedUpToItsLastDay() {
+        val pastWindow = lastDay.plusDays(30)
+        val lastDayBlocked = AvailabilityCalendar.of("vehicle", listOf(lastDay), origin)
+
+        assertTrue(AvailabilityCalendar.empty("vehicle", origin).isRangeAvailable(origin.plusDays(300), pastWindow))
+        assertFalse(lastDayBlocked.isRangeAvailable(origin.plusDays(300), pastWindow))
+        // A range entirely past the window is left to the server
+        assertTrue(lastDayBlocked.isRangeAvailable(lastDay.plusDays(1), pastWindow))
+    }
+
+    @Test
+    fun datesOutsideTheWindowAreNeverBlocked() {
+        val calendar = AvailabilityCalendar.of(
+            "vehicle",
+            listOf(origin.minusDays(1), origin, lastDay, lastDay.plusDays(1)),
+            origin
+        )
+
+        assertEquals(listOf(origin, lastDay), calendar.blockedDates())
+        assertFalse(calendar.isBlocked(lastDay.plusDays(1)))
+        assertFalse(calendar.contains(lastDay.plusDays(1)))
+        assertSame(calendar, calendar.block(lastDay.plusDays(1)))
+    }
+
+    @Test
+    fun blockAndUnblockReturnCopiesAndLeaveTheOriginalAlone() {
+        val day = origin.plusDays(5)
+        val empty = AvailabilityCalendar.empty("vehicle", origin)
+
+        val blocked = empty.block(day)
+        assertNotSame(empty, blocked)
+        assertTrue(blocked.isBlocked(day))
+        assertFalse(empty.isBlocked(day))
+
+        val unblocked = blocked.unblock(day)
+        assertNotSame(blocked, unblocked)
+        assertFalse(unblocked.isBlocked(day))
+        assertTrue(blocked.isBlocked(day))
+
+        // No change, no copy, so an unchanged calendar is not re-emitted
+        assertSame(blocked, blocked.block(day))
+        assertSame(empty, empty.unblock(day))
+    }
+}
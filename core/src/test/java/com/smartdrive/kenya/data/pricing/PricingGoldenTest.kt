@@ -0,0 +1,112 @@
+package com.smartdrive.kenya.data.pricing
+
+import com.smartdrive.kenya.data.model.InsuranceType
+import com.smartdrive.kenya.data.model.RentalExtra
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.File
+
+/**
+ * Runs [PricingRules.quote] over the golden cases in the unified pricing
+ * migration, the same rows the migration checks `rental_price_cents` against.
+ * Editing a case or the rules on one side fails here or in the migration.
+ */
+class PricingGoldenTest {
+
+    private data class GoldenCase(
+        val rateCents: Long,
+        val days: Int,
+        val insurance: InsuranceType,
+        val extrasDailyCents: Long,
+        val expected: List<Long>
+    )
+
+    @Test
+    fun quotesMatchTheSqlGoldenCases() {
+        val cases = goldenCases()
+        assertTrue("No golden cases found in the migration", cases.size >= 6)
+
+        cases.forEach { case ->
+            val quote = PricingRules.quote(case.rateCents, case.days, case.insurance, case.extrasDailyCents)
+            assertEquals(
+                "quote(${case.rateCents}, ${case.days}, ${case.insurance.value}, ${case.extrasDailyCents})",
+                case.expected,
+                listOf(
+                    quote.baseCents, quote.insuranceCents, quote.extrasCents, quote.subtotalCents,
+                    quote.taxCents, quote.totalCents, quote.depositCents
+                )
+            )
+        }
+    }
+
+    @Test
+    fun engineQuotesMatchTheRulesAcrossChangedInputs() {
+        // The engine reuses components between quotes; walk the cases in order so it does
+        val engine = PricingEngine()
+        goldenCases().forEach { case ->
+            engine.updateExtras(emptyList())
+            val direct = PricingRules.quote(case.rateCents, case.days, case.insurance, 0)
+            InsuranceType.entries.forEach { insurance ->
+                assertEquals(
+                    PricingRules.quote(case.rateCents, case.days, insurance, 0),
+                    engine.quote("vehicle", case.rateCents, case.days, insurance, emptyMap())
+                )
+            }
+            assertEquals(direct, engine.quote("vehicle", case.rateCents, case.days, case.insurance, emptyMap()))
+        }
+    }
+
+    @Test
+    fun engineChargesExtrasByQuantity() {
+        val engine = PricingEngine()
+        engine.updateExtras(
+            listOf(
+                RentalExtra(id = "gps", name = "GPS", dailyRate = 175.25, category = "navigation"),
+                RentalExtra(id = "seat", name = "Child seat", dailyRate = 99.99, category = "safety")
+            )
+        )
+        val case = goldenCases().single { it.extrasDailyCents == 45049L }
+        val quote = engine.quote("vehicle", case.rateCents, case.days, case.insurance, mapOf("gps" to 2, "seat" to 1))
+        assertEquals(
+            case.expected,
+            listOf(
+                quote.baseCents, quote.insuranceCents, quote.extrasCents, quote.subtotalCents,
+                quote.taxCents, quote.totalCents, quote.depositCents
+            )
+        )
+
+        // A changed quantity alone reprices
+        assertEquals(
+            PricingRules.quote(case.rateCents, case.days, case.insurance, 17525 + 9999),
+            engine.quote("vehicle", case.rateCents, case.days, case.insurance, mapOf("gps" to 1, "seat" to 1))
+        )
+    }
+
+    /** The rows of the `VALUES` list in the migration's golden-case block. */
+    private fun goldenCases(): List<GoldenCase> {
+        val migration = File(System.getProperty("pricingMigration") ?: DEFAULT_MIGRATION).readText()
+        val block = migration
+            .substringAfter("SELECT * FROM (VALUES")
+            .substringBefore(") AS c(")
+        return ROW.findAll(block.lines().filterNot { it.trim().startsWith("--") }.joinToString(" "))
+            .map { row ->
+                val fields = row.groupValues[1].split(",").map { field ->
+                    field.trim().substringBefore("::").trim('\'')
+                }
+                GoldenCase(
+                    rateCents = fields[0].toLong(),
+                    days = fields[1].toInt(),
+                    insurance = InsuranceType.entries.single { it.value == fields[2] },
+                    extrasDailyCents = fields[3].toLong(),
+                    expected = fields.drop(4).map(String::toLong)
+                )
+            }
+            .toList()
+    }
+
+    private companion object {
+        const val DEFAULT_MIGRATION = "../supabase/migrations/20251126090000-unified-pricing.sql"
+        val ROW = Regex("""\(([^()]+)\)""")
+    }
+}
@@ -22,4 +22,5 @@ dependencyResolutionManagement {
 }
 
 rootProject.name = "SmartDriveKenya"
-include(":app")
\ No newline at end of file
+include(":app")
+include(":core")
\ No newline at end of file
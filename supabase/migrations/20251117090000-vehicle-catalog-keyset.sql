@@ -0,0 +1,7 @@
+-- Keyset pagination for the vehicle catalog.
+-- The mobile app pages vehicles by (created_at DESC, id DESC), optionally filtered by status.
+CREATE INDEX IF NOT EXISTS idx_vehicles_created_at_id
+  ON public.vehicles (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_vehicles_status_created_at_id
+  ON public.vehicles (status, created_at DESC, id DESC);
@@ -0,0 +1,75 @@
+-- Fleet-wide availability search.
+-- The overlap rules of is_vehicle_available() are expressed once, set-based, in
+-- available_vehicles(); the single-vehicle check and the search RPC both use it.
+
+-- Only active rentals can conflict, so index just those by vehicle and date range
+CREATE INDEX IF NOT EXISTS idx_rentals_active_vehicle_dates
+  ON public.rentals (vehicle_id, pickup_date, return_date)
+  WHERE status NOT IN ('cancelled', 'completed');
+
+CREATE INDEX IF NOT EXISTS idx_vehicle_availability_blocked
+  ON public.vehicle_availability (vehicle_id, date)
+  WHERE is_available = false;
+
+-- Every available vehicle with no conflicting rental or blackout day in [start_date, end_date]
+CREATE OR REPLACE FUNCTION public.available_vehicles(
+  start_date DATE,
+  end_date DATE
+)
+RETURNS SETOF public.vehicles
+LANGUAGE sql
+STABLE
+AS $$
+  SELECT v.*
+  FROM public.vehicles v
+  WHERE v.status = 'available'
+    AND NOT EXISTS (
+      SELECT 1 FROM public.rentals r
+      WHERE r.vehicle_id = v.id
+        AND r.status NOT IN ('cancelled', 'completed')
+        AND r.pickup_date <= end_date
+        AND r.return_date >= start_date
+    )
+    AND NOT EXISTS (
+      SELECT 1 FROM public.vehicle_availability va
+      WHERE va.vehicle_id = v.id
+        AND va.date BETWEEN start_date AND end_date
+        AND va.is_available = false
+    );
+$$;
+
+-- Single-vehicle check, now a thin wrapper over the set-based definition
+CREATE OR REPLACE FUNCTION public.is_vehicle_available(
+  vehicle_uuid UUID,
+  start_date DATE,
+  end_date DATE
+)
+RETURNS BOOLEAN
+LANGUAGE sql
+STABLE
+AS $$
+  SELECT EXISTS (
+    SELECT 1 FROM public.available_vehicles(start_date, end_date) v
+    WHERE v.id = vehicle_uuid
+  );
+$$;
+
+-- Search RPC used by the mobile home screen. A NULL location searches the whole fleet.
+CREATE OR REPLACE FUNCTION public.search_available_vehicles(
+  p_start_date DATE,
+  p_end_date DATE,
+  p_location_id UUID DEFAULT NULL
+)
+RETURNS SETOF public.vehicles
+LANGUAGE sql
+STABLE
+AS $$
+  SELECT v.*
+  FROM public.available_vehicles(p_start_date, p_end_date) v
+  WHERE p_location_id IS NULL OR v.location_id = p_location_id
+  ORDER BY v.price_per_day, v.created_at DESC, v.id DESC;
+$$;
+
+GRANT EXECUTE ON FUNCTION public.available_vehicles(DATE, DATE) TO anon, authenticated;
+GRANT EXECUTE ON FUNCTION public.is_vehicle_available(UUID, DATE, DATE) TO anon, authenticated;
+GRANT EXECUTE ON FUNCTION public.search_available_vehicles(DATE, DATE, UUID) TO anon, authenticated;
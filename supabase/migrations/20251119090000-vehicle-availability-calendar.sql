@@ -0,0 +1,70 @@
+-- Per-vehicle availability calendar.
+-- Row level security hides other customers' rentals, so the app cannot build a
+-- calendar from public.rentals directly. Instead every active rental is mirrored
+-- into vehicle_availability as 'booked' days, which anyone may read, and the
+-- table is published to Realtime so open calendars update incrementally.
+
+ALTER TABLE public.vehicle_availability
+  ADD COLUMN IF NOT EXISTS rental_id UUID REFERENCES public.rentals(id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_vehicle_availability_rental_id
+  ON public.vehicle_availability (rental_id)
+  WHERE rental_id IS NOT NULL;
+
+DROP POLICY IF EXISTS "Anyone can view vehicle availability" ON public.vehicle_availability;
+CREATE POLICY "Anyone can view vehicle availability" ON public.vehicle_availability
+  FOR SELECT USING (true);
+
+-- Keep the booked days of a rental in step with its dates and status
+CREATE OR REPLACE FUNCTION public.sync_rental_availability()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    DELETE FROM public.vehicle_availability WHERE rental_id = OLD.id;
+  END IF;
+
+  IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status NOT IN ('cancelled', 'completed') THEN
+    -- Manual blackout days already block the vehicle and are left untouched
+    INSERT INTO public.vehicle_availability (vehicle_id, date, is_available, reason, rental_id)
+    SELECT NEW.vehicle_id, d::date, false, 'booked', NEW.id
+    FROM generate_series(NEW.pickup_date, NEW.return_date, interval '1 day') AS d
+    ON CONFLICT (vehicle_id, date) DO NOTHING;
+  END IF;
+
+  RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS sync_rental_availability ON public.rentals;
+CREATE TRIGGER sync_rental_availability
+  AFTER INSERT OR DELETE OR UPDATE OF vehicle_id, pickup_date, return_date, status
+  ON public.rentals
+  FOR EACH ROW EXECUTE FUNCTION public.sync_rental_availability();
+
+-- Backfill the rentals that are already active
+INSERT INTO public.vehicle_availability (vehicle_id, date, is_available, reason, rental_id)
+SELECT r.vehicle_id, d::date, false, 'booked', r.id
+FROM public.rentals r
+CROSS JOIN LATERAL generate_series(r.pickup_date, r.return_date, interval '1 day') AS d
+WHERE r.status NOT IN ('cancelled', 'completed')
+  AND r.return_date >= CURRENT_DATE
+ON CONFLICT (vehicle_id, date) DO NOTHING;
+
+-- Deletes must carry vehicle_id and date for the client to clear the right bit
+ALTER TABLE public.vehicle_availability REPLICA IDENTITY FULL;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1 FROM pg_publication_tables
+    WHERE pubname = 'supabase_realtime'
+      AND schemaname = 'public'
+      AND tablename = 'vehicle_availability'
+  ) THEN
+    ALTER PUBLICATION supabase_realtime ADD TABLE public.vehicle_availability;
+  END IF;
+END $$;
@@ -0,0 +1,135 @@
+-- Transactional booking.
+-- create_rental() replaces the client-side sequence of availability check, vehicle
+-- download, rental insert and one insert per extra. Everything runs in the RPC's
+-- transaction and the persisted rental row is returned to the caller.
+
+-- create_rental() validates quantities; the table refuses a non-positive one
+-- from any other writer too
+ALTER TABLE public.rental_extra_selections
+  ADD CONSTRAINT rental_extra_selections_quantity_positive CHECK (quantity > 0);
+
+CREATE OR REPLACE FUNCTION public.create_rental(
+  p_vehicle_id UUID,
+  p_pickup_location_id UUID,
+  p_return_location_id UUID,
+  p_pickup_date DATE,
+  p_pickup_time TIME,
+  p_return_date DATE,
+  p_return_time TIME,
+  p_insurance_type insurance_type DEFAULT 'basic',
+  p_extras JSONB DEFAULT '[]'::jsonb, -- [{"rental_extra_id": "...", "quantity": 1}]
+  p_special_requests TEXT DEFAULT NULL
+)
+RETURNS public.rentals
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+DECLARE
+  v_customer_id UUID := auth.uid();
+  v_vehicle public.vehicles%ROWTYPE;
+  v_total_days INTEGER;
+  v_insurance_rate NUMERIC;
+  v_insurance_cost NUMERIC;
+  v_extras_cost NUMERIC;
+  v_subtotal NUMERIC;
+  v_tax_amount NUMERIC;
+  v_total_amount NUMERIC;
+  v_rental public.rentals%ROWTYPE;
+BEGIN
+  IF v_customer_id IS NULL THEN
+    RAISE EXCEPTION 'User not authenticated' USING ERRCODE = '28000';
+  END IF;
+
+  IF p_return_date < p_pickup_date THEN
+    RAISE EXCEPTION 'Return date must be after pickup date' USING ERRCODE = '22023';
+  END IF;
+
+  -- Row lock on the vehicle serialises concurrent bookings of the same car,
+  -- so two customers cannot both pass the availability check below
+  SELECT * INTO v_vehicle
+  FROM public.vehicles
+  WHERE id = p_vehicle_id
+  FOR UPDATE;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'Vehicle not found' USING ERRCODE = 'P0002';
+  END IF;
+
+  -- Runs as the function owner, so rentals of other customers are visible here
+  IF v_vehicle.status <> 'available'
+     OR EXISTS (
+       SELECT 1 FROM public.rentals r
+       WHERE r.vehicle_id = p_vehicle_id
+         AND r.status NOT IN ('cancelled', 'completed')
+         AND r.pickup_date <= p_return_date
+         AND r.return_date >= p_pickup_date
+     )
+     OR EXISTS (
+       SELECT 1 FROM public.vehicle_availability va
+       WHERE va.vehicle_id = p_vehicle_id
+         AND va.date BETWEEN p_pickup_date AND p_return_date
+         AND va.is_available = false
+     )
+  THEN
+    RAISE EXCEPTION 'Vehicle is not available for the selected dates' USING ERRCODE = 'P0001';
+  END IF;
+
+  v_total_days := GREATEST(p_return_date - p_pickup_date, 1);
+
+  v_insurance_rate := CASE p_insurance_type
+    WHEN 'none' THEN 0
+    WHEN 'basic' THEN 0.05
+    WHEN 'comprehensive' THEN 0.15
+    WHEN 'premium' THEN 0.25
+  END;
+  v_insurance_cost := ROUND(v_vehicle.price_per_day * v_insurance_rate * v_total_days, 2);
+
+  -- The payload only names extras and how many of each; reject anything but
+  -- distinct ids with a quantity of 1 to 10 before pricing
+  IF EXISTS (
+    SELECT 1
+    FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+    WHERE s.rental_extra_id IS NULL OR s.quantity IS NULL OR s.quantity NOT BETWEEN 1 AND 10
+  ) OR (
+    SELECT COUNT(*) <> COUNT(DISTINCT s.rental_extra_id)
+    FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+  ) THEN
+    RAISE EXCEPTION 'Each extra must appear once with a quantity between 1 and 10' USING ERRCODE = '22023';
+  END IF;
+
+  -- Rates come from the catalog, never from the client payload
+  SELECT COALESCE(SUM(e.daily_rate * s.quantity * v_total_days), 0)
+  INTO v_extras_cost
+  FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+  JOIN public.rental_extras e ON e.id = s.rental_extra_id AND e.is_active;
+
+  v_subtotal := ROUND(v_vehicle.price_per_day * v_total_days + v_insurance_cost + v_extras_cost, 2);
+  v_tax_amount := ROUND(v_subtotal * 0.16, 2);
+  v_total_amount := v_subtotal + v_tax_amount;
+
+  INSERT INTO public.rentals (
+    customer_id, vehicle_id, pickup_location_id, return_location_id,
+    pickup_date, pickup_time, return_date, return_time,
+    daily_rate, total_days, subtotal, insurance_cost, tax_amount,
+    deposit_amount, total_amount, status, insurance_type, special_requests
+  )
+  VALUES (
+    v_customer_id, p_vehicle_id, p_pickup_location_id, p_return_location_id,
+    p_pickup_date, p_pickup_time, p_return_date, p_return_time,
+    v_vehicle.price_per_day, v_total_days, v_subtotal, v_insurance_cost, v_tax_amount,
+    ROUND(v_total_amount * 0.30, 2), v_total_amount, 'pending', p_insurance_type, p_special_requests
+  )
+  RETURNING * INTO v_rental;
+
+  INSERT INTO public.rental_extra_selections (rental_id, rental_extra_id, quantity, daily_rate, total_cost)
+  SELECT v_rental.id, e.id, s.quantity, e.daily_rate, e.daily_rate * s.quantity * v_total_days
+  FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+  JOIN public.rental_extras e ON e.id = s.rental_extra_id AND e.is_active;
+
+  RETURN v_rental;
+END;
+$$;
+
+REVOKE EXECUTE ON FUNCTION public.create_rental(UUID, UUID, UUID, DATE, TIME, DATE, TIME, insurance_type, JSONB, TEXT) FROM PUBLIC;
+GRANT EXECUTE ON FUNCTION public.create_rental(UUID, UUID, UUID, DATE, TIME, DATE, TIME, insurance_type, JSONB, TEXT) TO authenticated;
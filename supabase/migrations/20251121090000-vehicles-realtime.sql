@@ -0,0 +1,15 @@
+-- Publish vehicles to Realtime so the app can keep its fleet copy current from
+-- change events instead of refetching the catalog on every screen.
+-- Deletes only need the primary key, so the default replica identity is enough.
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1 FROM pg_publication_tables
+    WHERE pubname = 'supabase_realtime'
+      AND schemaname = 'public'
+      AND tablename = 'vehicles'
+  ) THEN
+    ALTER PUBLICATION supabase_realtime ADD TABLE public.vehicles;
+  END IF;
+END $$;
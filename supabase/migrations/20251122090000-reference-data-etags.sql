@@ -0,0 +1,95 @@
+-- Conditional GETs for reference data.
+-- PostgREST does not emit validators for table reads, so the app reads reference
+-- tables through these STABLE functions over GET. Each one tags its response with
+-- an ETag derived from the table contents and answers 304 without a body when the
+-- client's If-None-Match still matches; the app's HTTP cache then serves its copy.
+
+CREATE OR REPLACE FUNCTION public.etag_matches(p_etag TEXT)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+  v_if_none_match TEXT := current_setting('request.headers', true)::json ->> 'if-none-match';
+BEGIN
+  PERFORM set_config(
+    'response.headers',
+    json_build_array(
+      json_build_object('ETag', p_etag),
+      json_build_object('Cache-Control', 'no-cache')
+    )::text,
+    true
+  );
+
+  IF v_if_none_match IS NOT NULL AND v_if_none_match = p_etag THEN
+    PERFORM set_config('response.status', '304', true);
+    RETURN true;
+  END IF;
+  RETURN false;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.reference_rental_locations()
+RETURNS SETOF public.rental_locations
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+  v_etag TEXT;
+BEGIN
+  SELECT '"' || md5(COALESCE(json_agg(l ORDER BY l.id)::text, '')) || '"'
+  INTO v_etag
+  FROM public.rental_locations l;
+
+  IF public.etag_matches(v_etag) THEN
+    RETURN;
+  END IF;
+
+  RETURN QUERY SELECT * FROM public.rental_locations ORDER BY name;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.reference_rental_extras()
+RETURNS SETOF public.rental_extras
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+  v_etag TEXT;
+BEGIN
+  SELECT '"' || md5(COALESCE(json_agg(e ORDER BY e.id)::text, '')) || '"'
+  INTO v_etag
+  FROM public.rental_extras e;
+
+  IF public.etag_matches(v_etag) THEN
+    RETURN;
+  END IF;
+
+  RETURN QUERY SELECT * FROM public.rental_extras ORDER BY category, name;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.reference_settings()
+RETURNS SETOF public.settings
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+  v_etag TEXT;
+BEGIN
+  SELECT '"' || md5(COALESCE(json_agg(s ORDER BY s.key)::text, '')) || '"'
+  INTO v_etag
+  FROM public.settings s;
+
+  IF public.etag_matches(v_etag) THEN
+    RETURN;
+  END IF;
+
+  RETURN QUERY SELECT * FROM public.settings ORDER BY key;
+END;
+$$;
+
+GRANT EXECUTE ON FUNCTION public.etag_matches(TEXT) TO anon, authenticated;
+GRANT EXECUTE ON FUNCTION public.reference_rental_locations() TO anon, authenticated;
+GRANT EXECUTE ON FUNCTION public.reference_rental_extras() TO anon, authenticated;
+GRANT EXECUTE ON FUNCTION public.reference_settings() TO anon, authenticated;
@@ -0,0 +1,37 @@
+-- Role claim in the access token.
+-- The app used to download the profiles table to look up the signed-in user's
+-- role. This Auth hook copies the role into a `user_role` claim whenever a token
+-- is issued or refreshed, so the client reads it from the JWT without a query.
+-- Enable it under Authentication > Hooks (Custom Access Token) for the hosted
+-- project; supabase/config.toml enables it for local development. Until it is
+-- enabled the app falls back to calling get_user_role().
+
+CREATE OR REPLACE FUNCTION public.custom_access_token_hook(event JSONB)
+RETURNS JSONB
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+  v_claims JSONB := event -> 'claims';
+  v_role user_role;
+BEGIN
+  SELECT role INTO v_role
+  FROM public.profiles
+  WHERE id = (event ->> 'user_id')::UUID;
+
+  v_claims := jsonb_set(v_claims, '{user_role}', to_jsonb(COALESCE(v_role, 'customer'::user_role)));
+  RETURN jsonb_set(event, '{claims}', v_claims);
+END;
+$$;
+
+GRANT USAGE ON SCHEMA public TO supabase_auth_admin;
+GRANT EXECUTE ON FUNCTION public.custom_access_token_hook(JSONB) TO supabase_auth_admin;
+REVOKE EXECUTE ON FUNCTION public.custom_access_token_hook(JSONB) FROM authenticated, anon, public;
+
+GRANT SELECT ON TABLE public.profiles TO supabase_auth_admin;
+
+DROP POLICY IF EXISTS "Auth admin can read roles" ON public.profiles;
+CREATE POLICY "Auth admin can read roles" ON public.profiles
+  AS PERMISSIVE FOR SELECT
+  TO supabase_auth_admin
+  USING (true);
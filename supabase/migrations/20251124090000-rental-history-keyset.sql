@@ -0,0 +1,4 @@
+-- Keyset pagination for a customer's rental history.
+-- The mobile app pages rentals by (created_at DESC, id DESC) for one customer_id.
+CREATE INDEX IF NOT EXISTS idx_rentals_customer_created_at_id
+  ON public.rentals (customer_id, created_at DESC, id DESC);
@@ -0,0 +1,12 @@
+-- Body type for the browse screen's Sedan / SUV category facets.
+ALTER TABLE public.vehicles
+  ADD COLUMN IF NOT EXISTS body_type TEXT
+  CHECK (body_type IN ('sedan', 'hatchback', 'suv', 'van', 'pickup'));
+
+-- Classify the seed fleet; new vehicles are classified when they are added
+UPDATE public.vehicles SET body_type = 'sedan'
+  WHERE body_type IS NULL AND model IN ('Corolla');
+UPDATE public.vehicles SET body_type = 'hatchback'
+  WHERE body_type IS NULL AND model IN ('Note', 'Fit');
+UPDATE public.vehicles SET body_type = 'suv'
+  WHERE body_type IS NULL AND model IN ('Prado', 'Forester');
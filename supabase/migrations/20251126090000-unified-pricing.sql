@@ -0,0 +1,222 @@
+-- One set of booking price rules.
+-- rental_price_cents() is the arithmetic of the app's PricingRules
+-- (data/pricing/PricingEngine.kt) in integer cents: insurance is a percentage of
+-- the base, tax 16% of the subtotal, deposit 30% of the total, each rounded half
+-- up once. create_rental() and calculate_rental_total() both price through it,
+-- so the booking screen, the stored rental and ad-hoc quotes agree to the cent.
+-- calculate_rental_total() used to read vehicles.daily_rate, which defaults to 0,
+-- fall back to a flat 5000 and charge basic cover for 'none'.
+
+CREATE OR REPLACE FUNCTION public.rental_price_cents(
+  p_daily_rate_cents BIGINT,
+  p_days INTEGER,
+  p_insurance_type insurance_type,
+  p_extras_daily_cents BIGINT DEFAULT 0 -- sum of daily_rate * quantity over the extras
+)
+RETURNS TABLE (
+  base_cents BIGINT,
+  insurance_cents BIGINT,
+  extras_cents BIGINT,
+  subtotal_cents BIGINT,
+  tax_cents BIGINT,
+  total_cents BIGINT,
+  deposit_cents BIGINT
+)
+LANGUAGE sql
+IMMUTABLE
+AS $$
+  WITH components AS (
+    SELECT
+      p_daily_rate_cents * p_days AS base,
+      (p_daily_rate_cents * p_days * CASE p_insurance_type
+        WHEN 'none' THEN 0
+        WHEN 'basic' THEN 5
+        WHEN 'comprehensive' THEN 15
+        WHEN 'premium' THEN 25
+      END + 50) / 100 AS insurance,
+      p_extras_daily_cents * p_days AS extras
+  ), totals AS (
+    SELECT base, insurance, extras, base + insurance + extras AS subtotal
+    FROM components
+  )
+  SELECT
+    base, insurance, extras, subtotal,
+    (subtotal * 16 + 50) / 100,
+    subtotal + (subtotal * 16 + 50) / 100,
+    ((subtotal + (subtotal * 16 + 50) / 100) * 30 + 50) / 100
+  FROM totals;
+$$;
+
+CREATE OR REPLACE FUNCTION public.create_rental(
+  p_vehicle_id UUID,
+  p_pickup_location_id UUID,
+  p_return_location_id UUID,
+  p_pickup_date DATE,
+  p_pickup_time TIME,
+  p_return_date DATE,
+  p_return_time TIME,
+  p_insurance_type insurance_type DEFAULT 'basic',
+  p_extras JSONB DEFAULT '[]'::jsonb, -- [{"rental_extra_id": "...", "quantity": 1}]
+  p_special_requests TEXT DEFAULT NULL
+)
+RETURNS public.rentals
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = public
+AS $$
+DECLARE
+  v_customer_id UUID := auth.uid();
+  v_vehicle public.vehicles%ROWTYPE;
+  v_total_days INTEGER;
+  v_extras_daily_cents BIGINT;
+  v_price RECORD;
+  v_rental public.rentals%ROWTYPE;
+BEGIN
+  IF v_customer_id IS NULL THEN
+    RAISE EXCEPTION 'User not authenticated' USING ERRCODE = '28000';
+  END IF;
+
+  IF p_return_date < p_pickup_date THEN
+    RAISE EXCEPTION 'Return date must be after pickup date' USING ERRCODE = '22023';
+  END IF;
+
+  -- Row lock on the vehicle serialises concurrent bookings of the same car,
+  -- so two customers cannot both pass the availability check below
+  SELECT * INTO v_vehicle
+  FROM public.vehicles
+  WHERE id = p_vehicle_id
+  FOR UPDATE;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'Vehicle not found' USING ERRCODE = 'P0002';
+  END IF;
+
+  -- Runs as the function owner, so rentals of other customers are visible here
+  IF v_vehicle.status <> 'available'
+     OR EXISTS (
+       SELECT 1 FROM public.rentals r
+       WHERE r.vehicle_id = p_vehicle_id
+         AND r.status NOT IN ('cancelled', 'completed')
+         AND r.pickup_date <= p_return_date
+         AND r.return_date >= p_pickup_date
+     )
+     OR EXISTS (
+       SELECT 1 FROM public.vehicle_availability va
+       WHERE va.vehicle_id = p_vehicle_id
+         AND va.date BETWEEN p_pickup_date AND p_return_date
+         AND va.is_available = false
+     )
+  THEN
+    RAISE EXCEPTION 'Vehicle is not available for the selected dates' USING ERRCODE = 'P0001';
+  END IF;
+
+  v_total_days := GREATEST(p_return_date - p_pickup_date, 1);
+
+  -- The payload only names extras and how many of each; reject anything but
+  -- distinct ids with a quantity of 1 to 10 before pricing
+  IF EXISTS (
+    SELECT 1
+    FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+    WHERE s.rental_extra_id IS NULL OR s.quantity IS NULL OR s.quantity NOT BETWEEN 1 AND 10
+  ) OR (
+    SELECT COUNT(*) <> COUNT(DISTINCT s.rental_extra_id)
+    FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+  ) THEN
+    RAISE EXCEPTION 'Each extra must appear once with a quantity between 1 and 10' USING ERRCODE = '22023';
+  END IF;
+
+  -- Rates come from the catalog, never from the client payload
+  SELECT COALESCE(SUM(ROUND(e.daily_rate * 100)::BIGINT * s.quantity), 0)
+  INTO v_extras_daily_cents
+  FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+  JOIN public.rental_extras e ON e.id = s.rental_extra_id AND e.is_active;
+
+  SELECT * INTO v_price
+  FROM public.rental_price_cents(
+    ROUND(v_vehicle.price_per_day * 100)::BIGINT, v_total_days, p_insurance_type, v_extras_daily_cents
+  );
+
+  INSERT INTO public.rentals (
+    customer_id, vehicle_id, pickup_location_id, return_location_id,
+    pickup_date, pickup_time, return_date, return_time,
+    daily_rate, total_days, subtotal, insurance_cost, tax_amount,
+    deposit_amount, total_amount, status, insurance_type, special_requests
+  )
+  VALUES (
+    v_customer_id, p_vehicle_id, p_pickup_location_id, p_return_location_id,
+    p_pickup_date, p_pickup_time, p_return_date, p_return_time,
+    v_vehicle.price_per_day, v_total_days,
+    v_price.subtotal_cents / 100.0, v_price.insurance_cents / 100.0, v_price.tax_cents / 100.0,
+    v_price.deposit_cents / 100.0, v_price.total_cents / 100.0,
+    'pending', p_insurance_type, p_special_requests
+  )
+  RETURNING * INTO v_rental;
+
+  INSERT INTO public.rental_extra_selections (rental_id, rental_extra_id, quantity, daily_rate, total_cost)
+  SELECT v_rental.id, e.id, s.quantity, e.daily_rate, e.daily_rate * s.quantity * v_total_days
+  FROM jsonb_to_recordset(p_extras) AS s(rental_extra_id UUID, quantity INTEGER)
+  JOIN public.rental_extras e ON e.id = s.rental_extra_id AND e.is_active;
+
+  RETURN v_rental;
+END;
+$$;
+
+-- Same signature as before; extras_cost is the extras total for the whole rental
+CREATE OR REPLACE FUNCTION public.calculate_rental_total(
+  vehicle_uuid UUID,
+  rental_days INTEGER,
+  insurance_type_param insurance_type DEFAULT 'basic',
+  extras_cost DECIMAL DEFAULT 0
+)
+RETURNS DECIMAL
+LANGUAGE sql
+STABLE
+AS $$
+  SELECT (t.subtotal_cents + (t.subtotal_cents * 16 + 50) / 100) / 100.0
+  FROM public.vehicles v
+  CROSS JOIN LATERAL public.rental_price_cents(
+    ROUND(v.price_per_day * 100)::BIGINT, GREATEST(rental_days, 1), insurance_type_param, 0
+  ) p
+  CROSS JOIN LATERAL (
+    SELECT p.base_cents + p.insurance_cents + ROUND(extras_cost * 100)::BIGINT AS subtotal_cents
+  ) t
+  WHERE v.id = vehicle_uuid;
+$$;
+
+-- Golden cases, generated from PricingRules.quote() in the app. A migration
+-- that changes the rules on one side only fails here instead of in a booking.
+DO $$
+DECLARE
+  v_case RECORD;
+  v_price RECORD;
+BEGIN
+  FOR v_case IN
+    SELECT * FROM (VALUES
+      -- rate, days, insurance, extras/day | base, insurance, extras, subtotal, tax, total, deposit
+      (450000::BIGINT, 3, 'basic'::insurance_type, 0::BIGINT,
+        1350000::BIGINT, 67500::BIGINT, 0::BIGINT, 1417500::BIGINT, 226800::BIGINT, 1644300::BIGINT, 493290::BIGINT),
+      (399999, 1, 'none', 50000, 399999, 0, 50000, 449999, 72000, 521999, 156600),
+      (1234567, 7, 'comprehensive', 135050, 8641969, 1296295, 945350, 10883614, 1741378, 12624992, 3787498),
+      (800000, 14, 'premium', 0, 11200000, 2800000, 0, 14000000, 2240000, 16240000, 4872000),
+      -- Insurance lands on exactly half a cent and rounds up
+      (250055, 2, 'basic', 19999, 500110, 25006, 39998, 565114, 90418, 655532, 196660),
+      (333333, 5, 'comprehensive', 0, 1666665, 250000, 0, 1916665, 306666, 2223331, 666999),
+      -- Two of an extra at 17525 plus one at 9999 a day
+      (450000, 4, 'basic', 45049, 1800000, 90000, 180196, 2070196, 331231, 2401427, 720428)
+    ) AS c(rate, days, insurance, extras_daily, base, ins, extras, subtotal, tax, total, deposit)
+  LOOP
+    SELECT * INTO v_price
+    FROM public.rental_price_cents(v_case.rate, v_case.days, v_case.insurance, v_case.extras_daily);
+
+    IF (v_price.base_cents, v_price.insurance_cents, v_price.extras_cents, v_price.subtotal_cents,
+        v_price.tax_cents, v_price.total_cents, v_price.deposit_cents)
+       IS DISTINCT FROM
+       (v_case.base, v_case.ins, v_case.extras, v_case.subtotal,
+        v_case.tax, v_case.total, v_case.deposit)
+    THEN
+      RAISE EXCEPTION 'rental_price_cents(%, %, %, %) disagrees with PricingRules',
+        v_case.rate, v_case.days, v_case.insurance, v_case.extras_daily;
+    END IF;
+  END LOOP;
+END;
+$$;